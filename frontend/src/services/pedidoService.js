@@ -2,9 +2,9 @@ import api from './api';
 
 // Pedido service for managing order data
 export const pedidoService = {
-  // Get all orders with pagination
+  // Get all orders with pagination (no total count: use `last` to know if a next page exists)
   getAll: async (page = 0, size = 20) => {
-    const response = await api.get(`/pedidos?page=${page}&size=${size}`);
+    const response = await api.get(`/pedidos?page=${page}&size=${size}&contagem=NENHUMA`);
     return response.data;
   },
 
@@ -16,13 +16,13 @@ export const pedidoService = {
 
   // Get orders by client ID
   getByCliente: async (clienteId, page = 0, size = 20) => {
-    const response = await api.get(`/pedidos/cliente/${clienteId}?page=${page}&size=${size}`);
+    const response = await api.get(`/pedidos/cliente/${clienteId}?page=${page}&size=${size}&contagem=NENHUMA`);
     return response.data;
   },
 
   // Get orders by status
   getByStatus: async (status, page = 0, size = 20) => {
-    const response = await api.get(`/pedidos/status/${status}?page=${page}&size=${size}`);
+    const response = await api.get(`/pedidos/status/${status}?page=${page}&size=${size}&contagem=NENHUMA`);
     return response.data;
   },
 
@@ -14,6 +14,11 @@ public final class ApplicationConstants {
     public static final String DEFAULT_PAGINATION_SIZE = "20";
     public static final String DEFAULT_SORT_FIELD = "dataPedido";
     public static final String DEFAULT_SORT_DIRECTION = "DESC";
+    public static final String DEFAULT_MODO_CONTAGEM = "EXATA";
+    public static final int MAX_PEDIDOS_POR_LOTE = 5000;
+    public static final int MAX_TAMANHO_PAGINA_CURSOR = 500;
+    public static final String DEFAULT_LIMITE_TOP = "10";
+    public static final int MAX_LIMITE_TOP = 100;
     
     // Validation Messages
     public static final String CLIENTE_NAO_ENCONTRADO = "Cliente não encontrado: ";
@@ -25,4 +30,7 @@ public final class ApplicationConstants {
     public static final int STATUS_MAX_LENGTH = 20;
     public static final int DECIMAL_PRECISION = 15;
     public static final int DECIMAL_SCALE = 2;
+    
+    // Streaming
+    public static final String STREAM_FETCH_SIZE = "500";
 }
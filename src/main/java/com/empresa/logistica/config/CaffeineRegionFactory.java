@@ -0,0 +1,74 @@
+package com.empresa.logistica.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+
+import javax.cache.Cache;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache regions backed by Caffeine through JCache.
+ *
+ * Entity and query regions are bounded by size and by a write TTL (a safety net for
+ * changes made outside JPA); the update-timestamps region is never evicted, since
+ * query results are validated against it. Each SessionFactory gets its own
+ * CacheManager, so contexts sharing a JVM (tests) never see each other's entries.
+ * Bounds come from the {@code hibernate.cache.caffeine.*} properties.
+ */
+public class CaffeineRegionFactory extends JCacheRegionFactory {
+
+    public static final String REGIAO_CLIENTE = "cliente";
+    public static final String REGIAO_PRODUTO = "produto";
+
+    static final String TAMANHO_ENTIDADES = "hibernate.cache.caffeine.entidades.tamanho_maximo";
+    static final String EXPIRACAO_ENTIDADES = "hibernate.cache.caffeine.entidades.expiracao_minutos";
+    static final String TAMANHO_CONSULTAS = "hibernate.cache.caffeine.consultas.tamanho_maximo";
+    static final String EXPIRACAO_CONSULTAS = "hibernate.cache.caffeine.consultas.expiracao_minutos";
+
+    private long tamanhoEntidades;
+    private long expiracaoEntidadesMinutos;
+    private long tamanhoConsultas;
+    private long expiracaoConsultasMinutos;
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        tamanhoEntidades = propriedade(configValues, TAMANHO_ENTIDADES, 10_000);
+        expiracaoEntidadesMinutos = propriedade(configValues, EXPIRACAO_ENTIDADES, 60);
+        tamanhoConsultas = propriedade(configValues, TAMANHO_CONSULTAS, 1_000);
+        expiracaoConsultasMinutos = propriedade(configValues, EXPIRACAO_CONSULTAS, 10);
+        super.prepareForUse(settings, configValues);
+    }
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        return URI.create("hibernate:" + UUID.randomUUID());
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuracao = new CaffeineConfiguration<>();
+        configuracao.setStatisticsEnabled(true);
+        if (regionName.endsWith(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+            limitar(configuracao, tamanhoConsultas, expiracaoConsultasMinutos);
+        } else if (!regionName.endsWith(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+            limitar(configuracao, tamanhoEntidades, expiracaoEntidadesMinutos);
+        }
+        return getCacheManager().createCache(regionName, configuracao);
+    }
+
+    private static void limitar(CaffeineConfiguration<Object, Object> configuracao, long tamanhoMaximo, long expiracaoMinutos) {
+        configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        configuracao.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(expiracaoMinutos)));
+    }
+
+    private static long propriedade(Map<String, Object> configValues, String nome, long padrao) {
+        Object valor = configValues.get(nome);
+        return valor == null ? padrao : Long.parseLong(valor.toString().trim());
+    }
+}
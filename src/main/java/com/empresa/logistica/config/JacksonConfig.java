@@ -0,0 +1,21 @@
+package com.empresa.logistica.config;
+
+import com.empresa.logistica.dto.PedidoDTO;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the default (emit everything) Jackson filters; sparse fieldset endpoints override them per response
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer filtrosPadrao() {
+        return builder -> builder.filters(new SimpleFilterProvider()
+            .addFilter(PedidoDTO.FILTRO_CAMPOS, SimpleBeanPropertyFilter.serializeAll()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.empresa.logistica.config;
+
+import com.empresa.logistica.model.Money;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Jackson mapping for {@link Money} with the same wire format as BigDecimal amounts:
+ * a JSON number with 2 decimals ({@code 1234.50}), or a string ({@code "1234.50"}) on
+ * fields annotated with {@code @JsonFormat(shape = STRING)}. Text is written straight
+ * from the cents, without an intermediate BigDecimal.
+ */
+@JsonComponent
+public class MoneyJsonComponent {
+
+    public static class Serializer extends JsonSerializer<Money> implements ContextualSerializer {
+
+        private static final Serializer NUMERO = new Serializer(false);
+        private static final Serializer TEXTO = new Serializer(true);
+
+        private final boolean comoTexto;
+
+        public Serializer() {
+            this(false);
+        }
+
+        private Serializer(boolean comoTexto) {
+            this.comoTexto = comoTexto;
+        }
+
+        @Override
+        public void serialize(Money valor, JsonGenerator gerador, SerializerProvider provider) throws IOException {
+            if (comoTexto) {
+                gerador.writeString(valor.toString());
+            } else {
+                gerador.writeNumber(valor.toString());
+            }
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty propriedade) {
+            if (propriedade != null) {
+                JsonFormat.Value formato = propriedade.findPropertyFormat(provider.getConfig(), Money.class);
+                if (formato != null && formato.getShape() == JsonFormat.Shape.STRING) {
+                    return TEXTO;
+                }
+            }
+            return NUMERO;
+        }
+
+        @Override
+        public Class<Money> handledType() {
+            return Money.class;
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Money> {
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+                return Money.of(parser.getDecimalValue());
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                String texto = parser.getText().trim();
+                if (texto.isEmpty()) {
+                    return null;
+                }
+                try {
+                    return Money.of(texto);
+                } catch (NumberFormatException e) {
+                    return (Money) context.handleWeirdStringValue(Money.class, texto, "valor monetário inválido");
+                }
+            }
+            return (Money) context.handleUnexpectedToken(Money.class, parser);
+        }
+
+        @Override
+        public Class<Money> handledType() {
+            return Money.class;
+        }
+    }
+}
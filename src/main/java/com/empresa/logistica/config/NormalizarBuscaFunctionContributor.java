@@ -0,0 +1,21 @@
+package com.empresa.logistica.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the {@code normalizar_busca(text)} SQL function (migration V9) in HQL,
+ * typed as a string, so JPQL name searches can use the same expression as the
+ * trigram indexes and still follow the Pageable sort. The function only exists on
+ * PostgreSQL; callers check {@code BuscaNomeSemelhante.isDisponivel()} first.
+ */
+public class NormalizarBuscaFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+            "normalizar_busca", "normalizar_busca(?1)",
+            functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.STRING));
+    }
+}
@@ -0,0 +1,12 @@
+package com.empresa.logistica.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background jobs (e.g. credit exposure bucket expiration)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,59 @@
+package com.empresa.logistica.controller;
+
+import com.empresa.logistica.dto.AgrupamentoAnalise;
+import com.empresa.logistica.dto.ResultadoAnaliseDTO;
+import com.empresa.logistica.dto.SnapshotAnaliseDTO;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.service.AnalisePedidoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * REST Controller for ad-hoc order analytics, answered from an in-memory snapshot
+ */
+@RestController
+@RequestMapping("/analise")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class AnalisePedidoController {
+
+    private final AnalisePedidoService analisePedidoService;
+
+    /**
+     * GET /analise/pedidos - Order count and value by day, month, customer or status, with optional filters
+     */
+    @GetMapping("/pedidos")
+    public ResponseEntity<ResultadoAnaliseDTO> analisarPedidos(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long clienteId,
+            @RequestParam(required = false) StatusPedido status,
+            @RequestParam(defaultValue = "NENHUM") AgrupamentoAnalise agruparPor) {
+
+        log.info("Analisando pedidos de {} a {} (cliente {}, status {}) por {}", from, to, clienteId, status, agruparPor);
+        return ResponseEntity.ok(analisePedidoService.analisar(from, to, clienteId, status, agruparPor));
+    }
+
+    /**
+     * GET /analise/pedidos/snapshot - Size and load time of the analytics snapshot
+     */
+    @GetMapping("/pedidos/snapshot")
+    public ResponseEntity<SnapshotAnaliseDTO> obterSnapshot() {
+        return ResponseEntity.ok(analisePedidoService.obterSnapshot());
+    }
+
+    /**
+     * POST /analise/pedidos/snapshot - Reload the analytics snapshot from the database now
+     */
+    @PostMapping("/pedidos/snapshot")
+    public ResponseEntity<SnapshotAnaliseDTO> recarregarSnapshot() {
+        log.info("Recarregando snapshot de análise de pedidos");
+        return ResponseEntity.ok(analisePedidoService.recarregarSnapshot());
+    }
+}
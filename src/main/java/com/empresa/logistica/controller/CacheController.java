@@ -0,0 +1,87 @@
+package com.empresa.logistica.controller;
+
+import com.empresa.logistica.config.CaffeineRegionFactory;
+import com.empresa.logistica.dto.MetricasCacheDTO;
+import com.empresa.logistica.service.impl.VersaoCatalogo;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST Controller for second-level cache diagnostics
+ */
+@RestController
+@RequestMapping("/cache")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class CacheController {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final VersaoCatalogo versaoCatalogo;
+
+    /**
+     * GET /cache/metricas - Hit/miss counters of the entity and query cache regions
+     */
+    @GetMapping("/metricas")
+    public ResponseEntity<MetricasCacheDTO> metricas() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<MetricasCacheDTO.Regiao> regioes = new ArrayList<>();
+        regioes.add(paraRegiao(estatisticas.getDomainDataRegionStatistics(CaffeineRegionFactory.REGIAO_CLIENTE)));
+        regioes.add(paraRegiao(estatisticas.getDomainDataRegionStatistics(CaffeineRegionFactory.REGIAO_PRODUTO)));
+        CacheRegionStatistics consultas = estatisticas.getQueryRegionStatistics(
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+        if (consultas != null) {
+            regioes.add(paraRegiao(consultas));
+        }
+
+        return ResponseEntity.ok(MetricasCacheDTO.builder()
+            .estatisticasHabilitadas(estatisticas.isStatisticsEnabled())
+            .regioes(regioes)
+            .build());
+    }
+
+    /**
+     * POST /cache/metricas/reset - Reset the counters (e.g. before a load test)
+     */
+    @PostMapping("/metricas/reset")
+    public ResponseEntity<Void> resetarMetricas() {
+        log.info("Reiniciando estatísticas do cache de segundo nível");
+        entityManagerFactory.unwrap(SessionFactory.class).getStatistics().clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * POST /cache/catalogo/invalidar - Bump the catalog version after clients or products
+     * were changed outside this instance (SQL scripts, another node), forcing a 200 on /all
+     */
+    @PostMapping("/catalogo/invalidar")
+    public ResponseEntity<Void> invalidarCatalogo() {
+        versaoCatalogo.invalidar();
+        return ResponseEntity.noContent().build();
+    }
+
+    private MetricasCacheDTO.Regiao paraRegiao(CacheRegionStatistics regiao) {
+        long acertos = regiao.getHitCount();
+        long falhas = regiao.getMissCount();
+        long consultas = acertos + falhas;
+        return MetricasCacheDTO.Regiao.builder()
+            .nome(regiao.getRegionName())
+            .acertos(acertos)
+            .falhas(falhas)
+            .insercoes(regiao.getPutCount())
+            .elementosEmMemoria(regiao.getElementCountInMemory())
+            .taxaAcerto(consultas == 0 ? 0.0 : (double) acertos / consultas)
+            .build();
+    }
+}
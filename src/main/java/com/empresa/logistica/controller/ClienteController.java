@@ -1,26 +1,36 @@
 package com.empresa.logistica.controller;
 
+import com.empresa.logistica.config.ApplicationConstants;
 import com.empresa.logistica.dto.ClienteDTO;
 import com.empresa.logistica.mapper.ClienteMapper;
 import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Money;
 import com.empresa.logistica.repository.ClienteRepository;
-import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.BuscaNomeSemelhante;
+import com.empresa.logistica.repository.EstimativaContagemRepository;
+import com.empresa.logistica.repository.ModoContagem;
+import com.empresa.logistica.service.ExposicaoCreditoService;
+import com.empresa.logistica.service.CatalogoService;
+import com.empresa.logistica.service.impl.VersaoCatalogo;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for Customer management
@@ -34,37 +44,83 @@ public class ClienteController {
     
     private final ClienteRepository clienteRepository;
     private final ClienteMapper clienteMapper;
-    private final PedidoRepository pedidoRepository;
+    private final ExposicaoCreditoService exposicaoCreditoService;
+    private final EstimativaContagemRepository estimativaContagemRepository;
+    private final BuscaNomeSemelhante buscaNomeSemelhante;
+    private final VersaoCatalogo versaoCatalogo;
+    private final CatalogoService catalogoService;
+    private final ObjectMapper objectMapper;
     
     /**
      * GET /clientes - List all customers with pagination
      */
     @GetMapping
-    public ResponseEntity<Page<ClienteDTO>> listarClientes(
+    public ResponseEntity<Slice<ClienteDTO>> listarClientes(
             @PageableDefault(size = 20, sort = "nome", direction = Sort.Direction.ASC) 
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem) {
         
         log.info("Listando clientes - página: {}, tamanho: {}", pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Cliente> clientes = clienteRepository.findAll(pageable);
-        Page<ClienteDTO> clientesDTO = clientes.map(clienteMapper::toDTO);
+        Slice<Cliente> clientes = contagem.paginar(pageable,
+            clienteRepository::findSliceBy,
+            clienteRepository::findAll,
+            () -> estimativaContagemRepository.estimarTabela("cliente"));
+        Slice<ClienteDTO> clientesDTO = clientes.map(clienteMapper::toDTO);
+        exposicaoCreditoService.completarCredito(clientesDTO.getContent());
         
         return ResponseEntity.ok(clientesDTO);
     }
     
     /**
-     * GET /clientes/all - List all customers without pagination (for dropdowns)
+     * GET /clientes/credito - Credit utilization report of all customers, filtered and sorted by
+     * utilization in the database (one grouped query over the credit window)
+     */
+    @GetMapping("/credito")
+    public ResponseEntity<Slice<ClienteDTO>> relatorioCredito(
+            @RequestParam(required = false) BigDecimal percentualMin,
+            @RequestParam(required = false) BigDecimal percentualMax,
+            @PageableDefault(size = 50, sort = "percentualUtilizado", direction = Sort.Direction.DESC)
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem) {
+        
+        log.info("Relatório de utilização de crédito - faixa: {} a {}, página: {}",
+            percentualMin, percentualMax, pageable.getPageNumber());
+        return ResponseEntity.ok(exposicaoCreditoService.listarUtilizacaoCredito(
+            percentualMin, percentualMax, pageable, contagem));
+    }
+    
+    /**
+     * GET /clientes/all - List all customers without pagination (for dropdowns).
+     * Tagged with the catalog version; a matching If-None-Match gets a 304 without querying the database.
      */
     @GetMapping("/all")
-    public ResponseEntity<List<ClienteDTO>> listarTodosClientes() {
+    public ResponseEntity<StreamingResponseBody> listarTodosClientes(WebRequest request) {
+        // Versão lida antes da consulta: uma alteração concorrente gera outro ETag na próxima requisição
+        String etag = versaoCatalogo.etag(Cliente.class);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        
         log.info("Listando todos os clientes");
         
-        List<Cliente> clientes = clienteRepository.findAll();
-        List<ClienteDTO> clientesDTO = clientes.stream()
-            .map(clienteMapper::toDTO)
-            .collect(Collectors.toList());
+        // Linhas seguem do cursor do banco direto para o gerador JSON da resposta
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .eTag(etag)
+            .body(RespostaStreaming.arrayJson(objectMapper, catalogoService::percorrerClientes));
+    }
+    
+    /**
+     * GET /clientes/top - Customers with the largest credit limits (limit pushed down to SQL)
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<ClienteDTO>> listarTopClientes(
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_LIMITE_TOP) int limite) {
         
-        return ResponseEntity.ok(clientesDTO);
+        log.info("Listando {} clientes com maior limite de crédito", limite);
+        return ResponseEntity.ok(catalogoService.listarClientesMaiorLimiteCredito(limite));
     }
     
     /**
@@ -82,18 +138,40 @@ public class ClienteController {
     }
     
     /**
-     * GET /clientes/search - Search customers by name
+     * GET /clientes/search - Search customers by name (most similar first unless a sort is given)
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<ClienteDTO>> buscarPorNome(
+    public ResponseEntity<Slice<ClienteDTO>> buscarPorNome(
             @RequestParam String nome,
-            @PageableDefault(size = 20, sort = "nome", direction = Sort.Direction.ASC) 
-            Pageable pageable) {
+            @PageableDefault(size = 20) 
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem) {
         
         log.info("Buscando clientes por nome: {}", nome);
         
-        Page<Cliente> clientes = clienteRepository.findByNomeContainingIgnoreCase(nome, pageable);
-        Page<ClienteDTO> clientesDTO = clientes.map(clienteMapper::toDTO);
+        Slice<Cliente> clientes;
+        if (buscaNomeSemelhante.isDisponivel()) {
+            // Índice de trigramas sem acentos; sem ordenação pedida, mais semelhantes primeiro
+            String termo = BuscaNomeSemelhante.termo(nome);
+            boolean porSemelhanca = pageable.getSort().isUnsorted();
+            clientes = contagem.paginar(pageable,
+                p -> porSemelhanca
+                    ? clienteRepository.buscarSlicePorNomeSemelhante(termo, p)
+                    : clienteRepository.buscarSlicePorNomeSemelhanteOrdenado(termo, p),
+                p -> porSemelhanca
+                    ? clienteRepository.buscarPorNomeSemelhante(termo, p)
+                    : clienteRepository.buscarPorNomeSemelhanteOrdenado(termo, p),
+                () -> estimativaContagemRepository.estimarConsulta(
+                    "SELECT 1" + ClienteRepository.FILTRO_NOME_SEMELHANTE.replace(":termo", "?"), termo));
+        } else {
+            clientes = contagem.paginar(BuscaNomeSemelhante.ordenadoPorNome(pageable),
+                p -> clienteRepository.findSliceByNomeContainingIgnoreCase(nome, p),
+                p -> clienteRepository.findByNomeContainingIgnoreCase(nome, p),
+                () -> estimativaContagemRepository.estimarConsulta(
+                    "SELECT 1 FROM cliente WHERE LOWER(nome) LIKE LOWER(?)", "%" + nome + "%"));
+        }
+        Slice<ClienteDTO> clientesDTO = clientes.map(clienteMapper::toDTO);
+        exposicaoCreditoService.completarCredito(clientesDTO.getContent());
         
         return ResponseEntity.ok(clientesDTO);
     }
@@ -108,15 +186,18 @@ public class ClienteController {
         Cliente cliente = clienteRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado: " + id));
         
-        // Calculate used credit in last 30 days
-        LocalDateTime dataLimite = LocalDateTime.now().minusDays(30);
-        BigDecimal valorUtilizado = pedidoRepository.totalPedidosUltimos30Dias(id, dataLimite);
-        BigDecimal saldoDisponivel = cliente.getLimiteCredito().subtract(valorUtilizado);
+        // Limit read from the database (not the second-level cache), as in the credit decision
+        Money limiteCredito = clienteRepository.findLimiteCreditoById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado: " + id));
+        
+        // Calculate used credit in the credit window
+        Money valorUtilizado = exposicaoCreditoService.calcularValorUtilizado(id);
+        Money saldoDisponivel = limiteCredito.minus(valorUtilizado);
         
         Map<String, Object> creditInfo = new HashMap<>();
         creditInfo.put("clienteId", cliente.getId());
         creditInfo.put("clienteNome", cliente.getNome());
-        creditInfo.put("limiteCredito", cliente.getLimiteCredito());
+        creditInfo.put("limiteCredito", limiteCredito);
         creditInfo.put("valorUtilizado", valorUtilizado);
         creditInfo.put("saldoDisponivel", saldoDisponivel);
         
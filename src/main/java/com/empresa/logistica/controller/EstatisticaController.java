@@ -0,0 +1,56 @@
+package com.empresa.logistica.controller;
+
+import com.empresa.logistica.dto.EstadoEstatisticasDTO;
+import com.empresa.logistica.dto.EstatisticasClienteDTO;
+import com.empresa.logistica.dto.EstatisticasProdutoDTO;
+import com.empresa.logistica.service.EstatisticaPedidoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for approximate order statistics: value percentiles and distinct buyers
+ */
+@RestController
+@RequestMapping("/estatisticas")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class EstatisticaController {
+
+    private final EstatisticaPedidoService estatisticaPedidoService;
+
+    /**
+     * GET /estatisticas/clientes/{id} - p50/p95/p99 order value of a customer's approved orders
+     */
+    @GetMapping("/clientes/{id}")
+    public ResponseEntity<EstatisticasClienteDTO> obterEstatisticasCliente(@PathVariable Long id) {
+        return ResponseEntity.ok(estatisticaPedidoService.obterEstatisticasCliente(id));
+    }
+
+    /**
+     * GET /estatisticas/produtos/{id} - Distinct buyers and p50/p95/p99 item value of a product
+     */
+    @GetMapping("/produtos/{id}")
+    public ResponseEntity<EstatisticasProdutoDTO> obterEstatisticasProduto(@PathVariable Long id) {
+        return ResponseEntity.ok(estatisticaPedidoService.obterEstatisticasProduto(id));
+    }
+
+    /**
+     * GET /estatisticas - State of the statistics sketches
+     */
+    @GetMapping
+    public ResponseEntity<EstadoEstatisticasDTO> obterEstado() {
+        return ResponseEntity.ok(estatisticaPedidoService.obterEstado());
+    }
+
+    /**
+     * POST /estatisticas/reconstrucao - Rebuild every sketch from the order history now
+     */
+    @PostMapping("/reconstrucao")
+    public ResponseEntity<EstadoEstatisticasDTO> reconstruir() {
+        log.info("Reconstruindo estatísticas de pedidos a partir do histórico");
+        return ResponseEntity.ok(estatisticaPedidoService.reconstruir());
+    }
+}
@@ -0,0 +1,49 @@
+package com.empresa.logistica.controller;
+
+import com.empresa.logistica.dto.ConsistenciaIndiceCreditoDTO;
+import com.empresa.logistica.dto.MetricasBloqueioCreditoDTO;
+import com.empresa.logistica.service.ExposicaoCreditoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for credit exposure maintenance and diagnostics
+ */
+@RestController
+@RequestMapping("/credito")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class ExposicaoCreditoController {
+
+    private final ExposicaoCreditoService exposicaoCreditoService;
+
+    /**
+     * GET /credito/indice/consistencia - Compare the in-memory index with the database
+     */
+    @GetMapping("/indice/consistencia")
+    public ResponseEntity<ConsistenciaIndiceCreditoDTO> verificarConsistencia() {
+        log.info("Verificando consistência do índice de exposição de crédito");
+        return ResponseEntity.ok(exposicaoCreditoService.verificarConsistenciaIndice());
+    }
+
+    /**
+     * POST /credito/indice/reconstrucao - Rebuild the in-memory index from the database
+     */
+    @PostMapping("/indice/reconstrucao")
+    public ResponseEntity<ConsistenciaIndiceCreditoDTO> reconstruir() {
+        log.info("Reconstruindo índice de exposição de crédito");
+        return ResponseEntity.ok(exposicaoCreditoService.reconstruirIndice());
+    }
+
+    /**
+     * GET /credito/bloqueios - Wait-time statistics of the per-customer credit lock
+     */
+    @GetMapping("/bloqueios")
+    public ResponseEntity<MetricasBloqueioCreditoDTO> metricasBloqueio(
+            @RequestParam(defaultValue = "10") int limite) {
+        return ResponseEntity.ok(exposicaoCreditoService.obterMetricasBloqueio(limite));
+    }
+}
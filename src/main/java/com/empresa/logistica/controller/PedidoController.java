@@ -1,23 +1,45 @@
 package com.empresa.logistica.controller;
 
+import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.dto.FormatoExportacao;
+import com.empresa.logistica.dto.ItemPedidoDTO;
 import com.empresa.logistica.dto.PedidoDTO;
+import com.empresa.logistica.dto.ProjecaoPedido;
+import com.empresa.logistica.dto.ResultadoLotePedidosDTO;
+import com.empresa.logistica.dto.ResumoPedidosDTO;
 import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.dto.request.CriarPedidosLoteRequest;
 import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.ModoContagem;
+import com.empresa.logistica.service.ExportacaoPedidoService;
+import com.empresa.logistica.service.IdempotenciaService;
 import com.empresa.logistica.service.PedidoService;
+import com.empresa.logistica.service.ResumoPedidoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for Order management
@@ -30,52 +52,165 @@ import java.time.LocalDateTime;
 @CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
 public class PedidoController {
     
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    private static final int TAMANHO_BUFFER_GZIP = 8192;
+    
     private final PedidoService pedidoService;
+    private final IdempotenciaService idempotenciaService;
+    private final ExportacaoPedidoService exportacaoPedidoService;
+    private final ResumoPedidoService resumoPedidoService;
     
     @PostMapping
-    public ResponseEntity<PedidoDTO> criarPedido(@Valid @RequestBody CriarPedidoRequest request) {
-        log.info("Criando pedido para cliente {}", request.getClienteId());
-        PedidoDTO pedido = pedidoService.criarPedido(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(pedido);
+    public ResponseEntity<PedidoDTO> criarPedido(
+            @Valid @RequestBody CriarPedidoRequest request,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String chaveIdempotencia) {
+        
+        boolean assincrono = prefer != null && prefer.contains(RESPOND_ASYNC);
+        HttpStatus status = assincrono ? HttpStatus.ACCEPTED : HttpStatus.CREATED;
+        
+        if (chaveIdempotencia != null) {
+            // Repetições com a mesma chave devolvem a resposta original sem refazer crédito e itens
+            IdempotenciaService.RespostaIdempotente resposta = idempotenciaService.executar(
+                chaveIdempotencia, request, status.value(), () -> executarCriacao(request, assincrono));
+            return responder(HttpStatus.valueOf(resposta.statusHttp()), resposta.pedido(), resposta.repetida());
+        }
+        
+        return responder(status, executarCriacao(request, assincrono), false);
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<ResultadoLotePedidosDTO> criarPedidosEmLote(
+            @Valid @RequestBody CriarPedidosLoteRequest request) {
+        
+        log.info("Criando lote de {} pedidos", request.getPedidos().size());
+        ResultadoLotePedidosDTO resultado = pedidoService.criarPedidosEmLote(request.getPedidos());
+        return ResponseEntity.ok(resultado);
+    }
+    
+    /**
+     * GET /pedidos/top - Largest approved orders by total value (limit pushed down to SQL)
+     */
+    @GetMapping("/top")
+    public ResponseEntity<MappingJacksonValue> listarMaioresPedidos(
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_LIMITE_TOP) int limite,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        
+        log.info("Listando {} maiores pedidos aprovados", limite);
+        ProjecaoPedido projecao = ProjecaoPedido.de(fields, expand);
+        return projetar(pedidoService.listarMaioresAprovados(limite, projecao), projecao);
+    }
+    
+    /**
+     * GET /pedidos/top/itens - Order items with the largest subtotals (limit pushed down to SQL)
+     */
+    @GetMapping("/top/itens")
+    public ResponseEntity<List<ItemPedidoDTO>> listarItensMaiorSubtotal(
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_LIMITE_TOP) int limite) {
+        
+        log.info("Listando {} itens de maior subtotal", limite);
+        return ResponseEntity.ok(pedidoService.listarItensMaiorSubtotal(limite));
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<PedidoDTO> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<MappingJacksonValue> buscarPorId(
+            @PathVariable Long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        
         log.info("Buscando pedido {}", id);
-        PedidoDTO pedido = pedidoService.buscarPorId(id);
-        return ResponseEntity.ok(pedido);
+        ProjecaoPedido projecao = ProjecaoPedido.de(fields, expand);
+        PedidoDTO pedido = pedidoService.buscarPorId(id, projecao);
+        return projetar(pedido, projecao);
     }
     
     @GetMapping
-    public ResponseEntity<Page<PedidoDTO>> listarPedidos(
+    public ResponseEntity<MappingJacksonValue> listarPedidos(
             @PageableDefault(size = 20, sort = "dataPedido", direction = Sort.Direction.DESC) 
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
         
         log.info("Listando pedidos - página: {}, tamanho: {}", pageable.getPageNumber(), pageable.getPageSize());
-        Page<PedidoDTO> pedidos = pedidoService.listarPedidos(pageable);
-        return ResponseEntity.ok(pedidos);
+        ProjecaoPedido projecao = ProjecaoPedido.de(fields, expand);
+        Slice<PedidoDTO> pedidos = pedidoService.listarPedidos(pageable, contagem, projecao);
+        return projetar(pedidos, projecao);
     }
     
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<Page<PedidoDTO>> listarPorCliente(
+    public ResponseEntity<MappingJacksonValue> listarPorCliente(
             @PathVariable Long clienteId,
             @PageableDefault(size = 20, sort = "dataPedido", direction = Sort.Direction.DESC) 
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
         
         log.info("Listando pedidos do cliente {} - página: {}", clienteId, pageable.getPageNumber());
-        Page<PedidoDTO> pedidos = pedidoService.listarPorCliente(clienteId, pageable);
-        return ResponseEntity.ok(pedidos);
+        ProjecaoPedido projecao = ProjecaoPedido.de(fields, expand);
+        Slice<PedidoDTO> pedidos = pedidoService.listarPorCliente(clienteId, pageable, contagem, projecao);
+        return projetar(pedidos, projecao);
     }
     
     @GetMapping("/status/{status}")
-    public ResponseEntity<Page<PedidoDTO>> listarPorStatus(
+    public ResponseEntity<MappingJacksonValue> listarPorStatus(
             @PathVariable StatusPedido status,
             @PageableDefault(size = 20, sort = "dataPedido", direction = Sort.Direction.DESC) 
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
         
         log.info("Listando pedidos com status {} - página: {}", status, pageable.getPageNumber());
-        Page<PedidoDTO> pedidos = pedidoService.listarPorStatus(status, pageable);
-        return ResponseEntity.ok(pedidos);
+        ProjecaoPedido projecao = ProjecaoPedido.de(fields, expand);
+        Slice<PedidoDTO> pedidos = pedidoService.listarPorStatus(status, pageable, contagem, projecao);
+        return projetar(pedidos, projecao);
+    }
+    
+    /**
+     * Keyset variants of the listings above, selected by the {@code cursor} parameter
+     * (empty for the first page); always ordered by dataPedido and id, most recent first
+     */
+    @GetMapping(params = "cursor")
+    public ResponseEntity<MappingJacksonValue> listarPedidosPorCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_PAGINATION_SIZE) int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        
+        log.info("Listando pedidos por cursor - tamanho: {}", size);
+        ProjecaoPedido projecao = ProjecaoPedido.de(fields, expand);
+        return projetar(pedidoService.listarPedidos(cursor, size, projecao), projecao);
+    }
+    
+    @GetMapping(value = "/cliente/{clienteId}", params = "cursor")
+    public ResponseEntity<MappingJacksonValue> listarPorClientePorCursor(
+            @PathVariable Long clienteId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_PAGINATION_SIZE) int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        
+        log.info("Listando pedidos do cliente {} por cursor", clienteId);
+        ProjecaoPedido projecao = ProjecaoPedido.de(fields, expand);
+        return projetar(pedidoService.listarPorCliente(clienteId, cursor, size, projecao), projecao);
+    }
+    
+    @GetMapping(value = "/status/{status}", params = "cursor")
+    public ResponseEntity<MappingJacksonValue> listarPorStatusPorCursor(
+            @PathVariable StatusPedido status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_PAGINATION_SIZE) int size,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String expand) {
+        
+        log.info("Listando pedidos com status {} por cursor", status);
+        ProjecaoPedido projecao = ProjecaoPedido.de(fields, expand);
+        return projetar(pedidoService.listarPorStatus(status, cursor, size, projecao), projecao);
     }
     
     @GetMapping("/cliente/{clienteId}/total")
@@ -88,4 +223,127 @@ public class PedidoController {
         BigDecimal total = pedidoService.calcularTotalPorCliente(clienteId, dataInicio, dataFim);
         return ResponseEntity.ok(total);
     }
+    
+    /**
+     * GET /pedidos/resumo - Order counters and approved totals from the daily rollup
+     */
+    @GetMapping("/resumo")
+    public ResponseEntity<ResumoPedidosDTO> obterResumo() {
+        return ResponseEntity.ok(resumoPedidoService.obterResumo());
+    }
+    
+    /**
+     * POST /pedidos/resumo/reparo - Rebuild the daily rollup of the given days for divergent customers
+     */
+    @PostMapping("/resumo/reparo")
+    public ResponseEntity<Integer> repararResumo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        
+        log.info("Reparando resumo diário de pedidos de {} até {}", from, to);
+        return ResponseEntity.ok(resumoPedidoService.reparar(from, to));
+    }
+    
+    /**
+     * GET /pedidos/export - Full order history with items as NDJSON or CSV, streamed from a
+     * forward-only cursor; gzip-compressed on the fly when the client accepts it
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        
+        FormatoExportacao formato = FormatoExportacao.de(format);
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Período inválido: from posterior a to");
+        }
+        boolean gzip = aceitaGzip(acceptEncoding);
+        log.info("Exportando pedidos em {} de {} até {} (gzip: {})", formato, from, to, gzip);
+        
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(formato.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("pedidos." + formato.getExtensao()).build().toString())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        
+        return resposta.body(saida -> {
+            if (gzip) {
+                GZIPOutputStream compactada = new GZIPOutputStream(saida, TAMANHO_BUFFER_GZIP);
+                exportacaoPedidoService.exportar(formato, from, to, compactada);
+                compactada.finish();
+            } else {
+                exportacaoPedidoService.exportar(formato, from, to, saida);
+            }
+        });
+    }
+    
+    private PedidoDTO executarCriacao(CriarPedidoRequest request, boolean assincrono) {
+        if (assincrono) {
+            // Aceita o pedido como PENDENTE; a decisão de crédito fica com o worker assíncrono
+            log.info("Recebendo pedido assíncrono para cliente {}", request.getClienteId());
+            return pedidoService.receberPedido(request);
+        }
+        log.info("Criando pedido para cliente {}", request.getClienteId());
+        return pedidoService.criarPedido(request);
+    }
+    
+    /**
+     * Emits only the fields selected by the projection; the full order keeps the default serialization
+     */
+    private ResponseEntity<MappingJacksonValue> projetar(Object corpo, ProjecaoPedido projecao) {
+        MappingJacksonValue valor = new MappingJacksonValue(corpo);
+        if (!projecao.isCompleta()) {
+            valor.setFilters(projecao.filtros());
+        }
+        return ResponseEntity.ok(valor);
+    }
+    
+    private ResponseEntity<PedidoDTO> responder(HttpStatus status, PedidoDTO pedido, boolean repetida) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(status);
+        if (status == HttpStatus.ACCEPTED) {
+            URI statusUri = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(pedido.getId())
+                .toUri();
+            resposta.location(statusUri).header("Preference-Applied", RESPOND_ASYNC);
+        }
+        if (repetida) {
+            resposta.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return resposta.body(pedido);
+    }
+    
+    /**
+     * True only when gzip is listed with a non-zero q-value; x-gzip and "*" are not taken as gzip
+     */
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String codificacao : acceptEncoding.split(",")) {
+            String[] partes = codificacao.split(";");
+            if (!partes[0].trim().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            double q = 1.0;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].trim();
+                if (parametro.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(parametro.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        // q inválido: a codificação não é considerada aceita
+                        q = 0;
+                    }
+                }
+            }
+            return q > 0;
+        }
+        return false;
+    }
 }
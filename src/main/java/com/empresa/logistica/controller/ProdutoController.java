@@ -1,22 +1,33 @@
 package com.empresa.logistica.controller;
 
+import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.dto.CriterioVendas;
+import com.empresa.logistica.dto.JanelaVendas;
 import com.empresa.logistica.dto.ProdutoDTO;
+import com.empresa.logistica.dto.VendasProdutoDTO;
 import com.empresa.logistica.mapper.ProdutoMapper;
 import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.repository.ModoContagem;
 import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.CatalogoService;
+import com.empresa.logistica.service.impl.VersaoCatalogo;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.persistence.EntityNotFoundException;
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for Product management
@@ -30,36 +41,71 @@ public class ProdutoController {
     
     private final ProdutoRepository produtoRepository;
     private final ProdutoMapper produtoMapper;
+    private final VersaoCatalogo versaoCatalogo;
+    private final CatalogoService catalogoService;
+    private final ObjectMapper objectMapper;
     
     /**
      * GET /produtos - List all products with pagination
      */
     @GetMapping
-    public ResponseEntity<Page<ProdutoDTO>> listarProdutos(
+    public ResponseEntity<Slice<ProdutoDTO>> listarProdutos(
             @PageableDefault(size = 20, sort = "nome", direction = Sort.Direction.ASC) 
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem) {
         
         log.info("Listando produtos - página: {}, tamanho: {}", pageable.getPageNumber(), pageable.getPageSize());
         
-        Page<Produto> produtos = produtoRepository.findAll(pageable);
-        Page<ProdutoDTO> produtosDTO = produtos.map(produtoMapper::toDTO);
+        Slice<ProdutoDTO> produtosDTO = catalogoService.listarProdutos(pageable, contagem);
         
         return ResponseEntity.ok(produtosDTO);
     }
     
     /**
-     * GET /produtos/all - List all products without pagination (for dropdowns)
+     * GET /produtos/all - List all products without pagination (for dropdowns).
+     * Tagged with the catalog version; a matching If-None-Match gets a 304 without querying the database.
      */
     @GetMapping("/all")
-    public ResponseEntity<List<ProdutoDTO>> listarTodosProdutos() {
+    public ResponseEntity<StreamingResponseBody> listarTodosProdutos(WebRequest request) {
+        // Versão lida antes da consulta: uma alteração concorrente gera outro ETag na próxima requisição
+        String etag = versaoCatalogo.etag(Produto.class);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        
         log.info("Listando todos os produtos");
         
-        List<Produto> produtos = produtoRepository.findAll();
-        List<ProdutoDTO> produtosDTO = produtos.stream()
-            .map(produtoMapper::toDTO)
-            .collect(Collectors.toList());
+        // Linhas seguem do cursor do banco direto para o gerador JSON da resposta
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .eTag(etag)
+            .body(RespostaStreaming.arrayJson(objectMapper, catalogoService::percorrerProdutos));
+    }
+    
+    /**
+     * GET /produtos/top - Most expensive (ordem=DESC) or cheapest (ordem=ASC) products (limit pushed down to SQL)
+     */
+    @GetMapping("/top")
+    public ResponseEntity<List<ProdutoDTO>> listarTopProdutos(
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_LIMITE_TOP) int limite,
+            @RequestParam(defaultValue = "DESC") Sort.Direction ordem) {
         
-        return ResponseEntity.ok(produtosDTO);
+        log.info("Listando {} produtos por preço ({})", limite, ordem);
+        return ResponseEntity.ok(catalogoService.listarProdutosPorPreco(limite, ordem.isDescending()));
+    }
+    
+    /**
+     * GET /produtos/top/vendidos - Best-selling products by units or value, all time or rolling window (in-memory ranking)
+     */
+    @GetMapping("/top/vendidos")
+    public ResponseEntity<List<VendasProdutoDTO>> listarProdutosMaisVendidos(
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_LIMITE_TOP) int limite,
+            @RequestParam(defaultValue = "QUANTIDADE") CriterioVendas criterio,
+            @RequestParam(defaultValue = "TOTAL") JanelaVendas janela) {
+        
+        log.info("Listando {} produtos mais vendidos por {} ({})", limite, criterio, janela);
+        return ResponseEntity.ok(catalogoService.listarProdutosMaisVendidos(limite, criterio, janela));
     }
     
     /**
@@ -77,18 +123,18 @@ public class ProdutoController {
     }
     
     /**
-     * GET /produtos/search - Search products by name
+     * GET /produtos/search - Search products by name (most similar first unless a sort is given)
      */
     @GetMapping("/search")
-    public ResponseEntity<Page<ProdutoDTO>> buscarPorNome(
+    public ResponseEntity<Slice<ProdutoDTO>> buscarPorNome(
             @RequestParam String nome,
-            @PageableDefault(size = 20, sort = "nome", direction = Sort.Direction.ASC) 
-            Pageable pageable) {
+            @PageableDefault(size = 20) 
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem) {
         
         log.info("Buscando produtos por nome: {}", nome);
         
-        Page<Produto> produtos = produtoRepository.findByNomeContainingIgnoreCase(nome, pageable);
-        Page<ProdutoDTO> produtosDTO = produtos.map(produtoMapper::toDTO);
+        Slice<ProdutoDTO> produtosDTO = catalogoService.buscarProdutosPorNome(nome, pageable, contagem);
         
         return ResponseEntity.ok(produtosDTO);
     }
@@ -97,27 +143,16 @@ public class ProdutoController {
      * GET /produtos/preco - Filter products by price range
      */
     @GetMapping("/preco")
-    public ResponseEntity<Page<ProdutoDTO>> buscarPorPreco(
+    public ResponseEntity<Slice<ProdutoDTO>> buscarPorPreco(
             @RequestParam(required = false) BigDecimal precoMin,
             @RequestParam(required = false) BigDecimal precoMax,
             @PageableDefault(size = 20, sort = "preco", direction = Sort.Direction.ASC) 
-            Pageable pageable) {
+            Pageable pageable,
+            @RequestParam(defaultValue = ApplicationConstants.DEFAULT_MODO_CONTAGEM) ModoContagem contagem) {
         
         log.info("Buscando produtos por preço entre {} e {}", precoMin, precoMax);
         
-        Page<Produto> produtos;
-        
-        if (precoMin != null && precoMax != null) {
-            produtos = produtoRepository.findByPrecoBetween(precoMin, precoMax, pageable);
-        } else if (precoMin != null) {
-            produtos = produtoRepository.findByPrecoGreaterThanEqual(precoMin, pageable);
-        } else if (precoMax != null) {
-            produtos = produtoRepository.findByPrecoLessThanEqual(precoMax, pageable);
-        } else {
-            produtos = produtoRepository.findAll(pageable);
-        }
-        
-        Page<ProdutoDTO> produtosDTO = produtos.map(produtoMapper::toDTO);
+        Slice<ProdutoDTO> produtosDTO = catalogoService.buscarProdutosPorPreco(precoMin, precoMax, pageable, contagem);
         return ResponseEntity.ok(produtosDTO);
     }
 }
@@ -0,0 +1,46 @@
+package com.empresa.logistica.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Builds response bodies that serialize elements to the response as they are produced,
+ * instead of buffering the whole collection
+ */
+final class RespostaStreaming {
+
+    private RespostaStreaming() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * JSON array written element by element through one Jackson generator.
+     * The generator buffers a few KB and flushes to the socket as it fills.
+     *
+     * @param fonte receives the element consumer and feeds it every element
+     */
+    static <T> StreamingResponseBody arrayJson(ObjectMapper objectMapper, Consumer<Consumer<T>> fonte) {
+        ObjectWriter escritor = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return saida -> {
+            try (JsonGenerator gerador = objectMapper.createGenerator(saida)) {
+                gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gerador.writeStartArray();
+                fonte.accept(elemento -> {
+                    try {
+                        escritor.writeValue(gerador, elemento);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gerador.writeEndArray();
+            }
+        };
+    }
+}
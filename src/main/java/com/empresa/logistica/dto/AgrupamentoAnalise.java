@@ -0,0 +1,32 @@
+package com.empresa.logistica.dto;
+
+/**
+ * Grouping of the order analytics ({@code agruparPor} request parameter).
+ */
+public enum AgrupamentoAnalise {
+
+    /**
+     * One group with all matching orders
+     */
+    NENHUM,
+
+    /**
+     * Order day (yyyy-MM-dd)
+     */
+    DIA,
+
+    /**
+     * Order month (yyyy-MM)
+     */
+    MES,
+
+    /**
+     * Customer id
+     */
+    CLIENTE,
+
+    /**
+     * Order status
+     */
+    STATUS
+}
@@ -1,5 +1,6 @@
 package com.empresa.logistica.dto;
 
+import com.empresa.logistica.model.Money;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -30,8 +31,21 @@ public class ClienteDTO {
     @JsonFormat(shape = JsonFormat.Shape.STRING)
     private BigDecimal limiteCredito;
     
-    // Campos calculados para relatórios
+    // Campos calculados para relatórios (janela de crédito)
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private BigDecimal valorUtilizado;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
     private BigDecimal saldoDisponivel;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal percentualUtilizado;
     private Integer totalPedidos;
+    
+    /**
+     * Projection constructor for JPQL reads
+     */
+    public ClienteDTO(Long id, String nome, Money limiteCredito) {
+        this.id = id;
+        this.nome = nome;
+        this.limiteCredito = limiteCredito.toBigDecimal();
+    }
 }
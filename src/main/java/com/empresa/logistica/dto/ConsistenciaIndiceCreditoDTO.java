@@ -0,0 +1,50 @@
+package com.empresa.logistica.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Result of comparing the in-memory credit exposure index with the database
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConsistenciaIndiceCreditoDTO {
+
+    private boolean indicePronto;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime ultimaReconstrucao;
+
+    private int clientesNoIndice;
+
+    private int clientesVerificados;
+
+    private boolean consistente;
+
+    private List<Divergencia> divergencias;
+
+    /**
+     * Customer whose exposure differs between index and database
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Divergencia {
+
+        private Long clienteId;
+
+        private BigDecimal valorIndice;
+
+        private BigDecimal valorBanco;
+    }
+}
@@ -0,0 +1,17 @@
+package com.empresa.logistica.dto;
+
+/**
+ * Ranking criterion of the best-selling products ({@code criterio} request parameter).
+ */
+public enum CriterioVendas {
+
+    /**
+     * Units sold
+     */
+    QUANTIDADE,
+
+    /**
+     * Sum of item subtotals
+     */
+    VALOR
+}
@@ -0,0 +1,26 @@
+package com.empresa.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the in-memory order statistics sketches
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoEstatisticasDTO {
+
+    private boolean pronto;
+
+    private int clientes;
+
+    private int produtos;
+
+    private LocalDateTime consolidadoAte;
+}
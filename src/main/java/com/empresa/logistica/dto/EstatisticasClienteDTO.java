@@ -0,0 +1,29 @@
+package com.empresa.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Approximate order value percentiles of a customer's approved orders
+ * (within 1% of the exact value); percentiles are null when there are none
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasClienteDTO {
+
+    private Long clienteId;
+
+    private long pedidos;
+
+    private BigDecimal p50;
+
+    private BigDecimal p95;
+
+    private BigDecimal p99;
+}
@@ -0,0 +1,32 @@
+package com.empresa.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Approximate statistics of a product in approved orders: distinct buyers (about 2%
+ * standard error) and percentiles of the item subtotal per order (within 1%);
+ * percentiles are null when there are no sales
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticasProdutoDTO {
+
+    private Long produtoId;
+
+    private long pedidos;
+
+    private long compradoresDistintos;
+
+    private BigDecimal p50;
+
+    private BigDecimal p95;
+
+    private BigDecimal p99;
+}
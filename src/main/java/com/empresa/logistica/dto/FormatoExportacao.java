@@ -0,0 +1,44 @@
+package com.empresa.logistica.dto;
+
+import java.util.Locale;
+
+/**
+ * Output format of the order export ({@code format} request parameter).
+ *
+ * NDJSON emits one order per line with its items nested; CSV emits one line per item,
+ * repeating the order columns (orders without items get one line with empty item columns).
+ */
+public enum FormatoExportacao {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extensao;
+
+    FormatoExportacao(String contentType, String extensao) {
+        this.contentType = contentType;
+        this.extensao = extensao;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtensao() {
+        return extensao;
+    }
+
+    /**
+     * @param format {@code ndjson} or {@code csv}, case-insensitive
+     * @throws IllegalArgumentException on unknown formats
+     */
+    public static FormatoExportacao de(String format) {
+        for (FormatoExportacao formato : values()) {
+            if (formato.extensao.equals(format.trim().toLowerCase(Locale.ROOT))) {
+                return formato;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportação desconhecido: " + format);
+    }
+}
@@ -1,5 +1,6 @@
 package com.empresa.logistica.dto;
 
+import com.empresa.logistica.model.Money;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,7 +9,6 @@ import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
-import java.math.BigDecimal;
 
 /**
  * Data Transfer Object for ItemPedido (Order Item)
@@ -34,8 +34,8 @@ public class ItemPedidoDTO {
     private Integer quantidade;
     
     @JsonFormat(shape = JsonFormat.Shape.STRING)
-    private BigDecimal subtotal;
+    private Money subtotal;
     
     @JsonFormat(shape = JsonFormat.Shape.STRING)
-    private BigDecimal precoUnitario;
+    private Money precoUnitario;
 }
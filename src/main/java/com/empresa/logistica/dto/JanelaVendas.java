@@ -0,0 +1,42 @@
+package com.empresa.logistica.dto;
+
+/**
+ * Period of the best-selling products ranking ({@code janela} request parameter).
+ *
+ * Rolling windows are calendar days: today and the previous days, by order date.
+ */
+public enum JanelaVendas {
+
+    /**
+     * All orders
+     */
+    TOTAL(0),
+
+    /**
+     * Today's orders
+     */
+    ULTIMO_DIA(1),
+
+    /**
+     * Today and the previous 6 days
+     */
+    ULTIMOS_7_DIAS(7),
+
+    /**
+     * Today and the previous 29 days
+     */
+    ULTIMOS_30_DIAS(30);
+
+    private final int dias;
+
+    JanelaVendas(int dias) {
+        this.dias = dias;
+    }
+
+    /**
+     * @return number of days in the window, or 0 for {@link #TOTAL}
+     */
+    public int getDias() {
+        return dias;
+    }
+}
@@ -0,0 +1,48 @@
+package com.empresa.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Wait-time statistics of the per-customer credit lock
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricasBloqueioCreditoDTO {
+
+    private String estrategia;
+
+    private long aquisicoes;
+
+    private double esperaMediaMs;
+
+    private double esperaMaximaMs;
+
+    private double limiarContencaoMs;
+
+    private List<ContencaoCliente> clientesMaisDisputados;
+
+    /**
+     * Customer whose lock waits exceeded the contention threshold
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ContencaoCliente {
+
+        private Long clienteId;
+
+        private long esperasContendidas;
+
+        private double esperaTotalMs;
+
+        private double esperaMaximaMs;
+    }
+}
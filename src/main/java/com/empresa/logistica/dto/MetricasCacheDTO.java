@@ -0,0 +1,44 @@
+package com.empresa.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Hit/miss statistics of the Hibernate second-level cache regions
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricasCacheDTO {
+
+    private boolean estatisticasHabilitadas;
+
+    private List<Regiao> regioes;
+
+    /**
+     * Counters of one cache region since startup (or the last reset)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Regiao {
+
+        private String nome;
+
+        private long acertos;
+
+        private long falhas;
+
+        private long insercoes;
+
+        private long elementosEmMemoria;
+
+        private double taxaAcerto;
+    }
+}
@@ -0,0 +1,29 @@
+package com.empresa.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) listing; pass {@code proximoCursor} back to fetch the next page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaCursorDTO<T> {
+
+    private List<T> conteudo;
+
+    private int tamanho;
+
+    private boolean temProximo;
+
+    /**
+     * Opaque token of the last row of this page, null on the last page
+     */
+    private String proximoCursor;
+}
@@ -1,6 +1,8 @@
 package com.empresa.logistica.dto;
 
+import com.empresa.logistica.model.Money;
 import com.empresa.logistica.model.StatusPedido;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -8,9 +10,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,8 +21,14 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(PedidoDTO.FILTRO_CAMPOS)
 public class PedidoDTO {
     
+    /**
+     * Jackson filter selecting the emitted fields ({@code fields=} parameter); emits all by default
+     */
+    public static final String FILTRO_CAMPOS = "camposPedido";
+    
     private Long id;
     
     @NotNull(message = "Cliente é obrigatório")
@@ -36,15 +42,28 @@ public class PedidoDTO {
     private StatusPedido status;
     
     @NotNull(message = "Valor total é obrigatório")
-    @Positive(message = "Valor total deve ser positivo")
     @JsonFormat(shape = JsonFormat.Shape.STRING)
-    private BigDecimal valorTotal;
+    private Money valorTotal;
     
     @Valid
     private List<ItemPedidoDTO> itens;
     
     // Campos para validação de crédito
-    private BigDecimal limiteCredito;
-    private BigDecimal valorJaUtilizado;
-    private BigDecimal saldoDisponivel;
+    private Money limiteCredito;
+    private Money valorJaUtilizado;
+    private Money saldoDisponivel;
+    
+    /**
+     * Projection constructor for JPQL reads; items and credit fields are filled in afterwards
+     */
+    public PedidoDTO(Long id, Long clienteId, String clienteNome, LocalDateTime dataPedido,
+                     StatusPedido status, Money valorTotal, Money limiteCredito) {
+        this.id = id;
+        this.clienteId = clienteId;
+        this.clienteNome = clienteNome;
+        this.dataPedido = dataPedido;
+        this.status = status;
+        this.valorTotal = valorTotal;
+        this.limiteCredito = limiteCredito;
+    }
 }
@@ -1,5 +1,6 @@
 package com.empresa.logistica.dto;
 
+import com.empresa.logistica.model.Money;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,4 +30,13 @@ public class ProdutoDTO {
     @Positive(message = "Preço deve ser positivo")
     @JsonFormat(shape = JsonFormat.Shape.STRING)
     private BigDecimal preco;
+    
+    /**
+     * Projection constructor for JPQL reads
+     */
+    public ProdutoDTO(Long id, String nome, Money preco) {
+        this.id = id;
+        this.nome = nome;
+        this.preco = preco.toBigDecimal();
+    }
 }
@@ -0,0 +1,95 @@
+package com.empresa.logistica.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Which parts of an order a read needs: the {@link PedidoDTO} fields to emit and the expensive
+ * expansions to load ({@code itens} = one query on item_pedido, {@code credito} = credit exposure lookup).
+ *
+ * Built from the {@code fields} and {@code expand} request parameters; without either, everything is loaded.
+ */
+public record ProjecaoPedido(Set<String> campos, boolean itens, boolean credito) {
+
+    public static final String EXPANDIR_ITENS = "itens";
+    public static final String EXPANDIR_CREDITO = "credito";
+
+    /**
+     * Every field of {@link PedidoDTO}, in JSON order
+     */
+    public static final Set<String> CAMPOS = Set.of(
+        "id", "clienteId", "clienteNome", "dataPedido", "status", "valorTotal", "itens",
+        "limiteCredito", "valorJaUtilizado", "saldoDisponivel");
+
+    private static final Set<String> CAMPOS_ITENS = Set.of("itens");
+    private static final Set<String> CAMPOS_CREDITO = Set.of("valorJaUtilizado", "saldoDisponivel");
+
+    /**
+     * Full order: all fields, items and credit
+     */
+    public static final ProjecaoPedido COMPLETA = new ProjecaoPedido(CAMPOS, true, true);
+
+    /**
+     * @param fields comma-separated PedidoDTO fields, or null for all
+     * @param expand comma-separated expansions ({@code itens}, {@code credito}), or null for all
+     * @throws IllegalArgumentException on unknown fields or expansions
+     */
+    public static ProjecaoPedido de(String fields, String expand) {
+        if (fields == null && expand == null) {
+            return COMPLETA;
+        }
+
+        Set<String> campos = new LinkedHashSet<>(fields == null ? CAMPOS : lista(fields));
+        for (String campo : campos) {
+            if (!CAMPOS.contains(campo)) {
+                throw new IllegalArgumentException("Campo desconhecido em fields: " + campo);
+            }
+        }
+        // O ID identifica o pedido em qualquer projeção
+        campos.add("id");
+
+        Set<String> expansoes = expand == null ? Set.of(EXPANDIR_ITENS, EXPANDIR_CREDITO) : lista(expand);
+        for (String expansao : expansoes) {
+            if (!EXPANDIR_ITENS.equals(expansao) && !EXPANDIR_CREDITO.equals(expansao)) {
+                throw new IllegalArgumentException("Expansão desconhecida em expand: " + expansao);
+            }
+        }
+
+        // Só carrega o que foi expandido e será emitido; campos não carregados não são emitidos
+        boolean itens = expansoes.contains(EXPANDIR_ITENS) && campos.stream().anyMatch(CAMPOS_ITENS::contains);
+        boolean credito = expansoes.contains(EXPANDIR_CREDITO) && campos.stream().anyMatch(CAMPOS_CREDITO::contains);
+        if (!itens) {
+            campos.removeAll(CAMPOS_ITENS);
+        }
+        if (!credito) {
+            campos.removeAll(CAMPOS_CREDITO);
+        }
+        return new ProjecaoPedido(Set.copyOf(campos), itens, credito);
+    }
+
+    /**
+     * Jackson filters that emit only the selected fields of {@link PedidoDTO}
+     */
+    public FilterProvider filtros() {
+        return new SimpleFilterProvider()
+            .addFilter(PedidoDTO.FILTRO_CAMPOS, SimpleBeanPropertyFilter.filterOutAllExcept(campos));
+    }
+
+    public boolean isCompleta() {
+        return campos.containsAll(CAMPOS);
+    }
+
+    private static Set<String> lista(String valor) {
+        Set<String> valores = new LinkedHashSet<>();
+        Arrays.stream(valor.split(","))
+            .map(String::trim)
+            .filter(item -> !item.isEmpty())
+            .forEach(valores::add);
+        return valores;
+    }
+}
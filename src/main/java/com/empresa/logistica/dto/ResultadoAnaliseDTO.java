@@ -0,0 +1,52 @@
+package com.empresa.logistica.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Order counts and values per group, computed over the in-memory analytics snapshot
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoAnaliseDTO {
+
+    private AgrupamentoAnalise agrupamento;
+
+    /**
+     * When the snapshot was loaded: orders committed after it are not included
+     */
+    private LocalDateTime atualizadoEm;
+
+    private long quantidade;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal valorTotal;
+
+    private List<Grupo> grupos;
+
+    /**
+     * Orders of one group; {@code chave} is the day, month, customer id or status (absent for NENHUM)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Grupo {
+
+        private String chave;
+
+        private long quantidade;
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        private BigDecimal valorTotal;
+    }
+}
@@ -0,0 +1,52 @@
+package com.empresa.logistica.dto;
+
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.StatusPedido;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk order creation, with one result per submitted order (same order as the request)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoLotePedidosDTO {
+
+    private int total;
+
+    private int aprovados;
+
+    private int rejeitados;
+
+    private int falhas;
+
+    private List<ResultadoPedido> resultados;
+
+    /**
+     * Result of a single order of the batch; {@code erro} is set when the order was not created
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ResultadoPedido {
+
+        private int indice;
+
+        private Long pedidoId;
+
+        private Long clienteId;
+
+        private StatusPedido status;
+
+        private Money valorTotal;
+
+        private String erro;
+    }
+}
@@ -0,0 +1,31 @@
+package com.empresa.logistica.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Order counters and approved totals for dashboards, read from the daily order rollup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumoPedidosDTO {
+
+    private long pedidosPendentes;
+
+    private long pedidosAprovados;
+
+    private long pedidosRejeitados;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal valorTotalAprovado;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal valorMedioAprovado;
+}
@@ -0,0 +1,26 @@
+package com.empresa.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of the in-memory analytics snapshot of the orders
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SnapshotAnaliseDTO {
+
+    private boolean carregado;
+
+    private long pedidos;
+
+    private int clientes;
+
+    private LocalDateTime atualizadoEm;
+}
@@ -0,0 +1,28 @@
+package com.empresa.logistica.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Sales totals of one product over all order items (product rankings)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendasProdutoDTO {
+    
+    private Long produtoId;
+    
+    private String produtoNome;
+    
+    private Long quantidade;
+    
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private BigDecimal valor;
+}
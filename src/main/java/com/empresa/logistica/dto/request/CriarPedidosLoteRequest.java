@@ -0,0 +1,28 @@
+package com.empresa.logistica.dto.request;
+
+import com.empresa.logistica.config.ApplicationConstants;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for creating many orders in one call
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CriarPedidosLoteRequest {
+    
+    @NotEmpty(message = "Lote deve ter pelo menos um pedido")
+    @Size(max = ApplicationConstants.MAX_PEDIDOS_POR_LOTE, 
+          message = "Lote deve ter no máximo " + ApplicationConstants.MAX_PEDIDOS_POR_LOTE + " pedidos")
+    @Valid
+    private List<CriarPedidoRequest> pedidos;
+}
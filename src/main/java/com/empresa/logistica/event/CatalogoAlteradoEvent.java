@@ -0,0 +1,13 @@
+package com.empresa.logistica.event;
+
+/**
+ * Application event published by {@link com.empresa.logistica.service.impl.VersaoCatalogo}
+ * after the client or product catalog changed and its version was bumped.
+ *
+ * Published after the commit, so listeners reading the catalog see the change.
+ *
+ * @param tipo entity type whose catalog changed (Cliente or Produto)
+ * @param versao new version of that type
+ */
+public record CatalogoAlteradoEvent(Class<?> tipo, long versao) {
+}
@@ -0,0 +1,29 @@
+package com.empresa.logistica.event;
+
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.StatusPedido;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Application event published when an order is persisted.
+ *
+ * Listeners that maintain in-memory state should consume it with
+ * {@code @TransactionalEventListener} so they only see committed orders.
+ */
+public record PedidoCriadoEvent(
+    Long pedidoId,
+    Long clienteId,
+    LocalDateTime dataPedido,
+    StatusPedido status,
+    Money valorTotal,
+    List<Item> itens
+) {
+
+    /**
+     * Units and subtotal of one product in the order
+     */
+    public record Item(Long produtoId, int quantidade, Money subtotal) {
+    }
+}
@@ -0,0 +1,11 @@
+package com.empresa.logistica.exception;
+
+/**
+ * Thrown when an Idempotency-Key is held by another request that has not finished
+ */
+public class ConflitoIdempotenciaException extends RuntimeException {
+
+    public ConflitoIdempotenciaException(String message) {
+        super(message);
+    }
+}
@@ -97,6 +97,40 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
     
+    @ExceptionHandler(ConflitoIdempotenciaException.class)
+    public ResponseEntity<ErrorResponse> handleConflitoIdempotencia(
+            ConflitoIdempotenciaException e, WebRequest request) {
+        
+        log.error("Conflict: {}", e.getMessage());
+        
+        ErrorResponse error = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.CONFLICT.value())
+            .error("Conflict")
+            .message(e.getMessage())
+            .path(getPath(request))
+            .build();
+            
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    @ExceptionHandler(ServicoIndisponivelException.class)
+    public ResponseEntity<ErrorResponse> handleServicoIndisponivel(
+            ServicoIndisponivelException e, WebRequest request) {
+        
+        log.warn("Service unavailable: {}", e.getMessage());
+        
+        ErrorResponse error = ErrorResponse.builder()
+            .timestamp(LocalDateTime.now())
+            .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+            .error("Service Unavailable")
+            .message(e.getMessage())
+            .path(getPath(request))
+            .build();
+            
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneral(
             Exception e, WebRequest request) {
@@ -0,0 +1,11 @@
+package com.empresa.logistica.exception;
+
+/**
+ * Thrown when a request depends on in-memory data that has not been loaded yet
+ */
+public class ServicoIndisponivelException extends RuntimeException {
+
+    public ServicoIndisponivelException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,222 @@
+package com.empresa.logistica.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade que registra uma chave de idempotência de criação de pedido.
+ *
+ * A linha é inserida na mesma transação que cria o pedido e, ao final da execução,
+ * recebe o pedido gerado e a resposta serializada, que é devolvida sem reprocessamento
+ * quando o cliente repete a requisição com a mesma chave.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Entity
+@Table(name = "chave_idempotencia")
+public class ChaveIdempotencia {
+
+    /**
+     * Valor do header Idempotency-Key enviado pelo cliente.
+     */
+    @Id
+    @Column(name = "chave", nullable = false, length = 255)
+    private String chave;
+
+    /**
+     * Hash SHA-256 (hexadecimal) do corpo da requisição original.
+     */
+    @NotNull(message = "O hash da requisição é obrigatório")
+    @Column(name = "hash_requisicao", nullable = false, length = 64)
+    private String hashRequisicao;
+
+    /**
+     * Status HTTP da resposta original (201 ou 202).
+     */
+    @Column(name = "status_http")
+    private Integer statusHttp;
+
+    /**
+     * Identificador do pedido criado pela requisição original.
+     */
+    @Column(name = "pedido_id")
+    private Long pedidoId;
+
+    /**
+     * Resposta original serializada em JSON.
+     */
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "resposta")
+    private String resposta;
+
+    /**
+     * Data e hora do registro da chave.
+     */
+    @NotNull(message = "A data de criação é obrigatória")
+    @Column(name = "data_criacao", nullable = false)
+    private LocalDateTime dataCriacao;
+
+    /**
+     * Construtor padrão necessário para o JPA.
+     */
+    public ChaveIdempotencia() {
+    }
+
+    /**
+     * Construtor para registro de uma chave ainda em execução.
+     *
+     * @param chave Valor do header Idempotency-Key
+     * @param hashRequisicao Hash do corpo da requisição
+     */
+    public ChaveIdempotencia(String chave, String hashRequisicao) {
+        this.chave = chave;
+        this.hashRequisicao = hashRequisicao;
+        this.dataCriacao = LocalDateTime.now();
+    }
+
+    /**
+     * Verifica se a execução original já registrou sua resposta.
+     *
+     * @return true se a resposta está disponível
+     */
+    public boolean isConcluida() {
+        return resposta != null;
+    }
+
+    /**
+     * Obtém a chave de idempotência.
+     *
+     * @return Valor da chave
+     */
+    public String getChave() {
+        return chave;
+    }
+
+    /**
+     * Define a chave de idempotência.
+     *
+     * @param chave Valor da chave
+     */
+    public void setChave(String chave) {
+        this.chave = chave;
+    }
+
+    /**
+     * Obtém o hash da requisição original.
+     *
+     * @return Hash SHA-256 em hexadecimal
+     */
+    public String getHashRequisicao() {
+        return hashRequisicao;
+    }
+
+    /**
+     * Define o hash da requisição original.
+     *
+     * @param hashRequisicao Hash SHA-256 em hexadecimal
+     */
+    public void setHashRequisicao(String hashRequisicao) {
+        this.hashRequisicao = hashRequisicao;
+    }
+
+    /**
+     * Obtém o status HTTP da resposta original.
+     *
+     * @return Status HTTP
+     */
+    public Integer getStatusHttp() {
+        return statusHttp;
+    }
+
+    /**
+     * Define o status HTTP da resposta original.
+     *
+     * @param statusHttp Status HTTP
+     */
+    public void setStatusHttp(Integer statusHttp) {
+        this.statusHttp = statusHttp;
+    }
+
+    /**
+     * Obtém o identificador do pedido criado.
+     *
+     * @return ID do pedido
+     */
+    public Long getPedidoId() {
+        return pedidoId;
+    }
+
+    /**
+     * Define o identificador do pedido criado.
+     *
+     * @param pedidoId ID do pedido
+     */
+    public void setPedidoId(Long pedidoId) {
+        this.pedidoId = pedidoId;
+    }
+
+    /**
+     * Obtém a resposta original serializada.
+     *
+     * @return JSON da resposta
+     */
+    public String getResposta() {
+        return resposta;
+    }
+
+    /**
+     * Define a resposta original serializada.
+     *
+     * @param resposta JSON da resposta
+     */
+    public void setResposta(String resposta) {
+        this.resposta = resposta;
+    }
+
+    /**
+     * Obtém a data de registro da chave.
+     *
+     * @return Data de criação
+     */
+    public LocalDateTime getDataCriacao() {
+        return dataCriacao;
+    }
+
+    /**
+     * Define a data de registro da chave.
+     *
+     * @param dataCriacao Data de criação
+     */
+    public void setDataCriacao(LocalDateTime dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChaveIdempotencia that = (ChaveIdempotencia) o;
+        return chave != null && Objects.equals(chave, that.chave);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(chave);
+    }
+
+    @Override
+    public String toString() {
+        return "ChaveIdempotencia{" +
+                "chave='" + chave + '\'' +
+                ", pedidoId=" + pedidoId +
+                ", statusHttp=" + statusHttp +
+                ", dataCriacao=" + dataCriacao +
+                '}';
+    }
+}
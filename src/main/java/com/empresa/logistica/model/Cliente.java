@@ -1,10 +1,14 @@
 package com.empresa.logistica.model;
 
+import com.empresa.logistica.model.converter.MoneyConverter;
+import com.empresa.logistica.model.listener.AlteracaoCatalogoListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -17,18 +21,28 @@ import java.util.Objects;
  * Um cliente pode ter múltiplos pedidos associados e possui um limite de crédito
  * que é utilizado para validação de aprovação dos pedidos.
  * 
+ * Fica no cache de segundo nível (região "cliente"), já que toda criação de pedido
+ * o consulta; mudanças de limite de crédito salvas via JPA atualizam o cache. A decisão
+ * de crédito, porém, lê o limite direto do banco, já que o cache de outra instância
+ * só enxerga a alteração quando sua cópia expira.
+ * Toda alteração incrementa a versão do catálogo (ETag de /clientes/all).
+ * 
  * @author Gabriel Mendonca
  * @version 1.0
  */
 @Entity
 @Table(name = "cliente")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cliente")
+@EntityListeners(AlteracaoCatalogoListener.class)
 public class Cliente {
 
     /**
      * Identificador único do cliente.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -44,10 +58,9 @@ public class Cliente {
      * Limite de crédito do cliente em reais.
      * Utilizado para validação de aprovação de pedidos.
      */
-    @NotNull(message = "O limite de crédito é obrigatório")
-    @DecimalMin(value = "0.0", inclusive = true, message = "O limite de crédito deve ser maior ou igual a zero")
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "limite_credito", nullable = false, precision = 15, scale = 2)
-    private BigDecimal limiteCredito;
+    private Money limiteCredito;
 
     /**
      * Lista de pedidos associados ao cliente.
@@ -70,7 +83,7 @@ public class Cliente {
      */
     public Cliente(String nome, BigDecimal limiteCredito) {
         this.nome = nome;
-        this.limiteCredito = limiteCredito;
+        this.limiteCredito = Money.of(limiteCredito);
     }
 
     /**
@@ -114,8 +127,10 @@ public class Cliente {
      * 
      * @return Limite de crédito em BigDecimal
      */
+    @NotNull(message = "O limite de crédito é obrigatório")
+    @DecimalMin(value = "0.0", inclusive = true, message = "O limite de crédito deve ser maior ou igual a zero")
     public BigDecimal getLimiteCredito() {
-        return limiteCredito;
+        return limiteCredito != null ? limiteCredito.toBigDecimal() : null;
     }
 
     /**
@@ -124,7 +139,16 @@ public class Cliente {
      * @param limiteCredito Limite de crédito em BigDecimal
      */
     public void setLimiteCredito(BigDecimal limiteCredito) {
-        this.limiteCredito = limiteCredito;
+        this.limiteCredito = Money.of(limiteCredito);
+    }
+
+    /**
+     * Obtém o limite de crédito como {@link Money}, sem conversão para BigDecimal.
+     * 
+     * @return O limite de crédito em centavos
+     */
+    public Money getLimiteCreditoMoney() {
+        return limiteCredito;
     }
 
     /**
@@ -0,0 +1,108 @@
+package com.empresa.logistica.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidade que registra até quando os pedidos aprovados foram consolidados nos sketches
+ * de estatística persistidos.
+ *
+ * Há uma única linha: sketch_estatistica contém exatamente os pedidos aprovados decididos
+ * antes de {@code consolidadoAte}. A consolidação bloqueia esta linha, então cada intervalo
+ * de decisões é incorporado uma única vez, qualquer que seja a instância que o processe.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Entity
+@Table(name = "consolidacao_estatistica")
+public class ConsolidacaoEstatistica {
+
+    /**
+     * ID da única linha de controle.
+     */
+    public static final short ID = 1;
+
+    /**
+     * Início do histórico: nada consolidado ainda.
+     */
+    public static final LocalDateTime INICIO_HISTORICO = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Id
+    @Column(name = "id", nullable = false)
+    private Short id;
+
+    /**
+     * Limite superior (exclusivo) das datas de decisão já consolidadas.
+     */
+    @NotNull(message = "O limite da consolidação é obrigatório")
+    @Column(name = "consolidado_ate", nullable = false)
+    private LocalDateTime consolidadoAte;
+
+    /**
+     * Data e hora da última consolidação.
+     */
+    @NotNull(message = "A data de atualização é obrigatória")
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    /**
+     * Construtor padrão necessário para o JPA.
+     */
+    public ConsolidacaoEstatistica() {
+    }
+
+    /**
+     * Construtor da linha de controle ainda sem pedidos consolidados.
+     *
+     * @param atualizadoEm Data e hora da criação
+     */
+    public ConsolidacaoEstatistica(LocalDateTime atualizadoEm) {
+        this.id = ID;
+        this.consolidadoAte = INICIO_HISTORICO;
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    public Short getId() {
+        return id;
+    }
+
+    /**
+     * Obtém o limite superior (exclusivo) das decisões consolidadas.
+     *
+     * @return Data e hora limite
+     */
+    public LocalDateTime getConsolidadoAte() {
+        return consolidadoAte;
+    }
+
+    /**
+     * Registra uma consolidação concluída.
+     *
+     * @param consolidadoAte Novo limite superior (exclusivo) das decisões consolidadas
+     * @param atualizadoEm Data e hora da consolidação
+     */
+    public void avancar(LocalDateTime consolidadoAte, LocalDateTime atualizadoEm) {
+        this.consolidadoAte = consolidadoAte;
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    /**
+     * Obtém a data e hora da última consolidação.
+     *
+     * @return Data de atualização
+     */
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    @Override
+    public String toString() {
+        return "ConsolidacaoEstatistica{" +
+                "consolidadoAte=" + consolidadoAte +
+                ", atualizadoEm=" + atualizadoEm +
+                '}';
+    }
+}
@@ -0,0 +1,142 @@
+package com.empresa.logistica.model;
+
+import com.empresa.logistica.model.converter.MoneyConverter;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Entidade que representa o bucket diário de exposição de crédito de um cliente.
+ *
+ * Cada linha acumula o valor dos pedidos APROVADOS de um cliente em um dia,
+ * permitindo que a validação de limite de crédito some apenas os buckets da
+ * janela em vez de agregar todo o histórico de pedidos.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Entity
+@Table(name = "exposicao_credito_diaria")
+@IdClass(ExposicaoCreditoDiariaId.class)
+public class ExposicaoCreditoDiaria {
+
+    /**
+     * Identificador do cliente dono do bucket.
+     */
+    @Id
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    /**
+     * Dia ao qual o bucket se refere.
+     */
+    @Id
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    /**
+     * Soma dos pedidos aprovados do cliente no dia.
+     */
+    @NotNull(message = "O valor total é obrigatório")
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "valor_total", nullable = false, precision = 15, scale = 2)
+    private Money valorTotal;
+
+    /**
+     * Construtor padrão necessário para o JPA.
+     */
+    public ExposicaoCreditoDiaria() {
+    }
+
+    /**
+     * Construtor para criação de bucket com cliente, dia e valor.
+     *
+     * @param clienteId ID do cliente
+     * @param dia Dia do bucket
+     * @param valorTotal Valor acumulado no dia
+     */
+    public ExposicaoCreditoDiaria(Long clienteId, LocalDate dia, Money valorTotal) {
+        this.clienteId = clienteId;
+        this.dia = dia;
+        this.valorTotal = valorTotal;
+    }
+
+    /**
+     * Obtém o identificador do cliente.
+     *
+     * @return ID do cliente
+     */
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    /**
+     * Define o identificador do cliente.
+     *
+     * @param clienteId ID do cliente
+     */
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    /**
+     * Obtém o dia do bucket.
+     *
+     * @return Dia do bucket
+     */
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    /**
+     * Define o dia do bucket.
+     *
+     * @param dia Dia do bucket
+     */
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    /**
+     * Obtém o valor acumulado no dia.
+     *
+     * @return Valor total
+     */
+    public Money getValorTotal() {
+        return valorTotal;
+    }
+
+    /**
+     * Define o valor acumulado no dia.
+     *
+     * @param valorTotal Valor total
+     */
+    public void setValorTotal(Money valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExposicaoCreditoDiaria that = (ExposicaoCreditoDiaria) o;
+        return clienteId != null && Objects.equals(clienteId, that.clienteId)
+                && Objects.equals(dia, that.dia);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clienteId, dia);
+    }
+
+    @Override
+    public String toString() {
+        return "ExposicaoCreditoDiaria{" +
+                "clienteId=" + clienteId +
+                ", dia=" + dia +
+                ", valorTotal=" + valorTotal +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.empresa.logistica.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Chave composta da entidade ExposicaoCreditoDiaria (cliente + dia).
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+public class ExposicaoCreditoDiariaId implements Serializable {
+
+    private Long clienteId;
+    private LocalDate dia;
+
+    /**
+     * Construtor padrão necessário para o JPA.
+     */
+    public ExposicaoCreditoDiariaId() {
+    }
+
+    /**
+     * Construtor da chave composta.
+     *
+     * @param clienteId ID do cliente
+     * @param dia Dia do bucket
+     */
+    public ExposicaoCreditoDiariaId(Long clienteId, LocalDate dia) {
+        this.clienteId = clienteId;
+        this.dia = dia;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ExposicaoCreditoDiariaId that = (ExposicaoCreditoDiariaId) o;
+        return Objects.equals(clienteId, that.clienteId) && Objects.equals(dia, that.dia);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clienteId, dia);
+    }
+}
@@ -1,5 +1,6 @@
 package com.empresa.logistica.model;
 
+import com.empresa.logistica.model.converter.MoneyConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
@@ -25,7 +26,8 @@ public class ItemPedido {
      * Identificador único do item de pedido.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -59,10 +61,9 @@ public class ItemPedido {
      * Subtotal do item de pedido em reais.
      * Calculado como: preço do produto × quantidade.
      */
-    @NotNull(message = "O subtotal é obrigatório")
-    @DecimalMin(value = "0.01", message = "O subtotal deve ser maior que zero")
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "subtotal", nullable = false, precision = 15, scale = 2)
-    private BigDecimal subtotal;
+    private Money subtotal;
 
     /**
      * Construtor padrão necessário para o JPA.
@@ -174,8 +175,10 @@ public class ItemPedido {
      * 
      * @return Subtotal em BigDecimal
      */
+    @NotNull(message = "O subtotal é obrigatório")
+    @DecimalMin(value = "0.01", message = "O subtotal deve ser maior que zero")
     public BigDecimal getSubtotal() {
-        return subtotal;
+        return subtotal != null ? subtotal.toBigDecimal() : null;
     }
 
     /**
@@ -185,7 +188,16 @@ public class ItemPedido {
      * @param subtotal Subtotal em BigDecimal
      */
     public void setSubtotal(BigDecimal subtotal) {
-        this.subtotal = subtotal;
+        this.subtotal = Money.of(subtotal);
+    }
+
+    /**
+     * Obtém o subtotal do item como {@link Money}, sem conversão para BigDecimal.
+     * 
+     * @return O subtotal do item em centavos
+     */
+    public Money getSubtotalMoney() {
+        return subtotal;
     }
 
     /**
@@ -193,10 +205,10 @@ public class ItemPedido {
      * Subtotal = preço do produto × quantidade.
      */
     public void calcularSubtotal() {
-        if (this.produto != null && this.produto.getPreco() != null && this.quantidade != null) {
-            this.subtotal = this.produto.getPreco().multiply(new BigDecimal(this.quantidade));
+        if (this.produto != null && this.produto.getPrecoMoney() != null && this.quantidade != null) {
+            this.subtotal = this.produto.getPrecoMoney().times(this.quantidade);
         } else {
-            this.subtotal = BigDecimal.ZERO;
+            this.subtotal = Money.ZERO;
         }
     }
 
@@ -219,7 +231,7 @@ public class ItemPedido {
                this.quantidade != null && 
                this.quantidade > 0 && 
                this.subtotal != null && 
-               this.subtotal.compareTo(BigDecimal.ZERO) > 0;
+               this.subtotal.isPositive();
     }
 
     @Override
@@ -0,0 +1,184 @@
+package com.empresa.logistica.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Valor monetário imutável representado em centavos (escala 2).
+ * 
+ * Substitui o BigDecimal na aritmética de preços e crédito: somas, subtrações,
+ * multiplicação por quantidade e comparações operam sobre um {@code long}, sem
+ * alocar objetos intermediários. As operações lançam {@link ArithmeticException}
+ * em caso de overflow. A conversão a partir de BigDecimal arredonda para 2 casas
+ * com HALF_UP, a mesma regra aplicada pelas colunas DECIMAL(15,2).
+ * 
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Escala fixa (casas decimais) dos valores monetários.
+     */
+    public static final int ESCALA = 2;
+
+    /**
+     * Valor zero.
+     */
+    public static final Money ZERO = new Money(0L);
+
+    private final long centavos;
+
+    private Money(long centavos) {
+        this.centavos = centavos;
+    }
+
+    /**
+     * Cria um valor a partir da quantidade de centavos.
+     * 
+     * @param centavos Valor em centavos
+     * @return Valor monetário
+     */
+    public static Money ofCentavos(long centavos) {
+        return centavos == 0L ? ZERO : new Money(centavos);
+    }
+
+    /**
+     * Cria um valor a partir de um BigDecimal, arredondando para 2 casas (HALF_UP).
+     * 
+     * @param valor Valor em reais
+     * @return Valor monetário, ou null se o valor for null
+     */
+    public static Money of(BigDecimal valor) {
+        if (valor == null) {
+            return null;
+        }
+        return ofCentavos(valor.setScale(ESCALA, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * Cria um valor a partir de sua representação textual (ex.: "1234.50").
+     * 
+     * @param valor Valor em reais
+     * @return Valor monetário
+     */
+    public static Money of(String valor) {
+        return of(new BigDecimal(valor));
+    }
+
+    /**
+     * Obtém o valor em centavos.
+     * 
+     * @return Quantidade de centavos
+     */
+    public long getCentavos() {
+        return centavos;
+    }
+
+    /**
+     * Soma outro valor a este.
+     * 
+     * @param outro Valor a somar
+     * @return Soma dos valores
+     */
+    public Money plus(Money outro) {
+        return ofCentavos(Math.addExact(centavos, outro.centavos));
+    }
+
+    /**
+     * Subtrai outro valor deste.
+     * 
+     * @param outro Valor a subtrair
+     * @return Diferença dos valores
+     */
+    public Money minus(Money outro) {
+        return ofCentavos(Math.subtractExact(centavos, outro.centavos));
+    }
+
+    /**
+     * Multiplica o valor por uma quantidade inteira (ex.: preço × quantidade).
+     * 
+     * @param quantidade Multiplicador
+     * @return Produto do valor pela quantidade
+     */
+    public Money times(long quantidade) {
+        return ofCentavos(Math.multiplyExact(centavos, quantidade));
+    }
+
+    /**
+     * Verifica se o valor é maior que zero.
+     * 
+     * @return true se positivo
+     */
+    public boolean isPositive() {
+        return centavos > 0L;
+    }
+
+    /**
+     * Verifica se o valor é menor que zero.
+     * 
+     * @return true se negativo
+     */
+    public boolean isNegative() {
+        return centavos < 0L;
+    }
+
+    /**
+     * Verifica se este valor é menor ou igual a outro.
+     * 
+     * @param outro Valor de comparação
+     * @return true se este valor não excede o outro
+     */
+    public boolean isLessThanOrEqual(Money outro) {
+        return centavos <= outro.centavos;
+    }
+
+    /**
+     * Converte para BigDecimal com escala 2 (fronteiras: JDBC, APIs legadas).
+     * 
+     * @return Valor em reais
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    @Override
+    public int compareTo(Money outro) {
+        return Long.compare(centavos, outro.centavos);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Money)) return false;
+        return centavos == ((Money) o).centavos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(centavos);
+    }
+
+    /**
+     * Representação textual com 2 casas decimais, igual a {@code toBigDecimal().toPlainString()}.
+     * 
+     * @return Valor formatado (ex.: "1234.50", "-0.05")
+     */
+    @Override
+    public String toString() {
+        long reais = centavos / 100;
+        long resto = Math.abs(centavos % 100);
+        StringBuilder texto = new StringBuilder(24);
+        if (centavos < 0 && reais == 0) {
+            texto.append('-');
+        }
+        texto.append(reais).append('.');
+        if (resto < 10) {
+            texto.append('0');
+        }
+        return texto.append(resto).toString();
+    }
+}
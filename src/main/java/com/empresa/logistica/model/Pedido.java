@@ -1,5 +1,6 @@
 package com.empresa.logistica.model;
 
+import com.empresa.logistica.model.converter.MoneyConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
@@ -14,7 +15,8 @@ import java.util.Objects;
  * Entidade que representa um pedido no sistema de gestão de pedidos.
  * 
  * Um pedido pertence a um cliente e pode conter múltiplos itens. O status do pedido
- * (APROVADO ou REJEITADO) é determinado pela validação do limite de crédito do cliente.
+ * (APROVADO ou REJEITADO) é determinado pela validação do limite de crédito do cliente;
+ * pedidos recebidos de forma assíncrona ficam PENDENTE até a decisão.
  * 
  * @author Gabriel Mendonca
  * @version 1.0
@@ -27,7 +29,8 @@ public class Pedido {
      * Identificador único do pedido.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -51,13 +54,12 @@ public class Pedido {
      * Valor total do pedido em reais.
      * Calculado com base na soma dos subtotais dos itens do pedido.
      */
-    @NotNull(message = "O valor total é obrigatório")
-    @DecimalMin(value = "0.01", message = "O valor total deve ser maior que zero")
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "valor_total", nullable = false, precision = 15, scale = 2)
-    private BigDecimal valorTotal;
+    private Money valorTotal;
 
     /**
-     * Status do pedido (APROVADO ou REJEITADO).
+     * Status do pedido (PENDENTE, APROVADO ou REJEITADO).
      * Determinado pela validação do limite de crédito do cliente.
      */
     @NotNull(message = "O status do pedido é obrigatório")
@@ -65,6 +67,14 @@ public class Pedido {
     @Column(name = "status", nullable = false, length = 20)
     private StatusPedido status;
 
+    /**
+     * Data e hora em que o pedido foi aprovado ou rejeitado; nula enquanto pendente.
+     * Os IDs não seguem a ordem das decisões, então leituras incrementais de pedidos
+     * decididos usam esta data.
+     */
+    @Column(name = "decidido_em")
+    private LocalDateTime decididoEm;
+
     /**
      * Lista de itens que compõem o pedido.
      * Relacionamento bidirecional One-to-Many com cascata completa.
@@ -87,7 +97,7 @@ public class Pedido {
     public Pedido(Cliente cliente) {
         this();
         this.cliente = cliente;
-        this.valorTotal = BigDecimal.ZERO;
+        this.valorTotal = Money.ZERO;
         this.status = StatusPedido.APROVADO; // Status inicial, será validado posteriormente
     }
 
@@ -100,6 +110,9 @@ public class Pedido {
         if (this.dataPedido == null) {
             this.dataPedido = LocalDateTime.now();
         }
+        if (this.status != null && this.status.isDecidido() && this.decididoEm == null) {
+            this.decididoEm = LocalDateTime.now();
+        }
     }
 
     /**
@@ -161,8 +174,10 @@ public class Pedido {
      * 
      * @return Valor total em BigDecimal
      */
+    @NotNull(message = "O valor total é obrigatório")
+    @DecimalMin(value = "0.01", message = "O valor total deve ser maior que zero")
     public BigDecimal getValorTotal() {
-        return valorTotal;
+        return valorTotal != null ? valorTotal.toBigDecimal() : null;
     }
 
     /**
@@ -171,7 +186,16 @@ public class Pedido {
      * @param valorTotal Valor total em BigDecimal
      */
     public void setValorTotal(BigDecimal valorTotal) {
-        this.valorTotal = valorTotal;
+        this.valorTotal = Money.of(valorTotal);
+    }
+
+    /**
+     * Obtém o valor total do pedido como {@link Money}, sem conversão para BigDecimal.
+     * 
+     * @return O valor total do pedido em centavos
+     */
+    public Money getValorTotalMoney() {
+        return valorTotal;
     }
 
     /**
@@ -184,12 +208,22 @@ public class Pedido {
     }
 
     /**
-     * Define o status do pedido.
+     * Define o status do pedido, registrando o momento da decisão quando o status é final.
      * 
      * @param status Status do pedido
      */
     public void setStatus(StatusPedido status) {
         this.status = status;
+        this.decididoEm = status != null && status.isDecidido() ? LocalDateTime.now() : null;
+    }
+
+    /**
+     * Obtém a data e hora da decisão de crédito.
+     * 
+     * @return Data da decisão, ou null enquanto o pedido está pendente
+     */
+    public LocalDateTime getDecididoEm() {
+        return decididoEm;
     }
 
     /**
@@ -236,10 +270,13 @@ public class Pedido {
      * Recalcula o valor total do pedido com base nos subtotais dos itens.
      */
     public void recalcularValorTotal() {
-        this.valorTotal = this.itens.stream()
-                .map(ItemPedido::getSubtotal)
-                .filter(Objects::nonNull)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Money total = Money.ZERO;
+        for (ItemPedido item : this.itens) {
+            if (item.getSubtotalMoney() != null) {
+                total = total.plus(item.getSubtotalMoney());
+            }
+        }
+        this.valorTotal = total;
     }
 
     /**
@@ -0,0 +1,199 @@
+package com.empresa.logistica.model;
+
+import com.empresa.logistica.model.converter.MoneyConverter;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Entidade que representa o resumo diário dos pedidos decididos de um cliente.
+ *
+ * Cada linha acumula a quantidade e o valor dos pedidos de um cliente em um dia
+ * com um status final (APROVADO ou REJEITADO), de modo que contagens e totais
+ * somem poucas linhas do resumo em vez de agregar todo o histórico de pedidos.
+ * Pedidos PENDENTES não entram no resumo.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Entity
+@Table(name = "pedido_diario")
+@IdClass(PedidoDiarioId.class)
+public class PedidoDiario {
+
+    /**
+     * Identificador do cliente dono do resumo.
+     */
+    @Id
+    @Column(name = "cliente_id", nullable = false)
+    private Long clienteId;
+
+    /**
+     * Dia ao qual o resumo se refere.
+     */
+    @Id
+    @Column(name = "dia", nullable = false)
+    private LocalDate dia;
+
+    /**
+     * Status final dos pedidos resumidos.
+     */
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private StatusPedido status;
+
+    /**
+     * Quantidade de pedidos do cliente no dia com o status.
+     */
+    @Column(name = "quantidade", nullable = false)
+    private long quantidade;
+
+    /**
+     * Soma dos pedidos do cliente no dia com o status.
+     */
+    @NotNull(message = "O valor total é obrigatório")
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "valor_total", nullable = false, precision = 15, scale = 2)
+    private Money valorTotal;
+
+    /**
+     * Construtor padrão necessário para o JPA.
+     */
+    public PedidoDiario() {
+    }
+
+    /**
+     * Construtor para criação de resumo com cliente, dia, status, quantidade e valor.
+     *
+     * @param clienteId ID do cliente
+     * @param dia Dia do resumo
+     * @param status Status dos pedidos
+     * @param quantidade Quantidade de pedidos no dia
+     * @param valorTotal Valor acumulado no dia
+     */
+    public PedidoDiario(Long clienteId, LocalDate dia, StatusPedido status, long quantidade, Money valorTotal) {
+        this.clienteId = clienteId;
+        this.dia = dia;
+        this.status = status;
+        this.quantidade = quantidade;
+        this.valorTotal = valorTotal;
+    }
+
+    /**
+     * Obtém o identificador do cliente.
+     *
+     * @return ID do cliente
+     */
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    /**
+     * Define o identificador do cliente.
+     *
+     * @param clienteId ID do cliente
+     */
+    public void setClienteId(Long clienteId) {
+        this.clienteId = clienteId;
+    }
+
+    /**
+     * Obtém o dia do resumo.
+     *
+     * @return Dia do resumo
+     */
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    /**
+     * Define o dia do resumo.
+     *
+     * @param dia Dia do resumo
+     */
+    public void setDia(LocalDate dia) {
+        this.dia = dia;
+    }
+
+    /**
+     * Obtém o status dos pedidos resumidos.
+     *
+     * @return Status dos pedidos
+     */
+    public StatusPedido getStatus() {
+        return status;
+    }
+
+    /**
+     * Define o status dos pedidos resumidos.
+     *
+     * @param status Status dos pedidos
+     */
+    public void setStatus(StatusPedido status) {
+        this.status = status;
+    }
+
+    /**
+     * Obtém a quantidade de pedidos no dia.
+     *
+     * @return Quantidade de pedidos
+     */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /**
+     * Define a quantidade de pedidos no dia.
+     *
+     * @param quantidade Quantidade de pedidos
+     */
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    /**
+     * Obtém o valor acumulado no dia.
+     *
+     * @return Valor total
+     */
+    public Money getValorTotal() {
+        return valorTotal;
+    }
+
+    /**
+     * Define o valor acumulado no dia.
+     *
+     * @param valorTotal Valor total
+     */
+    public void setValorTotal(Money valorTotal) {
+        this.valorTotal = valorTotal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PedidoDiario that = (PedidoDiario) o;
+        return clienteId != null && Objects.equals(clienteId, that.clienteId)
+                && Objects.equals(dia, that.dia) && status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clienteId, dia, status);
+    }
+
+    @Override
+    public String toString() {
+        return "PedidoDiario{" +
+                "clienteId=" + clienteId +
+                ", dia=" + dia +
+                ", status=" + status +
+                ", quantidade=" + quantidade +
+                ", valorTotal=" + valorTotal +
+                '}';
+    }
+}
@@ -0,0 +1,63 @@
+package com.empresa.logistica.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Chave composta da entidade PedidoDiario (cliente + dia + status).
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+public class PedidoDiarioId implements Serializable {
+
+    private Long clienteId;
+    private LocalDate dia;
+    private StatusPedido status;
+
+    /**
+     * Construtor padrão necessário para o JPA.
+     */
+    public PedidoDiarioId() {
+    }
+
+    /**
+     * Construtor da chave composta.
+     *
+     * @param clienteId ID do cliente
+     * @param dia Dia do resumo
+     * @param status Status dos pedidos
+     */
+    public PedidoDiarioId(Long clienteId, LocalDate dia, StatusPedido status) {
+        this.clienteId = clienteId;
+        this.dia = dia;
+        this.status = status;
+    }
+
+    public Long getClienteId() {
+        return clienteId;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public StatusPedido getStatus() {
+        return status;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        PedidoDiarioId that = (PedidoDiarioId) o;
+        return Objects.equals(clienteId, that.clienteId) && Objects.equals(dia, that.dia)
+                && status == that.status;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(clienteId, dia, status);
+    }
+}
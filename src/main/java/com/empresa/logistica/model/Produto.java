@@ -1,10 +1,14 @@
 package com.empresa.logistica.model;
 
+import com.empresa.logistica.model.converter.MoneyConverter;
+import com.empresa.logistica.model.listener.AlteracaoCatalogoListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
@@ -17,18 +21,26 @@ import java.util.Objects;
  * Um produto pode estar associado a múltiplos itens de pedidos e possui
  * informações básicas como nome e preço.
  * 
+ * Mantido no cache de segundo nível (região "produto"): é lido a cada pedido e
+ * raramente alterado; alterações feitas via JPA atualizam a entrada do cache.
+ * Toda alteração incrementa a versão do catálogo (ETag de /produtos/all).
+ * 
  * @author Gabriel Mendonca
  * @version 1.0
  */
 @Entity
 @Table(name = "produto")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "produto")
+@EntityListeners(AlteracaoCatalogoListener.class)
 public class Produto {
 
     /**
      * Identificador único do produto.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -44,10 +56,9 @@ public class Produto {
      * Preço unitário do produto em reais.
      * Utilizado para cálculo do valor total dos pedidos.
      */
-    @NotNull(message = "O preço do produto é obrigatório")
-    @DecimalMin(value = "0.01", message = "O preço deve ser maior que zero")
+    @Convert(converter = MoneyConverter.class)
     @Column(name = "preco", nullable = false, precision = 15, scale = 2)
-    private BigDecimal preco;
+    private Money preco;
 
     /**
      * Lista de itens de pedidos que referenciam este produto.
@@ -70,7 +81,7 @@ public class Produto {
      */
     public Produto(String nome, BigDecimal preco) {
         this.nome = nome;
-        this.preco = preco;
+        this.preco = Money.of(preco);
     }
 
     /**
@@ -114,8 +125,10 @@ public class Produto {
      * 
      * @return Preço do produto em BigDecimal
      */
+    @NotNull(message = "O preço do produto é obrigatório")
+    @DecimalMin(value = "0.01", message = "O preço deve ser maior que zero")
     public BigDecimal getPreco() {
-        return preco;
+        return preco != null ? preco.toBigDecimal() : null;
     }
 
     /**
@@ -124,7 +137,16 @@ public class Produto {
      * @param preco Preço do produto em BigDecimal
      */
     public void setPreco(BigDecimal preco) {
-        this.preco = preco;
+        this.preco = Money.of(preco);
+    }
+
+    /**
+     * Obtém o preço do produto como {@link Money}, sem conversão para BigDecimal.
+     * 
+     * @return O preço do produto em centavos
+     */
+    public Money getPrecoMoney() {
+        return preco;
     }
 
     /**
@@ -0,0 +1,144 @@
+package com.empresa.logistica.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Entidade que representa uma estatística aproximada persistida de um cliente ou produto.
+ *
+ * Cada linha contém os pedidos aprovados decididos antes do limite registrado em
+ * {@link ConsolidacaoEstatistica}; cada consolidação mescla nela apenas os pedidos
+ * decididos desde a anterior, de modo que uma reinicialização parte desta cópia e
+ * aplica somente as decisões posteriores ao limite.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Entity
+@Table(name = "sketch_estatistica")
+@IdClass(SketchEstatisticaId.class)
+public class SketchEstatistica {
+
+    /**
+     * Tipo da estatística.
+     */
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 30)
+    private TipoSketch tipo;
+
+    /**
+     * ID do cliente ou do produto, conforme o tipo.
+     */
+    @Id
+    @Column(name = "chave", nullable = false)
+    private Long chave;
+
+    /**
+     * Sketch serializado.
+     */
+    @NotNull(message = "Os dados do sketch são obrigatórios")
+    @Column(name = "dados", nullable = false, length = 65536)
+    private byte[] dados;
+
+    /**
+     * Data e hora da gravação.
+     */
+    @NotNull(message = "A data de atualização é obrigatória")
+    @Column(name = "atualizado_em", nullable = false)
+    private LocalDateTime atualizadoEm;
+
+    /**
+     * Construtor padrão necessário para o JPA.
+     */
+    public SketchEstatistica() {
+    }
+
+    /**
+     * Construtor para criação de sketch persistido.
+     *
+     * @param tipo Tipo da estatística
+     * @param chave ID do cliente ou do produto
+     * @param dados Sketch serializado
+     * @param atualizadoEm Data e hora da gravação
+     */
+    public SketchEstatistica(TipoSketch tipo, Long chave, byte[] dados, LocalDateTime atualizadoEm) {
+        this.tipo = tipo;
+        this.chave = chave;
+        this.dados = dados;
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    /**
+     * Obtém o tipo da estatística.
+     *
+     * @return Tipo da estatística
+     */
+    public TipoSketch getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Obtém o ID do cliente ou do produto.
+     *
+     * @return Chave do sketch
+     */
+    public Long getChave() {
+        return chave;
+    }
+
+    /**
+     * Obtém o sketch serializado.
+     *
+     * @return Dados do sketch
+     */
+    public byte[] getDados() {
+        return dados;
+    }
+
+    /**
+     * Substitui o sketch serializado, já mesclado com os pedidos consolidados.
+     *
+     * @param dados Sketch serializado
+     * @param atualizadoEm Data e hora da gravação
+     */
+    public void atualizar(byte[] dados, LocalDateTime atualizadoEm) {
+        this.dados = dados;
+        this.atualizadoEm = atualizadoEm;
+    }
+
+    /**
+     * Obtém a data e hora da gravação.
+     *
+     * @return Data de atualização
+     */
+    public LocalDateTime getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SketchEstatistica that = (SketchEstatistica) o;
+        return chave != null && Objects.equals(chave, that.chave) && tipo == that.tipo;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tipo, chave);
+    }
+
+    @Override
+    public String toString() {
+        return "SketchEstatistica{" +
+                "tipo=" + tipo +
+                ", chave=" + chave +
+                ", bytes=" + (dados == null ? 0 : dados.length) +
+                ", atualizadoEm=" + atualizadoEm +
+                '}';
+    }
+}
@@ -0,0 +1,54 @@
+package com.empresa.logistica.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Chave composta da entidade SketchEstatistica (tipo + chave).
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+public class SketchEstatisticaId implements Serializable {
+
+    private TipoSketch tipo;
+    private Long chave;
+
+    /**
+     * Construtor padrão necessário para o JPA.
+     */
+    public SketchEstatisticaId() {
+    }
+
+    /**
+     * Construtor da chave composta.
+     *
+     * @param tipo Tipo da estatística
+     * @param chave ID do cliente ou do produto
+     */
+    public SketchEstatisticaId(TipoSketch tipo, Long chave) {
+        this.tipo = tipo;
+        this.chave = chave;
+    }
+
+    public TipoSketch getTipo() {
+        return tipo;
+    }
+
+    public Long getChave() {
+        return chave;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SketchEstatisticaId that = (SketchEstatisticaId) o;
+        return tipo == that.tipo && Objects.equals(chave, that.chave);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tipo, chave);
+    }
+}
@@ -11,6 +11,14 @@ package com.empresa.logistica.model;
  */
 public enum StatusPedido {
     
+    /**
+     * Status indicando que o pedido foi recebido e aguarda a decisão de crédito.
+     * 
+     * Utilizado pela recepção assíncrona de pedidos: o pedido é persistido
+     * imediatamente e a decisão é tomada em lote pelo processamento em segundo plano.
+     */
+    PENDENTE("Pendente"),
+    
     /**
      * Status indicando que o pedido foi aprovado.
      * 
@@ -47,6 +55,15 @@ public enum StatusPedido {
         return descricao;
     }
 
+    /**
+     * Verifica se o status representa uma decisão de crédito final.
+     * 
+     * @return true para APROVADO ou REJEITADO, false para PENDENTE
+     */
+    public boolean isDecidido() {
+        return this != PENDENTE;
+    }
+
     /**
      * Converte uma string para o enum StatusPedido correspondente.
      * 
@@ -0,0 +1,25 @@
+package com.empresa.logistica.model;
+
+/**
+ * Enumeração dos tipos de estatística aproximada mantidos por cliente ou produto.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+public enum TipoSketch {
+
+    /**
+     * Distribuição do valor dos pedidos aprovados de um cliente (chave: ID do cliente).
+     */
+    VALOR_PEDIDOS_CLIENTE,
+
+    /**
+     * Distribuição do subtotal dos itens aprovados de um produto (chave: ID do produto).
+     */
+    VALOR_ITENS_PRODUTO,
+
+    /**
+     * Clientes distintos que compraram um produto (chave: ID do produto).
+     */
+    COMPRADORES_PRODUTO
+}
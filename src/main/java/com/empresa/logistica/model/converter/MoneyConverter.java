@@ -0,0 +1,27 @@
+package com.empresa.logistica.model.converter;
+
+import com.empresa.logistica.model.Money;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+/**
+ * Conversor JPA entre {@link Money} e colunas DECIMAL(15,2).
+ * 
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money valor) {
+        return valor != null ? valor.toBigDecimal() : null;
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal valor) {
+        return Money.of(valor);
+    }
+}
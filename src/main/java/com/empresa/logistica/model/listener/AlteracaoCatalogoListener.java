@@ -0,0 +1,36 @@
+package com.empresa.logistica.model.listener;
+
+import com.empresa.logistica.service.impl.VersaoCatalogo;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Listener JPA que registra alterações de {@link com.empresa.logistica.model.Cliente}
+ * e {@link com.empresa.logistica.model.Produto} na {@link VersaoCatalogo}, na versão
+ * do tipo alterado.
+ *
+ * Instanciado pelo Hibernate através do contêiner de beans do Spring; em contextos
+ * sem a VersaoCatalogo (testes de repositório) as alterações são ignoradas.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+public class AlteracaoCatalogoListener {
+
+    private final ObjectProvider<VersaoCatalogo> versaoCatalogo;
+
+    public AlteracaoCatalogoListener(ObjectProvider<VersaoCatalogo> versaoCatalogo) {
+        this.versaoCatalogo = versaoCatalogo;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void registrarAlteracao(Object entidade) {
+        Class<?> tipo = Hibernate.getClass(entidade);
+        versaoCatalogo.ifAvailable(versao -> versao.registrarAlteracao(tipo));
+    }
+}
@@ -0,0 +1,122 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.StatusPedido;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Repositório de leitura em massa das colunas de pedido usadas nas análises.
+ *
+ * Percorre a tabela pedido com um cursor JDBC somente-avanço e entrega cada linha
+ * em tipos primitivos (dia como epoch day, valor em centavos), sem instanciar
+ * entidades nem objetos por linha. O driver mantém em memória apenas um lote de
+ * {@link #TAMANHO_LOTE} linhas; no PostgreSQL o cursor no servidor exige uma
+ * transação aberta (autocommit desligado).
+ *
+ * O valor total do pedido já é a soma dos subtotais dos itens, então item_pedido
+ * não precisa ser lido nas análises; só a reconstrução das estatísticas por
+ * produto percorre os itens.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+public class AnalisePedidoRepository {
+
+    static final int TAMANHO_LOTE = 10000;
+
+    private static final String SELECT_COLUNAS =
+        "SELECT cliente_id, CAST(data_pedido AS DATE), status, CAST(valor_total * 100 AS BIGINT) FROM pedido";
+
+    private static final String SELECT_ITENS_APROVADOS_DESDE =
+        "SELECT p.id, p.cliente_id, CAST(p.valor_total * 100 AS BIGINT), i.produto_id, CAST(i.subtotal * 100 AS BIGINT) " +
+        "FROM pedido p JOIN item_pedido i ON i.pedido_id = p.id " +
+        "WHERE p.status = 'APROVADO' AND p.decidido_em >= ?";
+
+    private static final String SELECT_ITENS_APROVADOS_ENTRE =
+        SELECT_ITENS_APROVADOS_DESDE + " AND p.decidido_em < ? ORDER BY p.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AnalisePedidoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Recebe as colunas de um pedido.
+     */
+    @FunctionalInterface
+    public interface ConsumidorColunas {
+
+        /**
+         * @param clienteId ID do cliente
+         * @param diaEpoch Dia do pedido (epoch day)
+         * @param status Status do pedido
+         * @param valorCentavos Valor total do pedido em centavos
+         */
+        void aceitar(long clienteId, long diaEpoch, StatusPedido status, long valorCentavos);
+    }
+
+    /**
+     * Recebe um item de pedido aprovado com as colunas do seu pedido.
+     */
+    @FunctionalInterface
+    public interface ConsumidorItens {
+
+        /**
+         * @param pedidoId ID do pedido
+         * @param clienteId ID do cliente
+         * @param valorPedidoCentavos Valor total do pedido em centavos
+         * @param produtoId ID do produto do item
+         * @param subtotalCentavos Subtotal do item em centavos
+         */
+        void aceitar(long pedidoId, long clienteId, long valorPedidoCentavos, long produtoId, long subtotalCentavos);
+    }
+
+    /**
+     * Percorre todos os pedidos, entregando as colunas ao consumidor na ordem do cursor.
+     *
+     * @param consumidor Recebe as colunas de cada pedido assim que é lido
+     */
+    public void percorrer(ConsumidorColunas consumidor) {
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement statement = conexao.prepareStatement(
+                SELECT_COLUNAS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(TAMANHO_LOTE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumidor.aceitar(
+            rs.getLong(1),
+            rs.getDate(2).toLocalDate().toEpochDay(),
+            StatusPedido.valueOf(rs.getString(3)),
+            rs.getLong(4)));
+    }
+
+    /**
+     * Percorre os itens dos pedidos aprovados decididos no intervalo semiaberto [desde, ate),
+     * em ordem de pedido, de modo que os itens de um mesmo pedido chegam consecutivos.
+     *
+     * @param desde Início (inclusivo) das datas de decisão
+     * @param ate Fim (exclusivo) das datas de decisão, ou null para todas as decisões a partir de {@code desde}
+     * @param consumidor Recebe cada item assim que é lido
+     */
+    public void percorrerItensAprovados(LocalDateTime desde, LocalDateTime ate, ConsumidorItens consumidor) {
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement statement = conexao.prepareStatement(
+                ate == null ? SELECT_ITENS_APROVADOS_DESDE + " ORDER BY p.id" : SELECT_ITENS_APROVADOS_ENTRE,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(TAMANHO_LOTE);
+            statement.setTimestamp(1, Timestamp.valueOf(desde));
+            if (ate != null) {
+                statement.setTimestamp(2, Timestamp.valueOf(ate));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumidor.aceitar(
+            rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)));
+    }
+}
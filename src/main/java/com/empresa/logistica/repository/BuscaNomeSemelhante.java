@@ -0,0 +1,84 @@
+package com.empresa.logistica.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Disponibilidade da busca por nome com trigramas e sem acentos.
+ *
+ * As consultas {@code buscarPorNomeSemelhante} de {@link ClienteRepository} e
+ * {@link ProdutoRepository} dependem de pg_trgm, unaccent e da função
+ * {@code normalizar_busca} criadas pela migração V9. Em outros bancos (H2 nos
+ * testes) ou sem a migração, os chamadores usam a busca
+ * {@code ContainingIgnoreCase} original.
+ *
+ * Buscas sem ordenação no Pageable são ordenadas por semelhança; com ordenação,
+ * a ordem pedida é respeitada ({@code buscarPorNomeSemelhanteOrdenado}).
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class BuscaNomeSemelhante {
+
+    private final boolean disponivel;
+
+    public BuscaNomeSemelhante(DialetoBanco dialetoBanco, DataSource dataSource) {
+        this.disponivel = dialetoBanco.isPostgres() && verificarDisponibilidade(dataSource);
+    }
+
+    /**
+     * @return true se as consultas por semelhança podem ser usadas
+     */
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    /**
+     * Escapa os curingas de LIKE do termo digitado, para que "%" e "_" sejam buscados literalmente.
+     *
+     * @param nome Termo digitado
+     * @return Termo para o parâmetro {@code :termo}
+     */
+    public static String termo(String nome) {
+        return nome.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Ordenação das buscas sem semelhança disponível: a pedida ou, se nenhuma, por nome.
+     *
+     * @param pageable Paginação recebida
+     * @return Paginação com ordenação definida
+     */
+    public static Pageable ordenadoPorNome(Pageable pageable) {
+        return pageable.getSort().isSorted()
+            ? pageable
+            : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("nome"));
+    }
+
+    private static boolean verificarDisponibilidade(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "SELECT to_regprocedure('normalizar_busca(text)') IS NOT NULL")) {
+            boolean funcao = rs.next() && rs.getBoolean(1);
+            if (!funcao) {
+                log.warn("Função normalizar_busca ausente (migração V9), busca por nome sem índice de trigramas");
+            }
+            return funcao;
+        } catch (SQLException e) {
+            log.warn("Não foi possível verificar a busca por semelhança, usando busca simples: {}", e.getMessage());
+            return false;
+        }
+    }
+}
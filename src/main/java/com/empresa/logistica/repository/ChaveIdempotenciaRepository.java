@@ -0,0 +1,69 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.ChaveIdempotencia;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositório para as chaves de idempotência de criação de pedidos.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /**
+     * Registra uma chave ainda em execução.
+     *
+     * INSERT explícito (e não save/merge): se outra transação já inseriu a mesma chave,
+     * o banco aguarda o término dela e então acusa a violação da chave primária. A tabela
+     * é declarada para que o INSERT nativo não invalide o cache de segundo nível.
+     *
+     * @param chave Valor do header Idempotency-Key
+     * @param hashRequisicao Hash do corpo da requisição
+     * @param dataCriacao Instante do registro
+     * @return Número de chaves inseridas (1)
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "chave_idempotencia"))
+    @Query(value = "INSERT INTO chave_idempotencia (chave, hash_requisicao, data_criacao) VALUES (:chave, :hashRequisicao, :dataCriacao)",
+        nativeQuery = true)
+    int registrar(@Param("chave") String chave,
+                  @Param("hashRequisicao") String hashRequisicao,
+                  @Param("dataCriacao") LocalDateTime dataCriacao);
+
+    /**
+     * Grava o resultado da execução original de uma chave.
+     *
+     * @param chave Valor do header Idempotency-Key
+     * @param statusHttp Status HTTP da resposta
+     * @param pedidoId ID do pedido criado
+     * @param resposta Resposta serializada em JSON
+     * @return Número de chaves atualizadas (0 ou 1)
+     */
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.statusHttp = :statusHttp, c.pedidoId = :pedidoId, c.resposta = :resposta WHERE c.chave = :chave")
+    int concluir(@Param("chave") String chave,
+                 @Param("statusHttp") Integer statusHttp,
+                 @Param("pedidoId") Long pedidoId,
+                 @Param("resposta") String resposta);
+
+    /**
+     * Remove as chaves registradas antes do instante informado (fora do período de retenção).
+     *
+     * @param limite Instante a partir do qual as chaves são mantidas
+     * @return Número de chaves removidas
+     */
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.dataCriacao < :limite")
+    int removerAnterioresA(@Param("limite") LocalDateTime limite);
+}
@@ -1,14 +1,25 @@
 package com.empresa.logistica.repository;
 
+import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.dto.ClienteDTO;
+import com.empresa.logistica.model.Money;
 import com.empresa.logistica.model.Cliente;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações de persistência da entidade Cliente.
@@ -22,12 +33,54 @@ import java.util.Optional;
 @Repository
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
 
+    /**
+     * Lista todos os clientes. Resultado mantido no cache de consultas do Hibernate,
+     * invalidado automaticamente a cada escrita na tabela.
+     * 
+     * @return Lista de todos os clientes
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Cliente> findAll();
+
+    /**
+     * Lista clientes com paginação (resultado no cache de consultas).
+     * 
+     * @param pageable Configuração de paginação
+     * @return Página de clientes
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    org.springframework.data.domain.Page<Cliente> findAll(org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Lista clientes com paginação sem consulta de contagem (resultado no cache de consultas).
+     * 
+     * @param pageable Configuração de paginação
+     * @return Fatia de clientes
+     */
+    @Query("SELECT c FROM Cliente c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    org.springframework.data.domain.Slice<Cliente> findSliceBy(org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Percorre todos os clientes como DTOs por um cursor no servidor, em lotes de
+     * STREAM_FETCH_SIZE linhas e sem carregar entidades no contexto de persistência.
+     * Exige transação aberta; o Stream deve ser fechado pelo chamador.
+     * 
+     * @return Stream de clientes ordenados por ID
+     */
+    @Query("SELECT new com.empresa.logistica.dto.ClienteDTO(c.id, c.nome, c.limiteCredito) FROM Cliente c ORDER BY c.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ApplicationConstants.STREAM_FETCH_SIZE))
+    Stream<ClienteDTO> streamAllDTO();
+
     /**
      * Busca um cliente pelo nome exato.
      * 
      * @param nome Nome do cliente a ser buscado
      * @return Optional contendo o cliente encontrado ou empty se não existir
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Cliente> findByNome(String nome);
 
     /**
@@ -44,7 +97,14 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      * @param limiteCredito Valor mínimo do limite de crédito
      * @return Lista de clientes que atendem ao critério
      */
-    List<Cliente> findByLimiteCreditoGreaterThanEqual(BigDecimal limiteCredito);
+    List<Cliente> findByLimiteCreditoGreaterThanEqual(Money limiteCredito);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<Cliente> findByLimiteCreditoGreaterThanEqual(BigDecimal limiteCredito) {
+        return findByLimiteCreditoGreaterThanEqual(Money.of(limiteCredito));
+    }
 
     /**
      * Busca clientes com limite de crédito entre os valores especificados.
@@ -53,7 +113,14 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      * @param limiteMaximo Valor máximo do limite de crédito
      * @return Lista de clientes que atendem ao critério
      */
-    List<Cliente> findByLimiteCreditoBetween(BigDecimal limiteMinimo, BigDecimal limiteMaximo);
+    List<Cliente> findByLimiteCreditoBetween(Money limiteMinimo, Money limiteMaximo);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<Cliente> findByLimiteCreditoBetween(BigDecimal limiteMinimo, BigDecimal limiteMaximo) {
+        return findByLimiteCreditoBetween(Money.of(limiteMinimo), Money.of(limiteMaximo));
+    }
 
     /**
      * Verifica se existe um cliente com o nome especificado.
@@ -70,7 +137,14 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      * @return Número de clientes que atendem ao critério
      */
     @Query("SELECT COUNT(c) FROM Cliente c WHERE c.limiteCredito > :limiteCredito")
-    long countByLimiteCreditoMaiorQue(@Param("limiteCredito") BigDecimal limiteCredito);
+    long countByLimiteCreditoMaiorQue(@Param("limiteCredito") Money limiteCredito);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default long countByLimiteCreditoMaiorQue(BigDecimal limiteCredito) {
+        return countByLimiteCreditoMaiorQue(Money.of(limiteCredito));
+    }
 
     /**
      * Busca clientes ordenados por limite de crédito em ordem decrescente.
@@ -81,13 +155,53 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     List<Cliente> findAllOrderByLimiteCreditoDesc();
 
     /**
-     * Busca os clientes com os maiores limites de crédito.
+     * Busca os clientes com os maiores limites de crédito projetados em DTO.
+     * 
+     * O limite é aplicado no SQL e a varredura segue o índice idx_cliente_limite_credito.
      * 
      * @param limite Número máximo de clientes a serem retornados
-     * @return Lista dos clientes com maiores limites de crédito
+     * @return Lista dos clientes com maiores limites de crédito, ID decrescente como desempate
      */
-    @Query("SELECT c FROM Cliente c ORDER BY c.limiteCredito DESC")
-    List<Cliente> findTopClientesPorLimiteCredito(@Param("limite") int limite);
+    @Query("SELECT new com.empresa.logistica.dto.ClienteDTO(c.id, c.nome, c.limiteCredito) " +
+           "FROM Cliente c ORDER BY c.limiteCredito DESC, c.id DESC")
+    List<ClienteDTO> findTopClientesPorLimiteCredito(Limit limite);
+    
+    /**
+     * Busca o cliente com bloqueio pessimista de escrita até o fim da transação.
+     * 
+     * Utilizado para serializar decisões de crédito quando advisory locks
+     * do PostgreSQL não estão disponíveis.
+     * 
+     * @param id ID do cliente
+     * @return Optional contendo o cliente bloqueado ou empty se não existir
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cliente c WHERE c.id = :id")
+    Optional<Cliente> bloquearPorId(@Param("id") Long id);
+    
+    /**
+     * Lê o limite de crédito do cliente direto do banco, sem o cache de segundo nível.
+     * 
+     * Utilizado pela decisão de crédito, depois do bloqueio do cliente: um limite
+     * alterado por outra instância vale já para a decisão seguinte, e não apenas
+     * quando a cópia do cliente em cache expira.
+     * 
+     * @param id ID do cliente
+     * @return Optional contendo o limite ou empty se o cliente não existir
+     */
+    @Query("SELECT c.limiteCredito FROM Cliente c WHERE c.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    Optional<Money> findLimiteCreditoById(@Param("id") Long id);
+    
+    /**
+     * Lê os limites de crédito de vários clientes direto do banco, sem o cache de segundo nível.
+     * 
+     * @param ids IDs dos clientes
+     * @return Lista de arrays com [cliente_id, limite_credito]
+     */
+    @Query("SELECT c.id, c.limiteCredito FROM Cliente c WHERE c.id IN :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<Object[]> findLimitesCreditoByIdIn(@Param("ids") Collection<Long> ids);
     
     /**
      * Busca clientes por nome (busca parcial, case insensitive) com paginação.
@@ -96,6 +210,84 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
      * @param pageable Configuração de paginação
      * @return Página de clientes que contém o termo no nome
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     org.springframework.data.domain.Page<Cliente> findByNomeContainingIgnoreCase(
         String nome, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante de {@link #findByNomeContainingIgnoreCase(String, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param nome Parte do nome a ser buscado
+     * @param pageable Configuração de paginação
+     * @return Fatia de clientes que contém o termo no nome
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    org.springframework.data.domain.Slice<Cliente> findSliceByNomeContainingIgnoreCase(
+        String nome, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Filtro da busca por semelhança: substring do nome normalizado (minúsculas, sem acentos),
+     * atendido pelo índice GIN de trigramas idx_cliente_nome_trgm (V9, apenas PostgreSQL).
+     */
+    String FILTRO_NOME_SEMELHANTE = " FROM cliente c WHERE normalizar_busca(c.nome) LIKE '%' || normalizar_busca(:termo) || '%'";
+
+    /**
+     * O mesmo filtro em JPQL, para as buscas que seguem a ordenação do Pageable. O ESCAPE é
+     * explícito porque o Hibernate gera {@code escape ''} quando ele é omitido.
+     */
+    String FILTRO_NOME_SEMELHANTE_JPQL = " WHERE normalizar_busca(c.nome) LIKE CONCAT('%', normalizar_busca(:termo), '%') ESCAPE '\\'";
+
+    /**
+     * Busca clientes cujo nome normalizado contenha o termo, ordenados por semelhança
+     * de trigramas (mais parecidos primeiro). Requer PostgreSQL com pg_trgm e unaccent.
+     * 
+     * @param termo Parte do nome, com curingas de LIKE escapados
+     * @param pageable Configuração de paginação (sem ordenação; a ordem é a de semelhança)
+     * @return Página de clientes ordenada por relevância
+     */
+    @Query(value = "SELECT c.*" + FILTRO_NOME_SEMELHANTE +
+                   " ORDER BY similarity(normalizar_busca(c.nome), normalizar_busca(:termo)) DESC, c.nome, c.id",
+           countQuery = "SELECT count(*)" + FILTRO_NOME_SEMELHANTE,
+           nativeQuery = true)
+    org.springframework.data.domain.Page<Cliente> buscarPorNomeSemelhante(
+        @Param("termo") String termo, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante de {@link #buscarPorNomeSemelhante(String, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param termo Parte do nome, com curingas de LIKE escapados
+     * @param pageable Configuração de paginação (sem ordenação; a ordem é a de semelhança)
+     * @return Fatia de clientes ordenada por relevância
+     */
+    @Query(value = "SELECT c.*" + FILTRO_NOME_SEMELHANTE +
+                   " ORDER BY similarity(normalizar_busca(c.nome), normalizar_busca(:termo)) DESC, c.nome, c.id",
+           nativeQuery = true)
+    org.springframework.data.domain.Slice<Cliente> buscarSlicePorNomeSemelhante(
+        @Param("termo") String termo, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Busca clientes cujo nome normalizado contenha o termo, na ordenação do Pageable.
+     * Usa o mesmo filtro e índice de trigramas das buscas por semelhança.
+     * 
+     * @param termo Parte do nome, com curingas de LIKE escapados
+     * @param pageable Configuração de paginação e ordenação
+     * @return Página de clientes
+     */
+    @Query("SELECT c FROM Cliente c" + FILTRO_NOME_SEMELHANTE_JPQL)
+    org.springframework.data.domain.Page<Cliente> buscarPorNomeSemelhanteOrdenado(
+        @Param("termo") String termo, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante de {@link #buscarPorNomeSemelhanteOrdenado(String, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param termo Parte do nome, com curingas de LIKE escapados
+     * @param pageable Configuração de paginação e ordenação
+     * @return Fatia de clientes
+     */
+    @Query("SELECT c FROM Cliente c" + FILTRO_NOME_SEMELHANTE_JPQL)
+    org.springframework.data.domain.Slice<Cliente> buscarSlicePorNomeSemelhanteOrdenado(
+        @Param("termo") String termo, org.springframework.data.domain.Pageable pageable);
 }
@@ -0,0 +1,34 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.ConsolidacaoEstatistica;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repositório para o controle da consolidação dos sketches de estatística.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+public interface ConsolidacaoEstatisticaRepository extends JpaRepository<ConsolidacaoEstatistica, Short> {
+
+    /**
+     * Busca a linha de controle com bloqueio pessimista de escrita até o fim da transação.
+     *
+     * Serializa as consolidações entre instâncias: a segunda espera a primeira terminar
+     * e então lê o limite já avançado.
+     *
+     * @param id ID da linha de controle
+     * @return Optional contendo a linha bloqueada ou empty se não existir
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ConsolidacaoEstatistica c WHERE c.id = :id")
+    Optional<ConsolidacaoEstatistica> bloquearPorId(@Param("id") Short id);
+}
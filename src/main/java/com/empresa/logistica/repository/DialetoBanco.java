@@ -0,0 +1,45 @@
+package com.empresa.logistica.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Banco de dados em uso, identificado uma única vez na inicialização.
+ *
+ * Os recursos específicos do PostgreSQL (advisory locks, estimativas do planejador,
+ * busca por trigramas) consultam este componente e, em outros bancos (H2 nos testes),
+ * recorrem às alternativas portáveis.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class DialetoBanco {
+
+    private final boolean postgres;
+
+    public DialetoBanco(DataSource dataSource) {
+        this.postgres = identificarPostgres(dataSource);
+    }
+
+    /**
+     * @return true se o banco de dados é PostgreSQL
+     */
+    public boolean isPostgres() {
+        return postgres;
+    }
+
+    private static boolean identificarPostgres(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            log.warn("Não foi possível identificar o banco de dados, recursos do PostgreSQL desabilitados: {}", e.getMessage());
+            return false;
+        }
+    }
+}
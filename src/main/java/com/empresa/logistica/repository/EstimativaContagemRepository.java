@@ -0,0 +1,79 @@
+package com.empresa.logistica.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.util.OptionalLong;
+
+/**
+ * Repositório de estimativas de cardinalidade baseadas nas estatísticas do PostgreSQL.
+ * 
+ * Tabelas inteiras são estimadas por {@code pg_class.reltuples}, mantido pelo
+ * autovacuum/ANALYZE. Consultas filtradas são estimadas pelo número de linhas
+ * previsto no plano ({@code EXPLAIN}), sem executá-las. Em outros bancos (H2 nos
+ * testes) nenhuma estimativa é oferecida e o chamador recorre à contagem exata.
+ * 
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+@Slf4j
+public class EstimativaContagemRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final DialetoBanco dialetoBanco;
+
+    public EstimativaContagemRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, DialetoBanco dialetoBanco) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.dialetoBanco = dialetoBanco;
+    }
+
+    /**
+     * Estima o número de linhas de uma tabela.
+     * 
+     * @param tabela Nome da tabela
+     * @return Estimativa, ou vazio se a tabela nunca foi analisada ou o banco não é PostgreSQL
+     */
+    public OptionalLong estimarTabela(String tabela) {
+        if (!dialetoBanco.isPostgres()) {
+            return OptionalLong.empty();
+        }
+        try {
+            Long linhas = jdbcTemplate.queryForObject(
+                "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass(?)", Long.class, tabela);
+            // reltuples = -1 (PostgreSQL 14+) ou 0 antes do primeiro ANALYZE
+            return linhas == null || linhas < 1 ? OptionalLong.empty() : OptionalLong.of(linhas);
+        } catch (DataAccessException e) {
+            log.warn("Não foi possível estimar as linhas da tabela {}: {}", tabela, e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Estima o número de linhas retornadas por uma consulta SQL sem executá-la.
+     * 
+     * @param sql Consulta SQL nativa com parâmetros posicionais (?)
+     * @param parametros Valores dos parâmetros
+     * @return Estimativa do planejador, ou vazio se o banco não é PostgreSQL
+     */
+    public OptionalLong estimarConsulta(String sql, Object... parametros) {
+        if (!dialetoBanco.isPostgres()) {
+            return OptionalLong.empty();
+        }
+        try {
+            String plano = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, parametros);
+            JsonNode linhas = objectMapper.readTree(plano).path(0).path("Plan").path("Plan Rows");
+            return linhas.isNumber() ? OptionalLong.of(linhas.asLong()) : OptionalLong.empty();
+        } catch (DataAccessException | IOException e) {
+            log.warn("Não foi possível estimar as linhas da consulta: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+}
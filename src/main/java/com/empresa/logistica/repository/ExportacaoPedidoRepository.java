@@ -0,0 +1,106 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.StatusPedido;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Repositório de leitura em massa de pedidos com seus itens para exportação.
+ * 
+ * Percorre pedido ⋈ item_pedido ⋈ produto com um cursor JDBC somente-avanço,
+ * entregando uma linha por item (ou uma linha sem item para pedidos vazios),
+ * ordenadas por pedido e item. O driver mantém em memória apenas um lote de
+ * {@link #TAMANHO_LOTE} linhas; no PostgreSQL o cursor no servidor exige uma
+ * transação aberta (autocommit desligado).
+ * 
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+public class ExportacaoPedidoRepository {
+
+    static final int TAMANHO_LOTE = 1000;
+
+    private static final String SELECT_LINHAS =
+        "SELECT p.id, p.cliente_id, c.nome, p.data_pedido, p.status, p.valor_total, " +
+        "i.id, i.produto_id, pr.nome, i.quantidade, i.subtotal " +
+        "FROM pedido p " +
+        "JOIN cliente c ON c.id = p.cliente_id " +
+        "LEFT JOIN item_pedido i ON i.pedido_id = p.id " +
+        "LEFT JOIN produto pr ON pr.id = i.produto_id";
+
+    private static final String ORDEM = " ORDER BY p.id, i.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ExportacaoPedidoRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Linha exportada: colunas do pedido e, se houver, de um de seus itens.
+     */
+    public record Linha(Long pedidoId, Long clienteId, String clienteNome, LocalDateTime dataPedido,
+                        StatusPedido status, BigDecimal valorTotal, Long itemId, Long produtoId,
+                        String produtoNome, Integer quantidade, BigDecimal subtotal) {
+    }
+
+    /**
+     * Percorre os pedidos do período, entregando as linhas ao consumidor na ordem do cursor.
+     * 
+     * @param desde Data/hora inicial inclusiva, ou null para sem limite
+     * @param ate Data/hora final exclusiva, ou null para sem limite
+     * @param consumidor Recebe cada linha assim que é lida
+     */
+    public void percorrer(LocalDateTime desde, LocalDateTime ate, Consumer<Linha> consumidor) {
+        StringBuilder sql = new StringBuilder(SELECT_LINHAS);
+        List<Timestamp> parametros = new ArrayList<>(2);
+        if (desde != null) {
+            sql.append(" WHERE p.data_pedido >= ?");
+            parametros.add(Timestamp.valueOf(desde));
+        }
+        if (ate != null) {
+            sql.append(parametros.isEmpty() ? " WHERE" : " AND").append(" p.data_pedido < ?");
+            parametros.add(Timestamp.valueOf(ate));
+        }
+        sql.append(ORDEM);
+
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement statement = conexao.prepareStatement(
+                sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(TAMANHO_LOTE);
+            for (int i = 0; i < parametros.size(); i++) {
+                statement.setTimestamp(i + 1, parametros.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumidor.accept(mapear(rs)));
+    }
+
+    private static Linha mapear(ResultSet rs) throws SQLException {
+        long itemId = rs.getLong(7);
+        boolean semItem = rs.wasNull();
+        return new Linha(
+            rs.getLong(1),
+            rs.getLong(2),
+            rs.getString(3),
+            rs.getTimestamp(4).toLocalDateTime(),
+            StatusPedido.valueOf(rs.getString(5)),
+            rs.getBigDecimal(6),
+            semItem ? null : itemId,
+            semItem ? null : rs.getLong(8),
+            semItem ? null : rs.getString(9),
+            semItem ? null : rs.getInt(10),
+            semItem ? null : rs.getBigDecimal(11));
+    }
+}
@@ -0,0 +1,89 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.ExposicaoCreditoDiaria;
+import com.empresa.logistica.model.ExposicaoCreditoDiariaId;
+import com.empresa.logistica.model.Money;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositório para o ledger diário de exposição de crédito.
+ *
+ * Mantém um bucket por cliente e dia com a soma dos pedidos aprovados,
+ * de modo que a validação de crédito leia poucas linhas por cliente
+ * independentemente do volume histórico de pedidos.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+public interface ExposicaoCreditoDiariaRepository extends JpaRepository<ExposicaoCreditoDiaria, ExposicaoCreditoDiariaId> {
+
+    /**
+     * Soma os buckets de um cliente a partir do dia informado.
+     *
+     * @param clienteId ID do cliente
+     * @param diaInicio Primeiro dia da janela (inclusivo)
+     * @return Exposição acumulada na janela ou BigDecimal.ZERO se não houver buckets
+     */
+    @Query("SELECT COALESCE(SUM(e.valorTotal), 0) FROM ExposicaoCreditoDiaria e WHERE e.clienteId = :clienteId AND e.dia >= :diaInicio")
+    BigDecimal totalExposicaoDesde(@Param("clienteId") Long clienteId, @Param("diaInicio") LocalDate diaInicio);
+
+    /**
+     * Soma os buckets de vários clientes a partir do dia informado em uma única consulta.
+     *
+     * @param clienteIds IDs dos clientes
+     * @param diaInicio Primeiro dia da janela (inclusivo)
+     * @return Lista de arrays com [cliente_id, valor_total]; clientes sem buckets não aparecem
+     */
+    @Query("SELECT e.clienteId, SUM(e.valorTotal) FROM ExposicaoCreditoDiaria e WHERE e.clienteId IN :clienteIds AND e.dia >= :diaInicio GROUP BY e.clienteId")
+    List<Object[]> totaisExposicaoDesde(@Param("clienteIds") Collection<Long> clienteIds, @Param("diaInicio") LocalDate diaInicio);
+
+    /**
+     * Acumula um valor no bucket existente do cliente no dia.
+     *
+     * Deve ser chamado com o bloqueio de crédito do cliente adquirido; quando nenhum
+     * bucket é atualizado, o chamador cria o bucket do dia.
+     *
+     * @param clienteId ID do cliente
+     * @param dia Dia do bucket
+     * @param valor Valor a ser acumulado
+     * @return Número de buckets atualizados (0 ou 1)
+     */
+    default int acumular(Long clienteId, LocalDate dia, Money valor) {
+        return acumularValor(clienteId, dia, valor.toBigDecimal());
+    }
+
+    /**
+     * Variante nativa de {@link #acumular(Long, LocalDate, Money)}: o Hibernate não
+     * resolve aritmética sobre atributos com {@code AttributeConverter} em JPQL.
+     * A tabela afetada é declarada para que o UPDATE nativo não invalide todo o
+     * cache de segundo nível.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "exposicao_credito_diaria"))
+    @Query(value = "UPDATE exposicao_credito_diaria SET valor_total = valor_total + :valor WHERE cliente_id = :clienteId AND dia = :dia",
+        nativeQuery = true)
+    int acumularValor(@Param("clienteId") Long clienteId, @Param("dia") LocalDate dia, @Param("valor") BigDecimal valor);
+
+    /**
+     * Remove os buckets anteriores ao dia informado (fora da janela de crédito).
+     *
+     * @param diaLimite Dia a partir do qual os buckets são mantidos
+     * @return Número de buckets removidos
+     */
+    @Modifying
+    @Query("DELETE FROM ExposicaoCreditoDiaria e WHERE e.dia < :diaLimite")
+    int removerAnterioresA(@Param("diaLimite") LocalDate diaLimite);
+}
@@ -1,12 +1,18 @@
 package com.empresa.logistica.repository;
 
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.VendasProdutoDTO;
+import com.empresa.logistica.model.Money;
 import com.empresa.logistica.model.ItemPedido;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -29,6 +35,18 @@ public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
      */
     List<ItemPedido> findByPedidoId(Long pedidoId);
 
+    /**
+     * Busca os itens de vários pedidos projetados em DTO, com o nome e o preço do produto,
+     * em uma única consulta (índice idx_item_pedido_pedido_id).
+     * 
+     * @param pedidoIds IDs dos pedidos
+     * @return Itens dos pedidos, ordenados por pedido e item
+     */
+    @Query("SELECT new com.empresa.logistica.dto.ItemPedidoDTO(" +
+           "i.id, i.pedido.id, pr.id, pr.nome, i.quantidade, i.subtotal, pr.preco) " +
+           "FROM ItemPedido i JOIN i.produto pr WHERE i.pedido.id IN :pedidoIds ORDER BY i.pedido.id, i.id")
+    List<ItemPedidoDTO> findDTOsByPedidoIds(@Param("pedidoIds") Collection<Long> pedidoIds);
+
     /**
      * Busca itens de pedido por ID do produto.
      * 
@@ -59,7 +77,14 @@ public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
      * @param subtotal Valor mínimo do subtotal
      * @return Lista de itens que atendem ao critério
      */
-    List<ItemPedido> findBySubtotalGreaterThanEqual(BigDecimal subtotal);
+    List<ItemPedido> findBySubtotalGreaterThanEqual(Money subtotal);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<ItemPedido> findBySubtotalGreaterThanEqual(BigDecimal subtotal) {
+        return findBySubtotalGreaterThanEqual(Money.of(subtotal));
+    }
 
     /**
      * Busca itens com subtotal entre os valores especificados.
@@ -68,7 +93,14 @@ public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
      * @param subtotalMaximo Valor máximo do subtotal
      * @return Lista de itens que atendem ao critério
      */
-    List<ItemPedido> findBySubtotalBetween(BigDecimal subtotalMinimo, BigDecimal subtotalMaximo);
+    List<ItemPedido> findBySubtotalBetween(Money subtotalMinimo, Money subtotalMaximo);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<ItemPedido> findBySubtotalBetween(BigDecimal subtotalMinimo, BigDecimal subtotalMaximo) {
+        return findBySubtotalBetween(Money.of(subtotalMinimo), Money.of(subtotalMaximo));
+    }
 
     /**
      * Conta o número de itens de um pedido específico.
@@ -104,23 +136,91 @@ public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
     @Query("SELECT COALESCE(SUM(i.subtotal), 0) FROM ItemPedido i WHERE i.produto.id = :produtoId")
     BigDecimal calcularValorTotalVendasProduto(@Param("produtoId") Long produtoId);
 
+    /**
+     * Projeção das vendas agregadas por produto em {@link VendasProdutoDTO}.
+     * 
+     * Pedidos pendentes ficam de fora: entram no ranking quando a decisão de crédito é tomada.
+     */
+    String SELECT_VENDAS_PRODUTO = "SELECT new com.empresa.logistica.dto.VendasProdutoDTO(" +
+        "pr.id, pr.nome, SUM(i.quantidade), SUM(i.subtotal)) " +
+        "FROM ItemPedido i JOIN i.produto pr WHERE i.pedido.status <> 'PENDENTE' ";
+
+    /**
+     * Filtro de período do ranking de vendas, pela data do pedido.
+     */
+    String FILTRO_VENDAS_DESDE = "AND i.pedido.dataPedido >= :dataInicio ";
+
+    /**
+     * Agrupamento das vendas por produto.
+     */
+    String GROUP_BY_VENDAS_PRODUTO = "GROUP BY pr.id, pr.nome ";
+
     /**
      * Busca os produtos mais vendidos (por quantidade).
      * 
+     * O limite é aplicado no SQL: apenas as primeiras linhas agregadas saem do banco.
+     * 
      * @param limite Número máximo de produtos a serem retornados
-     * @return Lista de arrays com [produto_id, quantidade_total] ordenada por quantidade
+     * @return Vendas por produto ordenadas por quantidade, ID como desempate
      */
-    @Query("SELECT i.produto.id, SUM(i.quantidade) as total FROM ItemPedido i GROUP BY i.produto.id ORDER BY total DESC")
-    List<Object[]> findProdutosMaisVendidosPorQuantidade(@Param("limite") int limite);
+    @Query(SELECT_VENDAS_PRODUTO + GROUP_BY_VENDAS_PRODUTO + "ORDER BY SUM(i.quantidade) DESC, pr.id")
+    List<VendasProdutoDTO> findProdutosMaisVendidosPorQuantidade(Limit limite);
 
     /**
      * Busca os produtos mais lucrativos (por valor).
      * 
+     * O limite é aplicado no SQL: apenas as primeiras linhas agregadas saem do banco.
+     * 
+     * @param limite Número máximo de produtos a serem retornados
+     * @return Vendas por produto ordenadas por valor, ID como desempate
+     */
+    @Query(SELECT_VENDAS_PRODUTO + GROUP_BY_VENDAS_PRODUTO + "ORDER BY SUM(i.subtotal) DESC, pr.id")
+    List<VendasProdutoDTO> findProdutosMaisLucrativosPorValor(Limit limite);
+
+    /**
+     * Busca os produtos mais vendidos (por quantidade) em pedidos a partir da data informada.
+     * 
+     * @param dataInicio Início do período (inclusivo)
+     * @param limite Número máximo de produtos a serem retornados
+     * @return Vendas por produto no período ordenadas por quantidade, ID como desempate
+     */
+    @Query(SELECT_VENDAS_PRODUTO + FILTRO_VENDAS_DESDE + GROUP_BY_VENDAS_PRODUTO + "ORDER BY SUM(i.quantidade) DESC, pr.id")
+    List<VendasProdutoDTO> findProdutosMaisVendidosPorQuantidadeDesde(@Param("dataInicio") LocalDateTime dataInicio,
+                                                                      Limit limite);
+
+    /**
+     * Busca os produtos mais lucrativos (por valor) em pedidos a partir da data informada.
+     * 
+     * @param dataInicio Início do período (inclusivo)
      * @param limite Número máximo de produtos a serem retornados
-     * @return Lista de arrays com [produto_id, valor_total] ordenada por valor
+     * @return Vendas por produto no período ordenadas por valor, ID como desempate
+     */
+    @Query(SELECT_VENDAS_PRODUTO + FILTRO_VENDAS_DESDE + GROUP_BY_VENDAS_PRODUTO + "ORDER BY SUM(i.subtotal) DESC, pr.id")
+    List<VendasProdutoDTO> findProdutosMaisLucrativosPorValorDesde(@Param("dataInicio") LocalDateTime dataInicio,
+                                                                   Limit limite);
+
+    /**
+     * Agrega as vendas por produto dos pedidos decididos anteriores à data informada
+     * (carga do ranking de vendas em memória).
+     * 
+     * @param dataLimite Data limite (exclusiva)
+     * @return Lista de arrays com [produto_id, quantidade, valor]
      */
-    @Query("SELECT i.produto.id, SUM(i.subtotal) as total FROM ItemPedido i GROUP BY i.produto.id ORDER BY total DESC")
-    List<Object[]> findProdutosMaisLucrativosPorValor(@Param("limite") int limite);
+    @Query("SELECT i.produto.id, SUM(i.quantidade), SUM(i.subtotal) FROM ItemPedido i " +
+           "WHERE i.pedido.status <> 'PENDENTE' AND i.pedido.dataPedido < :dataLimite GROUP BY i.produto.id")
+    List<Object[]> vendasPorProdutoAntesDe(@Param("dataLimite") LocalDateTime dataLimite);
+
+    /**
+     * Agrega as vendas por produto e dia dos pedidos decididos a partir da data informada
+     * (carga do ranking de vendas em memória).
+     * 
+     * @param dataInicio Data de início (inclusiva)
+     * @return Lista de arrays com [produto_id, dia, quantidade, valor]
+     */
+    @Query("SELECT i.produto.id, CAST(i.pedido.dataPedido AS LocalDate), SUM(i.quantidade), SUM(i.subtotal) " +
+           "FROM ItemPedido i WHERE i.pedido.status <> 'PENDENTE' AND i.pedido.dataPedido >= :dataInicio " +
+           "GROUP BY i.produto.id, CAST(i.pedido.dataPedido AS LocalDate)")
+    List<Object[]> vendasPorProdutoEDiaDesde(@Param("dataInicio") LocalDateTime dataInicio);
 
     /**
      * Calcula o subtotal médio dos itens de pedido.
@@ -148,13 +248,18 @@ public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
     List<ItemPedido> findItensPorCliente(@Param("clienteId") Long clienteId);
 
     /**
-     * Busca os itens com maior subtotal limitando o número de resultados.
+     * Busca os itens com maior subtotal projetados em DTO, com o nome e o preço do produto.
+     * 
+     * O limite é aplicado no SQL; com o índice idx_item_pedido_subtotal_id a consulta
+     * lê apenas as primeiras linhas, sem ordenar a tabela.
      * 
      * @param limite Número máximo de itens a serem retornados
-     * @return Lista dos itens com maior subtotal
+     * @return Lista dos itens com maior subtotal, ID decrescente como desempate
      */
-    @Query("SELECT i FROM ItemPedido i ORDER BY i.subtotal DESC")
-    List<ItemPedido> findItensMaiorSubtotal(@Param("limite") int limite);
+    @Query("SELECT new com.empresa.logistica.dto.ItemPedidoDTO(" +
+           "i.id, i.pedido.id, pr.id, pr.nome, i.quantidade, i.subtotal, pr.preco) " +
+           "FROM ItemPedido i JOIN i.produto pr ORDER BY i.subtotal DESC, i.id DESC")
+    List<ItemPedidoDTO> findItensMaiorSubtotal(Limit limite);
 
     /**
      * Remove todos os itens de um pedido específico.
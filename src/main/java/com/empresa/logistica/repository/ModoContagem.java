@@ -0,0 +1,88 @@
+package com.empresa.logistica.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.OptionalLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Enumeração que define como o total de registros de uma listagem paginada é obtido.
+ * 
+ * A contagem exata exige um {@code COUNT(*)} sobre todo o filtro a cada página,
+ * que domina a latência em tabelas grandes; por isso é opcional.
+ * 
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+public enum ModoContagem {
+
+    /**
+     * Sem total: busca uma linha a mais apenas para informar se existe próxima página.
+     */
+    NENHUMA {
+        @Override
+        public <T> Slice<T> paginar(Pageable pageable,
+                                    Function<Pageable, Slice<T>> semContagem,
+                                    Function<Pageable, Page<T>> comContagem,
+                                    Supplier<OptionalLong> estimativa) {
+            return semContagem.apply(pageable);
+        }
+    },
+
+    /**
+     * Total aproximado a partir das estatísticas do planejador do banco de dados.
+     * 
+     * Quando o banco não oferece estimativa (por exemplo, H2 ou tabela nunca analisada)
+     * a contagem exata é utilizada.
+     */
+    ESTIMADA {
+        @Override
+        public <T> Slice<T> paginar(Pageable pageable,
+                                    Function<Pageable, Slice<T>> semContagem,
+                                    Function<Pageable, Page<T>> comContagem,
+                                    Supplier<OptionalLong> estimativa) {
+            OptionalLong estimado = estimativa.get();
+            if (estimado.isEmpty()) {
+                return comContagem.apply(pageable);
+            }
+
+            Slice<T> fatia = semContagem.apply(pageable);
+            long lidos = pageable.getOffset() + fatia.getNumberOfElements();
+            // A página atual é a fonte mais confiável: na última página o total é exato,
+            // nas demais a estimativa nunca fica abaixo do que já se sabe existir
+            long total = fatia.hasNext() ? Math.max(estimado.getAsLong(), lidos + 1) : lidos;
+            return new PageImpl<>(fatia.getContent(), pageable, total);
+        }
+    },
+
+    /**
+     * Total exato via consulta de contagem.
+     */
+    EXATA {
+        @Override
+        public <T> Slice<T> paginar(Pageable pageable,
+                                    Function<Pageable, Slice<T>> semContagem,
+                                    Function<Pageable, Page<T>> comContagem,
+                                    Supplier<OptionalLong> estimativa) {
+            return comContagem.apply(pageable);
+        }
+    };
+
+    /**
+     * Executa a listagem no modo de contagem correspondente.
+     * 
+     * @param pageable Configuração de paginação
+     * @param semContagem Consulta que retorna apenas a fatia (sem COUNT)
+     * @param comContagem Consulta paginada com contagem exata
+     * @param estimativa Estimativa do total de registros do filtro
+     * @return Fatia (NENHUMA) ou página com total (ESTIMADA, EXATA)
+     */
+    public abstract <T> Slice<T> paginar(Pageable pageable,
+                                         Function<Pageable, Slice<T>> semContagem,
+                                         Function<Pageable, Page<T>> comContagem,
+                                         Supplier<OptionalLong> estimativa);
+}
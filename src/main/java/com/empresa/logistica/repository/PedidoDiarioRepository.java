@@ -0,0 +1,112 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.PedidoDiario;
+import com.empresa.logistica.model.PedidoDiarioId;
+import com.empresa.logistica.model.StatusPedido;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositório para o resumo diário de pedidos decididos.
+ *
+ * Mantém uma linha por cliente, dia e status final com a quantidade e a soma
+ * dos pedidos, lida pelas contagens e totais de {@link PedidoRepository}.
+ * As escritas de um cliente ocorrem sob o seu bloqueio de crédito.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+public interface PedidoDiarioRepository extends JpaRepository<PedidoDiario, PedidoDiarioId> {
+
+    /**
+     * Busca as linhas do resumo de um intervalo de dias.
+     *
+     * @param diaInicio Primeiro dia (inclusivo)
+     * @param diaFim Último dia (inclusivo)
+     * @return Linhas do resumo no intervalo
+     */
+    List<PedidoDiario> findByDiaBetween(LocalDate diaInicio, LocalDate diaFim);
+
+    /**
+     * Acumula pedidos na linha existente do cliente no dia e status.
+     *
+     * Deve ser chamado com o bloqueio de crédito do cliente adquirido; quando nenhuma
+     * linha é atualizada, o chamador cria a linha do dia.
+     *
+     * @param clienteId ID do cliente
+     * @param dia Dia do resumo
+     * @param status Status dos pedidos
+     * @param quantidade Quantidade de pedidos a acumular
+     * @param valor Valor a acumular
+     * @return Número de linhas atualizadas (0 ou 1)
+     */
+    default int acumular(Long clienteId, LocalDate dia, StatusPedido status, long quantidade, Money valor) {
+        return acumularValores(clienteId, dia, status.name(), quantidade, valor.toBigDecimal());
+    }
+
+    /**
+     * Variante nativa de {@link #acumular(Long, LocalDate, StatusPedido, long, Money)}: o Hibernate
+     * não resolve aritmética sobre atributos com {@code AttributeConverter} em JPQL.
+     * A tabela afetada é declarada para que o UPDATE nativo não invalide todo o
+     * cache de segundo nível.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pedido_diario"))
+    @Query(value = "UPDATE pedido_diario SET quantidade = quantidade + :quantidade, valor_total = valor_total + :valor " +
+                   "WHERE cliente_id = :clienteId AND dia = :dia AND status = :status",
+        nativeQuery = true)
+    int acumularValores(@Param("clienteId") Long clienteId, @Param("dia") LocalDate dia, @Param("status") String status,
+                        @Param("quantidade") long quantidade, @Param("valor") BigDecimal valor);
+
+    /**
+     * Recalcula o resumo de um cliente em um intervalo de dias a partir dos pedidos.
+     *
+     * Deve ser chamado com o bloqueio de crédito do cliente adquirido, para que nenhum
+     * pedido do cliente seja decidido entre a remoção e a nova agregação.
+     *
+     * @param clienteId ID do cliente
+     * @param diaInicio Primeiro dia (inclusivo)
+     * @param diaFim Último dia (inclusivo)
+     * @return Número de linhas do resumo gravadas
+     */
+    default int recalcular(Long clienteId, LocalDate diaInicio, LocalDate diaFim) {
+        removerPorClienteEntreDias(clienteId, diaInicio, diaFim);
+        return inserirAgregadoPorCliente(clienteId, diaInicio.atStartOfDay(), diaFim.plusDays(1).atStartOfDay());
+    }
+
+    /**
+     * Remove as linhas do resumo de um cliente em um intervalo de dias.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pedido_diario"))
+    @Query(value = "DELETE FROM pedido_diario WHERE cliente_id = :clienteId AND dia BETWEEN :diaInicio AND :diaFim",
+        nativeQuery = true)
+    int removerPorClienteEntreDias(@Param("clienteId") Long clienteId, @Param("diaInicio") LocalDate diaInicio,
+                                   @Param("diaFim") LocalDate diaFim);
+
+    /**
+     * Agrega os pedidos decididos de um cliente no período semiaberto [inicio, fim) e grava o resumo.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "pedido_diario"))
+    @Query(value = "INSERT INTO pedido_diario (cliente_id, dia, status, quantidade, valor_total) " +
+                   "SELECT cliente_id, CAST(data_pedido AS DATE), status, COUNT(*), SUM(valor_total) FROM pedido " +
+                   "WHERE cliente_id = :clienteId AND status <> 'PENDENTE' AND data_pedido >= :inicio AND data_pedido < :fim " +
+                   "GROUP BY cliente_id, CAST(data_pedido AS DATE), status",
+        nativeQuery = true)
+    int inserirAgregadoPorCliente(@Param("clienteId") Long clienteId, @Param("inicio") LocalDateTime inicio,
+                                  @Param("fim") LocalDateTime fim);
+}
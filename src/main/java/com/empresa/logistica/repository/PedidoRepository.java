@@ -1,17 +1,27 @@
 package com.empresa.logistica.repository;
 
+import com.empresa.logistica.dto.PedidoDTO;
+import com.empresa.logistica.model.Money;
 import com.empresa.logistica.model.Pedido;
 import com.empresa.logistica.model.StatusPedido;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -41,6 +51,46 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     @Query("SELECT COALESCE(SUM(p.valorTotal), 0) FROM Pedido p WHERE p.cliente.id = :clienteId AND p.dataPedido >= :dataInicio AND p.status = 'APROVADO'")
     BigDecimal totalPedidosUltimos30Dias(@Param("clienteId") Long clienteId, @Param("dataInicio") LocalDateTime dataInicio);
 
+    /**
+     * Agrega os pedidos aprovados por cliente e dia a partir da data informada,
+     * restrito a uma partição de clientes (cliente_id mod particoes).
+     * 
+     * Utilizada para reconstruir em paralelo o índice de exposição de crédito.
+     * 
+     * @param dataInicio Data de início da janela
+     * @param particoes Número total de partições
+     * @param particao Partição a ser carregada (0 a particoes - 1)
+     * @return Lista de arrays com [cliente_id, dia, valor_total]
+     */
+    @Query("SELECT p.cliente.id, CAST(p.dataPedido AS LocalDate), SUM(p.valorTotal) FROM Pedido p " +
+           "WHERE p.status = 'APROVADO' AND p.dataPedido >= :dataInicio AND MOD(p.cliente.id, :particoes) = :particao " +
+           "GROUP BY p.cliente.id, CAST(p.dataPedido AS LocalDate)")
+    List<Object[]> totaisAprovadosPorClienteEDia(@Param("dataInicio") LocalDateTime dataInicio,
+                                                 @Param("particoes") int particoes,
+                                                 @Param("particao") int particao);
+
+    /**
+     * Busca, entre os IDs informados, os pedidos já decididos (aprovados ou rejeitados).
+     * 
+     * Usada ao fim da recarga de uma estrutura em memória, na mesma transação das
+     * consultas da carga, para saber quais pedidos confirmados durante a carga já
+     * foram lidos por ela.
+     * 
+     * @param ids IDs dos pedidos
+     * @return IDs dos pedidos decididos
+     */
+    @Query("SELECT p.id FROM Pedido p WHERE p.id IN :ids AND p.status <> 'PENDENTE'")
+    List<Long> findIdsDecididosByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Agrega os pedidos aprovados por cliente a partir da data informada.
+     * 
+     * @param dataInicio Data de início da janela
+     * @return Lista de arrays com [cliente_id, valor_total]
+     */
+    @Query("SELECT p.cliente.id, SUM(p.valorTotal) FROM Pedido p WHERE p.status = 'APROVADO' AND p.dataPedido >= :dataInicio GROUP BY p.cliente.id")
+    List<Object[]> totaisAprovadosPorCliente(@Param("dataInicio") LocalDateTime dataInicio);
+
     /**
      * Busca pedidos de um cliente específico.
      * 
@@ -59,23 +109,72 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     Optional<Pedido> findByIdWithItens(@Param("id") Long id);
     
     /**
-     * Busca todos os pedidos com paginação e joins otimizados
+     * Projeção das listagens de pedidos: dados do pedido e do cliente direto em {@link PedidoDTO},
+     * sem entidades gerenciadas. Itens e crédito são completados pelo serviço em consultas agrupadas.
+     */
+    String SELECT_PEDIDO_DTO = "SELECT new com.empresa.logistica.dto.PedidoDTO(" +
+        "p.id, c.id, c.nome, p.dataPedido, p.status, p.valorTotal, c.limiteCredito) " +
+        "FROM Pedido p JOIN p.cliente c ";
+
+    /**
+     * Ordenação das listagens por cursor: mais recentes primeiro, ID como desempate.
+     */
+    String ORDEM_CURSOR = " ORDER BY p.dataPedido DESC, p.id DESC";
+
+    /**
+     * Posição estritamente após o cursor (dataPedido, id). A condição redundante
+     * {@code dataPedido <= :dataPedido} permite ao banco iniciar a varredura do índice
+     * diretamente na posição do cursor, com custo constante independentemente da profundidade.
+     */
+    String APOS_CURSOR = "p.dataPedido <= :dataPedido AND (p.dataPedido < :dataPedido OR p.id < :id)";
+
+    /**
+     * Busca um pedido projetado em DTO (sem itens).
+     * 
+     * @param id ID do pedido
+     * @return Optional com o pedido e os dados do cliente
+     */
+    @Query(SELECT_PEDIDO_DTO + "WHERE p.id = :id")
+    Optional<PedidoDTO> findDTOById(@Param("id") Long id);
+
+    /**
+     * Lista todos os pedidos projetados em DTO com paginação.
      * 
      * @param pageable configuração de paginação
-     * @return Page com pedidos e dados relacionados
+     * @return Página de pedidos com dados do cliente
      */
-    @Query(value = "SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente", 
-           countQuery = "SELECT COUNT(p) FROM Pedido p")
-    Page<Pedido> findAllWithCliente(Pageable pageable);
-    
+    @Query(value = SELECT_PEDIDO_DTO, countQuery = "SELECT COUNT(p) FROM Pedido p")
+    Page<PedidoDTO> findAllDTO(Pageable pageable);
+
+    /**
+     * Variante de {@link #findAllDTO(Pageable)} sem consulta de contagem.
+     * 
+     * @param pageable configuração de paginação
+     * @return Fatia de pedidos e indicação de próxima página
+     */
+    @Query(SELECT_PEDIDO_DTO)
+    Slice<PedidoDTO> findSliceDTO(Pageable pageable);
+
     /**
-     * Busca pedidos de um cliente específico com paginação.
+     * Lista os pedidos de um cliente projetados em DTO com paginação.
      * 
      * @param clienteId ID do cliente
      * @param pageable Configuração de paginação
      * @return Página de pedidos do cliente
      */
-    Page<Pedido> findByClienteId(Long clienteId, Pageable pageable);
+    @Query(value = SELECT_PEDIDO_DTO + "WHERE c.id = :clienteId",
+           countQuery = "SELECT COUNT(p) FROM Pedido p WHERE p.cliente.id = :clienteId")
+    Page<PedidoDTO> findDTOByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
+
+    /**
+     * Variante de {@link #findDTOByClienteId(Long, Pageable)} sem consulta de contagem.
+     * 
+     * @param clienteId ID do cliente
+     * @param pageable Configuração de paginação
+     * @return Fatia de pedidos do cliente
+     */
+    @Query(SELECT_PEDIDO_DTO + "WHERE c.id = :clienteId")
+    Slice<PedidoDTO> findSliceDTOByClienteId(@Param("clienteId") Long clienteId, Pageable pageable);
 
     /**
      * Busca pedidos por status.
@@ -84,15 +183,99 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      * @return Lista de pedidos com o status especificado
      */
     List<Pedido> findByStatus(StatusPedido status);
-    
+
     /**
-     * Busca pedidos por status com paginação.
+     * Lista os pedidos com um status projetados em DTO com paginação.
      * 
-     * @param status Status dos pedidos a serem buscados
+     * @param status Status dos pedidos
      * @param pageable Configuração de paginação
      * @return Página de pedidos com o status especificado
      */
-    Page<Pedido> findByStatus(StatusPedido status, Pageable pageable);
+    @Query(value = SELECT_PEDIDO_DTO + "WHERE p.status = :status",
+           countQuery = "SELECT COUNT(p) FROM Pedido p WHERE p.status = :status")
+    Page<PedidoDTO> findDTOByStatus(@Param("status") StatusPedido status, Pageable pageable);
+
+    /**
+     * Variante de {@link #findDTOByStatus(StatusPedido, Pageable)} sem consulta de contagem.
+     * 
+     * @param status Status dos pedidos
+     * @param pageable Configuração de paginação
+     * @return Fatia de pedidos com o status especificado
+     */
+    @Query(SELECT_PEDIDO_DTO + "WHERE p.status = :status")
+    Slice<PedidoDTO> findSliceDTOByStatus(@Param("status") StatusPedido status, Pageable pageable);
+
+    /**
+     * Primeira página da listagem por cursor: pedidos mais recentes primeiro.
+     *
+     * @param limite Número máximo de pedidos
+     * @return Lista ordenada por data e ID decrescentes
+     */
+    @Query(SELECT_PEDIDO_DTO + ORDEM_CURSOR)
+    List<PedidoDTO> findPrimeirosPorCursor(Limit limite);
+
+    /**
+     * Página seguinte da listagem por cursor (índice idx_pedido_data).
+     *
+     * @param dataPedido Data do último pedido da página anterior
+     * @param id ID do último pedido da página anterior
+     * @param limite Número máximo de pedidos
+     * @return Lista ordenada por data e ID decrescentes
+     */
+    @Query(SELECT_PEDIDO_DTO + "WHERE " + APOS_CURSOR + ORDEM_CURSOR)
+    List<PedidoDTO> findSeguintesPorCursor(@Param("dataPedido") LocalDateTime dataPedido,
+                                           @Param("id") Long id,
+                                           Limit limite);
+
+    /**
+     * Primeira página da listagem por cursor dos pedidos de um cliente.
+     *
+     * @param clienteId ID do cliente
+     * @param limite Número máximo de pedidos
+     * @return Lista ordenada por data e ID decrescentes
+     */
+    @Query(SELECT_PEDIDO_DTO + "WHERE c.id = :clienteId" + ORDEM_CURSOR)
+    List<PedidoDTO> findPrimeirosPorClienteECursor(@Param("clienteId") Long clienteId, Limit limite);
+
+    /**
+     * Página seguinte da listagem por cursor dos pedidos de um cliente (índice idx_pedido_cliente_data).
+     *
+     * @param clienteId ID do cliente
+     * @param dataPedido Data do último pedido da página anterior
+     * @param id ID do último pedido da página anterior
+     * @param limite Número máximo de pedidos
+     * @return Lista ordenada por data e ID decrescentes
+     */
+    @Query(SELECT_PEDIDO_DTO + "WHERE c.id = :clienteId AND " + APOS_CURSOR + ORDEM_CURSOR)
+    List<PedidoDTO> findSeguintesPorClienteECursor(@Param("clienteId") Long clienteId,
+                                                   @Param("dataPedido") LocalDateTime dataPedido,
+                                                   @Param("id") Long id,
+                                                   Limit limite);
+
+    /**
+     * Primeira página da listagem por cursor dos pedidos com um status.
+     *
+     * @param status Status dos pedidos
+     * @param limite Número máximo de pedidos
+     * @return Lista ordenada por data e ID decrescentes
+     */
+    @Query(SELECT_PEDIDO_DTO + "WHERE p.status = :status" + ORDEM_CURSOR)
+    List<PedidoDTO> findPrimeirosPorStatusECursor(@Param("status") StatusPedido status, Limit limite);
+
+    /**
+     * Página seguinte da listagem por cursor dos pedidos com um status (índice idx_pedido_status_data_id).
+     *
+     * @param status Status dos pedidos
+     * @param dataPedido Data do último pedido da página anterior
+     * @param id ID do último pedido da página anterior
+     * @param limite Número máximo de pedidos
+     * @return Lista ordenada por data e ID decrescentes
+     */
+    @Query(SELECT_PEDIDO_DTO + "WHERE p.status = :status AND " + APOS_CURSOR + ORDEM_CURSOR)
+    List<PedidoDTO> findSeguintesPorStatusECursor(@Param("status") StatusPedido status,
+                                                  @Param("dataPedido") LocalDateTime dataPedido,
+                                                  @Param("id") Long id,
+                                                  Limit limite);
 
     /**
      * Busca pedidos de um cliente com status específico.
@@ -103,6 +286,29 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      */
     List<Pedido> findByClienteIdAndStatus(Long clienteId, StatusPedido status);
 
+    /**
+     * Busca os pedidos mais antigos de um cliente com status específico, em ordem de chegada.
+     * Usado pela decisão de crédito assíncrona para processar os pendentes em lote.
+     * 
+     * @param clienteId ID do cliente
+     * @param status Status dos pedidos
+     * @param pageable Tamanho máximo do lote
+     * @return Lista de pedidos ordenada por data e ID
+     */
+    List<Pedido> findByClienteIdAndStatusOrderByDataPedidoAscIdAsc(Long clienteId, StatusPedido status, Pageable pageable);
+
+    /**
+     * Lista os clientes que possuem pedidos com o status informado, começando
+     * pelos que aguardam há mais tempo.
+     * 
+     * @param status Status dos pedidos
+     * @param pageable Quantidade máxima de clientes
+     * @return Lista de IDs de clientes
+     */
+    @Query("SELECT p.cliente.id FROM Pedido p WHERE p.status = :status " +
+           "GROUP BY p.cliente.id ORDER BY MIN(p.dataPedido)")
+    List<Long> findClientesComPedidosPorStatus(@Param("status") StatusPedido status, Pageable pageable);
+
     /**
      * Busca pedidos por período de data.
      * 
@@ -118,7 +324,14 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      * @param valorMinimo Valor mínimo do pedido
      * @return Lista de pedidos que atendem ao critério
      */
-    List<Pedido> findByValorTotalGreaterThanEqual(BigDecimal valorMinimo);
+    List<Pedido> findByValorTotalGreaterThanEqual(Money valorMinimo);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<Pedido> findByValorTotalGreaterThanEqual(BigDecimal valorMinimo) {
+        return findByValorTotalGreaterThanEqual(Money.of(valorMinimo));
+    }
 
     /**
      * Busca pedidos com valor total entre os valores especificados.
@@ -127,7 +340,14 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      * @param valorMaximo Valor máximo do pedido
      * @return Lista de pedidos que atendem ao critério
      */
-    List<Pedido> findByValorTotalBetween(BigDecimal valorMinimo, BigDecimal valorMaximo);
+    List<Pedido> findByValorTotalBetween(Money valorMinimo, Money valorMaximo);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<Pedido> findByValorTotalBetween(BigDecimal valorMinimo, BigDecimal valorMaximo) {
+        return findByValorTotalBetween(Money.of(valorMinimo), Money.of(valorMaximo));
+    }
 
     /**
      * Busca pedidos ordenados por data em ordem decrescente.
@@ -160,6 +380,93 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      */
     long countByStatus(StatusPedido status);
 
+    /**
+     * Conta o número de pedidos de um cliente a partir do resumo diário.
+     * 
+     * Os pedidos decididos vêm do resumo diário (pedido_diario); apenas os pendentes
+     * são contados na tabela de pedidos, pelo índice parcial idx_pedido_pendente_cliente_data.
+     * O resultado só é exato se o resumo do cliente estiver atualizado.
+     * 
+     * @param clienteId ID do cliente
+     * @return Número de pedidos do cliente
+     */
+    default long contarPedidosPorClienteNoResumo(Long clienteId) {
+        return contarDecididosPorCliente(clienteId) + contarPendentesPorCliente(clienteId);
+    }
+
+    /**
+     * Conta o número de pedidos por status a partir do resumo diário.
+     * 
+     * APROVADO e REJEITADO são lidos do resumo diário; PENDENTE, que não entra no
+     * resumo, é contado pelo índice parcial de pedidos pendentes.
+     * 
+     * @param status Status dos pedidos
+     * @return Número de pedidos com o status especificado
+     */
+    default long contarPedidosPorStatusNoResumo(StatusPedido status) {
+        return status == StatusPedido.PENDENTE ? contarPendentes() : contarDecididosPorStatus(status);
+    }
+
+    /**
+     * Conta os pedidos de vários clientes em duas consultas agrupadas (resumo diário e pendentes).
+     * 
+     * @param clienteIds IDs dos clientes
+     * @return Mapa cliente → número de pedidos; clientes sem pedidos não aparecem
+     */
+    default Map<Long, Long> contarPedidosPorClientesNoResumo(Collection<Long> clienteIds) {
+        Map<Long, Long> totais = new HashMap<>();
+        if (clienteIds.isEmpty()) {
+            return totais;
+        }
+        for (Object[] linha : contarDecididosPorClientes(clienteIds)) {
+            totais.merge((Long) linha[0], (Long) linha[1], Long::sum);
+        }
+        for (Object[] linha : contarPendentesPorClientes(clienteIds)) {
+            totais.merge((Long) linha[0], (Long) linha[1], Long::sum);
+        }
+        return totais;
+    }
+
+    /**
+     * Soma as quantidades do resumo diário por cliente.
+     * 
+     * @return Lista de arrays com [cliente_id, quantidade]
+     */
+    @Query("SELECT d.clienteId, SUM(d.quantidade) FROM PedidoDiario d WHERE d.clienteId IN :clienteIds GROUP BY d.clienteId")
+    List<Object[]> contarDecididosPorClientes(@Param("clienteIds") Collection<Long> clienteIds);
+
+    /**
+     * Conta os pedidos pendentes por cliente.
+     * 
+     * @return Lista de arrays com [cliente_id, quantidade]
+     */
+    @Query("SELECT p.cliente.id, COUNT(p) FROM Pedido p WHERE p.cliente.id IN :clienteIds AND p.status = 'PENDENTE' GROUP BY p.cliente.id")
+    List<Object[]> contarPendentesPorClientes(@Param("clienteIds") Collection<Long> clienteIds);
+
+    /**
+     * Soma as quantidades do resumo diário de um cliente (pedidos decididos).
+     */
+    @Query("SELECT COALESCE(SUM(d.quantidade), 0) FROM PedidoDiario d WHERE d.clienteId = :clienteId")
+    long contarDecididosPorCliente(@Param("clienteId") Long clienteId);
+
+    /**
+     * Soma as quantidades do resumo diário com o status informado.
+     */
+    @Query("SELECT COALESCE(SUM(d.quantidade), 0) FROM PedidoDiario d WHERE d.status = :status")
+    long contarDecididosPorStatus(@Param("status") StatusPedido status);
+
+    /**
+     * Conta os pedidos pendentes de um cliente.
+     */
+    @Query("SELECT COUNT(p) FROM Pedido p WHERE p.cliente.id = :clienteId AND p.status = 'PENDENTE'")
+    long contarPendentesPorCliente(@Param("clienteId") Long clienteId);
+
+    /**
+     * Conta todos os pedidos pendentes.
+     */
+    @Query("SELECT COUNT(p) FROM Pedido p WHERE p.status = 'PENDENTE'")
+    long contarPendentes();
+
     /**
      * Calcula o valor total de todos os pedidos aprovados.
      * 
@@ -176,6 +483,27 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     @Query("SELECT AVG(p.valorTotal) FROM Pedido p WHERE p.status = 'APROVADO'")
     BigDecimal calcularValorMedioPedidos();
 
+    /**
+     * Calcula o valor total de todos os pedidos aprovados a partir do resumo diário.
+     * 
+     * @return Soma total dos pedidos aprovados
+     */
+    @Query("SELECT COALESCE(SUM(d.valorTotal), 0) FROM PedidoDiario d WHERE d.status = 'APROVADO'")
+    BigDecimal calcularTotalAprovadosNoResumo();
+
+    /**
+     * Calcula o valor médio dos pedidos aprovados a partir do resumo diário.
+     * 
+     * @return Valor médio dos pedidos aprovados (arredondado em centavos) ou null se não houver pedidos
+     */
+    default BigDecimal calcularValorMedioAprovadosNoResumo() {
+        long quantidade = contarDecididosPorStatus(StatusPedido.APROVADO);
+        if (quantidade == 0) {
+            return null;
+        }
+        return calcularTotalAprovadosNoResumo().divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.HALF_UP);
+    }
+
     /**
      * Busca pedidos de um cliente em um período específico.
      * 
@@ -190,13 +518,16 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
                                              @Param("dataFim") LocalDateTime dataFim);
 
     /**
-     * Busca os maiores pedidos aprovados limitando o número de resultados.
+     * Busca os maiores pedidos aprovados projetados em DTO (sem itens).
+     * 
+     * O limite é aplicado no SQL; com o índice parcial idx_pedido_aprovado_valor_id a consulta
+     * lê apenas as primeiras linhas, sem ordenar a tabela.
      * 
      * @param limite Número máximo de pedidos a serem retornados
-     * @return Lista dos maiores pedidos aprovados
+     * @return Lista dos maiores pedidos aprovados, ID decrescente como desempate
      */
-    @Query("SELECT p FROM Pedido p WHERE p.status = 'APROVADO' ORDER BY p.valorTotal DESC")
-    List<Pedido> findMaioresPedidosAprovados(@Param("limite") int limite);
+    @Query(SELECT_PEDIDO_DTO + "WHERE p.status = 'APROVADO' ORDER BY p.valorTotal DESC, p.id DESC")
+    List<PedidoDTO> findMaioresPedidosAprovados(Limit limite);
 
     /**
      * Verifica se um cliente possui pedidos pendentes (aprovados) nos últimos dias.
@@ -220,4 +551,71 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     BigDecimal totalPedidosPorClienteEPeriodo(@Param("clienteId") Long clienteId, 
                                               @Param("dataInicio") LocalDateTime dataInicio, 
                                               @Param("dataFim") LocalDateTime dataFim);
+
+    /**
+     * Calcula o total de pedidos aprovados de um cliente em um período a partir do resumo diário.
+     * 
+     * Os dias inteiros do período são somados no resumo diário; apenas as frações de dia
+     * nas pontas (antes da primeira meia-noite e a partir da última) são lidas dos pedidos.
+     * 
+     * @param clienteId ID do cliente
+     * @param dataInicio Data de início do período
+     * @param dataFim Data de fim do período
+     * @return Total dos pedidos aprovados no período ou BigDecimal.ZERO se não houver pedidos
+     */
+    default BigDecimal totalAprovadosPorClienteEPeriodoNoResumo(Long clienteId, LocalDateTime dataInicio, LocalDateTime dataFim) {
+        LocalDate primeiroDia = dataInicio.toLocalTime().equals(LocalTime.MIDNIGHT)
+            ? dataInicio.toLocalDate() : dataInicio.toLocalDate().plusDays(1);
+        LocalDate ultimoDia = dataFim.toLocalDate().minusDays(1);
+        if (primeiroDia.isAfter(ultimoDia)) {
+            // Nenhum dia inteiro no período
+            return somarAprovadosPorClienteEntre(clienteId, dataInicio, dataFim);
+        }
+
+        BigDecimal total = somarAprovadosPorClienteEntreDias(clienteId, primeiroDia, ultimoDia)
+            .add(somarAprovadosPorClienteEntre(clienteId, dataFim.toLocalDate().atStartOfDay(), dataFim));
+        if (dataInicio.isBefore(primeiroDia.atStartOfDay())) {
+            total = total.add(somarAprovadosPorClienteAntesDe(clienteId, dataInicio, primeiroDia.atStartOfDay()));
+        }
+        return total;
+    }
+
+    /**
+     * Soma os pedidos aprovados de um cliente entre duas datas (inclusivas).
+     */
+    @Query("SELECT COALESCE(SUM(p.valorTotal), 0) FROM Pedido p WHERE p.cliente.id = :clienteId AND p.dataPedido BETWEEN :dataInicio AND :dataFim AND p.status = 'APROVADO'")
+    BigDecimal somarAprovadosPorClienteEntre(@Param("clienteId") Long clienteId,
+                                             @Param("dataInicio") LocalDateTime dataInicio,
+                                             @Param("dataFim") LocalDateTime dataFim);
+
+    /**
+     * Soma os pedidos aprovados de um cliente no período semiaberto [dataInicio, dataLimite).
+     */
+    @Query("SELECT COALESCE(SUM(p.valorTotal), 0) FROM Pedido p WHERE p.cliente.id = :clienteId AND p.dataPedido >= :dataInicio AND p.dataPedido < :dataLimite AND p.status = 'APROVADO'")
+    BigDecimal somarAprovadosPorClienteAntesDe(@Param("clienteId") Long clienteId,
+                                               @Param("dataInicio") LocalDateTime dataInicio,
+                                               @Param("dataLimite") LocalDateTime dataLimite);
+
+    /**
+     * Soma o resumo diário dos pedidos aprovados de um cliente entre dois dias (inclusivos).
+     */
+    @Query("SELECT COALESCE(SUM(d.valorTotal), 0) FROM PedidoDiario d WHERE d.clienteId = :clienteId AND d.status = 'APROVADO' AND d.dia BETWEEN :diaInicio AND :diaFim")
+    BigDecimal somarAprovadosPorClienteEntreDias(@Param("clienteId") Long clienteId,
+                                                 @Param("diaInicio") LocalDate diaInicio,
+                                                 @Param("diaFim") LocalDate diaFim);
+
+    /**
+     * Agrega os pedidos decididos por cliente, dia e status no período semiaberto [dataInicio, dataLimite).
+     * 
+     * Utilizada para conferir o resumo diário com os pedidos.
+     * 
+     * @param dataInicio Início do período (inclusivo)
+     * @param dataLimite Fim do período (exclusivo)
+     * @return Lista de arrays com [cliente_id, dia, status, quantidade, valor_total]
+     */
+    @Query("SELECT p.cliente.id, CAST(p.dataPedido AS LocalDate), p.status, COUNT(p), SUM(p.valorTotal) FROM Pedido p " +
+           "WHERE p.status <> 'PENDENTE' AND p.dataPedido >= :dataInicio AND p.dataPedido < :dataLimite " +
+           "GROUP BY p.cliente.id, CAST(p.dataPedido AS LocalDate), p.status")
+    List<Object[]> totaisDecididosPorClienteDiaEStatus(@Param("dataInicio") LocalDateTime dataInicio,
+                                                       @Param("dataLimite") LocalDateTime dataLimite);
 }
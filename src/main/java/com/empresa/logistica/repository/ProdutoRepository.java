@@ -1,14 +1,23 @@
 package com.empresa.logistica.repository;
 
+import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.dto.ProdutoDTO;
+import com.empresa.logistica.model.Money;
 import com.empresa.logistica.model.Produto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações de persistência da entidade Produto.
@@ -22,12 +31,54 @@ import java.util.Optional;
 @Repository
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
+    /**
+     * Lista todos os produtos. Resultado mantido no cache de consultas do Hibernate,
+     * invalidado automaticamente a cada escrita na tabela.
+     * 
+     * @return Lista de todos os produtos
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Produto> findAll();
+
+    /**
+     * Lista produtos com paginação (resultado no cache de consultas).
+     * 
+     * @param pageable Configuração de paginação
+     * @return Página de produtos
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    org.springframework.data.domain.Page<Produto> findAll(org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Lista produtos com paginação sem consulta de contagem (resultado no cache de consultas).
+     * 
+     * @param pageable Configuração de paginação
+     * @return Fatia de produtos
+     */
+    @Query("SELECT p FROM Produto p")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    org.springframework.data.domain.Slice<Produto> findSliceBy(org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Percorre todos os produtos como DTOs por um cursor no servidor, em lotes de
+     * STREAM_FETCH_SIZE linhas e sem carregar entidades no contexto de persistência.
+     * Exige transação aberta; o Stream deve ser fechado pelo chamador.
+     * 
+     * @return Stream de produtos ordenados por ID
+     */
+    @Query("SELECT new com.empresa.logistica.dto.ProdutoDTO(p.id, p.nome, p.preco) FROM Produto p ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ApplicationConstants.STREAM_FETCH_SIZE))
+    Stream<ProdutoDTO> streamAllDTO();
+
     /**
      * Busca um produto pelo nome exato.
      * 
      * @param nome Nome do produto a ser buscado
      * @return Optional contendo o produto encontrado ou empty se não existir
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Produto> findByNome(String nome);
 
     /**
@@ -44,7 +95,14 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @param preco Valor mínimo do preço
      * @return Lista de produtos que atendem ao critério
      */
-    List<Produto> findByPrecoGreaterThanEqual(BigDecimal preco);
+    List<Produto> findByPrecoGreaterThanEqual(Money preco);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<Produto> findByPrecoGreaterThanEqual(BigDecimal preco) {
+        return findByPrecoGreaterThanEqual(Money.of(preco));
+    }
 
     /**
      * Busca produtos com preço menor ou igual ao valor especificado.
@@ -52,7 +110,14 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @param preco Valor máximo do preço
      * @return Lista de produtos que atendem ao critério
      */
-    List<Produto> findByPrecoLessThanEqual(BigDecimal preco);
+    List<Produto> findByPrecoLessThanEqual(Money preco);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<Produto> findByPrecoLessThanEqual(BigDecimal preco) {
+        return findByPrecoLessThanEqual(Money.of(preco));
+    }
 
     /**
      * Busca produtos com preço entre os valores especificados.
@@ -61,7 +126,14 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @param precoMaximo Valor máximo do preço
      * @return Lista de produtos que atendem ao critério
      */
-    List<Produto> findByPrecoBetween(BigDecimal precoMinimo, BigDecimal precoMaximo);
+    List<Produto> findByPrecoBetween(Money precoMinimo, Money precoMaximo);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default List<Produto> findByPrecoBetween(BigDecimal precoMinimo, BigDecimal precoMaximo) {
+        return findByPrecoBetween(Money.of(precoMinimo), Money.of(precoMaximo));
+    }
 
     /**
      * Verifica se existe um produto com o nome especificado.
@@ -99,7 +171,14 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @return Número de produtos que atendem ao critério
      */
     @Query("SELECT COUNT(p) FROM Produto p WHERE p.preco > :preco")
-    long countByPrecoMaiorQue(@Param("preco") BigDecimal preco);
+    long countByPrecoMaiorQue(@Param("preco") Money preco);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default long countByPrecoMaiorQue(BigDecimal preco) {
+        return countByPrecoMaiorQue(Money.of(preco));
+    }
 
     /**
      * Calcula o preço médio de todos os produtos.
@@ -110,22 +189,37 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     BigDecimal calcularPrecoMedio();
 
     /**
-     * Busca os produtos mais caros limitando o número de resultados.
+     * Busca os produtos mais caros projetados em DTO.
+     * 
+     * O limite é aplicado no SQL e a varredura segue o índice idx_produto_preco.
      * 
      * @param limite Número máximo de produtos a serem retornados
-     * @return Lista dos produtos mais caros
+     * @return Lista dos produtos mais caros, ID decrescente como desempate
      */
-    @Query("SELECT p FROM Produto p ORDER BY p.preco DESC")
-    List<Produto> findTopProdutosMaisCaros(@Param("limite") int limite);
+    @Query("SELECT new com.empresa.logistica.dto.ProdutoDTO(p.id, p.nome, p.preco) " +
+           "FROM Produto p ORDER BY p.preco DESC, p.id DESC")
+    List<ProdutoDTO> findTopProdutosMaisCaros(Limit limite);
 
     /**
-     * Busca os produtos mais baratos limitando o número de resultados.
+     * Busca os produtos mais baratos projetados em DTO.
+     * 
+     * O limite é aplicado no SQL e a varredura segue o índice idx_produto_preco.
      * 
      * @param limite Número máximo de produtos a serem retornados
-     * @return Lista dos produtos mais baratos
+     * @return Lista dos produtos mais baratos, ID crescente como desempate
      */
-    @Query("SELECT p FROM Produto p ORDER BY p.preco ASC")
-    List<Produto> findTopProdutosMaisBaratos(@Param("limite") int limite);
+    @Query("SELECT new com.empresa.logistica.dto.ProdutoDTO(p.id, p.nome, p.preco) " +
+           "FROM Produto p ORDER BY p.preco ASC, p.id ASC")
+    List<ProdutoDTO> findTopProdutosMaisBaratos(Limit limite);
+
+    /**
+     * Busca produtos por ID projetados em DTO (nomes dos produtos do ranking de vendas).
+     * 
+     * @param ids IDs dos produtos
+     * @return Produtos encontrados, sem ordem definida
+     */
+    @Query("SELECT new com.empresa.logistica.dto.ProdutoDTO(p.id, p.nome, p.preco) FROM Produto p WHERE p.id IN :ids")
+    List<ProdutoDTO> findDTOsByIds(@Param("ids") Collection<Long> ids);
     
     /**
      * Busca produtos por nome (busca parcial, case insensitive) com paginação.
@@ -134,8 +228,86 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @param pageable Configuração de paginação
      * @return Página de produtos que contém o termo no nome
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     org.springframework.data.domain.Page<Produto> findByNomeContainingIgnoreCase(
         String nome, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante de {@link #findByNomeContainingIgnoreCase(String, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param nome Parte do nome a ser buscado
+     * @param pageable Configuração de paginação
+     * @return Fatia de produtos que contém o termo no nome
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    org.springframework.data.domain.Slice<Produto> findSliceByNomeContainingIgnoreCase(
+        String nome, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Filtro da busca por semelhança: substring do nome normalizado (minúsculas, sem acentos),
+     * atendido pelo índice GIN de trigramas idx_produto_nome_trgm (V9, apenas PostgreSQL).
+     */
+    String FILTRO_NOME_SEMELHANTE = " FROM produto p WHERE normalizar_busca(p.nome) LIKE '%' || normalizar_busca(:termo) || '%'";
+
+    /**
+     * O mesmo filtro em JPQL, para as buscas que seguem a ordenação do Pageable. O ESCAPE é
+     * explícito porque o Hibernate gera {@code escape ''} quando ele é omitido.
+     */
+    String FILTRO_NOME_SEMELHANTE_JPQL = " WHERE normalizar_busca(p.nome) LIKE CONCAT('%', normalizar_busca(:termo), '%') ESCAPE '\\'";
+
+    /**
+     * Busca produtos cujo nome normalizado contenha o termo, ordenados por semelhança
+     * de trigramas (mais parecidos primeiro). Requer PostgreSQL com pg_trgm e unaccent.
+     * 
+     * @param termo Parte do nome, com curingas de LIKE escapados
+     * @param pageable Configuração de paginação (sem ordenação; a ordem é a de semelhança)
+     * @return Página de produtos ordenada por relevância
+     */
+    @Query(value = "SELECT p.*" + FILTRO_NOME_SEMELHANTE +
+                   " ORDER BY similarity(normalizar_busca(p.nome), normalizar_busca(:termo)) DESC, p.nome, p.id",
+           countQuery = "SELECT count(*)" + FILTRO_NOME_SEMELHANTE,
+           nativeQuery = true)
+    org.springframework.data.domain.Page<Produto> buscarPorNomeSemelhante(
+        @Param("termo") String termo, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante de {@link #buscarPorNomeSemelhante(String, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param termo Parte do nome, com curingas de LIKE escapados
+     * @param pageable Configuração de paginação (sem ordenação; a ordem é a de semelhança)
+     * @return Fatia de produtos ordenada por relevância
+     */
+    @Query(value = "SELECT p.*" + FILTRO_NOME_SEMELHANTE +
+                   " ORDER BY similarity(normalizar_busca(p.nome), normalizar_busca(:termo)) DESC, p.nome, p.id",
+           nativeQuery = true)
+    org.springframework.data.domain.Slice<Produto> buscarSlicePorNomeSemelhante(
+        @Param("termo") String termo, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Busca produtos cujo nome normalizado contenha o termo, na ordenação do Pageable.
+     * Usa o mesmo filtro e índice de trigramas das buscas por semelhança.
+     * 
+     * @param termo Parte do nome, com curingas de LIKE escapados
+     * @param pageable Configuração de paginação e ordenação
+     * @return Página de produtos
+     */
+    @Query("SELECT p FROM Produto p" + FILTRO_NOME_SEMELHANTE_JPQL)
+    org.springframework.data.domain.Page<Produto> buscarPorNomeSemelhanteOrdenado(
+        @Param("termo") String termo, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante de {@link #buscarPorNomeSemelhanteOrdenado(String, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param termo Parte do nome, com curingas de LIKE escapados
+     * @param pageable Configuração de paginação e ordenação
+     * @return Fatia de produtos
+     */
+    @Query("SELECT p FROM Produto p" + FILTRO_NOME_SEMELHANTE_JPQL)
+    org.springframework.data.domain.Slice<Produto> buscarSlicePorNomeSemelhanteOrdenado(
+        @Param("termo") String termo, org.springframework.data.domain.Pageable pageable);
     
     /**
      * Busca produtos com preço dentro de uma faixa com paginação.
@@ -146,7 +318,15 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @return Página de produtos dentro da faixa de preço
      */
     org.springframework.data.domain.Page<Produto> findByPrecoBetween(
-        BigDecimal precoMin, BigDecimal precoMax, org.springframework.data.domain.Pageable pageable);
+        Money precoMin, Money precoMax, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default org.springframework.data.domain.Page<Produto> findByPrecoBetween(
+        BigDecimal precoMin, BigDecimal precoMax, org.springframework.data.domain.Pageable pageable) {
+        return findByPrecoBetween(Money.of(precoMin), Money.of(precoMax), pageable);
+    }
     
     /**
      * Busca produtos com preço maior ou igual ao valor especificado com paginação.
@@ -156,7 +336,15 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @return Página de produtos que atendem ao critério
      */
     org.springframework.data.domain.Page<Produto> findByPrecoGreaterThanEqual(
-        BigDecimal preco, org.springframework.data.domain.Pageable pageable);
+        Money preco, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default org.springframework.data.domain.Page<Produto> findByPrecoGreaterThanEqual(
+        BigDecimal preco, org.springframework.data.domain.Pageable pageable) {
+        return findByPrecoGreaterThanEqual(Money.of(preco), pageable);
+    }
     
     /**
      * Busca produtos com preço menor ou igual ao valor especificado com paginação.
@@ -166,5 +354,47 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
      * @return Página de produtos que atendem ao critério
      */
     org.springframework.data.domain.Page<Produto> findByPrecoLessThanEqual(
-        BigDecimal preco, org.springframework.data.domain.Pageable pageable);
+        Money preco, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante com parâmetros BigDecimal, convertidos para {@link Money}.
+     */
+    default org.springframework.data.domain.Page<Produto> findByPrecoLessThanEqual(
+        BigDecimal preco, org.springframework.data.domain.Pageable pageable) {
+        return findByPrecoLessThanEqual(Money.of(preco), pageable);
+    }
+
+    /**
+     * Variante de {@link #findByPrecoBetween(Money, Money, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param precoMin Preço mínimo
+     * @param precoMax Preço máximo
+     * @param pageable Configuração de paginação
+     * @return Fatia de produtos dentro da faixa de preço
+     */
+    org.springframework.data.domain.Slice<Produto> findSliceByPrecoBetween(
+        Money precoMin, Money precoMax, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante de {@link #findByPrecoGreaterThanEqual(Money, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param preco Valor mínimo do preço
+     * @param pageable Configuração de paginação
+     * @return Fatia de produtos que atendem ao critério
+     */
+    org.springframework.data.domain.Slice<Produto> findSliceByPrecoGreaterThanEqual(
+        Money preco, org.springframework.data.domain.Pageable pageable);
+
+    /**
+     * Variante de {@link #findByPrecoLessThanEqual(Money, org.springframework.data.domain.Pageable)}
+     * sem consulta de contagem.
+     * 
+     * @param preco Valor máximo do preço
+     * @param pageable Configuração de paginação
+     * @return Fatia de produtos que atendem ao critério
+     */
+    org.springframework.data.domain.Slice<Produto> findSliceByPrecoLessThanEqual(
+        Money preco, org.springframework.data.domain.Pageable pageable);
 }
@@ -0,0 +1,173 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.dto.ClienteDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Repositório do relatório de utilização de crédito de todos os clientes.
+ *
+ * Uma única consulta agrupa o ledger diário de exposição (exposicao_credito_diaria)
+ * da janela de crédito por cliente e a junta à tabela de clientes, calculando valor
+ * utilizado, saldo disponível e percentual utilizado. O filtro e a ordenação por
+ * percentual são aplicados no banco, sobre o resultado da junção, com paginação
+ * por LIMIT/OFFSET.
+ *
+ * Clientes com limite zero e alguma exposição aparecem com 100% de utilização.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+public class RelatorioCreditoRepository {
+
+    private static final String SELECT_UTILIZACAO =
+        "SELECT * FROM (" +
+        "SELECT c.id, c.nome, c.limite_credito, COALESCE(e.valor, 0) AS valor_utilizado, " +
+        "c.limite_credito - COALESCE(e.valor, 0) AS saldo_disponivel, " +
+        "CASE WHEN c.limite_credito > 0 THEN CAST(COALESCE(e.valor, 0) * 100 / c.limite_credito AS DECIMAL(9,2)) " +
+        "WHEN COALESCE(e.valor, 0) > 0 THEN 100.00 ELSE 0.00 END AS percentual_utilizado " +
+        "FROM cliente c LEFT JOIN (" +
+        "SELECT cliente_id, SUM(valor_total) AS valor FROM exposicao_credito_diaria WHERE dia >= ? GROUP BY cliente_id" +
+        ") e ON e.cliente_id = c.id) r";
+
+    /**
+     * Propriedades aceitas no sort, mapeadas para as colunas do resultado.
+     */
+    private static final Map<String, String> COLUNAS_ORDENACAO = Map.of(
+        "id", "id",
+        "nome", "nome",
+        "limiteCredito", "limite_credito",
+        "valorUtilizado", "valor_utilizado",
+        "saldoDisponivel", "saldo_disponivel",
+        "percentualUtilizado", "percentual_utilizado");
+
+    private static final RowMapper<ClienteDTO> MAPEADOR = (rs, linha) -> ClienteDTO.builder()
+        .id(rs.getLong("id"))
+        .nome(rs.getString("nome"))
+        .limiteCredito(rs.getBigDecimal("limite_credito"))
+        .valorUtilizado(rs.getBigDecimal("valor_utilizado"))
+        .saldoDisponivel(rs.getBigDecimal("saldo_disponivel"))
+        .percentualUtilizado(rs.getBigDecimal("percentual_utilizado"))
+        .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EstimativaContagemRepository estimativaContagemRepository;
+
+    public RelatorioCreditoRepository(JdbcTemplate jdbcTemplate,
+                                      EstimativaContagemRepository estimativaContagemRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.estimativaContagemRepository = estimativaContagemRepository;
+    }
+
+    /**
+     * Filtro do relatório: início da janela de crédito e faixa opcional de percentual utilizado.
+     *
+     * @param inicioJanela Primeiro dia da janela de crédito (inclusivo)
+     * @param percentualMinimo Percentual mínimo utilizado (inclusivo), ou null
+     * @param percentualMaximo Percentual máximo utilizado (inclusivo), ou null
+     */
+    public record Filtro(LocalDate inicioJanela, BigDecimal percentualMinimo, BigDecimal percentualMaximo) {
+    }
+
+    /**
+     * Indica se a propriedade pode ser usada na ordenação do relatório.
+     *
+     * @param propriedade Propriedade de {@link ClienteDTO}
+     * @return true se a propriedade tem coluna correspondente no relatório
+     */
+    public static boolean isOrdenavel(String propriedade) {
+        return COLUNAS_ORDENACAO.containsKey(propriedade);
+    }
+
+    /**
+     * Busca uma fatia do relatório, lendo uma linha a mais para saber se há próxima página.
+     *
+     * @param filtro Filtro do relatório
+     * @param pageable Paginação e ordenação (propriedades de {@link ClienteDTO})
+     * @return Fatia de clientes com os campos de crédito preenchidos (exceto totalPedidos)
+     */
+    public Slice<ClienteDTO> buscarSlice(Filtro filtro, Pageable pageable) {
+        List<ClienteDTO> clientes = buscar(filtro, pageable, pageable.getPageSize() + 1);
+        boolean haMais = clientes.size() > pageable.getPageSize();
+        return new SliceImpl<>(haMais ? clientes.subList(0, pageable.getPageSize()) : clientes, pageable, haMais);
+    }
+
+    /**
+     * Busca uma página do relatório com a contagem exata de clientes no filtro.
+     *
+     * @param filtro Filtro do relatório
+     * @param pageable Paginação e ordenação (propriedades de {@link ClienteDTO})
+     * @return Página de clientes com os campos de crédito preenchidos (exceto totalPedidos)
+     */
+    public Page<ClienteDTO> buscarPagina(Filtro filtro, Pageable pageable) {
+        List<Object> parametros = new ArrayList<>();
+        String sql = "SELECT COUNT(*) FROM (" + consulta(filtro, parametros) + ") t";
+        Long total = jdbcTemplate.queryForObject(sql, Long.class, parametros.toArray());
+        return new PageImpl<>(buscar(filtro, pageable, pageable.getPageSize()), pageable, total == null ? 0 : total);
+    }
+
+    /**
+     * Estima o número de clientes no filtro pelo plano da consulta.
+     *
+     * @param filtro Filtro do relatório
+     * @return Estimativa, ou vazio se o banco não oferece estimativa
+     */
+    public OptionalLong estimar(Filtro filtro) {
+        List<Object> parametros = new ArrayList<>();
+        String sql = consulta(filtro, parametros);
+        return estimativaContagemRepository.estimarConsulta(sql, parametros.toArray());
+    }
+
+    private List<ClienteDTO> buscar(Filtro filtro, Pageable pageable, int limite) {
+        List<Object> parametros = new ArrayList<>();
+        String sql = consulta(filtro, parametros) + ordenacao(pageable.getSort()) + " LIMIT ? OFFSET ?";
+        parametros.add(limite);
+        parametros.add(pageable.getOffset());
+        return jdbcTemplate.query(sql, MAPEADOR, parametros.toArray());
+    }
+
+    private static String consulta(Filtro filtro, List<Object> parametros) {
+        StringBuilder sql = new StringBuilder(SELECT_UTILIZACAO);
+        parametros.add(Date.valueOf(filtro.inicioJanela()));
+        if (filtro.percentualMinimo() != null) {
+            sql.append(" WHERE r.percentual_utilizado >= ?");
+            parametros.add(filtro.percentualMinimo());
+        }
+        if (filtro.percentualMaximo() != null) {
+            sql.append(parametros.size() == 1 ? " WHERE" : " AND").append(" r.percentual_utilizado <= ?");
+            parametros.add(filtro.percentualMaximo());
+        }
+        return sql.toString();
+    }
+
+    private static String ordenacao(Sort sort) {
+        StringBuilder sql = new StringBuilder(" ORDER BY ");
+        boolean porId = false;
+        for (Sort.Order ordem : sort) {
+            String coluna = COLUNAS_ORDENACAO.get(ordem.getProperty());
+            if (coluna == null) {
+                throw new IllegalArgumentException("Ordenação não suportada no relatório de crédito: " + ordem.getProperty());
+            }
+            sql.append("r.").append(coluna).append(ordem.isDescending() ? " DESC" : " ASC").append(", ");
+            porId |= "id".equals(coluna);
+        }
+        // ID como desempate: paginação estável com valores repetidos
+        return porId ? sql.substring(0, sql.length() - 2) : sql.append("r.id ASC").toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.model.SketchEstatistica;
+import com.empresa.logistica.model.SketchEstatisticaId;
+import com.empresa.logistica.model.TipoSketch;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Repositório para os sketches de estatísticas aproximadas persistidos.
+ *
+ * Cada consolidação mescla nos sketches existentes os pedidos aprovados decididos
+ * desde a anterior, sob o bloqueio de {@link ConsolidacaoEstatisticaRepository}.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@Repository
+public interface SketchEstatisticaRepository extends JpaRepository<SketchEstatistica, SketchEstatisticaId> {
+
+    /**
+     * Percorre todos os sketches como [tipo, chave, dados] por um cursor no servidor,
+     * sem carregar entidades no contexto de persistência.
+     * Exige transação aberta; o Stream deve ser fechado pelo chamador.
+     *
+     * @return Stream de sketches serializados
+     */
+    @Query("SELECT s.tipo, s.chave, s.dados FROM SketchEstatistica s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = ApplicationConstants.STREAM_FETCH_SIZE))
+    Stream<Object[]> streamDados();
+
+    /**
+     * Busca os sketches de um tipo para as chaves informadas, para mesclar a eles
+     * os pedidos de uma consolidação.
+     *
+     * @param tipo Tipo da estatística
+     * @param chaves IDs dos clientes ou produtos
+     * @return Sketches existentes entre as chaves informadas
+     */
+    List<SketchEstatistica> findByTipoAndChaveIn(TipoSketch tipo, Collection<Long> chaves);
+}
@@ -0,0 +1,33 @@
+package com.empresa.logistica.service;
+
+import com.empresa.logistica.dto.AgrupamentoAnalise;
+import com.empresa.logistica.dto.ResultadoAnaliseDTO;
+import com.empresa.logistica.dto.SnapshotAnaliseDTO;
+import com.empresa.logistica.model.StatusPedido;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for ad-hoc order analytics over the in-memory columnar snapshot
+ */
+public interface AnalisePedidoService {
+
+    /**
+     * Counts and sums the orders matching the filters, grouped by one dimension; null filters
+     * are not applied. Answered from the last loaded snapshot, without querying the database.
+     *
+     * @throws com.empresa.logistica.exception.ServicoIndisponivelException if the snapshot has not been loaded yet
+     */
+    ResultadoAnaliseDTO analisar(LocalDate dataInicio, LocalDate dataFim, Long clienteId, StatusPedido status,
+                                 AgrupamentoAnalise agrupamento);
+
+    /**
+     * Returns the state of the snapshot
+     */
+    SnapshotAnaliseDTO obterSnapshot();
+
+    /**
+     * Reloads the snapshot from the database now
+     */
+    SnapshotAnaliseDTO recarregarSnapshot();
+}
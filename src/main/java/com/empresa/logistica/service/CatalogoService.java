@@ -0,0 +1,64 @@
+package com.empresa.logistica.service;
+
+import com.empresa.logistica.dto.ClienteDTO;
+import com.empresa.logistica.dto.CriterioVendas;
+import com.empresa.logistica.dto.JanelaVendas;
+import com.empresa.logistica.dto.ProdutoDTO;
+import com.empresa.logistica.dto.VendasProdutoDTO;
+import com.empresa.logistica.repository.ModoContagem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for reads of the client/product catalog
+ */
+public interface CatalogoService {
+    
+    /**
+     * Feeds every client to the consumer, ordered by id, from a server-side cursor inside
+     * one read-only transaction; only one fetch batch is held in memory at a time
+     */
+    void percorrerClientes(Consumer<ClienteDTO> consumidor);
+    
+    /**
+     * Feeds every product to the consumer, ordered by id, from a server-side cursor inside
+     * one read-only transaction; only one fetch batch is held in memory at a time
+     */
+    void percorrerProdutos(Consumer<ProdutoDTO> consumidor);
+    
+    /**
+     * Clients with the largest credit limits; only {@code limite} rows are read
+     */
+    List<ClienteDTO> listarClientesMaiorLimiteCredito(int limite);
+    
+    /**
+     * Most expensive (or, with {@code maisCaros} false, cheapest) products; only {@code limite} rows are read
+     */
+    List<ProdutoDTO> listarProdutosPorPreco(int limite, boolean maisCaros);
+    
+    /**
+     * Best-selling products by units or value over the window; served from the in-memory
+     * ranking once loaded, otherwise only {@code limite} aggregated rows leave the database
+     */
+    List<VendasProdutoDTO> listarProdutosMaisVendidos(int limite, CriterioVendas criterio, JanelaVendas janela);
+    
+    /**
+     * Lists products page by page
+     */
+    Slice<ProdutoDTO> listarProdutos(Pageable pageable, ModoContagem contagem);
+    
+    /**
+     * Products whose name contains the term, ignoring case (and accents where supported)
+     */
+    Slice<ProdutoDTO> buscarProdutosPorNome(String nome, Pageable pageable, ModoContagem contagem);
+    
+    /**
+     * Products priced within the inclusive bounds; a null bound leaves that end open
+     */
+    Slice<ProdutoDTO> buscarProdutosPorPreco(BigDecimal precoMin, BigDecimal precoMax,
+                                             Pageable pageable, ModoContagem contagem);
+}
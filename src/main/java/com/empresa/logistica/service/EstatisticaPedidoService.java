@@ -0,0 +1,37 @@
+package com.empresa.logistica.service;
+
+import com.empresa.logistica.dto.EstadoEstatisticasDTO;
+import com.empresa.logistica.dto.EstatisticasClienteDTO;
+import com.empresa.logistica.dto.EstatisticasProdutoDTO;
+
+/**
+ * Service interface for approximate order statistics kept in streaming sketches
+ */
+public interface EstatisticaPedidoService {
+
+    /**
+     * Returns the order value percentiles of a customer, without querying the orders
+     *
+     * @throws jakarta.persistence.EntityNotFoundException if the customer does not exist
+     * @throws com.empresa.logistica.exception.ServicoIndisponivelException if the sketches have not been loaded yet
+     */
+    EstatisticasClienteDTO obterEstatisticasCliente(Long clienteId);
+
+    /**
+     * Returns the distinct buyers and item value percentiles of a product, without querying the orders
+     *
+     * @throws jakarta.persistence.EntityNotFoundException if the product does not exist
+     * @throws com.empresa.logistica.exception.ServicoIndisponivelException if the sketches have not been loaded yet
+     */
+    EstatisticasProdutoDTO obterEstatisticasProduto(Long produtoId);
+
+    /**
+     * Returns the state of the sketches
+     */
+    EstadoEstatisticasDTO obterEstado();
+
+    /**
+     * Rebuilds every sketch from the order history now and persists them
+     */
+    EstadoEstatisticasDTO reconstruir();
+}
@@ -0,0 +1,22 @@
+package com.empresa.logistica.service;
+
+import com.empresa.logistica.dto.FormatoExportacao;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Service interface for the bulk order export
+ */
+public interface ExportacaoPedidoService {
+    
+    /**
+     * Writes the orders placed between {@code de} and {@code ate} (inclusive days, either may be null),
+     * with their items, to the output as they are read from a forward-only cursor.
+     * The output is flushed but not closed.
+     *
+     * @throws IllegalArgumentException if {@code de} is after {@code ate}
+     */
+    void exportar(FormatoExportacao formato, LocalDate de, LocalDate ate, OutputStream saida) throws IOException;
+}
@@ -0,0 +1,83 @@
+package com.empresa.logistica.service;
+
+import com.empresa.logistica.dto.ClienteDTO;
+import com.empresa.logistica.dto.ConsistenciaIndiceCreditoDTO;
+import com.empresa.logistica.dto.MetricasBloqueioCreditoDTO;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.repository.ModoContagem;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service interface for customer credit exposure (rolling credit window)
+ */
+public interface ExposicaoCreditoService {
+
+    /**
+     * Returns the value of approved orders of the customer inside the credit window
+     */
+    Money calcularValorUtilizado(Long clienteId);
+
+    /**
+     * Takes the customer's credit lock for the current transaction and returns the
+     * committed used credit; must be called before deciding on a new order
+     */
+    Money bloquearECalcularValorUtilizado(Long clienteId);
+
+    /**
+     * Takes the credit locks of several customers (ascending ID order, so concurrent
+     * batches cannot deadlock) and returns their committed used credit in one query
+     */
+    Map<Long, Money> bloquearECalcularValoresUtilizados(Collection<Long> clienteIds);
+
+    /**
+     * Returns the used credit of several customers at once (customers without exposure map to zero)
+     */
+    Map<Long, Money> calcularValoresUtilizados(Collection<Long> clienteIds);
+
+    /**
+     * Fills used credit, available balance, utilization percentage and order count of the
+     * given customers with batched reads shared by all of them (not one lookup per customer)
+     */
+    void completarCredito(List<ClienteDTO> clientes);
+
+    /**
+     * Credit utilization report of all customers: one grouped query over the credit window joined
+     * to the customers, filtered by utilization percentage range (either bound may be null) and
+     * sorted by any ClienteDTO credit field; order counts are filled for the returned page only
+     */
+    Slice<ClienteDTO> listarUtilizacaoCredito(BigDecimal percentualMinimo, BigDecimal percentualMaximo,
+                                              Pageable pageable, ModoContagem contagem);
+
+    /**
+     * Adds an approved order value to the customer's bucket of the given day;
+     * callers must hold the customer's credit lock (see bloquearECalcularValorUtilizado)
+     */
+    void registrarPedidoAprovado(Long clienteId, LocalDate dia, Money valor);
+
+    /**
+     * Removes buckets that fell out of the credit window
+     */
+    int expirarBucketsAntigos();
+
+    /**
+     * Compares the in-memory exposure index with the approved orders in the database
+     */
+    ConsistenciaIndiceCreditoDTO verificarConsistenciaIndice();
+
+    /**
+     * Rebuilds the in-memory exposure index from the database
+     */
+    ConsistenciaIndiceCreditoDTO reconstruirIndice();
+
+    /**
+     * Returns wait-time statistics of the per-customer credit lock
+     */
+    MetricasBloqueioCreditoDTO obterMetricasBloqueio(int limiteClientes);
+}
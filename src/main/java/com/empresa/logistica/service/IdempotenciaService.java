@@ -0,0 +1,40 @@
+package com.empresa.logistica.service;
+
+import com.empresa.logistica.dto.PedidoDTO;
+
+import java.util.function.Supplier;
+
+/**
+ * Service interface for idempotent order creation (Idempotency-Key header)
+ */
+public interface IdempotenciaService {
+
+    /**
+     * Runs the operation at most once per key. A repeated key returns the stored response
+     * without running it again; a duplicate arriving while the first execution is still
+     * running waits for it. Reusing a key with a different request body is rejected.
+     *
+     * @param chave value of the Idempotency-Key header
+     * @param requisicao request body, fingerprinted to detect key reuse
+     * @param statusHttp HTTP status of the response produced by the operation
+     * @param operacao order creation, run inside the transaction that registers the key
+     */
+    RespostaIdempotente executar(String chave, Object requisicao, int statusHttp, Supplier<PedidoDTO> operacao);
+
+    /**
+     * Removes keys older than the retention period
+     *
+     * @return number of keys removed
+     */
+    int expirarChavesAntigas();
+
+    /**
+     * Response of an idempotent execution
+     *
+     * @param statusHttp HTTP status of the original response
+     * @param pedido order returned by the original execution
+     * @param repetida true when the response was replayed instead of executed
+     */
+    record RespostaIdempotente(int statusHttp, PedidoDTO pedido, boolean repetida) {
+    }
+}
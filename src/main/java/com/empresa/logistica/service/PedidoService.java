@@ -1,13 +1,19 @@
 package com.empresa.logistica.service;
 
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.PaginaCursorDTO;
 import com.empresa.logistica.dto.PedidoDTO;
+import com.empresa.logistica.dto.ProjecaoPedido;
+import com.empresa.logistica.dto.ResultadoLotePedidosDTO;
 import com.empresa.logistica.dto.request.CriarPedidoRequest;
 import com.empresa.logistica.model.StatusPedido;
-import org.springframework.data.domain.Page;
+import com.empresa.logistica.repository.ModoContagem;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Service interface for Pedido business logic
@@ -19,25 +25,74 @@ public interface PedidoService {
      */
     PedidoDTO criarPedido(CriarPedidoRequest request);
     
+    /**
+     * Creates many orders in one transaction: customers and products are loaded once,
+     * credit is decided per customer against the batch's running exposure
+     */
+    ResultadoLotePedidosDTO criarPedidosEmLote(List<CriarPedidoRequest> requests);
+    
+    /**
+     * Accepts a new order as PENDENTE; the credit decision is taken later by the async worker
+     */
+    PedidoDTO receberPedido(CriarPedidoRequest request);
+    
+    /**
+     * Decides up to {@code limite} pending orders of a customer, oldest first, in one transaction
+     * 
+     * @return number of orders decided
+     */
+    int decidirPedidosPendentes(Long clienteId, int limite);
+    
     /**
      * Find order by ID
      */
     PedidoDTO buscarPorId(Long id);
     
     /**
-     * List all orders with pagination
+     * Find order by ID loading only the expansions requested by {@code projecao}
      */
-    Page<PedidoDTO> listarPedidos(Pageable pageable);
+    PedidoDTO buscarPorId(Long id, ProjecaoPedido projecao);
+    
+    /**
+     * List all orders with pagination; the total is computed as requested by {@code contagem}
+     * and items/credit are only loaded when {@code projecao} asks for them
+     */
+    Slice<PedidoDTO> listarPedidos(Pageable pageable, ModoContagem contagem, ProjecaoPedido projecao);
     
     /**
      * List orders by customer with pagination
      */
-    Page<PedidoDTO> listarPorCliente(Long clienteId, Pageable pageable);
+    Slice<PedidoDTO> listarPorCliente(Long clienteId, Pageable pageable, ModoContagem contagem, ProjecaoPedido projecao);
     
     /**
      * List orders by status with pagination
      */
-    Page<PedidoDTO> listarPorStatus(StatusPedido status, Pageable pageable);
+    Slice<PedidoDTO> listarPorStatus(StatusPedido status, Pageable pageable, ModoContagem contagem, ProjecaoPedido projecao);
+    
+    /**
+     * List all orders, most recent first, seeking from an opaque cursor (null for the first page)
+     */
+    PaginaCursorDTO<PedidoDTO> listarPedidos(String cursor, int tamanho, ProjecaoPedido projecao);
+    
+    /**
+     * List orders by customer, most recent first, seeking from an opaque cursor
+     */
+    PaginaCursorDTO<PedidoDTO> listarPorCliente(Long clienteId, String cursor, int tamanho, ProjecaoPedido projecao);
+    
+    /**
+     * List orders by status, most recent first, seeking from an opaque cursor
+     */
+    PaginaCursorDTO<PedidoDTO> listarPorStatus(StatusPedido status, String cursor, int tamanho, ProjecaoPedido projecao);
+    
+    /**
+     * Largest approved orders by total value; only {@code limite} rows are read
+     */
+    List<PedidoDTO> listarMaioresAprovados(int limite, ProjecaoPedido projecao);
+    
+    /**
+     * Order items with the largest subtotals; only {@code limite} rows are read
+     */
+    List<ItemPedidoDTO> listarItensMaiorSubtotal(int limite);
     
     /**
      * Calculate total orders for customer in date range
@@ -0,0 +1,37 @@
+package com.empresa.logistica.service;
+
+import com.empresa.logistica.dto.ResumoPedidosDTO;
+import com.empresa.logistica.model.Pedido;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * Service interface for the daily order rollup (pedido_diario)
+ */
+public interface ResumoPedidoService {
+
+    /**
+     * Adds decided orders (APROVADO / REJEITADO) to the rollup in the current transaction;
+     * callers must hold the credit lock of every customer involved. Pending orders are ignored.
+     */
+    void registrarPedidosDecididos(Collection<Pedido> pedidos);
+
+    /**
+     * Returns order counters and approved totals read from the rollup
+     */
+    ResumoPedidosDTO obterResumo();
+
+    /**
+     * Compares the rollup with the orders of the given days and rebuilds the days of every
+     * divergent customer under its credit lock
+     *
+     * @return number of customers whose rollup was rebuilt
+     */
+    int reparar(LocalDate diaInicio, LocalDate diaFim);
+
+    /**
+     * Repairs the rollup of the most recent days
+     */
+    int repararDiasRecentes();
+}
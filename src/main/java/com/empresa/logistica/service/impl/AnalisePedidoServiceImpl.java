@@ -0,0 +1,98 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.AgrupamentoAnalise;
+import com.empresa.logistica.dto.ResultadoAnaliseDTO;
+import com.empresa.logistica.dto.SnapshotAnaliseDTO;
+import com.empresa.logistica.exception.ServicoIndisponivelException;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.service.AnalisePedidoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Service implementation for ad-hoc order analytics.
+ *
+ * Queries run over the {@link SnapshotAnalisePedidos} columns, scanned in parallel
+ * across cores, so analytics do not compete with order writes for the database.
+ * Results reflect the orders at the time the snapshot was loaded.
+ */
+@Service
+@RequiredArgsConstructor
+public class AnalisePedidoServiceImpl implements AnalisePedidoService {
+
+    private static final StatusPedido[] STATUS = StatusPedido.values();
+
+    private final SnapshotAnalisePedidos snapshotAnalise;
+
+    @Override
+    public ResultadoAnaliseDTO analisar(LocalDate dataInicio, LocalDate dataFim, Long clienteId, StatusPedido status,
+                                        AgrupamentoAnalise agrupamento) {
+        if (dataInicio != null && dataFim != null && dataInicio.isAfter(dataFim)) {
+            throw new IllegalArgumentException("Data inicial deve ser anterior ou igual à data final");
+        }
+        ColunasPedidos colunas = snapshotAnalise.atual();
+        if (colunas == null) {
+            throw new ServicoIndisponivelException("Snapshot de análise de pedidos ainda não carregado");
+        }
+
+        List<ColunasPedidos.Grupo> grupos = colunas.agregar(
+            new ColunasPedidos.Filtro(dataInicio, dataFim, clienteId, status), agrupamento);
+        long quantidade = 0;
+        long centavos = 0;
+        for (ColunasPedidos.Grupo grupo : grupos) {
+            quantidade += grupo.quantidade();
+            centavos += grupo.centavos();
+        }
+
+        return ResultadoAnaliseDTO.builder()
+            .agrupamento(agrupamento)
+            .atualizadoEm(colunas.getCriadoEm())
+            .quantidade(quantidade)
+            .valorTotal(Money.ofCentavos(centavos).toBigDecimal())
+            .grupos(grupos.stream()
+                .map(grupo -> ResultadoAnaliseDTO.Grupo.builder()
+                    .chave(chave(agrupamento, grupo.chave()))
+                    .quantidade(grupo.quantidade())
+                    .valorTotal(Money.ofCentavos(grupo.centavos()).toBigDecimal())
+                    .build())
+                .toList())
+            .build();
+    }
+
+    @Override
+    public SnapshotAnaliseDTO obterSnapshot() {
+        return estado(snapshotAnalise.atual());
+    }
+
+    @Override
+    public SnapshotAnaliseDTO recarregarSnapshot() {
+        return estado(snapshotAnalise.carregar());
+    }
+
+    private static SnapshotAnaliseDTO estado(ColunasPedidos colunas) {
+        if (colunas == null) {
+            return SnapshotAnaliseDTO.builder().carregado(false).build();
+        }
+        return SnapshotAnaliseDTO.builder()
+            .carregado(true)
+            .pedidos(colunas.tamanho())
+            .clientes(colunas.totalClientes())
+            .atualizadoEm(colunas.getCriadoEm())
+            .build();
+    }
+
+    private static String chave(AgrupamentoAnalise agrupamento, long chave) {
+        return switch (agrupamento) {
+            case NENHUM -> null;
+            case DIA -> LocalDate.ofEpochDay(chave).toString();
+            case MES -> YearMonth.of((int) Math.floorDiv(chave, 12L), (int) Math.floorMod(chave, 12L) + 1).toString();
+            case CLIENTE -> Long.toString(chave);
+            case STATUS -> STATUS[(int) chave].name();
+        };
+    }
+}
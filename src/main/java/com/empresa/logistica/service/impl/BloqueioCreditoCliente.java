@@ -0,0 +1,150 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.MetricasBloqueioCreditoDTO;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.DialetoBanco;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-customer critical section for credit decisions.
+ *
+ * On PostgreSQL it takes {@code pg_advisory_xact_lock(namespace, cliente)}, which
+ * serializes decisions of the same customer across all application instances and
+ * is released automatically at commit/rollback. Other databases (H2 in tests) fall
+ * back to a row lock on the customer. Wait times are recorded so contention on hot
+ * customers is visible through {@link #getMetricas(int)}; at most
+ * {@code credito.bloqueio.max-clientes-monitorados} customers are tracked, and a new
+ * contended customer replaces the least contended one.
+ */
+@Component
+@Slf4j
+public class BloqueioCreditoCliente {
+
+    /**
+     * First key of the two-key advisory lock, reserved for credit decisions
+     */
+    static final int NAMESPACE_CREDITO = 0x43524544;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ClienteRepository clienteRepository;
+    private final boolean postgres;
+    private final long limiarContencaoNanos;
+    private final int maxClientesMonitorados;
+
+    private final LongAdder aquisicoes = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+    private final ConcurrentHashMap<Long, ContencaoCliente> contencaoPorCliente = new ConcurrentHashMap<>();
+
+    public BloqueioCreditoCliente(ClienteRepository clienteRepository,
+                                  DialetoBanco dialetoBanco,
+                                  @Value("${credito.bloqueio.limiar-contencao-ms:5}") long limiarContencaoMs,
+                                  @Value("${credito.bloqueio.max-clientes-monitorados:1000}") int maxClientesMonitorados) {
+        this.clienteRepository = clienteRepository;
+        this.postgres = dialetoBanco.isPostgres();
+        this.limiarContencaoNanos = TimeUnit.MILLISECONDS.toNanos(limiarContencaoMs);
+        this.maxClientesMonitorados = maxClientesMonitorados;
+    }
+
+    /**
+     * Blocks until the current transaction holds the credit lock of the customer
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bloquear(Long clienteId) {
+        long inicio = System.nanoTime();
+        if (postgres) {
+            entityManager.createNativeQuery("SELECT COUNT(*) FROM pg_advisory_xact_lock(:namespace, :chave)")
+                .setParameter("namespace", NAMESPACE_CREDITO)
+                .setParameter("chave", chave(clienteId))
+                .getSingleResult();
+        } else {
+            clienteRepository.bloquearPorId(clienteId);
+        }
+        registrarEspera(clienteId, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Returns global lock wait statistics and the most contended customers
+     */
+    public MetricasBloqueioCreditoDTO getMetricas(int limiteClientes) {
+        long total = aquisicoes.sum();
+        List<MetricasBloqueioCreditoDTO.ContencaoCliente> clientes = contencaoPorCliente.entrySet().stream()
+            .sorted(Comparator.comparingLong(
+                (Map.Entry<Long, ContencaoCliente> e) -> e.getValue().esperaTotalNanos.sum()).reversed())
+            .limit(limiteClientes)
+            .map(e -> MetricasBloqueioCreditoDTO.ContencaoCliente.builder()
+                .clienteId(e.getKey())
+                .esperasContendidas(e.getValue().esperas.sum())
+                .esperaTotalMs(paraMs(e.getValue().esperaTotalNanos.sum()))
+                .esperaMaximaMs(paraMs(e.getValue().esperaMaximaNanos.get()))
+                .build())
+            .toList();
+
+        return MetricasBloqueioCreditoDTO.builder()
+            .estrategia(postgres ? "pg_advisory_xact_lock" : "row-lock")
+            .aquisicoes(total)
+            .esperaMediaMs(total == 0 ? 0.0 : paraMs(esperaTotalNanos.sum()) / total)
+            .esperaMaximaMs(paraMs(esperaMaximaNanos.get()))
+            .limiarContencaoMs(paraMs(limiarContencaoNanos))
+            .clientesMaisDisputados(clientes)
+            .build();
+    }
+
+    void registrarEspera(Long clienteId, long esperaNanos) {
+        aquisicoes.increment();
+        esperaTotalNanos.add(esperaNanos);
+        esperaMaximaNanos.accumulateAndGet(esperaNanos, Math::max);
+
+        if (esperaNanos >= limiarContencaoNanos) {
+            ContencaoCliente contencao = contencaoPorCliente.computeIfAbsent(clienteId, id -> new ContencaoCliente());
+            contencao.esperas.increment();
+            contencao.esperaTotalNanos.add(esperaNanos);
+            contencao.esperaMaximaNanos.accumulateAndGet(esperaNanos, Math::max);
+            if (contencaoPorCliente.size() > maxClientesMonitorados) {
+                descartarMenosDisputado(clienteId);
+            }
+            log.debug("Espera de {} ms pelo bloqueio de crédito do cliente {}", paraMs(esperaNanos), clienteId);
+        }
+    }
+
+    /**
+     * Evicts the customer with the lowest total wait, other than the one just recorded
+     */
+    private void descartarMenosDisputado(Long clienteAtual) {
+        contencaoPorCliente.entrySet().stream()
+            .filter(e -> !e.getKey().equals(clienteAtual))
+            .min(Comparator.comparingLong(e -> e.getValue().esperaTotalNanos.sum()))
+            .ifPresent(e -> contencaoPorCliente.remove(e.getKey(), e.getValue()));
+    }
+
+    static int chave(Long clienteId) {
+        long id = clienteId;
+        return (int) (id ^ (id >>> 32));
+    }
+
+    private static double paraMs(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class ContencaoCliente {
+        private final LongAdder esperas = new LongAdder();
+        private final LongAdder esperaTotalNanos = new LongAdder();
+        private final AtomicLong esperaMaximaNanos = new AtomicLong();
+    }
+}
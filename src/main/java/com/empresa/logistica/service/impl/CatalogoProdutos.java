@@ -0,0 +1,281 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ProdutoDTO;
+import com.empresa.logistica.model.Money;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntUnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable snapshot of the product catalog, built once and then only read.
+ *
+ * Products are held in parallel primitive arrays sorted by name (then id); the
+ * position in these arrays is the product's index everywhere else. A permutation
+ * sorted by price answers price ranges with two binary searches, and a name token
+ * index (sorted vocabulary of normalized words, each with the ascending indexes of
+ * the products containing it) narrows name searches to the candidates sharing the
+ * longest word of the term.
+ *
+ * Name matching follows the database search: the lower-cased, accent-free term must
+ * be a substring of the lower-cased, accent-free name.
+ */
+final class CatalogoProdutos {
+
+    enum Ordem { NOME, PRECO }
+
+    /**
+     * Lazily indexed view of a result: position {@code k} of the requested order maps to a product index
+     */
+    record Sequencia(int tamanho, IntUnaryOperator indice) {
+    }
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final long versao;
+    private final LocalDateTime criadoEm;
+
+    private final long[] ids;
+    private final String[] nomes;
+    private final long[] precos;
+    private final String[] nomesNormalizados;
+
+    private final int[] ordemPreco;
+    private final long[] precosOrdenados;
+    private final int[] posicaoPreco;
+
+    private final String[] vocabulario;
+    private final int[][] ocorrencias;
+
+    private CatalogoProdutos(long versao, List<ProdutoDTO> produtos) {
+        this.versao = versao;
+        this.criadoEm = LocalDateTime.now();
+
+        int n = produtos.size();
+        String[] normalizados = new String[n];
+        Integer[] porNome = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            normalizados[i] = normalizar(produtos.get(i).getNome());
+            porNome[i] = i;
+        }
+        Arrays.sort(porNome, Comparator.<Integer, String>comparing(i -> normalizados[i])
+            .thenComparing(i -> produtos.get(i).getNome())
+            .thenComparing(i -> produtos.get(i).getId()));
+
+        ids = new long[n];
+        nomes = new String[n];
+        precos = new long[n];
+        nomesNormalizados = new String[n];
+        for (int i = 0; i < n; i++) {
+            ProdutoDTO produto = produtos.get(porNome[i]);
+            ids[i] = produto.getId();
+            nomes[i] = produto.getNome();
+            precos[i] = Money.of(produto.getPreco()).getCentavos();
+            nomesNormalizados[i] = normalizados[porNome[i]];
+        }
+
+        // Empates de preço seguem a ordem por nome (índice)
+        Integer[] porPreco = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            porPreco[i] = i;
+        }
+        Arrays.sort(porPreco, Comparator.<Integer>comparingLong(i -> precos[i]).thenComparingInt(i -> i));
+        ordemPreco = new int[n];
+        precosOrdenados = new long[n];
+        posicaoPreco = new int[n];
+        for (int k = 0; k < n; k++) {
+            ordemPreco[k] = porPreco[k];
+            precosOrdenados[k] = precos[porPreco[k]];
+            posicaoPreco[porPreco[k]] = k;
+        }
+
+        Map<String, List<Integer>> indice = new TreeMap<>();
+        for (int i = 0; i < n; i++) {
+            for (String token : tokens(nomesNormalizados[i])) {
+                List<Integer> lista = indice.computeIfAbsent(token, t -> new ArrayList<>());
+                // Índices crescentes: basta comparar com o último para não repetir
+                if (lista.isEmpty() || lista.get(lista.size() - 1) != i) {
+                    lista.add(i);
+                }
+            }
+        }
+        vocabulario = indice.keySet().toArray(String[]::new);
+        ocorrencias = new int[vocabulario.length][];
+        for (int t = 0; t < vocabulario.length; t++) {
+            ocorrencias[t] = indice.get(vocabulario[t]).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    static CatalogoProdutos de(long versao, List<ProdutoDTO> produtos) {
+        return new CatalogoProdutos(versao, produtos);
+    }
+
+    long getVersao() {
+        return versao;
+    }
+
+    LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    int tamanho() {
+        return ids.length;
+    }
+
+    int tamanhoVocabulario() {
+        return vocabulario.length;
+    }
+
+    ProdutoDTO produto(int indice) {
+        return new ProdutoDTO(ids[indice], nomes[indice], Money.ofCentavos(precos[indice]));
+    }
+
+    /**
+     * Every product in the requested order
+     */
+    Sequencia todos(Ordem ordem, boolean decrescente) {
+        int n = ids.length;
+        IntUnaryOperator posicao = decrescente ? k -> n - 1 - k : k -> k;
+        return ordem == Ordem.NOME
+            ? new Sequencia(n, posicao)
+            : new Sequencia(n, k -> ordemPreco[posicao.applyAsInt(k)]);
+    }
+
+    /**
+     * Products priced between the bounds (inclusive, in cents; use Long.MIN_VALUE / Long.MAX_VALUE for open ends)
+     */
+    Sequencia porPreco(long minimo, long maximo, Ordem ordem, boolean decrescente) {
+        int inicio = primeiroMaiorOuIgual(minimo);
+        int fim = maximo == Long.MAX_VALUE ? precosOrdenados.length : primeiroMaiorOuIgual(maximo + 1);
+        int quantidade = Math.max(0, fim - inicio);
+        if (ordem == Ordem.PRECO) {
+            return decrescente
+                ? new Sequencia(quantidade, k -> ordemPreco[inicio + quantidade - 1 - k])
+                : new Sequencia(quantidade, k -> ordemPreco[inicio + k]);
+        }
+        int[] indices = Arrays.copyOfRange(ordemPreco, inicio, inicio + quantidade);
+        Arrays.sort(indices);
+        return sobre(indices, decrescente);
+    }
+
+    /**
+     * Products whose normalized name contains the normalized term
+     */
+    Sequencia porNome(String termo, Ordem ordem, boolean decrescente) {
+        int[] indices = buscarNome(normalizar(termo));
+        if (ordem == Ordem.PRECO) {
+            // Posições na ordem por preço, ordenadas, voltam a índices pela permutação
+            int[] posicoes = new int[indices.length];
+            for (int k = 0; k < indices.length; k++) {
+                posicoes[k] = posicaoPreco[indices[k]];
+            }
+            Arrays.sort(posicoes);
+            for (int k = 0; k < posicoes.length; k++) {
+                indices[k] = ordemPreco[posicoes[k]];
+            }
+        }
+        return sobre(indices, decrescente);
+    }
+
+    static String normalizar(String texto) {
+        return ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+    }
+
+    private int[] buscarNome(String termo) {
+        String palavra = "";
+        for (String token : tokens(termo)) {
+            if (token.length() > palavra.length()) {
+                palavra = token;
+            }
+        }
+        if (palavra.isEmpty()) {
+            // Termo sem letras nem dígitos: sem palavra para consultar o índice
+            return filtrar(null, termo);
+        }
+
+        BitSet candidatos = new BitSet(ids.length);
+        // Palavras que começam pelo termo: faixa contígua do vocabulário ordenado
+        int inicio = Arrays.binarySearch(vocabulario, palavra);
+        if (inicio < 0) {
+            inicio = -inicio - 1;
+        }
+        int fim = inicio;
+        while (fim < vocabulario.length && vocabulario[fim].startsWith(palavra)) {
+            adicionar(candidatos, ocorrencias[fim++]);
+        }
+        // Termo no meio de uma palavra: percorre só o vocabulário, não os produtos
+        for (int t = 0; t < vocabulario.length; t++) {
+            if ((t < inicio || t >= fim) && vocabulario[t].indexOf(palavra, 1) > 0) {
+                adicionar(candidatos, ocorrencias[t]);
+            }
+        }
+        return filtrar(candidatos, termo);
+    }
+
+    private int[] filtrar(BitSet candidatos, String termo) {
+        int[] resultado = new int[candidatos == null ? ids.length : candidatos.cardinality()];
+        int quantidade = 0;
+        if (candidatos == null) {
+            for (int i = 0; i < ids.length; i++) {
+                if (nomesNormalizados[i].contains(termo)) {
+                    resultado[quantidade++] = i;
+                }
+            }
+        } else {
+            for (int i = candidatos.nextSetBit(0); i >= 0; i = candidatos.nextSetBit(i + 1)) {
+                if (nomesNormalizados[i].contains(termo)) {
+                    resultado[quantidade++] = i;
+                }
+            }
+        }
+        return Arrays.copyOf(resultado, quantidade);
+    }
+
+    private int primeiroMaiorOuIgual(long preco) {
+        int baixo = 0;
+        int alto = precosOrdenados.length;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (precosOrdenados[meio] < preco) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    private static Sequencia sobre(int[] indices, boolean decrescente) {
+        int n = indices.length;
+        return decrescente
+            ? new Sequencia(n, k -> indices[n - 1 - k])
+            : new Sequencia(n, k -> indices[k]);
+    }
+
+    private static void adicionar(BitSet candidatos, int[] indices) {
+        for (int indice : indices) {
+            candidatos.set(indice);
+        }
+    }
+
+    private static List<String> tokens(String normalizado) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARADORES.split(normalizado)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,269 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ClienteDTO;
+import com.empresa.logistica.dto.CriterioVendas;
+import com.empresa.logistica.dto.JanelaVendas;
+import com.empresa.logistica.dto.ProdutoDTO;
+import com.empresa.logistica.dto.VendasProdutoDTO;
+import com.empresa.logistica.mapper.ProdutoMapper;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.repository.BuscaNomeSemelhante;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.EstimativaContagemRepository;
+import com.empresa.logistica.repository.ItemPedidoRepository;
+import com.empresa.logistica.repository.ModoContagem;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.CatalogoService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for catalog reads.
+ *
+ * Bulk reads project rows straight into DTOs, so the persistence context stays
+ * empty and memory does not grow with the size of the catalog.
+ *
+ * Paged product reads are answered from the {@link SnapshotCatalogo} while it is
+ * current and the requested sort is a single order on nome or preco (or none);
+ * otherwise, or while the snapshot is being rebuilt, they go to the database.
+ *
+ * Best-selling products are ranked from the {@link RankingVendasProdutos} counters
+ * once they are loaded, without reading item_pedido.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogoServiceImpl implements CatalogoService {
+
+    private final ClienteRepository clienteRepository;
+    private final ProdutoRepository produtoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final ProdutoMapper produtoMapper;
+    private final EstimativaContagemRepository estimativaContagemRepository;
+    private final BuscaNomeSemelhante buscaNomeSemelhante;
+    private final SnapshotCatalogo snapshotCatalogo;
+    private final RankingVendasProdutos rankingVendas;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerClientes(Consumer<ClienteDTO> consumidor) {
+        try (Stream<ClienteDTO> clientes = clienteRepository.streamAllDTO()) {
+            clientes.forEach(consumidor);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void percorrerProdutos(Consumer<ProdutoDTO> consumidor) {
+        try (Stream<ProdutoDTO> produtos = produtoRepository.streamAllDTO()) {
+            produtos.forEach(consumidor);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClienteDTO> listarClientesMaiorLimiteCredito(int limite) {
+        return clienteRepository.findTopClientesPorLimiteCredito(LimiteRanking.de(limite));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProdutoDTO> listarProdutosPorPreco(int limite, boolean maisCaros) {
+        Limit linhas = LimiteRanking.de(limite);
+        return maisCaros
+            ? produtoRepository.findTopProdutosMaisCaros(linhas)
+            : produtoRepository.findTopProdutosMaisBaratos(linhas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VendasProdutoDTO> listarProdutosMaisVendidos(int limite, CriterioVendas criterio, JanelaVendas janela) {
+        Limit linhas = LimiteRanking.de(limite);
+        if (rankingVendas.isPronto()) {
+            return completarNomes(rankingVendas.top(limite, criterio, janela));
+        }
+
+        if (janela == JanelaVendas.TOTAL) {
+            return criterio == CriterioVendas.VALOR
+                ? itemPedidoRepository.findProdutosMaisLucrativosPorValor(linhas)
+                : itemPedidoRepository.findProdutosMaisVendidosPorQuantidade(linhas);
+        }
+        LocalDateTime dataInicio = RankingVendasProdutos.primeiroDia(janela.getDias()).atStartOfDay();
+        return criterio == CriterioVendas.VALOR
+            ? itemPedidoRepository.findProdutosMaisLucrativosPorValorDesde(dataInicio, linhas)
+            : itemPedidoRepository.findProdutosMaisVendidosPorQuantidadeDesde(dataInicio, linhas);
+    }
+
+    @Override
+    public Slice<ProdutoDTO> listarProdutos(Pageable pageable, ModoContagem contagem) {
+        CatalogoProdutos catalogo = snapshotCatalogo.atual();
+        Sort.Order ordem = ordemSnapshot(pageable.getSort());
+        if (catalogo != null && ordem != null) {
+            return paginar(catalogo, catalogo.todos(ordem(ordem), ordem.isDescending()), pageable, contagem);
+        }
+
+        return listarTodos(pageable, contagem).map(produtoMapper::toDTO);
+    }
+
+    @Override
+    public Slice<ProdutoDTO> buscarProdutosPorNome(String nome, Pageable pageable, ModoContagem contagem) {
+        if (buscaNomeSemelhante.isDisponivel() && pageable.getSort().isUnsorted()) {
+            // Sem ordenação pedida: mais semelhantes primeiro, pelo índice de trigramas sem acentos
+            String termo = BuscaNomeSemelhante.termo(nome);
+            return contagem.paginar(pageable,
+                    p -> produtoRepository.buscarSlicePorNomeSemelhante(termo, p),
+                    p -> produtoRepository.buscarPorNomeSemelhante(termo, p),
+                    () -> estimarBuscaSemelhante(termo))
+                .map(produtoMapper::toDTO);
+        }
+
+        CatalogoProdutos catalogo = snapshotCatalogo.atual();
+        Sort.Order ordem = ordemSnapshot(pageable.getSort());
+        if (catalogo != null && ordem != null) {
+            return paginar(catalogo, catalogo.porNome(nome, ordem(ordem), ordem.isDescending()), pageable, contagem);
+        }
+
+        Slice<Produto> produtos;
+        if (buscaNomeSemelhante.isDisponivel()) {
+            // Mesmo filtro por trigramas, na ordenação pedida
+            String termo = BuscaNomeSemelhante.termo(nome);
+            produtos = contagem.paginar(pageable,
+                p -> produtoRepository.buscarSlicePorNomeSemelhanteOrdenado(termo, p),
+                p -> produtoRepository.buscarPorNomeSemelhanteOrdenado(termo, p),
+                () -> estimarBuscaSemelhante(termo));
+        } else {
+            produtos = contagem.paginar(BuscaNomeSemelhante.ordenadoPorNome(pageable),
+                p -> produtoRepository.findSliceByNomeContainingIgnoreCase(nome, p),
+                p -> produtoRepository.findByNomeContainingIgnoreCase(nome, p),
+                () -> estimativaContagemRepository.estimarConsulta(
+                    "SELECT 1 FROM produto WHERE LOWER(nome) LIKE LOWER(?)", "%" + nome + "%"));
+        }
+        return produtos.map(produtoMapper::toDTO);
+    }
+
+    @Override
+    public Slice<ProdutoDTO> buscarProdutosPorPreco(BigDecimal precoMin, BigDecimal precoMax,
+                                                    Pageable pageable, ModoContagem contagem) {
+        Money minimo = Money.of(precoMin);
+        Money maximo = Money.of(precoMax);
+
+        CatalogoProdutos catalogo = snapshotCatalogo.atual();
+        Sort.Order ordem = ordemSnapshot(pageable.getSort());
+        if (catalogo != null && ordem != null) {
+            return paginar(catalogo, catalogo.porPreco(
+                    minimo != null ? minimo.getCentavos() : Long.MIN_VALUE,
+                    maximo != null ? maximo.getCentavos() : Long.MAX_VALUE,
+                    ordem(ordem), ordem.isDescending()),
+                pageable, contagem);
+        }
+
+        Slice<Produto> produtos;
+        if (minimo != null && maximo != null) {
+            produtos = contagem.paginar(pageable,
+                p -> produtoRepository.findSliceByPrecoBetween(minimo, maximo, p),
+                p -> produtoRepository.findByPrecoBetween(minimo, maximo, p),
+                () -> estimativaContagemRepository.estimarConsulta(
+                    "SELECT 1 FROM produto WHERE preco BETWEEN ? AND ?", precoMin, precoMax));
+        } else if (minimo != null) {
+            produtos = contagem.paginar(pageable,
+                p -> produtoRepository.findSliceByPrecoGreaterThanEqual(minimo, p),
+                p -> produtoRepository.findByPrecoGreaterThanEqual(minimo, p),
+                () -> estimativaContagemRepository.estimarConsulta(
+                    "SELECT 1 FROM produto WHERE preco >= ?", precoMin));
+        } else if (maximo != null) {
+            produtos = contagem.paginar(pageable,
+                p -> produtoRepository.findSliceByPrecoLessThanEqual(maximo, p),
+                p -> produtoRepository.findByPrecoLessThanEqual(maximo, p),
+                () -> estimativaContagemRepository.estimarConsulta(
+                    "SELECT 1 FROM produto WHERE preco <= ?", precoMax));
+        } else {
+            produtos = listarTodos(pageable, contagem);
+        }
+        return produtos.map(produtoMapper::toDTO);
+    }
+
+    private OptionalLong estimarBuscaSemelhante(String termo) {
+        return estimativaContagemRepository.estimarConsulta(
+            "SELECT 1" + ProdutoRepository.FILTRO_NOME_SEMELHANTE.replace(":termo", "?"), termo);
+    }
+
+    private Slice<Produto> listarTodos(Pageable pageable, ModoContagem contagem) {
+        return contagem.paginar(pageable,
+            produtoRepository::findSliceBy,
+            produtoRepository::findAll,
+            () -> estimativaContagemRepository.estimarTabela("produto"));
+    }
+
+    /**
+     * Adds product names to the in-memory ranking with one primary-key query for the listed products
+     */
+    private List<VendasProdutoDTO> completarNomes(List<RankingVendasProdutos.Posicao> ranking) {
+        if (ranking.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> nomes = produtoRepository.findDTOsByIds(
+                ranking.stream().map(RankingVendasProdutos.Posicao::produtoId).toList()).stream()
+            .collect(Collectors.toMap(ProdutoDTO::getId, ProdutoDTO::getNome));
+        return ranking.stream()
+            .map(posicao -> new VendasProdutoDTO(posicao.produtoId(), nomes.get(posicao.produtoId()),
+                posicao.quantidade(), Money.ofCentavos(posicao.centavos()).toBigDecimal()))
+            .toList();
+    }
+
+    /**
+     * @return the single order the snapshot can serve (unsorted means nome ascending), or null
+     */
+    private static Sort.Order ordemSnapshot(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.Order.asc("nome");
+        }
+        List<Sort.Order> ordens = sort.toList();
+        if (ordens.size() != 1) {
+            return null;
+        }
+        Sort.Order ordem = ordens.get(0);
+        boolean suportada = "nome".equals(ordem.getProperty()) || "preco".equals(ordem.getProperty());
+        return suportada ? ordem : null;
+    }
+
+    private static CatalogoProdutos.Ordem ordem(Sort.Order ordem) {
+        return "preco".equals(ordem.getProperty()) ? CatalogoProdutos.Ordem.PRECO : CatalogoProdutos.Ordem.NOME;
+    }
+
+    private static Slice<ProdutoDTO> paginar(CatalogoProdutos catalogo, CatalogoProdutos.Sequencia sequencia,
+                                             Pageable pageable, ModoContagem contagem) {
+        // Total já conhecido: os três modos de contagem saem da mesma sequência, sem consulta
+        return contagem.paginar(pageable,
+            p -> new SliceImpl<>(conteudo(catalogo, sequencia, p), p, p.getOffset() + p.getPageSize() < sequencia.tamanho()),
+            p -> new PageImpl<>(conteudo(catalogo, sequencia, p), p, sequencia.tamanho()),
+            () -> OptionalLong.of(sequencia.tamanho()));
+    }
+
+    private static List<ProdutoDTO> conteudo(CatalogoProdutos catalogo, CatalogoProdutos.Sequencia sequencia,
+                                             Pageable pageable) {
+        int inicio = (int) Math.min(pageable.getOffset(), sequencia.tamanho());
+        int fim = Math.min(inicio + pageable.getPageSize(), sequencia.tamanho());
+        List<ProdutoDTO> produtos = new ArrayList<>(fim - inicio);
+        for (int k = inicio; k < fim; k++) {
+            produtos.add(catalogo.produto(sequencia.indice().applyAsInt(k)));
+        }
+        return produtos;
+    }
+}
@@ -0,0 +1,228 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.AgrupamentoAnalise;
+import com.empresa.logistica.model.StatusPedido;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable columnar copy of the orders for analytics, one primitive array per column.
+ *
+ * Row i of every column describes one order: customer (dictionary-encoded as the
+ * position of its id in the sorted array of distinct customer ids), order day
+ * (epoch day), status ordinal and total value in cents. Every grouping maps a row
+ * to a dense slot, so a query scans contiguous row ranges in parallel, each range
+ * adding into its own arrays indexed by slot, and the ranges are merged at the end.
+ */
+final class ColunasPedidos {
+
+    /**
+     * Below this many rows per range, splitting the scan costs more than it saves
+     */
+    private static final int LINHAS_POR_PARTE = 100_000;
+
+    /**
+     * Upper bound of slots × ranges, so grouping by customer does not allocate one large array per core
+     */
+    private static final int MAX_CELULAS = 1 << 22;
+
+    private static final StatusPedido[] STATUS = StatusPedido.values();
+
+    private final LocalDateTime criadoEm = LocalDateTime.now();
+    private final long[] clientes;
+    private final int[] cliente;
+    private final int[] dia;
+    private final byte[] status;
+    private final long[] centavos;
+    private final int diaMinimo;
+    private final int diaMaximo;
+
+    private ColunasPedidos(long[] clientes, int[] cliente, int[] dia, byte[] status, long[] centavos) {
+        this.clientes = clientes;
+        this.cliente = cliente;
+        this.dia = dia;
+        this.status = status;
+        this.centavos = centavos;
+        this.diaMinimo = Arrays.stream(dia).min().orElse(0);
+        this.diaMaximo = Arrays.stream(dia).max().orElse(-1);
+    }
+
+    static Construtor construtor() {
+        return new Construtor();
+    }
+
+    LocalDateTime getCriadoEm() {
+        return criadoEm;
+    }
+
+    int tamanho() {
+        return dia.length;
+    }
+
+    int totalClientes() {
+        return clientes.length;
+    }
+
+    /**
+     * Counts and sums the orders matching the filter, per group of the grouping
+     *
+     * @return groups with at least one order, in ascending key order
+     */
+    List<Grupo> agregar(Filtro filtro, AgrupamentoAnalise agrupamento) {
+        // Filtros convertidos para o domínio das colunas; cliente fora do dicionário não tem pedidos
+        int clienteFiltro = filtro.clienteId() == null ? -1 : Arrays.binarySearch(clientes, filtro.clienteId());
+        if (filtro.clienteId() != null && clienteFiltro < 0) {
+            return List.of();
+        }
+        int statusFiltro = filtro.status() == null ? -1 : filtro.status().ordinal();
+        int diaInicio = filtro.dataInicio() == null ? diaMinimo
+            : (int) Math.max(diaMinimo, filtro.dataInicio().toEpochDay());
+        int diaFim = filtro.dataFim() == null ? diaMaximo
+            : (int) Math.min(diaMaximo, filtro.dataFim().toEpochDay());
+        if (diaInicio > diaFim) {
+            return List.of();
+        }
+
+        Chaves chaves = chaves(agrupamento, diaInicio, diaFim);
+        int n = dia.length;
+        int partes = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+            Math.min(n / LINHAS_POR_PARTE, MAX_CELULAS / chaves.cardinalidade())));
+        long[][] soma = IntStream.range(0, partes).parallel()
+            .mapToObj(parte -> agregarParte((int) ((long) n * parte / partes), (int) ((long) n * (parte + 1) / partes),
+                clienteFiltro, statusFiltro, diaInicio, diaFim, agrupamento, chaves))
+            .reduce(ColunasPedidos::somar)
+            .orElseThrow();
+
+        List<Grupo> grupos = new ArrayList<>();
+        for (int slot = 0; slot < chaves.cardinalidade(); slot++) {
+            if (soma[0][slot] > 0) {
+                grupos.add(new Grupo(chaves.chave(slot), soma[0][slot], soma[1][slot]));
+            }
+        }
+        return grupos;
+    }
+
+    private long[][] agregarParte(int inicio, int fim, int clienteFiltro, int statusFiltro, int diaInicio, int diaFim,
+                                  AgrupamentoAnalise agrupamento, Chaves chaves) {
+        long[] quantidades = new long[chaves.cardinalidade()];
+        long[] valores = new long[chaves.cardinalidade()];
+        for (int i = inicio; i < fim; i++) {
+            int d = dia[i];
+            if (d < diaInicio || d > diaFim
+                    || (clienteFiltro >= 0 && cliente[i] != clienteFiltro)
+                    || (statusFiltro >= 0 && status[i] != statusFiltro)) {
+                continue;
+            }
+            int slot = switch (agrupamento) {
+                case NENHUM -> 0;
+                case DIA -> d - diaInicio;
+                case MES -> chaves.mesDoDia()[d - diaInicio];
+                case CLIENTE -> cliente[i];
+                case STATUS -> status[i];
+            };
+            quantidades[slot]++;
+            valores[slot] += centavos[i];
+        }
+        return new long[][]{quantidades, valores};
+    }
+
+    private static long[][] somar(long[][] a, long[][] b) {
+        for (int k = 0; k < 2; k++) {
+            for (int slot = 0; slot < a[k].length; slot++) {
+                a[k][slot] += b[k][slot];
+            }
+        }
+        return a;
+    }
+
+    /**
+     * Slots of the grouping for the filtered day range and the key of each slot
+     */
+    private Chaves chaves(AgrupamentoAnalise agrupamento, int diaInicio, int diaFim) {
+        return switch (agrupamento) {
+            case NENHUM -> new Chaves(1, slot -> 0L, null);
+            case DIA -> new Chaves(diaFim - diaInicio + 1, slot -> diaInicio + (long) slot, null);
+            case MES -> {
+                // Tabela dia → mês sobre o intervalo filtrado: o laço não cria LocalDate por linha
+                long mesInicio = mes(diaInicio);
+                int[] mesDoDia = new int[diaFim - diaInicio + 1];
+                for (int d = diaInicio; d <= diaFim; d++) {
+                    mesDoDia[d - diaInicio] = (int) (mes(d) - mesInicio);
+                }
+                yield new Chaves(mesDoDia[mesDoDia.length - 1] + 1, slot -> mesInicio + slot, mesDoDia);
+            }
+            case CLIENTE -> new Chaves(Math.max(1, clientes.length), slot -> clientes[slot], null);
+            case STATUS -> new Chaves(STATUS.length, slot -> slot, null);
+        };
+    }
+
+    /**
+     * Months since year 0 (year × 12 + month - 1) of an epoch day
+     */
+    static long mes(long diaEpoch) {
+        LocalDate data = LocalDate.ofEpochDay(diaEpoch);
+        return data.getYear() * 12L + data.getMonthValue() - 1;
+    }
+
+    private record Chaves(int cardinalidade, IntToLongFunction chaveDoSlot, int[] mesDoDia) {
+
+        long chave(int slot) {
+            return chaveDoSlot.applyAsLong(slot);
+        }
+    }
+
+    /**
+     * Query filter; null fields are not filtered, days are inclusive
+     */
+    record Filtro(LocalDate dataInicio, LocalDate dataFim, Long clienteId, StatusPedido status) {
+    }
+
+    /**
+     * One group of a query: key (epoch day, month index, customer id, status ordinal or 0), orders and cents
+     */
+    record Grupo(long chave, long quantidade, long centavos) {
+    }
+
+    /**
+     * Appends rows into growable primitive arrays and encodes the customer column on {@link #construir()}
+     */
+    static final class Construtor {
+
+        private long[] clienteIds = new long[1024];
+        private int[] dias = new int[1024];
+        private byte[] status = new byte[1024];
+        private long[] centavos = new long[1024];
+        private int tamanho;
+
+        void adicionar(long clienteId, long diaEpoch, StatusPedido statusPedido, long valorCentavos) {
+            if (tamanho == dias.length) {
+                int capacidade = dias.length * 2;
+                clienteIds = Arrays.copyOf(clienteIds, capacidade);
+                dias = Arrays.copyOf(dias, capacidade);
+                status = Arrays.copyOf(status, capacidade);
+                centavos = Arrays.copyOf(centavos, capacidade);
+            }
+            clienteIds[tamanho] = clienteId;
+            dias[tamanho] = (int) diaEpoch;
+            status[tamanho] = (byte) statusPedido.ordinal();
+            centavos[tamanho] = valorCentavos;
+            tamanho++;
+        }
+
+        ColunasPedidos construir() {
+            long[] distintos = Arrays.stream(clienteIds, 0, tamanho).sorted().distinct().toArray();
+            int[] cliente = new int[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                cliente[i] = Arrays.binarySearch(distintos, clienteIds[i]);
+            }
+            return new ColunasPedidos(distintos, cliente, Arrays.copyOf(dias, tamanho),
+                Arrays.copyOf(status, tamanho), Arrays.copyOf(centavos, tamanho));
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.PedidoDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of an order in the {@code (data_pedido DESC, id DESC)} listing order.
+ *
+ * Encoded as URL-safe Base64 so clients treat it as an opaque token; the next page
+ * starts strictly after this position.
+ */
+record CursorPedido(LocalDateTime dataPedido, Long id) {
+
+    private static final char SEPARADOR = '|';
+
+    static CursorPedido de(PedidoDTO pedido) {
+        return new CursorPedido(pedido.getDataPedido(), pedido.getId());
+    }
+
+    String codificar() {
+        String posicao = dataPedido.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(posicao.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #codificar()}
+     */
+    static CursorPedido decodificar(String cursor) {
+        try {
+            String posicao = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = posicao.lastIndexOf(SEPARADOR);
+            if (separador > 0) {
+                return new CursorPedido(
+                    LocalDateTime.parse(posicao.substring(0, separador)),
+                    Long.valueOf(posicao.substring(separador + 1)));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Token adulterado ou truncado: tratado como inválido abaixo
+        }
+        throw new IllegalArgumentException("Cursor inválido: " + cursor);
+    }
+}
@@ -0,0 +1,104 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.service.PedidoService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background worker for orders accepted asynchronously (status PENDENTE).
+ *
+ * Each cycle picks the customers waiting the longest and hands one task per
+ * customer to a fixed pool. A task decides a batch of that customer's pending
+ * orders under a single credit lock and transaction, so the lock, the ledger read
+ * and the commit are paid once per batch instead of once per order. Different
+ * customers are decided in parallel; the cycle waits for all tasks before polling again.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "pedidos.assincrono.habilitado", havingValue = "true", matchIfMissing = true)
+public class DecisorPedidosPendentes {
+
+    private final PedidoService pedidoService;
+    private final PedidoRepository pedidoRepository;
+    private final ExecutorService workers;
+    private final int lote;
+    private final int clientesPorCiclo;
+
+    public DecisorPedidosPendentes(PedidoService pedidoService,
+                                   PedidoRepository pedidoRepository,
+                                   @Value("${pedidos.assincrono.workers:4}") int workers,
+                                   @Value("${pedidos.assincrono.lote:100}") int lote,
+                                   @Value("${pedidos.assincrono.clientes-por-ciclo:50}") int clientesPorCiclo) {
+        this.pedidoService = pedidoService;
+        this.pedidoRepository = pedidoRepository;
+        this.workers = Executors.newFixedThreadPool(workers, threadFactory());
+        this.lote = lote;
+        this.clientesPorCiclo = clientesPorCiclo;
+    }
+
+    /**
+     * Decides pending orders grouped by customer
+     *
+     * @return number of orders decided in this cycle
+     */
+    @Scheduled(fixedDelayString = "${pedidos.assincrono.intervalo-ms:500}")
+    public int processarPendentes() {
+        List<Long> clienteIds = pedidoRepository.findClientesComPedidosPorStatus(
+            StatusPedido.PENDENTE, PageRequest.of(0, clientesPorCiclo));
+        if (clienteIds.isEmpty()) {
+            return 0;
+        }
+
+        List<Callable<Integer>> tarefas = clienteIds.stream()
+            .map(clienteId -> (Callable<Integer>) () -> pedidoService.decidirPedidosPendentes(clienteId, lote))
+            .toList();
+
+        int decididos = 0;
+        try {
+            List<Future<Integer>> resultados = workers.invokeAll(tarefas);
+            for (int i = 0; i < resultados.size(); i++) {
+                try {
+                    decididos += resultados.get(i).get();
+                } catch (ExecutionException e) {
+                    // Pedidos do cliente continuam pendentes e serão tentados no próximo ciclo
+                    log.error("Falha ao decidir pedidos pendentes do cliente {}", clienteIds.get(i), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        log.debug("Decididos {} pedidos pendentes de {} clientes", decididos, clienteIds.size());
+        return decididos;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        workers.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "decisor-pedidos-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
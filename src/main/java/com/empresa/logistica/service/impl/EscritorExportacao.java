@@ -0,0 +1,173 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.FormatoExportacao;
+import com.empresa.logistica.repository.ExportacaoPedidoRepository.Linha;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes export rows, ordered by order and item, to an output stream as they arrive.
+ * Only the current order id is kept between rows; nothing is buffered beyond the
+ * writer's own few KB.
+ */
+abstract class EscritorExportacao {
+
+    static final DateTimeFormatter FORMATO_DATA = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    protected Long pedidoAtual;
+    protected long pedidos;
+
+    static EscritorExportacao para(FormatoExportacao formato, OutputStream saida, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (formato) {
+            case NDJSON -> new Ndjson(saida, objectMapper);
+            case CSV -> new Csv(saida);
+        };
+    }
+
+    abstract void escrever(Linha linha) throws IOException;
+
+    /**
+     * Completes the last record and flushes; the output stream is left open
+     */
+    abstract void finalizar() throws IOException;
+
+    long getPedidos() {
+        return pedidos;
+    }
+
+    protected boolean novoPedido(Linha linha) {
+        if (linha.pedidoId().equals(pedidoAtual)) {
+            return false;
+        }
+        pedidos++;
+        return true;
+    }
+
+    /**
+     * One JSON object per order and line, items nested, same field names as the order API
+     */
+    static final class Ndjson extends EscritorExportacao {
+
+        private final JsonGenerator gerador;
+
+        Ndjson(OutputStream saida, ObjectMapper objectMapper) throws IOException {
+            this.gerador = objectMapper.createGenerator(saida, JsonEncoding.UTF8);
+            gerador.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gerador.setRootValueSeparator(null);
+        }
+
+        @Override
+        void escrever(Linha linha) throws IOException {
+            if (novoPedido(linha)) {
+                fecharPedido();
+                pedidoAtual = linha.pedidoId();
+                gerador.writeStartObject();
+                gerador.writeNumberField("id", linha.pedidoId());
+                gerador.writeNumberField("clienteId", linha.clienteId());
+                gerador.writeStringField("clienteNome", linha.clienteNome());
+                gerador.writeStringField("dataPedido", FORMATO_DATA.format(linha.dataPedido()));
+                gerador.writeStringField("status", linha.status().name());
+                gerador.writeStringField("valorTotal", linha.valorTotal().toPlainString());
+                gerador.writeArrayFieldStart("itens");
+            }
+            if (linha.itemId() != null) {
+                gerador.writeStartObject();
+                gerador.writeNumberField("id", linha.itemId());
+                gerador.writeNumberField("produtoId", linha.produtoId());
+                gerador.writeStringField("produtoNome", linha.produtoNome());
+                gerador.writeNumberField("quantidade", linha.quantidade());
+                gerador.writeStringField("subtotal", linha.subtotal().toPlainString());
+                gerador.writeEndObject();
+            }
+        }
+
+        @Override
+        void finalizar() throws IOException {
+            fecharPedido();
+            gerador.close();
+        }
+
+        private void fecharPedido() throws IOException {
+            if (pedidoAtual != null) {
+                gerador.writeEndArray();
+                gerador.writeEndObject();
+                gerador.writeRaw('\n');
+            }
+        }
+    }
+
+    /**
+     * RFC 4180 CSV, one line per item with the order columns repeated
+     */
+    static final class Csv extends EscritorExportacao {
+
+        static final String CABECALHO = "pedido_id,cliente_id,cliente_nome,data_pedido,status,valor_total,"
+            + "item_id,produto_id,produto_nome,quantidade,subtotal\r\n";
+
+        private final Writer escritor;
+
+        Csv(OutputStream saida) throws IOException {
+            this.escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            escritor.write(CABECALHO);
+        }
+
+        @Override
+        void escrever(Linha linha) throws IOException {
+            if (novoPedido(linha)) {
+                pedidoAtual = linha.pedidoId();
+            }
+            escritor.write(Long.toString(linha.pedidoId()));
+            escritor.write(',');
+            escritor.write(Long.toString(linha.clienteId()));
+            escritor.write(',');
+            texto(linha.clienteNome());
+            escritor.write(',');
+            escritor.write(FORMATO_DATA.format(linha.dataPedido()));
+            escritor.write(',');
+            escritor.write(linha.status().name());
+            escritor.write(',');
+            escritor.write(linha.valorTotal().toPlainString());
+            escritor.write(',');
+            if (linha.itemId() != null) {
+                escritor.write(Long.toString(linha.itemId()));
+                escritor.write(',');
+                escritor.write(Long.toString(linha.produtoId()));
+                escritor.write(',');
+                texto(linha.produtoNome());
+                escritor.write(',');
+                escritor.write(Integer.toString(linha.quantidade()));
+                escritor.write(',');
+                escritor.write(linha.subtotal().toPlainString());
+            } else {
+                escritor.write(",,,,");
+            }
+            escritor.write("\r\n");
+        }
+
+        @Override
+        void finalizar() throws IOException {
+            escritor.flush();
+        }
+
+        private void texto(String valor) throws IOException {
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0
+                    && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                escritor.write(valor);
+                return;
+            }
+            escritor.write('"');
+            escritor.write(valor.replace("\"", "\"\""));
+            escritor.write('"');
+        }
+    }
+}
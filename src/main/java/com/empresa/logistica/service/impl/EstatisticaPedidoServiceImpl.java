@@ -0,0 +1,95 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.dto.EstadoEstatisticasDTO;
+import com.empresa.logistica.dto.EstatisticasClienteDTO;
+import com.empresa.logistica.dto.EstatisticasProdutoDTO;
+import com.empresa.logistica.exception.ServicoIndisponivelException;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.EstatisticaPedidoService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+
+/**
+ * Service implementation for approximate order statistics.
+ *
+ * Answers from the {@link EstatisticasPedidos} sketches; the database is only
+ * queried to tell an unknown customer or product from one without approved orders.
+ */
+@Service
+@RequiredArgsConstructor
+public class EstatisticaPedidoServiceImpl implements EstatisticaPedidoService {
+
+    private final EstatisticasPedidos estatisticasPedidos;
+    private final ClienteRepository clienteRepository;
+    private final ProdutoRepository produtoRepository;
+
+    @Override
+    public EstatisticasClienteDTO obterEstatisticasCliente(Long clienteId) {
+        verificarPronto();
+        SketchQuantis valores = estatisticasPedidos.valoresDoCliente(clienteId);
+        if (valores == null && !clienteRepository.existsById(clienteId)) {
+            throw new EntityNotFoundException(ApplicationConstants.CLIENTE_NAO_ENCONTRADO + clienteId);
+        }
+
+        EstatisticasClienteDTO.EstatisticasClienteDTOBuilder dto = EstatisticasClienteDTO.builder().clienteId(clienteId);
+        if (valores != null) {
+            dto.pedidos(valores.getTotal())
+                .p50(percentil(valores, 0.50))
+                .p95(percentil(valores, 0.95))
+                .p99(percentil(valores, 0.99));
+        }
+        return dto.build();
+    }
+
+    @Override
+    public EstatisticasProdutoDTO obterEstatisticasProduto(Long produtoId) {
+        verificarPronto();
+        SketchQuantis valores = estatisticasPedidos.valoresDoProduto(produtoId);
+        if (valores == null && !produtoRepository.existsById(produtoId)) {
+            throw new EntityNotFoundException(ApplicationConstants.PRODUTO_NAO_ENCONTRADO + produtoId);
+        }
+
+        EstatisticasProdutoDTO.EstatisticasProdutoDTOBuilder dto = EstatisticasProdutoDTO.builder().produtoId(produtoId);
+        if (valores != null) {
+            HyperLogLog compradores = estatisticasPedidos.compradoresDoProduto(produtoId);
+            dto.pedidos(valores.getTotal())
+                .compradoresDistintos(compradores == null ? 0L : compradores.estimar())
+                .p50(percentil(valores, 0.50))
+                .p95(percentil(valores, 0.95))
+                .p99(percentil(valores, 0.99));
+        }
+        return dto.build();
+    }
+
+    @Override
+    public EstadoEstatisticasDTO obterEstado() {
+        return EstadoEstatisticasDTO.builder()
+            .pronto(estatisticasPedidos.isPronto())
+            .clientes(estatisticasPedidos.getTotalClientes())
+            .produtos(estatisticasPedidos.getTotalProdutos())
+            .consolidadoAte(estatisticasPedidos.getConsolidadoAte())
+            .build();
+    }
+
+    @Override
+    public EstadoEstatisticasDTO reconstruir() {
+        estatisticasPedidos.reconstruir();
+        return obterEstado();
+    }
+
+    private void verificarPronto() {
+        if (!estatisticasPedidos.isPronto()) {
+            throw new ServicoIndisponivelException("Estatísticas de pedidos ainda não carregadas");
+        }
+    }
+
+    private static BigDecimal percentil(SketchQuantis valores, double quantil) {
+        return Money.ofCentavos(valores.quantil(quantil)).toBigDecimal();
+    }
+}
@@ -0,0 +1,378 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.event.PedidoCriadoEvent;
+import com.empresa.logistica.model.ConsolidacaoEstatistica;
+import com.empresa.logistica.model.SketchEstatistica;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.model.TipoSketch;
+import com.empresa.logistica.repository.AnalisePedidoRepository;
+import com.empresa.logistica.repository.ConsolidacaoEstatisticaRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.SketchEstatisticaRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streaming approximate statistics of approved orders: value percentiles per client
+ * and per product ({@link SketchQuantis}) and distinct buyers per product
+ * ({@link HyperLogLog}), each in a bounded amount of memory per key.
+ *
+ * Persisted sketches hold exactly the approved orders decided before the limit kept in
+ * consolidacao_estatistica. Periodically, under a lock on that row, an instance reads
+ * the orders decided since the limit, merges them into the persisted sketches and moves
+ * the limit forward, so every decision is folded in once whichever instance does it.
+ * The limit trails the clock by {@code estatisticas.consolidacao.atraso-ms}, longer
+ * than a decision transaction and the clock skew between instances, so an order
+ * decided before the limit has committed when the range is read.
+ *
+ * The in-memory sketches are the persisted ones plus the approved orders decided since
+ * the limit, read in one snapshot, and are updated after each order decision commits.
+ * They are reloaded after each consolidation, which folds in the orders decided by the
+ * other instances. Orders committed while a load is running are replayed on the new
+ * sketches unless that snapshot already saw them ({@link EventosDuranteCarga}).
+ */
+@Component
+@Slf4j
+public class EstatisticasPedidos {
+
+    /**
+     * Maximum number of keys per query when merging a consolidation into the persisted sketches
+     */
+    static final int CHAVES_POR_CONSULTA = 500;
+
+    private final AnalisePedidoRepository analisePedidoRepository;
+    private final SketchEstatisticaRepository sketchRepository;
+    private final ConsolidacaoEstatisticaRepository consolidacaoRepository;
+    private final PedidoRepository pedidoRepository;
+    private final TransactionTemplate transacaoCarga;
+    private final TransactionTemplate transacaoConsolidacao;
+    private final boolean habilitado;
+    private final long atrasoMs;
+    private final ExecutorService executor;
+    private final AtomicBoolean atualizacaoPendente = new AtomicBoolean();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Sketches sketches = new Sketches();
+    private volatile boolean pronto;
+    private volatile LocalDateTime consolidadoAte;
+
+    private final EventosDuranteCarga eventosDuranteCarga = new EventosDuranteCarga();
+
+    public EstatisticasPedidos(AnalisePedidoRepository analisePedidoRepository,
+                               SketchEstatisticaRepository sketchRepository,
+                               ConsolidacaoEstatisticaRepository consolidacaoRepository,
+                               PedidoRepository pedidoRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${estatisticas.habilitado:true}") boolean habilitado,
+                               @Value("${estatisticas.consolidacao.atraso-ms:300000}") long atrasoMs) {
+        this.analisePedidoRepository = analisePedidoRepository;
+        this.sketchRepository = sketchRepository;
+        this.consolidacaoRepository = consolidacaoRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.transacaoCarga = new TransactionTemplate(transactionManager);
+        this.transacaoCarga.setReadOnly(true);
+        this.transacaoCarga.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.transacaoConsolidacao = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.atrasoMs = atrasoMs;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "estatisticas-pedidos");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        if (habilitado) {
+            agendarAtualizacao();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${estatisticas.atualizacao.intervalo-ms:300000}",
+               initialDelayString = "${estatisticas.atualizacao.intervalo-ms:300000}")
+    public void atualizarPeriodicamente() {
+        if (habilitado) {
+            agendarAtualizacao();
+        }
+    }
+
+    /**
+     * Merges the approved orders decided since the last consolidation into the persisted
+     * sketches and moves the consolidation limit forward
+     *
+     * @return number of persisted sketches created or updated
+     */
+    public synchronized int consolidar() {
+        return consolidar(false);
+    }
+
+    /**
+     * Loads the persisted sketches and the approved orders decided after them
+     *
+     * @return number of sketches loaded
+     */
+    public synchronized int carregar() {
+        eventosDuranteCarga.iniciar();
+
+        long inicio = System.currentTimeMillis();
+        Sketches novos = new Sketches();
+        LocalDateTime[] desde = new LocalDateTime[1];
+        try {
+            // Limite, sketches persistidos, decisões posteriores e eventos recebidos no mesmo snapshot
+            transacaoCarga.executeWithoutResult(status -> {
+                desde[0] = consolidacaoRepository.findById(ConsolidacaoEstatistica.ID)
+                    .map(ConsolidacaoEstatistica::getConsolidadoAte)
+                    .orElse(ConsolidacaoEstatistica.INICIO_HISTORICO);
+                lerPersistidos(novos);
+                analisePedidoRepository.percorrerItensAprovados(desde[0], null, coletor(novos));
+                eventosDuranteCarga.marcarVistos(evento -> true, pedidoRepository::findIdsDecididosByIdIn);
+            });
+        } catch (RuntimeException e) {
+            eventosDuranteCarga.cancelar();
+            throw e;
+        }
+
+        eventosDuranteCarga.concluir(evento -> aplicar(novos, evento), () -> {
+            sketches = novos;
+            consolidadoAte = desde[0];
+            pronto = true;
+        });
+
+        int total = novos.valoresCliente.size() + novos.valoresProduto.size() + novos.compradoresProduto.size();
+        log.info("Estatísticas de pedidos carregadas: {} sketches consolidados até {} em {} ms",
+            total, desde[0], System.currentTimeMillis() - inicio);
+        return total;
+    }
+
+    /**
+     * Rebuilds every persisted sketch from the whole order history and reloads them
+     *
+     * @return number of sketches loaded
+     */
+    public synchronized int reconstruir() {
+        consolidar(true);
+        return carregar();
+    }
+
+    @EventListener
+    public void onPedidoPublicado(PedidoCriadoEvent evento) {
+        // Ainda dentro da transação do pedido: acompanha o commit em andamento
+        if (evento.status() != StatusPedido.APROVADO) {
+            return;
+        }
+        eventosDuranteCarga.publicado(evento);
+    }
+
+    @TransactionalEventListener
+    public void onPedidoCriado(PedidoCriadoEvent evento) {
+        if (evento.status() != StatusPedido.APROVADO) {
+            return;
+        }
+        eventosDuranteCarga.receber(evento, e -> aplicar(sketches, e));
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    SketchQuantis valoresDoCliente(long clienteId) {
+        return sketches.valoresCliente.get(clienteId);
+    }
+
+    SketchQuantis valoresDoProduto(long produtoId) {
+        return sketches.valoresProduto.get(produtoId);
+    }
+
+    HyperLogLog compradoresDoProduto(long produtoId) {
+        return sketches.compradoresProduto.get(produtoId);
+    }
+
+    int getTotalClientes() {
+        return sketches.valoresCliente.size();
+    }
+
+    int getTotalProdutos() {
+        return sketches.valoresProduto.size();
+    }
+
+    LocalDateTime getConsolidadoAte() {
+        return consolidadoAte;
+    }
+
+    private int consolidar(boolean reconstruir) {
+        long inicio = System.currentTimeMillis();
+        LocalDateTime ate = LocalDateTime.now().minus(Duration.ofMillis(atrasoMs));
+        Integer gravados = transacaoConsolidacao.execute(status -> {
+            // Outra instância consolidando espera aqui e depois lê o limite já avançado
+            ConsolidacaoEstatistica controle = consolidacaoRepository.bloquearPorId(ConsolidacaoEstatistica.ID)
+                .orElseGet(() -> consolidacaoRepository.save(new ConsolidacaoEstatistica(LocalDateTime.now())));
+            LocalDateTime desde = controle.getConsolidadoAte();
+            if (reconstruir) {
+                sketchRepository.deleteAllInBatch();
+                desde = ConsolidacaoEstatistica.INICIO_HISTORICO;
+            }
+            if (!ate.isAfter(desde)) {
+                return 0;
+            }
+
+            Sketches periodo = new Sketches();
+            analisePedidoRepository.percorrerItensAprovados(desde, ate, coletor(periodo));
+            LocalDateTime agora = LocalDateTime.now();
+            // Antes das mesclas: a primeira descarga grava o limite junto com os sketches
+            controle.avancar(ate, agora);
+            return mesclarPersistidos(TipoSketch.VALOR_PEDIDOS_CLIENTE, periodo.valoresCliente,
+                    SketchQuantis::serializar, EstatisticasPedidos::mesclarQuantis, agora)
+                + mesclarPersistidos(TipoSketch.VALOR_ITENS_PRODUTO, periodo.valoresProduto,
+                    SketchQuantis::serializar, EstatisticasPedidos::mesclarQuantis, agora)
+                + mesclarPersistidos(TipoSketch.COMPRADORES_PRODUTO, periodo.compradoresProduto,
+                    HyperLogLog::serializar, EstatisticasPedidos::mesclarCompradores, agora);
+        });
+
+        log.info("Estatísticas de pedidos {} até {}: {} sketches gravados em {} ms",
+            reconstruir ? "reconstruídas" : "consolidadas", ate, gravados, System.currentTimeMillis() - inicio);
+        return gravados;
+    }
+
+    /**
+     * Merges the sketches of one consolidation range into the persisted ones of the same type,
+     * creating the missing ones
+     */
+    private <S> int mesclarPersistidos(TipoSketch tipo, Map<Long, S> periodo, Function<S, byte[]> serializar,
+                                       BiFunction<byte[], S, byte[]> mesclar, LocalDateTime agora) {
+        List<Long> chaves = new ArrayList<>(periodo.keySet());
+        for (int inicio = 0; inicio < chaves.size(); inicio += CHAVES_POR_CONSULTA) {
+            List<Long> lote = chaves.subList(inicio, Math.min(inicio + CHAVES_POR_CONSULTA, chaves.size()));
+            Map<Long, SketchEstatistica> existentes = sketchRepository.findByTipoAndChaveIn(tipo, lote).stream()
+                .collect(Collectors.toMap(SketchEstatistica::getChave, Function.identity()));
+            for (Long chave : lote) {
+                SketchEstatistica existente = existentes.get(chave);
+                if (existente == null) {
+                    entityManager.persist(new SketchEstatistica(tipo, chave, serializar.apply(periodo.get(chave)), agora));
+                } else {
+                    existente.atualizar(mesclar.apply(existente.getDados(), periodo.get(chave)), agora);
+                }
+            }
+            // Contexto de persistência limitado a um lote de sketches
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return chaves.size();
+    }
+
+    private static byte[] mesclarQuantis(byte[] persistido, SketchQuantis periodo) {
+        SketchQuantis sketch = SketchQuantis.desserializar(persistido);
+        sketch.mesclar(periodo);
+        return sketch.serializar();
+    }
+
+    private static byte[] mesclarCompradores(byte[] persistido, HyperLogLog periodo) {
+        HyperLogLog sketch = HyperLogLog.desserializar(persistido);
+        sketch.mesclar(periodo);
+        return sketch.serializar();
+    }
+
+    private void lerPersistidos(Sketches destino) {
+        try (Stream<Object[]> linhas = sketchRepository.streamDados()) {
+            linhas.forEach(linha -> {
+                Long chave = (Long) linha[1];
+                byte[] dados = (byte[]) linha[2];
+                switch ((TipoSketch) linha[0]) {
+                    case VALOR_PEDIDOS_CLIENTE -> destino.valoresCliente.put(chave, SketchQuantis.desserializar(dados));
+                    case VALOR_ITENS_PRODUTO -> destino.valoresProduto.put(chave, SketchQuantis.desserializar(dados));
+                    case COMPRADORES_PRODUTO -> destino.compradoresProduto.put(chave, HyperLogLog.desserializar(dados));
+                }
+            });
+        }
+    }
+
+    private static AnalisePedidoRepository.ConsumidorItens coletor(Sketches destino) {
+        long[] pedidoAtual = {0L};
+        return (pedidoId, clienteId, valorPedidoCentavos, produtoId, subtotalCentavos) -> {
+            // Itens do mesmo pedido chegam consecutivos: o valor do pedido conta uma vez
+            if (pedidoId != pedidoAtual[0]) {
+                pedidoAtual[0] = pedidoId;
+                destino.registrarPedido(clienteId, valorPedidoCentavos);
+            }
+            destino.registrarItem(produtoId, clienteId, subtotalCentavos);
+        };
+    }
+
+    private static void aplicar(Sketches destino, PedidoCriadoEvent evento) {
+        destino.registrarPedido(evento.clienteId(), evento.valorTotal().getCentavos());
+        for (PedidoCriadoEvent.Item item : evento.itens()) {
+            destino.registrarItem(item.produtoId(), evento.clienteId(), item.subtotal().getCentavos());
+        }
+    }
+
+    private void agendarAtualizacao() {
+        if (atualizacaoPendente.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                atualizacaoPendente.set(false);
+                try {
+                    consolidar();
+                } catch (RuntimeException e) {
+                    // Os pedidos seguem fora dos sketches persistidos até a próxima consolidação
+                    log.error("Falha ao consolidar estatísticas de pedidos", e);
+                }
+                try {
+                    carregar();
+                } catch (RuntimeException e) {
+                    // Sketches em memória seguem em uso até a próxima tentativa
+                    log.error("Falha ao carregar estatísticas de pedidos", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    /**
+     * One generation of sketches
+     */
+    private static final class Sketches {
+
+        final Map<Long, SketchQuantis> valoresCliente = new ConcurrentHashMap<>();
+        final Map<Long, SketchQuantis> valoresProduto = new ConcurrentHashMap<>();
+        final Map<Long, HyperLogLog> compradoresProduto = new ConcurrentHashMap<>();
+
+        void registrarPedido(long clienteId, long valorCentavos) {
+            valoresCliente.computeIfAbsent(clienteId, id -> new SketchQuantis()).adicionar(valorCentavos);
+        }
+
+        void registrarItem(long produtoId, long clienteId, long subtotalCentavos) {
+            valoresProduto.computeIfAbsent(produtoId, id -> new SketchQuantis()).adicionar(subtotalCentavos);
+            compradoresProduto.computeIfAbsent(produtoId, id -> new HyperLogLog()).adicionar(clienteId);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.event.PedidoCriadoEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Order events committed while an in-memory structure is reloaded from the database.
+ *
+ * Events keep being applied to the structure in use and are buffered as well. At the end
+ * of the load, inside the load's own transaction, {@link #marcarVistos} asks the database
+ * which buffered orders are visible in that snapshot: those were already read by the load.
+ * {@link #concluir} replays the others on the new structure and swaps it in under the lock
+ * the events take, so an event is neither lost nor counted twice.
+ *
+ * An order can commit before the load's snapshot while its after-commit listener only
+ * runs after the visibility check, so {@link #publicado} also tracks, from publication
+ * until the event arrives, the orders whose commit is in flight. The visibility check
+ * covers them too; those the load read are neither replayed nor applied to the new
+ * structure when their event arrives. An order published after the check commits after
+ * the snapshot, so replaying it is right.
+ *
+ * Order ids cannot serve as a watermark: they do not follow commit order (concurrent
+ * transactions, pooled sequence blocks per instance, pending orders decided later). The
+ * load transaction must be REPEATABLE READ, so its queries and the visibility check share
+ * one snapshot.
+ */
+final class EventosDuranteCarga {
+
+    /**
+     * Maximum number of order ids per visibility query
+     */
+    static final int IDS_POR_CONSULTA = 500;
+
+    private final Object lock = new Object();
+    private final Map<Long, PedidoCriadoEvent> emVoo = new HashMap<>();
+    private final Set<Long> lidosAntesDoEvento = new HashSet<>();
+    private List<PedidoCriadoEvent> eventos;
+    private Set<Long> vistos;
+
+    /**
+     * Starts buffering; must be called before the load opens its transaction
+     */
+    void iniciar() {
+        synchronized (lock) {
+            eventos = new ArrayList<>();
+            vistos = new HashSet<>();
+        }
+    }
+
+    /**
+     * Tracks an order from its publication, inside the ordering transaction, until its
+     * event is received or the transaction rolls back. Must see the same events as
+     * {@link #receber}; without a transaction the event is never delivered and is ignored.
+     */
+    void publicado(PedidoCriadoEvent evento) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        synchronized (lock) {
+            emVoo.put(evento.pedidoId(), evento);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Após o commit quem retira o pedido é receber, no mesmo bloco em que o registra
+                if (status != STATUS_COMMITTED) {
+                    synchronized (lock) {
+                        emVoo.remove(evento.pedidoId());
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies a committed event to the structure in use, buffering it while a load runs
+     */
+    void receber(PedidoCriadoEvent evento, Consumer<PedidoCriadoEvent> aplicar) {
+        synchronized (lock) {
+            emVoo.remove(evento.pedidoId());
+            if (lidosAntesDoEvento.remove(evento.pedidoId())) {
+                // A carga em uso já leu este pedido
+                return;
+            }
+            if (eventos != null) {
+                eventos.add(evento);
+            }
+            aplicar.accept(evento);
+        }
+    }
+
+    /**
+     * Marks the buffered and in-flight events whose orders the load already read. Must run inside the load
+     * transaction, after its queries; the database is queried outside the lock.
+     *
+     * @param daCarga selects the events covered by this load (e.g. its partition of customers)
+     * @param decididos returns, among the given order ids, those decided in the load's snapshot
+     */
+    void marcarVistos(Predicate<PedidoCriadoEvent> daCarga, Function<List<Long>, List<Long>> decididos) {
+        List<Long> ids = new ArrayList<>();
+        synchronized (lock) {
+            for (PedidoCriadoEvent evento : eventos) {
+                if (daCarga.test(evento)) {
+                    ids.add(evento.pedidoId());
+                }
+            }
+            for (PedidoCriadoEvent evento : emVoo.values()) {
+                if (daCarga.test(evento)) {
+                    ids.add(evento.pedidoId());
+                }
+            }
+        }
+        List<Long> visiveis = new ArrayList<>();
+        for (int inicio = 0; inicio < ids.size(); inicio += IDS_POR_CONSULTA) {
+            visiveis.addAll(decididos.apply(ids.subList(inicio, Math.min(inicio + IDS_POR_CONSULTA, ids.size()))));
+        }
+        synchronized (lock) {
+            vistos.addAll(visiveis);
+        }
+    }
+
+    /**
+     * Replays on the new structure the buffered events the load did not read, swaps it in
+     * and stops buffering, atomically with respect to new events
+     */
+    void concluir(Consumer<PedidoCriadoEvent> aplicarNaNova, Runnable trocar) {
+        synchronized (lock) {
+            for (PedidoCriadoEvent evento : eventos) {
+                if (!vistos.contains(evento.pedidoId())) {
+                    aplicarNaNova.accept(evento);
+                }
+            }
+            trocar.run();
+            // Pedidos lidos pela carga cujo evento ainda não chegou não entram de novo
+            for (Long pedidoId : vistos) {
+                if (emVoo.containsKey(pedidoId)) {
+                    lidosAntesDoEvento.add(pedidoId);
+                }
+            }
+            eventos = null;
+            vistos = null;
+        }
+    }
+
+    /**
+     * Stops buffering after a failed load; the structure in use stays as it is
+     */
+    void cancelar() {
+        synchronized (lock) {
+            eventos = null;
+            vistos = null;
+        }
+    }
+}
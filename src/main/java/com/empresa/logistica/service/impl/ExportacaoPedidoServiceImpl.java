@@ -0,0 +1,57 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.FormatoExportacao;
+import com.empresa.logistica.repository.ExportacaoPedidoRepository;
+import com.empresa.logistica.service.ExportacaoPedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Service implementation for the bulk order export.
+ *
+ * One read-only transaction keeps the JDBC cursor open while rows are written
+ * straight to the output, so memory is bounded by the driver's fetch batch
+ * whatever the size of the period.
+ */
+@Service
+@Transactional(readOnly = true)
+@Slf4j
+@RequiredArgsConstructor
+public class ExportacaoPedidoServiceImpl implements ExportacaoPedidoService {
+
+    private final ExportacaoPedidoRepository exportacaoRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void exportar(FormatoExportacao formato, LocalDate de, LocalDate ate, OutputStream saida)
+            throws IOException {
+        LocalDateTime desde = de != null ? de.atStartOfDay() : null;
+        LocalDateTime limite = ate != null ? ate.plusDays(1).atStartOfDay() : null;
+
+        EscritorExportacao escritor = EscritorExportacao.para(formato, saida, objectMapper);
+        try {
+            exportacaoRepository.percorrer(desde, limite, linha -> {
+                try {
+                    escritor.escrever(linha);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Cliente desconectado no meio da exportação: o cursor é fechado pelo JdbcTemplate
+            throw e.getCause();
+        }
+        escritor.finalizar();
+
+        log.info("Exportados {} pedidos em {} (de {} até {})", escritor.getPedidos(), formato, de, ate);
+    }
+}
@@ -0,0 +1,264 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.dto.ClienteDTO;
+import com.empresa.logistica.dto.ConsistenciaIndiceCreditoDTO;
+import com.empresa.logistica.dto.MetricasBloqueioCreditoDTO;
+import com.empresa.logistica.model.ExposicaoCreditoDiaria;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.repository.ExposicaoCreditoDiariaRepository;
+import com.empresa.logistica.repository.ModoContagem;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.RelatorioCreditoRepository;
+import com.empresa.logistica.service.ExposicaoCreditoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Service implementation for credit exposure.
+ *
+ * Reads are served by the in-memory {@link IndiceExposicaoCredito} once it is
+ * loaded, falling back to the daily ledger otherwise. Credit decisions read the
+ * ledger while holding the customer's {@link BloqueioCreditoCliente} lock. The window covers the last
+ * CREDIT_LIMIT_DAYS days plus today at day granularity, so an order placed on the
+ * oldest day of the window counts for the whole day (conservative for credit approval).
+ */
+@Service
+@Transactional
+@Slf4j
+@RequiredArgsConstructor
+public class ExposicaoCreditoServiceImpl implements ExposicaoCreditoService {
+
+    private static final BigDecimal PERCENTUAL_TOTAL = new BigDecimal("100.00");
+    private static final BigDecimal PERCENTUAL_ZERO = new BigDecimal("0.00");
+
+    private final ExposicaoCreditoDiariaRepository exposicaoRepository;
+    private final PedidoRepository pedidoRepository;
+    private final RelatorioCreditoRepository relatorioCreditoRepository;
+    private final IndiceExposicaoCredito indiceExposicao;
+    private final BloqueioCreditoCliente bloqueioCreditoCliente;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Money calcularValorUtilizado(Long clienteId) {
+        OptionalLong centavos = indiceExposicao.valorUtilizadoCentavos(clienteId);
+        if (centavos.isPresent()) {
+            return Money.ofCentavos(centavos.getAsLong());
+        }
+        return Money.of(exposicaoRepository.totalExposicaoDesde(clienteId, inicioJanela()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Money bloquearECalcularValorUtilizado(Long clienteId) {
+        bloqueioCreditoCliente.bloquear(clienteId);
+        // Sob o bloqueio lê-se o ledger: o índice em memória só é atualizado após o commit
+        // e não enxerga pedidos de outras instâncias
+        return Money.of(exposicaoRepository.totalExposicaoDesde(clienteId, inicioJanela()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Money> bloquearECalcularValoresUtilizados(Collection<Long> clienteIds) {
+        // Ordem global de aquisição: lotes com clientes em comum nunca esperam um pelo outro em ciclo
+        List<Long> ordenados = clienteIds.stream().distinct().sorted().toList();
+        for (Long clienteId : ordenados) {
+            bloqueioCreditoCliente.bloquear(clienteId);
+        }
+        return totaisLedger(ordenados);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Money> calcularValoresUtilizados(Collection<Long> clienteIds) {
+        Map<Long, Money> valores = new HashMap<>();
+        if (clienteIds.isEmpty()) {
+            return valores;
+        }
+
+        if (indiceExposicao.isPronto()) {
+            boolean completo = true;
+            for (Long clienteId : clienteIds) {
+                OptionalLong centavos = indiceExposicao.valorUtilizadoCentavos(clienteId);
+                if (centavos.isEmpty()) {
+                    // Índice entrou em reconstrução durante a leitura
+                    completo = false;
+                    break;
+                }
+                valores.put(clienteId, Money.ofCentavos(centavos.getAsLong()));
+            }
+            if (completo) {
+                return valores;
+            }
+        }
+
+        // Fallback: uma única consulta agrupada no ledger para todos os clientes
+        return totaisLedger(clienteIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void completarCredito(List<ClienteDTO> clientes) {
+        if (clientes.isEmpty()) {
+            return;
+        }
+        List<Long> clienteIds = clientes.stream().map(ClienteDTO::getId).toList();
+        Map<Long, Money> valoresUtilizados = calcularValoresUtilizados(clienteIds);
+        for (ClienteDTO cliente : clientes) {
+            BigDecimal valorUtilizado = valoresUtilizados.getOrDefault(cliente.getId(), Money.ZERO).toBigDecimal();
+            cliente.setValorUtilizado(valorUtilizado);
+            cliente.setSaldoDisponivel(cliente.getLimiteCredito().subtract(valorUtilizado));
+            cliente.setPercentualUtilizado(percentualUtilizado(valorUtilizado, cliente.getLimiteCredito()));
+        }
+        completarTotalPedidos(clientes, clienteIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ClienteDTO> listarUtilizacaoCredito(BigDecimal percentualMinimo, BigDecimal percentualMaximo,
+                                                     Pageable pageable, ModoContagem contagem) {
+        if (percentualMinimo != null && percentualMaximo != null && percentualMinimo.compareTo(percentualMaximo) > 0) {
+            throw new IllegalArgumentException("Faixa de percentual inválida: mínimo maior que o máximo");
+        }
+        for (Sort.Order ordem : pageable.getSort()) {
+            if (!RelatorioCreditoRepository.isOrdenavel(ordem.getProperty())) {
+                throw new IllegalArgumentException("Ordenação não suportada no relatório de crédito: " + ordem.getProperty());
+            }
+        }
+        RelatorioCreditoRepository.Filtro filtro =
+            new RelatorioCreditoRepository.Filtro(inicioJanela(), percentualMinimo, percentualMaximo);
+
+        Slice<ClienteDTO> clientes = contagem.paginar(pageable,
+            p -> relatorioCreditoRepository.buscarSlice(filtro, p),
+            p -> relatorioCreditoRepository.buscarPagina(filtro, p),
+            () -> relatorioCreditoRepository.estimar(filtro));
+        completarTotalPedidos(clientes.getContent(),
+            clientes.getContent().stream().map(ClienteDTO::getId).toList());
+        return clientes;
+    }
+
+    @Override
+    public void registrarPedidoAprovado(Long clienteId, LocalDate dia, Money valor) {
+        // Sem corrida na criação do bucket: escritas do cliente ocorrem sob o seu bloqueio de crédito
+        if (exposicaoRepository.acumular(clienteId, dia, valor) == 0) {
+            exposicaoRepository.save(new ExposicaoCreditoDiaria(clienteId, dia, valor));
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${credito.exposicao.expiracao-cron:0 15 0 * * *}")
+    public int expirarBucketsAntigos() {
+        int removidos = exposicaoRepository.removerAnterioresA(inicioJanela());
+        log.info("Expirados {} buckets de exposição de crédito", removidos);
+        return removidos;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConsistenciaIndiceCreditoDTO verificarConsistenciaIndice() {
+        Map<Long, Long> valoresIndice = indiceExposicao.valoresUtilizadosCentavos();
+
+        Map<Long, Long> valoresBanco = new HashMap<>();
+        for (Object[] linha : pedidoRepository.totaisAprovadosPorCliente(inicioJanela().atStartOfDay())) {
+            valoresBanco.put((Long) linha[0], Money.of((BigDecimal) linha[1]).getCentavos());
+        }
+
+        Set<Long> clienteIds = new HashSet<>(valoresBanco.keySet());
+        clienteIds.addAll(valoresIndice.keySet());
+
+        List<ConsistenciaIndiceCreditoDTO.Divergencia> divergencias = new ArrayList<>();
+        for (Long clienteId : clienteIds) {
+            long indice = valoresIndice.getOrDefault(clienteId, 0L);
+            long banco = valoresBanco.getOrDefault(clienteId, 0L);
+            if (indice != banco) {
+                divergencias.add(ConsistenciaIndiceCreditoDTO.Divergencia.builder()
+                    .clienteId(clienteId)
+                    .valorIndice(Money.ofCentavos(indice).toBigDecimal())
+                    .valorBanco(Money.ofCentavos(banco).toBigDecimal())
+                    .build());
+            }
+        }
+
+        if (!divergencias.isEmpty()) {
+            log.warn("Índice de exposição de crédito divergente para {} clientes", divergencias.size());
+        }
+
+        return ConsistenciaIndiceCreditoDTO.builder()
+            .indicePronto(indiceExposicao.isPronto())
+            .ultimaReconstrucao(indiceExposicao.getUltimaReconstrucao())
+            .clientesNoIndice(indiceExposicao.getTotalClientes())
+            .clientesVerificados(clienteIds.size())
+            .consistente(divergencias.isEmpty())
+            .divergencias(divergencias)
+            .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ConsistenciaIndiceCreditoDTO reconstruirIndice() {
+        indiceExposicao.reconstruir();
+        return verificarConsistenciaIndice();
+    }
+
+    @Override
+    public MetricasBloqueioCreditoDTO obterMetricasBloqueio(int limiteClientes) {
+        return bloqueioCreditoCliente.getMetricas(limiteClientes);
+    }
+
+    private Map<Long, Money> totaisLedger(Collection<Long> clienteIds) {
+        Map<Long, Money> valores = new HashMap<>();
+        if (clienteIds.isEmpty()) {
+            return valores;
+        }
+        for (Object[] linha : exposicaoRepository.totaisExposicaoDesde(clienteIds, inicioJanela())) {
+            valores.put((Long) linha[0], Money.of((BigDecimal) linha[1]));
+        }
+        for (Long clienteId : clienteIds) {
+            valores.putIfAbsent(clienteId, Money.ZERO);
+        }
+        return valores;
+    }
+
+    private void completarTotalPedidos(List<ClienteDTO> clientes, List<Long> clienteIds) {
+        if (clienteIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> totaisPedidos = pedidoRepository.contarPedidosPorClientesNoResumo(clienteIds);
+        for (ClienteDTO cliente : clientes) {
+            cliente.setTotalPedidos(Math.toIntExact(totaisPedidos.getOrDefault(cliente.getId(), 0L)));
+        }
+    }
+
+    /**
+     * Same rule as the report query: a zero limit with any exposure counts as fully used
+     */
+    private static BigDecimal percentualUtilizado(BigDecimal valorUtilizado, BigDecimal limiteCredito) {
+        if (limiteCredito.signum() > 0) {
+            return valorUtilizado.multiply(PERCENTUAL_TOTAL).divide(limiteCredito, 2, RoundingMode.HALF_UP);
+        }
+        return valorUtilizado.signum() > 0 ? PERCENTUAL_TOTAL : PERCENTUAL_ZERO;
+    }
+
+    private LocalDate inicioJanela() {
+        return LocalDate.now().minusDays(ApplicationConstants.CREDIT_LIMIT_DAYS);
+    }
+}
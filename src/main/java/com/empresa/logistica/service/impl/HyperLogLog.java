@@ -0,0 +1,87 @@
+package com.empresa.logistica.service.impl;
+
+/**
+ * HyperLogLog distinct counter over long ids, with a fixed footprint of
+ * {@link #REGISTRADORES} one-byte registers (standard error about 2.3%).
+ *
+ * Two counters are merged by taking the register-wise maximum, so the result is
+ * the same as counting both streams together. Small cardinalities use linear
+ * counting over the empty registers, which has a lower error there.
+ */
+final class HyperLogLog {
+
+    static final int PRECISAO = 11;
+    static final int REGISTRADORES = 1 << PRECISAO;
+
+    private static final double ALFA = 0.7213 / (1.0 + 1.079 / REGISTRADORES);
+
+    private final byte[] registradores;
+
+    HyperLogLog() {
+        this(new byte[REGISTRADORES]);
+    }
+
+    private HyperLogLog(byte[] registradores) {
+        this.registradores = registradores;
+    }
+
+    synchronized void adicionar(long valor) {
+        long hash = misturar(valor);
+        int registrador = (int) (hash >>> (Long.SIZE - PRECISAO));
+        // Posição do primeiro bit 1 nos bits restantes; o bit sentinela limita o máximo a 64 - PRECISAO + 1
+        byte posicao = (byte) (Long.numberOfLeadingZeros((hash << PRECISAO) | (1L << (PRECISAO - 1))) + 1);
+        if (posicao > registradores[registrador]) {
+            registradores[registrador] = posicao;
+        }
+    }
+
+    void mesclar(HyperLogLog outro) {
+        // Cópia tirada fora do próprio bloqueio: nunca segura os dois monitores ao mesmo tempo
+        byte[] deOutro = outro.serializar();
+        synchronized (this) {
+            for (int i = 0; i < REGISTRADORES; i++) {
+                if (deOutro[i] > registradores[i]) {
+                    registradores[i] = deOutro[i];
+                }
+            }
+        }
+    }
+
+    synchronized long estimar() {
+        double soma = 0.0;
+        int vazios = 0;
+        for (byte registrador : registradores) {
+            soma += Math.scalb(1.0, -registrador);
+            if (registrador == 0) {
+                vazios++;
+            }
+        }
+        double estimativa = ALFA * REGISTRADORES * REGISTRADORES / soma;
+        if (estimativa <= 2.5 * REGISTRADORES && vazios > 0) {
+            // Contagem linear: mais precisa enquanto há registradores vazios
+            estimativa = REGISTRADORES * Math.log((double) REGISTRADORES / vazios);
+        }
+        return Math.round(estimativa);
+    }
+
+    synchronized byte[] serializar() {
+        return registradores.clone();
+    }
+
+    static HyperLogLog desserializar(byte[] dados) {
+        if (dados.length != REGISTRADORES) {
+            throw new IllegalArgumentException("HyperLogLog serializado com " + dados.length + " registradores");
+        }
+        return new HyperLogLog(dados.clone());
+    }
+
+    /**
+     * SplitMix64 finalizer: spreads sequential ids over all 64 bits
+     */
+    private static long misturar(long valor) {
+        long z = valor + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
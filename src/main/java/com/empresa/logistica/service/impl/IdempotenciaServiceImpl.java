@@ -0,0 +1,239 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.PedidoDTO;
+import com.empresa.logistica.exception.ConflitoIdempotenciaException;
+import com.empresa.logistica.model.ChaveIdempotencia;
+import com.empresa.logistica.repository.ChaveIdempotenciaRepository;
+import com.empresa.logistica.service.IdempotenciaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service implementation for idempotent order creation.
+ *
+ * The database table is the source of truth: the key is inserted in the same
+ * transaction as the order, so a duplicate on another instance blocks on the
+ * primary key until the first execution commits and then replays its response.
+ * Inside one instance, duplicates wait on the in-flight execution instead of
+ * reaching the database, and recently completed keys are answered from an LRU
+ * that applies the same retention as the table.
+ */
+@Service
+@Slf4j
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+    static final int TAMANHO_MAXIMO_CHAVE = 255;
+
+    private final ChaveIdempotenciaRepository chaveRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long esperaMs;
+    private final long retencaoHoras;
+
+    private final Map<String, Registro> recentes;
+    private final ConcurrentHashMap<String, CompletableFuture<Registro>> emExecucao = new ConcurrentHashMap<>();
+
+    public IdempotenciaServiceImpl(ChaveIdempotenciaRepository chaveRepository,
+                                   ObjectMapper objectMapper,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${pedidos.idempotencia.cache-tamanho:10000}") int cacheTamanho,
+                                   @Value("${pedidos.idempotencia.espera-ms:30000}") long esperaMs,
+                                   @Value("${pedidos.idempotencia.retencao-horas:24}") long retencaoHoras) {
+        this.chaveRepository = chaveRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.esperaMs = esperaMs;
+        this.retencaoHoras = retencaoHoras;
+        this.recentes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Registro> maisAntigo) {
+                return size() > cacheTamanho;
+            }
+        });
+    }
+
+    @Override
+    public RespostaIdempotente executar(String chave, Object requisicao, int statusHttp, Supplier<PedidoDTO> operacao) {
+        validarChave(chave);
+        String hash = hash(requisicao);
+
+        Registro recente = recentes.get(chave);
+        if (recente != null) {
+            if (!expirado(recente, limiteRetencao())) {
+                return repetir(chave, hash, recente);
+            }
+            recentes.remove(chave, recente);
+        }
+
+        CompletableFuture<Registro> execucao = new CompletableFuture<>();
+        CompletableFuture<Registro> emAndamento = emExecucao.putIfAbsent(chave, execucao);
+        if (emAndamento != null) {
+            // Duplicata concorrente nesta instância: aguarda a primeira execução
+            return repetir(chave, hash, aguardar(chave, emAndamento));
+        }
+
+        try {
+            ChaveIdempotencia salva = chaveRepository.findById(chave)
+                .filter(ChaveIdempotencia::isConcluida)
+                .orElse(null);
+            if (salva != null) {
+                Registro registro = concluir(chave, execucao, paraRegistro(salva));
+                return repetir(chave, hash, registro);
+            }
+
+            try {
+                Registro registro = concluir(chave, execucao, executarNaTransacao(chave, hash, statusHttp, operacao));
+                return new RespostaIdempotente(registro.statusHttp(), registro.pedido(), false);
+            } catch (ChaveJaRegistradaException e) {
+                // Outra instância registrou a chave e já fez commit: devolve a resposta gravada por ela
+                log.info("Idempotency-Key {} concluída por execução concorrente", chave);
+                ChaveIdempotencia concorrente = chaveRepository.findById(chave)
+                    .filter(ChaveIdempotencia::isConcluida)
+                    .orElseThrow(() -> new ConflitoIdempotenciaException("Idempotency-Key em uso por outra requisição: " + chave));
+                Registro registro = concluir(chave, execucao, paraRegistro(concorrente));
+                return repetir(chave, hash, registro);
+            }
+        } catch (RuntimeException e) {
+            // Nada foi gravado: as duplicatas em espera recebem o mesmo erro e novas tentativas executam de novo
+            execucao.completeExceptionally(e);
+            throw e;
+        } finally {
+            emExecucao.remove(chave, execucao);
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${pedidos.idempotencia.expiracao-cron:0 30 * * * *}")
+    public int expirarChavesAntigas() {
+        LocalDateTime limite = limiteRetencao();
+        int removidas = chaveRepository.removerAnterioresA(limite);
+        synchronized (recentes) {
+            recentes.values().removeIf(registro -> expirado(registro, limite));
+        }
+        log.info("Expiradas {} chaves de idempotência", removidas);
+        return removidas;
+    }
+
+    private Registro executarNaTransacao(String chave, String hash, int statusHttp, Supplier<PedidoDTO> operacao) {
+        return transactionTemplate.execute(status -> {
+            // Ocupa a chave antes do trabalho: uma duplicata em outra instância espera aqui
+            LocalDateTime dataCriacao = LocalDateTime.now();
+            try {
+                chaveRepository.registrar(chave, hash, dataCriacao);
+            } catch (DataIntegrityViolationException e) {
+                // Só a chave primária da chave: violações do próprio pedido seguem como estão
+                throw new ChaveJaRegistradaException(e);
+            }
+            PedidoDTO pedido = operacao.get();
+            chaveRepository.concluir(chave, statusHttp, pedido.getId(), serializar(pedido));
+            return new Registro(hash, statusHttp, pedido, dataCriacao);
+        });
+    }
+
+    private Registro concluir(String chave, CompletableFuture<Registro> execucao, Registro registro) {
+        recentes.put(chave, registro);
+        execucao.complete(registro);
+        return registro;
+    }
+
+    private RespostaIdempotente repetir(String chave, String hash, Registro registro) {
+        if (!registro.hash().equals(hash)) {
+            throw new IllegalArgumentException("Idempotency-Key já utilizada com outra requisição: " + chave);
+        }
+        log.info("Repetindo resposta da Idempotency-Key {} (pedido {})", chave, registro.pedido().getId());
+        return new RespostaIdempotente(registro.statusHttp(), registro.pedido(), true);
+    }
+
+    private Registro aguardar(String chave, CompletableFuture<Registro> emAndamento) {
+        try {
+            return emAndamento.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha na execução da Idempotency-Key " + chave, e.getCause());
+        } catch (TimeoutException e) {
+            throw new ConflitoIdempotenciaException("Requisição com a Idempotency-Key " + chave + " ainda em execução");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Espera pela Idempotency-Key " + chave + " interrompida");
+        }
+    }
+
+    private Registro paraRegistro(ChaveIdempotencia salva) {
+        try {
+            return new Registro(salva.getHashRequisicao(), salva.getStatusHttp(),
+                objectMapper.readValue(salva.getResposta(), PedidoDTO.class), salva.getDataCriacao());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Resposta gravada inválida para a Idempotency-Key " + salva.getChave(), e);
+        }
+    }
+
+    private String serializar(PedidoDTO pedido) {
+        try {
+            return objectMapper.writeValueAsString(pedido);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Não foi possível serializar o pedido " + pedido.getId(), e);
+        }
+    }
+
+    private String hash(Object requisicao) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(requisicao)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Não foi possível calcular o hash da requisição", e);
+        }
+    }
+
+    private LocalDateTime limiteRetencao() {
+        return LocalDateTime.now().minusHours(retencaoHoras);
+    }
+
+    private static boolean expirado(Registro registro, LocalDateTime limite) {
+        return !registro.dataCriacao().isAfter(limite);
+    }
+
+    private static void validarChave(String chave) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new IllegalArgumentException(
+                "Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+    }
+
+    private record Registro(String hash, int statusHttp, PedidoDTO pedido, LocalDateTime dataCriacao) {
+    }
+
+    /**
+     * The key was registered by a transaction that has already committed
+     */
+    private static final class ChaveJaRegistradaException extends RuntimeException {
+
+        ChaveJaRegistradaException(DataIntegrityViolationException causa) {
+            super(causa);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.event.PedidoCriadoEvent;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.PedidoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory sliding-window index of approved order value per customer.
+ *
+ * Each customer holds one bucket per day of the credit window as primitive
+ * long-cent arrays. The index is rebuilt from the pedido table at startup
+ * (partitioned by cliente_id and loaded in parallel) and updated after each
+ * order commit. While a rebuild is running, {@link #valorUtilizadoCentavos}
+ * returns empty and callers fall back to the database.
+ *
+ * Orders committed while a rebuild is loading are buffered and replayed on the
+ * new index unless the partition that loaded their customer already read them
+ * (see {@link EventosDuranteCarga}).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class IndiceExposicaoCredito {
+
+    static final int DIAS_JANELA = ApplicationConstants.CREDIT_LIMIT_DAYS + 1;
+
+    private final PedidoRepository pedidoRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${credito.indice.particoes:4}")
+    private int particoes;
+
+    private volatile Map<Long, BucketsCliente> clientes = new ConcurrentHashMap<>();
+    private volatile boolean pronto;
+    private volatile LocalDateTime ultimaReconstrucao;
+
+    private final EventosDuranteCarga eventosDuranteReconstrucao = new EventosDuranteCarga();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        reconstruir();
+    }
+
+    /**
+     * Rebuilds the whole index from the pedido table and swaps it atomically
+     *
+     * @return number of customers loaded
+     */
+    public synchronized int reconstruir() {
+        pronto = false;
+        eventosDuranteReconstrucao.iniciar();
+
+        long inicio = System.currentTimeMillis();
+        LocalDateTime dataInicio = inicioJanela().atStartOfDay();
+        Map<Long, BucketsCliente> novoIndice = new ConcurrentHashMap<>();
+        // Cada partição lê e confere os eventos recebidos no mesmo snapshot
+        TransactionTemplate transacaoParticao = new TransactionTemplate(transactionManager);
+        transacaoParticao.setReadOnly(true);
+        transacaoParticao.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        ExecutorService executor = Executors.newFixedThreadPool(particoes);
+        try {
+            List<CompletableFuture<List<Object[]>>> cargas = new ArrayList<>();
+            for (int particao = 0; particao < particoes; particao++) {
+                final int p = particao;
+                cargas.add(CompletableFuture.supplyAsync(() -> transacaoParticao.execute(status -> {
+                    List<Object[]> linhas = pedidoRepository.totaisAprovadosPorClienteEDia(dataInicio, particoes, p);
+                    eventosDuranteReconstrucao.marcarVistos(
+                        evento -> Math.floorMod(evento.clienteId(), particoes) == p,
+                        pedidoRepository::findIdsDecididosByIdIn);
+                    return linhas;
+                }), executor));
+            }
+            for (CompletableFuture<List<Object[]>> carga : cargas) {
+                for (Object[] linha : carga.join()) {
+                    Long clienteId = (Long) linha[0];
+                    LocalDate dia = (LocalDate) linha[1];
+                    novoIndice.computeIfAbsent(clienteId, id -> new BucketsCliente())
+                        .adicionar(dia.toEpochDay(), Money.of((BigDecimal) linha[2]).getCentavos());
+                }
+            }
+        } catch (RuntimeException e) {
+            eventosDuranteReconstrucao.cancelar();
+            log.error("Falha ao reconstruir índice de exposição de crédito", e);
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+
+        eventosDuranteReconstrucao.concluir(evento -> aplicar(novoIndice, evento), () -> {
+            clientes = novoIndice;
+            ultimaReconstrucao = LocalDateTime.now();
+            pronto = true;
+        });
+
+        log.info("Índice de exposição de crédito reconstruído: {} clientes em {} ms",
+            novoIndice.size(), System.currentTimeMillis() - inicio);
+        return novoIndice.size();
+    }
+
+    @EventListener
+    public void onPedidoPublicado(PedidoCriadoEvent evento) {
+        // Ainda dentro da transação do pedido: acompanha o commit em andamento
+        if (evento.status() != StatusPedido.APROVADO) {
+            return;
+        }
+        eventosDuranteReconstrucao.publicado(evento);
+    }
+
+    @TransactionalEventListener
+    public void onPedidoCriado(PedidoCriadoEvent evento) {
+        if (evento.status() != StatusPedido.APROVADO) {
+            return;
+        }
+        eventosDuranteReconstrucao.receber(evento, e -> aplicar(clientes, e));
+    }
+
+    /**
+     * Returns the customer's exposure in cents, or empty while the index is not loaded
+     */
+    public OptionalLong valorUtilizadoCentavos(Long clienteId) {
+        if (!pronto) {
+            return OptionalLong.empty();
+        }
+        BucketsCliente buckets = clientes.get(clienteId);
+        return OptionalLong.of(buckets == null ? 0L : buckets.somarDesde(inicioJanela().toEpochDay()));
+    }
+
+    /**
+     * Returns a copy of all customers' exposure in cents (for consistency checks)
+     */
+    public Map<Long, Long> valoresUtilizadosCentavos() {
+        long diaInicio = inicioJanela().toEpochDay();
+        Map<Long, Long> valores = new HashMap<>();
+        clientes.forEach((clienteId, buckets) -> {
+            long total = buckets.somarDesde(diaInicio);
+            if (total != 0) {
+                valores.put(clienteId, total);
+            }
+        });
+        return valores;
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public int getTotalClientes() {
+        return clientes.size();
+    }
+
+    public LocalDateTime getUltimaReconstrucao() {
+        return ultimaReconstrucao;
+    }
+
+    static LocalDate inicioJanela() {
+        return LocalDate.now().minusDays(ApplicationConstants.CREDIT_LIMIT_DAYS);
+    }
+
+    private static void aplicar(Map<Long, BucketsCliente> indice, PedidoCriadoEvent evento) {
+        indice.computeIfAbsent(evento.clienteId(), id -> new BucketsCliente())
+            .adicionar(evento.dataPedido().toLocalDate().toEpochDay(), evento.valorTotal().getCentavos());
+    }
+
+    /**
+     * Ring of daily buckets of one customer, indexed by epoch day modulo the window size
+     */
+    static final class BucketsCliente {
+
+        private final long[] dias = new long[DIAS_JANELA];
+        private final long[] centavos = new long[DIAS_JANELA];
+
+        BucketsCliente() {
+            Arrays.fill(dias, Long.MIN_VALUE);
+        }
+
+        synchronized void adicionar(long diaEpoch, long valorCentavos) {
+            int slot = (int) Math.floorMod(diaEpoch, (long) DIAS_JANELA);
+            if (dias[slot] != diaEpoch) {
+                if (dias[slot] > diaEpoch) {
+                    // Bucket mais antigo que o slot atual: já está fora da janela
+                    return;
+                }
+                dias[slot] = diaEpoch;
+                centavos[slot] = 0L;
+            }
+            centavos[slot] += valorCentavos;
+        }
+
+        synchronized long somarDesde(long diaInicio) {
+            long total = 0L;
+            for (int i = 0; i < DIAS_JANELA; i++) {
+                if (dias[i] >= diaInicio) {
+                    total += centavos[i];
+                }
+            }
+            return total;
+        }
+    }
+}
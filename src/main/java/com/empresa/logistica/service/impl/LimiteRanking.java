@@ -0,0 +1,20 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.config.ApplicationConstants;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Validates the {@code limite} of the top-N endpoints and turns it into the SQL row limit
+ */
+final class LimiteRanking {
+
+    private LimiteRanking() {
+    }
+
+    static Limit de(int limite) {
+        if (limite < 1 || limite > ApplicationConstants.MAX_LIMITE_TOP) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + ApplicationConstants.MAX_LIMITE_TOP);
+        }
+        return Limit.of(limite);
+    }
+}
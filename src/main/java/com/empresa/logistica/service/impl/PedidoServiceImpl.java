@@ -1,27 +1,51 @@
 package com.empresa.logistica.service.impl;
 
 import com.empresa.logistica.config.ApplicationConstants;
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.PaginaCursorDTO;
 import com.empresa.logistica.dto.PedidoDTO;
+import com.empresa.logistica.dto.ProjecaoPedido;
+import com.empresa.logistica.dto.ResultadoLotePedidosDTO;
 import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.event.PedidoCriadoEvent;
 import com.empresa.logistica.mapper.ClienteMapper;
 import com.empresa.logistica.mapper.ProdutoMapper;
 import com.empresa.logistica.model.*;
 import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.EstimativaContagemRepository;
+import com.empresa.logistica.repository.ItemPedidoRepository;
+import com.empresa.logistica.repository.ModoContagem;
 import com.empresa.logistica.repository.PedidoRepository;
-import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.ExposicaoCreditoService;
 import com.empresa.logistica.service.PedidoService;
+import com.empresa.logistica.service.ResumoPedidoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
@@ -33,111 +57,481 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PedidoServiceImpl implements PedidoService {
     
+    /**
+     * Orders persisted per flush in bulk creation (bounds the persistence context size)
+     */
+    private static final int TAMANHO_BLOCO_LOTE = 500;
+    
     private final PedidoRepository pedidoRepository;
     private final ClienteRepository clienteRepository;
-    private final ProdutoRepository produtoRepository;
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final ExposicaoCreditoService exposicaoCreditoService;
+    private final ResumoPedidoService resumoPedidoService;
+    private final EstimativaContagemRepository estimativaContagemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
     
     @Override
     public PedidoDTO criarPedido(CriarPedidoRequest request) {
         log.info("Criando pedido para cliente {}", request.getClienteId());
         
         // 1. Validar cliente existe
-        Cliente cliente = clienteRepository.findById(request.getClienteId())
-            .orElseThrow(() -> new EntityNotFoundException(ApplicationConstants.CLIENTE_NAO_ENCONTRADO + request.getClienteId()));
+        Cliente cliente = buscarCliente(request.getClienteId());
         
-        // 2. Buscar todos os produtos em uma única query para evitar N+1
-        List<Long> produtoIds = request.getItens().stream()
-            .map(item -> item.getProdutoId())
-            .distinct()
-            .toList();
+        // 2. Montar pedido com itens e valor total
+        Pedido pedido = montarPedido(cliente, request, carregarProdutos(request));
         
-        List<Produto> produtos = produtoRepository.findAllById(produtoIds);
-        if (produtos.size() != produtoIds.size()) {
-            throw new EntityNotFoundException("Um ou mais produtos não foram encontrados");
+        // 3. Validar limite de crédito - Saldo disponível
+        // Bloqueio por cliente até o commit: pedidos concorrentes do mesmo cliente (em qualquer
+        // instância) decidem em série sobre a exposição já confirmada; clientes distintos seguem em paralelo
+        Money valorPendente = exposicaoCreditoService.bloquearECalcularValorUtilizado(cliente.getId());
+        Money limiteCredito = lerLimiteCredito(cliente.getId());
+        StatusPedido status = decidirCredito(limiteCredito, pedido.getValorTotalMoney(), valorPendente);
+        pedido.setStatus(status);
+        
+        // 4. Persistir pedido e itens
+        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        
+        // 5. Atualizar exposição e resumo diário (na transação, índices após o commit)
+        registrarDecisao(pedidoSalvo);
+        resumoPedidoService.registrarPedidosDecididos(List.of(pedidoSalvo));
+        
+        log.info("Pedido {} criado com status {}", pedidoSalvo.getId(), status);
+        
+        // O índice só enxerga o pedido após o commit, então a exposição retornada já o inclui aqui
+        Money valorUtilizado = status == StatusPedido.APROVADO
+            ? valorPendente.plus(pedido.getValorTotalMoney()) : valorPendente;
+        return mapToDTO(pedidoSalvo, limiteCredito, valorUtilizado);
+    }
+    
+    @Override
+    public PedidoDTO receberPedido(CriarPedidoRequest request) {
+        log.info("Recebendo pedido assíncrono para cliente {}", request.getClienteId());
+        
+        Cliente cliente = buscarCliente(request.getClienteId());
+        Pedido pedido = montarPedido(cliente, request, carregarProdutos(request));
+        pedido.setStatus(StatusPedido.PENDENTE);
+        
+        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        log.info("Pedido {} recebido e aguardando decisão de crédito", pedidoSalvo.getId());
+        
+        return mapToDTO(pedidoSalvo);
+    }
+    
+    @Override
+    public int decidirPedidosPendentes(Long clienteId, int limite) {
+        // Bloqueio antes da leitura: outra instância pode estar decidindo o mesmo cliente
+        Money valorUtilizado = exposicaoCreditoService.bloquearECalcularValorUtilizado(clienteId);
+        
+        List<Pedido> pendentes = pedidoRepository.findByClienteIdAndStatusOrderByDataPedidoAscIdAsc(
+            clienteId, StatusPedido.PENDENTE, PageRequest.of(0, limite));
+        if (pendentes.isEmpty()) {
+            return 0;
         }
         
-        // Criar mapa para acesso O(1) aos produtos
-        Map<Long, Produto> produtoMap = produtos.stream()
+        // Decisão em ordem de chegada, acumulando a exposição dos pedidos aprovados no lote
+        Money limiteCredito = lerLimiteCredito(clienteId);
+        for (Pedido pedido : pendentes) {
+            StatusPedido status = decidirCredito(limiteCredito, pedido.getValorTotalMoney(), valorUtilizado);
+            pedido.setStatus(status);
+            if (status == StatusPedido.APROVADO) {
+                valorUtilizado = valorUtilizado.plus(pedido.getValorTotalMoney());
+            }
+            registrarDecisao(pedido);
+        }
+        resumoPedidoService.registrarPedidosDecididos(pendentes);
+        
+        log.info("Decididos {} pedidos pendentes do cliente {}", pendentes.size(), clienteId);
+        return pendentes.size();
+    }
+    
+    @Override
+    public ResultadoLotePedidosDTO criarPedidosEmLote(List<CriarPedidoRequest> requests) {
+        log.info("Criando lote de {} pedidos", requests.size());
+        
+        // 1. Carregar todos os clientes e produtos referenciados (cache de segundo nível, no máximo uma query cada)
+        Map<Long, Cliente> clientes = carregarPorIds(Cliente.class, requests.stream()
+                .map(CriarPedidoRequest::getClienteId)
+                .collect(Collectors.toSet())).stream()
+            .collect(Collectors.toMap(Cliente::getId, cliente -> cliente));
+        Map<Long, Produto> produtos = carregarPorIds(Produto.class, requests.stream()
+                .flatMap(request -> request.getItens().stream())
+                .map(item -> item.getProdutoId())
+                .collect(Collectors.toSet())).stream()
             .collect(Collectors.toMap(Produto::getId, produto -> produto));
         
-        // 3. Calcular valor total do pedido
-        BigDecimal valorTotal = BigDecimal.ZERO;
-        for (var item : request.getItens()) {
-            Produto produto = produtoMap.get(item.getProdutoId());
-            BigDecimal subtotal = produto.getPreco().multiply(BigDecimal.valueOf(item.getQuantidade()));
-            item.setSubtotal(subtotal);
-            valorTotal = valorTotal.add(subtotal);
+        // 2. Validar referências: pedidos inválidos falham individualmente, sem abortar o lote
+        ResultadoLotePedidosDTO.ResultadoPedido[] resultados = new ResultadoLotePedidosDTO.ResultadoPedido[requests.size()];
+        Map<Long, List<Integer>> indicesPorCliente = new TreeMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String erro = validarReferencias(requests.get(i), clientes, produtos);
+            if (erro != null) {
+                resultados[i] = ResultadoLotePedidosDTO.ResultadoPedido.builder()
+                    .indice(i)
+                    .clienteId(requests.get(i).getClienteId())
+                    .erro(erro)
+                    .build();
+            } else {
+                indicesPorCliente.computeIfAbsent(requests.get(i).getClienteId(), id -> new ArrayList<>()).add(i);
+            }
         }
         
-        // 3. Validar limite de crédito - Saldo disponível
-        // Buscar pedidos APROVADOS pendentes (não pagos/entregues) - simulamos como últimos 30 dias
-        LocalDateTime dataLimite = LocalDateTime.now().minusDays(30);
-        BigDecimal valorPendente = pedidoRepository.totalPedidosUltimos30Dias(
-            cliente.getId(), dataLimite);
-        
-        // Calcular saldo disponível
-        BigDecimal saldoDisponivel = cliente.getLimiteCredito().subtract(valorPendente);
-        StatusPedido status = valorTotal.compareTo(saldoDisponivel) <= 0 
-            ? StatusPedido.APROVADO : StatusPedido.REJEITADO;
+        // 3. Bloquear os clientes do lote e ler a exposição confirmada em uma única consulta
+        Map<Long, Money> valoresUtilizados =
+            exposicaoCreditoService.bloquearECalcularValoresUtilizados(indicesPorCliente.keySet());
+        Map<Long, Money> limitesCredito = lerLimitesCredito(indicesPorCliente.keySet());
         
-        // 4. Criar pedido
-        Pedido pedido = new Pedido(cliente);
-        pedido.setValorTotal(valorTotal);
-        pedido.setStatus(status);
+        // 4. Decidir por cliente, em ordem de envio, acumulando a exposição do lote em memória
+        List<Pedido> pedidos = new ArrayList<>();
+        List<Integer> indicesPedidos = new ArrayList<>();
+        for (Map.Entry<Long, List<Integer>> entrada : indicesPorCliente.entrySet()) {
+            Cliente cliente = clientes.get(entrada.getKey());
+            Money limiteCredito = limitesCredito.get(entrada.getKey());
+            Money valorUtilizado = valoresUtilizados.get(entrada.getKey());
+            for (Integer indice : entrada.getValue()) {
+                Pedido pedido = montarPedido(cliente, requests.get(indice), produtos);
+                StatusPedido status = decidirCredito(limiteCredito, pedido.getValorTotalMoney(), valorUtilizado);
+                pedido.setStatus(status);
+                if (status == StatusPedido.APROVADO) {
+                    valorUtilizado = valorUtilizado.plus(pedido.getValorTotalMoney());
+                }
+                pedidos.add(pedido);
+                indicesPedidos.add(indice);
+            }
+        }
         
-        // 5. Criar itens do pedido
-        for (var itemDTO : request.getItens()) {
-            Produto produto = produtoMap.get(itemDTO.getProdutoId());
-            ItemPedido item = new ItemPedido(pedido, produto, itemDTO.getQuantidade());
-            item.setSubtotal(itemDTO.getSubtotal());
-            pedido.getItens().add(item);
+        // 5. Persistir em blocos: inserts agrupados em batch JDBC e contexto de persistência limitado
+        for (int inicio = 0; inicio < pedidos.size(); inicio += TAMANHO_BLOCO_LOTE) {
+            pedidoRepository.saveAll(pedidos.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_LOTE, pedidos.size())));
+            entityManager.flush();
+            entityManager.clear();
         }
         
-        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        // 6. Atualizar o ledger e o resumo diário uma vez por cliente/dia e notificar os índices após o commit
+        Map<Long, Map<LocalDate, Money>> aprovadosPorClienteEDia = new HashMap<>();
+        for (Pedido pedido : pedidos) {
+            if (pedido.getStatus() == StatusPedido.APROVADO) {
+                aprovadosPorClienteEDia
+                    .computeIfAbsent(pedido.getCliente().getId(), id -> new HashMap<>())
+                    .merge(pedido.getDataPedido().toLocalDate(), pedido.getValorTotalMoney(), Money::plus);
+            }
+            publicarDecisao(pedido);
+        }
+        aprovadosPorClienteEDia.forEach((clienteId, porDia) -> porDia.forEach((dia, valor) ->
+            exposicaoCreditoService.registrarPedidoAprovado(clienteId, dia, valor)));
+        resumoPedidoService.registrarPedidosDecididos(pedidos);
         
-        log.info("Pedido {} criado com status {}", pedidoSalvo.getId(), status);
+        int aprovados = 0;
+        int rejeitados = 0;
+        for (int i = 0; i < pedidos.size(); i++) {
+            Pedido pedido = pedidos.get(i);
+            if (pedido.getStatus() == StatusPedido.APROVADO) {
+                aprovados++;
+            } else {
+                rejeitados++;
+            }
+            resultados[indicesPedidos.get(i)] = ResultadoLotePedidosDTO.ResultadoPedido.builder()
+                .indice(indicesPedidos.get(i))
+                .pedidoId(pedido.getId())
+                .clienteId(pedido.getCliente().getId())
+                .status(pedido.getStatus())
+                .valorTotal(pedido.getValorTotalMoney())
+                .build();
+        }
         
-        return mapToDTO(pedidoSalvo);
+        log.info("Lote processado: {} aprovados, {} rejeitados, {} falhas",
+            aprovados, rejeitados, requests.size() - pedidos.size());
+        
+        return ResultadoLotePedidosDTO.builder()
+            .total(requests.size())
+            .aprovados(aprovados)
+            .rejeitados(rejeitados)
+            .falhas(requests.size() - pedidos.size())
+            .resultados(Arrays.asList(resultados))
+            .build();
     }
     
     @Override
     @Transactional(readOnly = true)
     public PedidoDTO buscarPorId(Long id) {
-        Pedido pedido = pedidoRepository.findByIdWithItens(id)
+        return buscarPorId(id, ProjecaoPedido.COMPLETA);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PedidoDTO buscarPorId(Long id, ProjecaoPedido projecao) {
+        PedidoDTO pedido = pedidoRepository.findDTOById(id)
             .orElseThrow(() -> new EntityNotFoundException(ApplicationConstants.PEDIDO_NAO_ENCONTRADO + id));
-        return mapToDTO(pedido);
+        completarPedidos(List.of(pedido), projecao);
+        return pedido;
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Page<PedidoDTO> listarPedidos(Pageable pageable) {
-        return pedidoRepository.findAllWithCliente(pageable).map(this::mapToDTO);
+    public Slice<PedidoDTO> listarPedidos(Pageable pageable, ModoContagem contagem, ProjecaoPedido projecao) {
+        return completarPedidos(contagem.paginar(pageable,
+            pedidoRepository::findSliceDTO,
+            pedidoRepository::findAllDTO,
+            () -> estimativaContagemRepository.estimarTabela("pedido")), projecao);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Page<PedidoDTO> listarPorCliente(Long clienteId, Pageable pageable) {
-        return pedidoRepository.findByClienteId(clienteId, pageable).map(this::mapToDTO);
+    public Slice<PedidoDTO> listarPorCliente(Long clienteId, Pageable pageable, ModoContagem contagem, ProjecaoPedido projecao) {
+        return completarPedidos(contagem.paginar(pageable,
+            p -> pedidoRepository.findSliceDTOByClienteId(clienteId, p),
+            p -> pedidoRepository.findDTOByClienteId(clienteId, p),
+            () -> estimativaContagemRepository.estimarConsulta(
+                "SELECT 1 FROM pedido WHERE cliente_id = ?", clienteId)), projecao);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public Page<PedidoDTO> listarPorStatus(StatusPedido status, Pageable pageable) {
-        return pedidoRepository.findByStatus(status, pageable).map(this::mapToDTO);
+    public Slice<PedidoDTO> listarPorStatus(StatusPedido status, Pageable pageable, ModoContagem contagem, ProjecaoPedido projecao) {
+        return completarPedidos(contagem.paginar(pageable,
+            p -> pedidoRepository.findSliceDTOByStatus(status, p),
+            p -> pedidoRepository.findDTOByStatus(status, p),
+            () -> estimativaContagemRepository.estimarConsulta(
+                "SELECT 1 FROM pedido WHERE status = ?", status.name())), projecao);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<PedidoDTO> listarPedidos(String cursor, int tamanho, ProjecaoPedido projecao) {
+        Limit limite = limiteCursor(tamanho);
+        CursorPedido posicao = decodificarCursor(cursor);
+        List<PedidoDTO> pedidos = posicao == null
+            ? pedidoRepository.findPrimeirosPorCursor(limite)
+            : pedidoRepository.findSeguintesPorCursor(posicao.dataPedido(), posicao.id(), limite);
+        return mapPaginaCursor(pedidos, tamanho, projecao);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<PedidoDTO> listarPorCliente(Long clienteId, String cursor, int tamanho, ProjecaoPedido projecao) {
+        Limit limite = limiteCursor(tamanho);
+        CursorPedido posicao = decodificarCursor(cursor);
+        List<PedidoDTO> pedidos = posicao == null
+            ? pedidoRepository.findPrimeirosPorClienteECursor(clienteId, limite)
+            : pedidoRepository.findSeguintesPorClienteECursor(clienteId, posicao.dataPedido(), posicao.id(), limite);
+        return mapPaginaCursor(pedidos, tamanho, projecao);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PaginaCursorDTO<PedidoDTO> listarPorStatus(StatusPedido status, String cursor, int tamanho, ProjecaoPedido projecao) {
+        Limit limite = limiteCursor(tamanho);
+        CursorPedido posicao = decodificarCursor(cursor);
+        List<PedidoDTO> pedidos = posicao == null
+            ? pedidoRepository.findPrimeirosPorStatusECursor(status, limite)
+            : pedidoRepository.findSeguintesPorStatusECursor(status, posicao.dataPedido(), posicao.id(), limite);
+        return mapPaginaCursor(pedidos, tamanho, projecao);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<PedidoDTO> listarMaioresAprovados(int limite, ProjecaoPedido projecao) {
+        List<PedidoDTO> pedidos = pedidoRepository.findMaioresPedidosAprovados(LimiteRanking.de(limite));
+        completarPedidos(pedidos, projecao);
+        return pedidos;
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemPedidoDTO> listarItensMaiorSubtotal(int limite) {
+        return itemPedidoRepository.findItensMaiorSubtotal(LimiteRanking.de(limite));
     }
     
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calcularTotalPorCliente(Long clienteId, LocalDateTime dataInicio, LocalDateTime dataFim) {
-        return pedidoRepository.totalPedidosPorClienteEPeriodo(clienteId, dataInicio, dataFim);
+        return pedidoRepository.totalAprovadosPorClienteEPeriodoNoResumo(clienteId, dataInicio, dataFim);
+    }
+    
+    private String validarReferencias(CriarPedidoRequest request, Map<Long, Cliente> clientes, Map<Long, Produto> produtos) {
+        if (!clientes.containsKey(request.getClienteId())) {
+            return ApplicationConstants.CLIENTE_NAO_ENCONTRADO + request.getClienteId();
+        }
+        for (var item : request.getItens()) {
+            if (!produtos.containsKey(item.getProdutoId())) {
+                return ApplicationConstants.PRODUTO_NAO_ENCONTRADO + item.getProdutoId();
+            }
+        }
+        return null;
+    }
+    
+    private Cliente buscarCliente(Long clienteId) {
+        return clienteRepository.findById(clienteId)
+            .orElseThrow(() -> new EntityNotFoundException(ApplicationConstants.CLIENTE_NAO_ENCONTRADO + clienteId));
+    }
+    
+    /**
+     * Loads the products of a request; cached products skip the database, the rest come in a single query
+     */
+    private Map<Long, Produto> carregarProdutos(CriarPedidoRequest request) {
+        // Buscar todos os produtos de uma vez para evitar N+1
+        List<Long> produtoIds = request.getItens().stream()
+            .map(item -> item.getProdutoId())
+            .distinct()
+            .toList();
+        
+        List<Produto> produtos = carregarPorIds(Produto.class, produtoIds);
+        if (produtos.size() != produtoIds.size()) {
+            throw new EntityNotFoundException("Um ou mais produtos não foram encontrados");
+        }
+        
+        // Criar mapa para acesso O(1) aos produtos
+        return produtos.stream()
+            .collect(Collectors.toMap(Produto::getId, produto -> produto));
+    }
+    
+    /**
+     * Loads entities by ID through the persistence context and the second-level cache;
+     * only the IDs missing from both are read, in one IN query. Unknown IDs are skipped.
+     */
+    private <T> List<T> carregarPorIds(Class<T> tipo, Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+            .byMultipleIds(tipo)
+            .with(CacheMode.NORMAL)
+            .enableSessionCheck(true)
+            .enableOrderedReturn(false)
+            .multiLoad(new ArrayList<>(ids)).stream()
+            .filter(Objects::nonNull)
+            .toList();
+    }
+    
+    /**
+     * Builds the order with its items and total value (without credit decision)
+     */
+    private Pedido montarPedido(Cliente cliente, CriarPedidoRequest request, Map<Long, Produto> produtoMap) {
+        Pedido pedido = new Pedido(cliente);
+        for (var itemDTO : request.getItens()) {
+            Produto produto = produtoMap.get(itemDTO.getProdutoId());
+            pedido.getItens().add(new ItemPedido(pedido, produto, itemDTO.getQuantidade()));
+        }
+        pedido.recalcularValorTotal();
+        return pedido;
+    }
+    
+    /**
+     * Reads the credit limit from the database, not from the second-level cache: called under the
+     * customer's lock, so a limit changed on any instance applies to the next decision
+     */
+    private Money lerLimiteCredito(Long clienteId) {
+        return clienteRepository.findLimiteCreditoById(clienteId)
+            .orElseThrow(() -> new EntityNotFoundException(ApplicationConstants.CLIENTE_NAO_ENCONTRADO + clienteId));
+    }
+    
+    private Map<Long, Money> lerLimitesCredito(Collection<Long> clienteIds) {
+        Map<Long, Money> limites = new HashMap<>();
+        if (!clienteIds.isEmpty()) {
+            for (Object[] linha : clienteRepository.findLimitesCreditoByIdIn(clienteIds)) {
+                limites.put((Long) linha[0], (Money) linha[1]);
+            }
+        }
+        return limites;
+    }
+    
+    private StatusPedido decidirCredito(Money limiteCredito, Money valorPedido, Money valorUtilizado) {
+        Money saldoDisponivel = limiteCredito.minus(valorUtilizado);
+        return valorPedido.isLessThanOrEqual(saldoDisponivel) 
+            ? StatusPedido.APROVADO : StatusPedido.REJEITADO;
+    }
+    
+    /**
+     * Records a final credit decision: ledger in the current transaction, in-memory indexes after commit
+     */
+    private void registrarDecisao(Pedido pedido) {
+        if (pedido.getStatus() == StatusPedido.APROVADO) {
+            exposicaoCreditoService.registrarPedidoAprovado(
+                pedido.getCliente().getId(), pedido.getDataPedido().toLocalDate(), pedido.getValorTotalMoney());
+        }
+        publicarDecisao(pedido);
+    }
+    
+    private void publicarDecisao(Pedido pedido) {
+        List<PedidoCriadoEvent.Item> itens = pedido.getItens().stream()
+            .map(item -> new PedidoCriadoEvent.Item(item.getProduto().getId(), item.getQuantidade(), item.getSubtotalMoney()))
+            .toList();
+        eventPublisher.publishEvent(new PedidoCriadoEvent(
+            pedido.getId(), pedido.getCliente().getId(), pedido.getDataPedido(), pedido.getStatus(),
+            pedido.getValorTotalMoney(), itens));
+    }
+    
+    /**
+     * Completes projected orders with the requested expansions: one query for the items of all
+     * orders and one batched credit lookup for all customers, regardless of page size. Expansions
+     * that were not requested are never queried.
+     */
+    private <S extends Slice<PedidoDTO>> S completarPedidos(S pedidos, ProjecaoPedido projecao) {
+        completarPedidos(pedidos.getContent(), projecao);
+        return pedidos;
+    }
+    
+    private void completarPedidos(List<PedidoDTO> pedidos, ProjecaoPedido projecao) {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        
+        if (projecao.itens()) {
+            List<Long> pedidoIds = pedidos.stream().map(PedidoDTO::getId).toList();
+            Map<Long, List<ItemPedidoDTO>> itensPorPedido = itemPedidoRepository.findDTOsByPedidoIds(pedidoIds).stream()
+                .collect(Collectors.groupingBy(ItemPedidoDTO::getPedidoId));
+            for (PedidoDTO pedido : pedidos) {
+                pedido.setItens(itensPorPedido.getOrDefault(pedido.getId(), new ArrayList<>()));
+            }
+        }
+        
+        if (projecao.credito()) {
+            Set<Long> clienteIds = pedidos.stream().map(PedidoDTO::getClienteId).collect(Collectors.toSet());
+            Map<Long, Money> valoresUtilizados = exposicaoCreditoService.calcularValoresUtilizados(clienteIds);
+            for (PedidoDTO pedido : pedidos) {
+                Money valorUtilizado = valoresUtilizados.get(pedido.getClienteId());
+                pedido.setValorJaUtilizado(valorUtilizado);
+                pedido.setSaldoDisponivel(pedido.getLimiteCredito().minus(valorUtilizado));
+            }
+        }
+    }
+    
+    /**
+     * Builds a cursor page fetched with one extra row: the extra row only signals that a next page exists
+     */
+    private PaginaCursorDTO<PedidoDTO> mapPaginaCursor(List<PedidoDTO> pedidos, int tamanho, ProjecaoPedido projecao) {
+        boolean temProximo = pedidos.size() > tamanho;
+        List<PedidoDTO> pagina = temProximo ? pedidos.subList(0, tamanho) : pedidos;
+        completarPedidos(pagina, projecao);
+        
+        return PaginaCursorDTO.<PedidoDTO>builder()
+            .conteudo(pagina)
+            .tamanho(pagina.size())
+            .temProximo(temProximo)
+            .proximoCursor(temProximo ? CursorPedido.de(pagina.get(pagina.size() - 1)).codificar() : null)
+            .build();
+    }
+    
+    private static Limit limiteCursor(int tamanho) {
+        if (tamanho < 1 || tamanho > ApplicationConstants.MAX_TAMANHO_PAGINA_CURSOR) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e "
+                + ApplicationConstants.MAX_TAMANHO_PAGINA_CURSOR);
+        }
+        // Uma linha a mais indica se existe próxima página sem COUNT
+        return Limit.of(tamanho + 1);
+    }
+    
+    private static CursorPedido decodificarCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : CursorPedido.decodificar(cursor);
     }
     
     private PedidoDTO mapToDTO(Pedido pedido) {
-        // Calcular valores de crédito para o DTO
-        LocalDateTime dataLimite = LocalDateTime.now().minusDays(30);
-        BigDecimal valorPendente = pedidoRepository.totalPedidosUltimos30Dias(
-            pedido.getCliente().getId(), dataLimite);
-        BigDecimal saldoDisponivel = pedido.getCliente().getLimiteCredito().subtract(valorPendente);
+        // Calcular valores de crédito para o DTO (limite lido do banco, como na decisão)
+        Long clienteId = pedido.getCliente().getId();
+        return mapToDTO(pedido, lerLimiteCredito(clienteId), exposicaoCreditoService.calcularValorUtilizado(clienteId));
+    }
+    
+    private PedidoDTO mapToDTO(Pedido pedido, Money limiteCredito, Money valorPendente) {
+        Money saldoDisponivel = limiteCredito.minus(valorPendente);
         
         return PedidoDTO.builder()
             .id(pedido.getId())
@@ -145,19 +539,19 @@ public class PedidoServiceImpl implements PedidoService {
             .clienteNome(pedido.getCliente().getNome())
             .dataPedido(pedido.getDataPedido())
             .status(pedido.getStatus())
-            .valorTotal(pedido.getValorTotal())
+            .valorTotal(pedido.getValorTotalMoney())
             .itens(pedido.getItens().stream()
-                .map(item -> com.empresa.logistica.dto.ItemPedidoDTO.builder()
+                .map(item -> ItemPedidoDTO.builder()
                     .id(item.getId())
                     .pedidoId(item.getPedido().getId())
                     .produtoId(item.getProduto().getId())
                     .produtoNome(item.getProduto().getNome())
                     .quantidade(item.getQuantidade())
-                    .subtotal(item.getSubtotal())
-                    .precoUnitario(item.getProduto().getPreco())
+                    .subtotal(item.getSubtotalMoney())
+                    .precoUnitario(item.getProduto().getPrecoMoney())
                     .build())
                 .collect(Collectors.toList()))
-            .limiteCredito(pedido.getCliente().getLimiteCredito())
+            .limiteCredito(limiteCredito)
             .valorJaUtilizado(valorPendente)
             .saldoDisponivel(saldoDisponivel)
             .build();
@@ -0,0 +1,262 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.CriterioVendas;
+import com.empresa.logistica.dto.JanelaVendas;
+import com.empresa.logistica.event.PedidoCriadoEvent;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.repository.ItemPedidoRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory best-seller counters per product: units and revenue (in cents) over
+ * all orders and per day of the longest {@link JanelaVendas} window.
+ *
+ * The counters are loaded from item_pedido at startup and periodically (to pick
+ * up orders written by other instances), and updated after each order decision
+ * commits, so pending orders are counted once they are decided. Until the first
+ * load completes, {@link #isPronto()} is false and callers read the database; a
+ * periodic reload keeps serving the previous counters until it swaps them.
+ *
+ * Both load queries run in one snapshot; orders committed while a load is running
+ * are replayed on the new counters unless that snapshot already saw them
+ * ({@link EventosDuranteCarga}).
+ */
+@Component
+@Slf4j
+public class RankingVendasProdutos {
+
+    static final int DIAS_JANELA = Arrays.stream(JanelaVendas.values()).mapToInt(JanelaVendas::getDias).max().orElse(1);
+
+    /**
+     * Ranking order: criterion value descending, product ID as tie-break (same as the SQL ranking)
+     */
+    private static final Comparator<Posicao> ORDEM_RANKING =
+        Comparator.comparingLong(Posicao::valor).reversed().thenComparingLong(Posicao::produtoId);
+
+    private final ItemPedidoRepository itemPedidoRepository;
+    private final PedidoRepository pedidoRepository;
+    private final TransactionTemplate transacaoCarga;
+    private final boolean habilitado;
+
+    private volatile Map<Long, VendasProduto> produtos = new ConcurrentHashMap<>();
+    private volatile boolean pronto;
+
+    private final EventosDuranteCarga eventosDuranteCarga = new EventosDuranteCarga();
+
+    public RankingVendasProdutos(ItemPedidoRepository itemPedidoRepository,
+                                 PedidoRepository pedidoRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${vendas.ranking.habilitado:true}") boolean habilitado) {
+        this.itemPedidoRepository = itemPedidoRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.transacaoCarga = new TransactionTemplate(transactionManager);
+        this.transacaoCarga.setReadOnly(true);
+        this.transacaoCarga.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.habilitado = habilitado;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        if (habilitado) {
+            recarregar();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${vendas.ranking.intervalo-ms:300000}",
+               initialDelayString = "${vendas.ranking.intervalo-ms:300000}")
+    public void atualizarPeriodicamente() {
+        if (habilitado) {
+            try {
+                recarregar();
+            } catch (RuntimeException e) {
+                // Contadores anteriores seguem em uso até a próxima tentativa
+                log.error("Falha ao recarregar ranking de vendas", e);
+            }
+        }
+    }
+
+    /**
+     * Loads the counters of every product from item_pedido and swaps them atomically
+     *
+     * @return number of products loaded
+     */
+    public synchronized int recarregar() {
+        eventosDuranteCarga.iniciar();
+
+        long inicio = System.currentTimeMillis();
+        LocalDateTime inicioJanela = primeiroDia(DIAS_JANELA).atStartOfDay();
+        Map<Long, VendasProduto> novos = new ConcurrentHashMap<>();
+
+        try {
+            // As duas consultas e a conferência dos eventos recebidos no mesmo snapshot
+            transacaoCarga.executeWithoutResult(status -> {
+                // Fora da janela só o total importa; dentro dela, um bucket por dia
+                for (Object[] linha : itemPedidoRepository.vendasPorProdutoAntesDe(inicioJanela)) {
+                    novos.computeIfAbsent((Long) linha[0], id -> new VendasProduto())
+                        .adicionarTotal(((Number) linha[1]).longValue(), Money.of((BigDecimal) linha[2]).getCentavos());
+                }
+                for (Object[] linha : itemPedidoRepository.vendasPorProdutoEDiaDesde(inicioJanela)) {
+                    novos.computeIfAbsent((Long) linha[0], id -> new VendasProduto())
+                        .adicionar(((LocalDate) linha[1]).toEpochDay(),
+                            ((Number) linha[2]).longValue(), Money.of((BigDecimal) linha[3]).getCentavos());
+                }
+                eventosDuranteCarga.marcarVistos(evento -> true, pedidoRepository::findIdsDecididosByIdIn);
+            });
+        } catch (RuntimeException e) {
+            eventosDuranteCarga.cancelar();
+            throw e;
+        }
+
+        eventosDuranteCarga.concluir(evento -> aplicar(novos, evento), () -> {
+            produtos = novos;
+            pronto = true;
+        });
+
+        log.info("Ranking de vendas carregado: {} produtos em {} ms", novos.size(), System.currentTimeMillis() - inicio);
+        return novos.size();
+    }
+
+    @EventListener
+    public void onPedidoPublicado(PedidoCriadoEvent evento) {
+        // Ainda dentro da transação do pedido: acompanha o commit em andamento
+        if (!evento.status().isDecidido()) {
+            return;
+        }
+        eventosDuranteCarga.publicado(evento);
+    }
+
+    @TransactionalEventListener
+    public void onPedidoCriado(PedidoCriadoEvent evento) {
+        // Mesmo critério da carga: só pedidos decididos entram no ranking
+        if (!evento.status().isDecidido()) {
+            return;
+        }
+        eventosDuranteCarga.receber(evento, e -> aplicar(produtos, e));
+    }
+
+    /**
+     * Returns the best-selling products of the window, best first; products without sales are left out
+     *
+     * @param limite maximum number of products
+     * @param criterio ranking criterion (units or value)
+     * @param janela period of the ranking
+     */
+    public List<Posicao> top(int limite, CriterioVendas criterio, JanelaVendas janela) {
+        long diaInicio = janela == JanelaVendas.TOTAL ? Long.MIN_VALUE : primeiroDia(janela.getDias()).toEpochDay();
+        // Heap limitado com o pior colocado no topo: O(produtos × log limite), sem ordenar todos
+        PriorityQueue<Posicao> melhores = new PriorityQueue<>(limite + 1, ORDEM_RANKING.reversed());
+        produtos.forEach((produtoId, vendas) -> {
+            Posicao posicao = vendas.somarDesde(produtoId, diaInicio, criterio);
+            if (posicao.quantidade() > 0) {
+                melhores.add(posicao);
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+        });
+        List<Posicao> ranking = new ArrayList<>(melhores);
+        ranking.sort(ORDEM_RANKING);
+        return ranking;
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    public int getTotalProdutos() {
+        return produtos.size();
+    }
+
+    static LocalDate primeiroDia(int dias) {
+        return LocalDate.now().minusDays(dias - 1L);
+    }
+
+    private static void aplicar(Map<Long, VendasProduto> indice, PedidoCriadoEvent evento) {
+        long dia = evento.dataPedido().toLocalDate().toEpochDay();
+        for (PedidoCriadoEvent.Item item : evento.itens()) {
+            indice.computeIfAbsent(item.produtoId(), id -> new VendasProduto())
+                .adicionar(dia, item.quantidade(), item.subtotal().getCentavos());
+        }
+    }
+
+    /**
+     * Sales of one product in the requested window; {@code valor} is the ranking criterion value
+     */
+    public record Posicao(long produtoId, long quantidade, long centavos, long valor) {
+    }
+
+    /**
+     * All-time totals and ring of daily buckets of one product, indexed by epoch day modulo the window size
+     */
+    static final class VendasProduto {
+
+        private long quantidadeTotal;
+        private long centavosTotal;
+        private final long[] dias = new long[DIAS_JANELA];
+        private final long[] quantidades = new long[DIAS_JANELA];
+        private final long[] centavos = new long[DIAS_JANELA];
+
+        VendasProduto() {
+            Arrays.fill(dias, Long.MIN_VALUE);
+        }
+
+        synchronized void adicionarTotal(long quantidade, long valorCentavos) {
+            quantidadeTotal += quantidade;
+            centavosTotal += valorCentavos;
+        }
+
+        synchronized void adicionar(long diaEpoch, long quantidade, long valorCentavos) {
+            adicionarTotal(quantidade, valorCentavos);
+            int slot = (int) Math.floorMod(diaEpoch, (long) DIAS_JANELA);
+            if (dias[slot] != diaEpoch) {
+                if (dias[slot] > diaEpoch) {
+                    // Bucket mais antigo que o slot atual: já está fora da janela, conta só no total
+                    return;
+                }
+                dias[slot] = diaEpoch;
+                quantidades[slot] = 0L;
+                centavos[slot] = 0L;
+            }
+            quantidades[slot] += quantidade;
+            centavos[slot] += valorCentavos;
+        }
+
+        synchronized Posicao somarDesde(long produtoId, long diaInicio, CriterioVendas criterio) {
+            long quantidade = quantidadeTotal;
+            long valorCentavos = centavosTotal;
+            if (diaInicio != Long.MIN_VALUE) {
+                quantidade = 0L;
+                valorCentavos = 0L;
+                for (int i = 0; i < DIAS_JANELA; i++) {
+                    if (dias[i] >= diaInicio) {
+                        quantidade += quantidades[i];
+                        valorCentavos += centavos[i];
+                    }
+                }
+            }
+            return new Posicao(produtoId, quantidade, valorCentavos,
+                criterio == CriterioVendas.VALOR ? valorCentavos : quantidade);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ResumoPedidosDTO;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.Pedido;
+import com.empresa.logistica.model.PedidoDiario;
+import com.empresa.logistica.model.PedidoDiarioId;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.PedidoDiarioRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.service.ResumoPedidoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service implementation for the daily order rollup.
+ *
+ * Decided orders are added to their (customer, day, status) row in the transaction
+ * that decides them, under the customer's {@link BloqueioCreditoCliente} lock, so
+ * creating a row never races and a rollback discards the increment with the order.
+ * Orders written outside the order services (imports, plain SQL) are picked up by
+ * the repair job, which rebuilds the recent days of divergent customers.
+ */
+@Service
+@Slf4j
+public class ResumoPedidoServiceImpl implements ResumoPedidoService {
+
+    private final PedidoDiarioRepository pedidoDiarioRepository;
+    private final PedidoRepository pedidoRepository;
+    private final BloqueioCreditoCliente bloqueioCreditoCliente;
+    private final TransactionTemplate transactionTemplate;
+    private final int diasReparo;
+
+    public ResumoPedidoServiceImpl(PedidoDiarioRepository pedidoDiarioRepository,
+                                   PedidoRepository pedidoRepository,
+                                   BloqueioCreditoCliente bloqueioCreditoCliente,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${pedidos.resumo.reparo-dias:7}") int diasReparo) {
+        this.pedidoDiarioRepository = pedidoDiarioRepository;
+        this.pedidoRepository = pedidoRepository;
+        this.bloqueioCreditoCliente = bloqueioCreditoCliente;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.diasReparo = diasReparo;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarPedidosDecididos(Collection<Pedido> pedidos) {
+        // Um UPDATE por cliente/dia/status, não por pedido
+        Map<PedidoDiarioId, Acumulado> acumulados = new HashMap<>();
+        for (Pedido pedido : pedidos) {
+            if (!pedido.getStatus().isDecidido()) {
+                continue;
+            }
+            acumulados.merge(
+                new PedidoDiarioId(pedido.getCliente().getId(), pedido.getDataPedido().toLocalDate(), pedido.getStatus()),
+                new Acumulado(1, pedido.getValorTotalMoney()), Acumulado::plus);
+        }
+
+        acumulados.forEach((chave, acumulado) -> {
+            // Sem corrida na criação da linha: escritas do cliente ocorrem sob o seu bloqueio de crédito
+            if (pedidoDiarioRepository.acumular(chave.getClienteId(), chave.getDia(), chave.getStatus(),
+                    acumulado.quantidade(), acumulado.valor()) == 0) {
+                pedidoDiarioRepository.save(new PedidoDiario(chave.getClienteId(), chave.getDia(), chave.getStatus(),
+                    acumulado.quantidade(), acumulado.valor()));
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResumoPedidosDTO obterResumo() {
+        return ResumoPedidosDTO.builder()
+            .pedidosPendentes(pedidoRepository.contarPedidosPorStatusNoResumo(StatusPedido.PENDENTE))
+            .pedidosAprovados(pedidoRepository.contarPedidosPorStatusNoResumo(StatusPedido.APROVADO))
+            .pedidosRejeitados(pedidoRepository.contarPedidosPorStatusNoResumo(StatusPedido.REJEITADO))
+            .valorTotalAprovado(pedidoRepository.calcularTotalAprovadosNoResumo())
+            .valorMedioAprovado(pedidoRepository.calcularValorMedioAprovadosNoResumo())
+            .build();
+    }
+
+    @Override
+    public int reparar(LocalDate diaInicio, LocalDate diaFim) {
+        if (diaInicio.isAfter(diaFim)) {
+            throw new IllegalArgumentException("Período inválido: dia inicial posterior ao dia final");
+        }
+        long inicio = System.currentTimeMillis();
+
+        // Comparação sem bloqueio; só os clientes divergentes são recalculados, cada um sob o seu bloqueio
+        Set<Long> divergentes = transactionTemplate.execute(status -> clientesDivergentes(diaInicio, diaFim));
+        for (Long clienteId : divergentes) {
+            transactionTemplate.executeWithoutResult(status -> {
+                bloqueioCreditoCliente.bloquear(clienteId);
+                pedidoDiarioRepository.recalcular(clienteId, diaInicio, diaFim);
+            });
+        }
+
+        log.info("Resumo diário de pedidos de {} a {} conferido: {} clientes recalculados em {} ms",
+            diaInicio, diaFim, divergentes.size(), System.currentTimeMillis() - inicio);
+        return divergentes.size();
+    }
+
+    @Override
+    @Scheduled(cron = "${pedidos.resumo.reparo-cron:0 45 0 * * *}")
+    public int repararDiasRecentes() {
+        LocalDate hoje = LocalDate.now();
+        return reparar(hoje.minusDays(diasReparo), hoje);
+    }
+
+    private Set<Long> clientesDivergentes(LocalDate diaInicio, LocalDate diaFim) {
+        Map<PedidoDiarioId, Acumulado> pedidos = new HashMap<>();
+        for (Object[] linha : pedidoRepository.totaisDecididosPorClienteDiaEStatus(
+                diaInicio.atStartOfDay(), diaFim.plusDays(1).atStartOfDay())) {
+            pedidos.put(new PedidoDiarioId((Long) linha[0], (LocalDate) linha[1], (StatusPedido) linha[2]),
+                new Acumulado((Long) linha[3], Money.of((BigDecimal) linha[4])));
+        }
+
+        Set<Long> divergentes = new TreeSet<>();
+        for (PedidoDiario resumo : pedidoDiarioRepository.findByDiaBetween(diaInicio, diaFim)) {
+            PedidoDiarioId chave = new PedidoDiarioId(resumo.getClienteId(), resumo.getDia(), resumo.getStatus());
+            Acumulado esperado = pedidos.remove(chave);
+            if (!new Acumulado(resumo.getQuantidade(), resumo.getValorTotal()).equals(esperado)) {
+                divergentes.add(resumo.getClienteId());
+            }
+        }
+        // Dias com pedidos e sem linha no resumo
+        pedidos.keySet().forEach(chave -> divergentes.add(chave.getClienteId()));
+        return divergentes;
+    }
+
+    private record Acumulado(long quantidade, Money valor) {
+
+        Acumulado plus(Acumulado outro) {
+            return new Acumulado(quantidade + outro.quantidade, valor.plus(outro.valor));
+        }
+    }
+}
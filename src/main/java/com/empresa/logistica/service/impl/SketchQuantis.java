@@ -0,0 +1,156 @@
+package com.empresa.logistica.service.impl;
+
+import java.nio.ByteBuffer;
+
+/**
+ * DDSketch of non-negative values in cents: answers any quantile with a relative
+ * error of at most {@link #PRECISAO_RELATIVA}.
+ *
+ * Bucket {@code i} counts the values in (γ^(i-1), γ^i], with γ = (1 + a) / (1 - a),
+ * and a quantile is answered with the midpoint of its bucket. Buckets are kept in a
+ * dense array of at most {@link #MAX_BUCKETS} entries, a span of about 1 cent to 8
+ * million currency units; past that, the lowest buckets are collapsed, so only the
+ * lowest quantiles lose accuracy. Two sketches are merged by adding their buckets.
+ */
+final class SketchQuantis {
+
+    static final double PRECISAO_RELATIVA = 0.01;
+    static final int MAX_BUCKETS = 1024;
+
+    private static final double GAMMA = (1 + PRECISAO_RELATIVA) / (1 - PRECISAO_RELATIVA);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int CAPACIDADE_INICIAL = 32;
+
+    /**
+     * Bucket counts; contagens[j] belongs to bucket deslocamento + j
+     */
+    private long[] contagens = new long[0];
+    private int deslocamento;
+    private long contagemZero;
+    private long total;
+
+    synchronized void adicionar(long centavos) {
+        if (centavos <= 0) {
+            contagemZero++;
+        } else {
+            incrementar((int) Math.ceil(Math.log(centavos) / LOG_GAMMA), 1L);
+        }
+        total++;
+    }
+
+    void mesclar(SketchQuantis outro) {
+        // Cópia tirada fora do próprio bloqueio: nunca segura os dois monitores ao mesmo tempo
+        SketchQuantis copia = desserializar(outro.serializar());
+        synchronized (this) {
+            for (int j = 0; j < copia.contagens.length; j++) {
+                if (copia.contagens[j] > 0) {
+                    incrementar(copia.deslocamento + j, copia.contagens[j]);
+                }
+            }
+            contagemZero += copia.contagemZero;
+            total += copia.total;
+        }
+    }
+
+    synchronized long getTotal() {
+        return total;
+    }
+
+    /**
+     * @param q quantile between 0 and 1
+     * @return approximate value in cents at the quantile; 0 when the sketch is empty
+     */
+    synchronized long quantil(double q) {
+        if (q < 0.0 || q > 1.0) {
+            throw new IllegalArgumentException("Quantil deve estar entre 0 e 1");
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long posicao = (long) Math.floor(q * (total - 1));
+        long acumulado = contagemZero;
+        if (posicao < acumulado) {
+            return 0L;
+        }
+        for (int j = 0; j < contagens.length; j++) {
+            acumulado += contagens[j];
+            if (acumulado > posicao) {
+                return Math.round(2.0 * Math.pow(GAMMA, deslocamento + j) / (GAMMA + 1.0));
+            }
+        }
+        throw new IllegalStateException("Contagens do sketch inconsistentes com o total");
+    }
+
+    /**
+     * Layout: total, zero count, first bucket index, bucket count, then the counts of
+     * the non-empty range only
+     */
+    synchronized byte[] serializar() {
+        int primeiro = 0;
+        int ultimo = contagens.length - 1;
+        while (primeiro <= ultimo && contagens[primeiro] == 0) {
+            primeiro++;
+        }
+        while (ultimo >= primeiro && contagens[ultimo] == 0) {
+            ultimo--;
+        }
+        int tamanho = ultimo - primeiro + 1;
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES + 2 * Integer.BYTES + tamanho * Long.BYTES);
+        buffer.putLong(total).putLong(contagemZero).putInt(deslocamento + primeiro).putInt(tamanho);
+        for (int j = primeiro; j <= ultimo; j++) {
+            buffer.putLong(contagens[j]);
+        }
+        return buffer.array();
+    }
+
+    static SketchQuantis desserializar(byte[] dados) {
+        ByteBuffer buffer = ByteBuffer.wrap(dados);
+        SketchQuantis sketch = new SketchQuantis();
+        sketch.total = buffer.getLong();
+        sketch.contagemZero = buffer.getLong();
+        sketch.deslocamento = buffer.getInt();
+        int tamanho = buffer.getInt();
+        if (tamanho < 0 || tamanho > MAX_BUCKETS || buffer.remaining() != tamanho * Long.BYTES) {
+            throw new IllegalArgumentException("Sketch de quantis serializado inválido");
+        }
+        sketch.contagens = new long[tamanho];
+        for (int j = 0; j < tamanho; j++) {
+            sketch.contagens[j] = buffer.getLong();
+        }
+        return sketch;
+    }
+
+    private void incrementar(int bucket, long quantidade) {
+        if (contagens.length == 0) {
+            contagens = new long[CAPACIDADE_INICIAL];
+            deslocamento = bucket - CAPACIDADE_INICIAL / 2;
+        } else if (bucket < deslocamento || bucket >= deslocamento + contagens.length) {
+            bucket = redimensionar(bucket);
+        }
+        contagens[bucket - deslocamento] += quantidade;
+    }
+
+    /**
+     * Grows the bucket array to include the bucket, up to {@link #MAX_BUCKETS}; beyond
+     * that, buckets below the retained range are folded into its first bucket
+     *
+     * @return the bucket that now receives the value
+     */
+    private int redimensionar(int bucket) {
+        int menor = Math.min(bucket, deslocamento);
+        int maior = Math.max(bucket, deslocamento + contagens.length - 1);
+        int tamanho = Math.min(MAX_BUCKETS, Math.max(2 * contagens.length, maior - menor + 1));
+        // Crescendo para baixo deixa folga abaixo; para cima, folga acima
+        int novoDeslocamento = bucket < deslocamento ? maior - tamanho + 1 : Math.max(menor, maior - tamanho + 1);
+
+        long[] novas = new long[tamanho];
+        for (int j = 0; j < contagens.length; j++) {
+            if (contagens[j] > 0) {
+                novas[Math.max(deslocamento + j, novoDeslocamento) - novoDeslocamento] += contagens[j];
+            }
+        }
+        contagens = novas;
+        deslocamento = novoDeslocamento;
+        return Math.max(bucket, novoDeslocamento);
+    }
+}
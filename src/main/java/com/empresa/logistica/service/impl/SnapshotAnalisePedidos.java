@@ -0,0 +1,111 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.repository.AnalisePedidoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds the current {@link ColunasPedidos} analytics snapshot and replaces it as a whole.
+ *
+ * The snapshot is loaded after startup and then periodically, on a background
+ * thread of its own: a load reads the whole pedido table and must not hold the
+ * shared scheduler thread. Queries read the previous snapshot until the new one
+ * is swapped in, so analytics only touch the database once per refresh.
+ */
+@Component
+@Slf4j
+public class SnapshotAnalisePedidos {
+
+    private final AnalisePedidoRepository analisePedidoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final ExecutorService carregador;
+    private final AtomicBoolean cargaPendente = new AtomicBoolean();
+
+    private volatile ColunasPedidos colunas;
+
+    public SnapshotAnalisePedidos(AnalisePedidoRepository analisePedidoRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${analise.snapshot.habilitado:true}") boolean habilitado) {
+        this.analisePedidoRepository = analisePedidoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.habilitado = habilitado;
+        this.carregador = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-analise-pedidos");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the last loaded snapshot, or null before the first load
+     */
+    ColunasPedidos atual() {
+        return colunas;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        if (habilitado) {
+            agendarCarga();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analise.snapshot.intervalo-ms:600000}",
+               initialDelayString = "${analise.snapshot.intervalo-ms:600000}")
+    public void atualizarPeriodicamente() {
+        if (habilitado) {
+            agendarCarga();
+        }
+    }
+
+    /**
+     * Loads every order into a new columnar snapshot and swaps it atomically
+     *
+     * @return the new snapshot
+     */
+    public synchronized ColunasPedidos carregar() {
+        long inicio = System.currentTimeMillis();
+        ColunasPedidos.Construtor construtor = ColunasPedidos.construtor();
+        // Cursor no servidor (PostgreSQL) só com transação aberta
+        transactionTemplate.executeWithoutResult(status -> analisePedidoRepository.percorrer(construtor::adicionar));
+
+        ColunasPedidos novo = construtor.construir();
+        colunas = novo;
+
+        log.info("Snapshot de análise de pedidos carregado: {} pedidos, {} clientes em {} ms",
+            novo.tamanho(), novo.totalClientes(), System.currentTimeMillis() - inicio);
+        return novo;
+    }
+
+    private void agendarCarga() {
+        if (cargaPendente.compareAndSet(false, true)) {
+            carregador.execute(() -> {
+                cargaPendente.set(false);
+                try {
+                    carregar();
+                } catch (RuntimeException e) {
+                    // Snapshot anterior segue em uso até a próxima tentativa
+                    log.error("Falha ao carregar snapshot de análise de pedidos", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        carregador.shutdown();
+    }
+}
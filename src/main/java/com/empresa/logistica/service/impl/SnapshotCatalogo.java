@@ -0,0 +1,134 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ProdutoDTO;
+import com.empresa.logistica.event.CatalogoAlteradoEvent;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.repository.ProdutoRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Holds the current {@link CatalogoProdutos} snapshot and replaces it as a whole.
+ *
+ * The snapshot is built at startup, after every catalog change (one background
+ * rebuild coalesces bursts of changes) and periodically, to pick up changes made
+ * outside this instance. It is only served while its version equals the current
+ * {@link VersaoCatalogo} product version: between a product commit and the end of
+ * the rebuild, {@link #atual()} returns null and callers read the database. Client
+ * changes do not affect it.
+ */
+@Component
+@Slf4j
+public class SnapshotCatalogo {
+
+    private final ProdutoRepository produtoRepository;
+    private final VersaoCatalogo versaoCatalogo;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final ExecutorService reconstrutor;
+    private final AtomicBoolean reconstrucaoPendente = new AtomicBoolean();
+
+    private volatile CatalogoProdutos catalogo;
+
+    public SnapshotCatalogo(ProdutoRepository produtoRepository,
+                            VersaoCatalogo versaoCatalogo,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${catalogo.snapshot.habilitado:true}") boolean habilitado) {
+        this.produtoRepository = produtoRepository;
+        this.versaoCatalogo = versaoCatalogo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.habilitado = habilitado;
+        this.reconstrutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-catalogo");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the snapshot if it reflects the current catalog version, otherwise null
+     */
+    CatalogoProdutos atual() {
+        CatalogoProdutos atual = catalogo;
+        return atual != null && atual.getVersao() == versaoCatalogo.getVersao(Produto.class) ? atual : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarNaInicializacao() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    @EventListener
+    public void onCatalogoAlterado(CatalogoAlteradoEvent evento) {
+        if (habilitado && evento.tipo() == Produto.class) {
+            agendarReconstrucao();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalogo.snapshot.intervalo-ms:300000}",
+               initialDelayString = "${catalogo.snapshot.intervalo-ms:300000}")
+    public void atualizarPeriodicamente() {
+        if (habilitado) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Loads every product and swaps the snapshot atomically
+     *
+     * @return number of products loaded
+     */
+    public synchronized int reconstruir() {
+        long inicio = System.currentTimeMillis();
+        // Versão lida antes da carga: uma alteração durante a leitura deixa o snapshot já vencido
+        long versao = versaoCatalogo.getVersao(Produto.class);
+        List<ProdutoDTO> produtos = transactionTemplate.execute(status -> {
+            try (Stream<ProdutoDTO> linhas = produtoRepository.streamAllDTO()) {
+                return linhas.collect(ArrayList::new, List::add, List::addAll);
+            }
+        });
+
+        CatalogoProdutos novo = CatalogoProdutos.de(versao, produtos);
+        catalogo = novo;
+
+        log.info("Snapshot do catálogo reconstruído: {} produtos, {} palavras, versão {} em {} ms",
+            novo.tamanho(), novo.tamanhoVocabulario(), versao, System.currentTimeMillis() - inicio);
+        return novo.tamanho();
+    }
+
+    private void agendarReconstrucao() {
+        if (reconstrucaoPendente.compareAndSet(false, true)) {
+            reconstrutor.execute(() -> {
+                reconstrucaoPendente.set(false);
+                try {
+                    reconstruir();
+                } catch (RuntimeException e) {
+                    // Snapshot segue vencido e as leituras vão ao banco até a próxima tentativa
+                    log.error("Falha ao reconstruir snapshot do catálogo", e);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        reconstrutor.shutdown();
+    }
+}
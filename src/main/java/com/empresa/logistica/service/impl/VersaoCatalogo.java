@@ -0,0 +1,98 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.event.CatalogoAlteradoEvent;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Produto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters of the client and product catalogs, one per entity type, exposed
+ * as strong ETags by the /clientes/all and /produtos/all endpoints.
+ *
+ * The counter of a type is bumped after the commit of any transaction that inserts,
+ * updates or deletes an entity of that type through JPA, so a client edit never
+ * invalidates product tags or the product snapshot. A version is never handed out
+ * before the data it stands for is visible. Each instance prefixes the tag with its
+ * own start time: a tag issued by another instance or before a restart never
+ * matches and the client simply gets a fresh 200.
+ *
+ * Like the second-level cache, the counter only sees changes made through this
+ * instance's JPA session; changes made by another instance or by plain SQL are not
+ * observed until {@link #invalidar()} is called.
+ *
+ * Every bump publishes a {@link CatalogoAlteradoEvent} with the changed type.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class VersaoCatalogo {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String epoca = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Class<?>, AtomicLong> versoes = Map.of(
+        Cliente.class, new AtomicLong(),
+        Produto.class, new AtomicLong());
+
+    /**
+     * Current strong ETag of the catalog of a type, e.g. {@code "lq3k2x1a-7"}.
+     */
+    public String etag(Class<?> tipo) {
+        return "\"" + epoca + "-" + getVersao(tipo) + "\"";
+    }
+
+    public long getVersao(Class<?> tipo) {
+        return contador(tipo).get();
+    }
+
+    /**
+     * Records a change of an entity of the given type. Inside a transaction the bump
+     * is deferred to the commit; a rollback leaves the version untouched.
+     */
+    public void registrarAlteracao(Class<?> tipo) {
+        contador(tipo);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementar(tipo);
+                }
+            });
+        } else {
+            incrementar(tipo);
+        }
+    }
+
+    /**
+     * Bumps the versions of all types immediately, e.g. after the catalog was changed outside JPA.
+     */
+    public void invalidar() {
+        for (Class<?> tipo : List.of(Cliente.class, Produto.class)) {
+            long nova = incrementar(tipo);
+            log.info("Versão do catálogo de {} invalidada manualmente: {}", tipo.getSimpleName(), nova);
+        }
+    }
+
+    private long incrementar(Class<?> tipo) {
+        long nova = contador(tipo).incrementAndGet();
+        eventPublisher.publishEvent(new CatalogoAlteradoEvent(tipo, nova));
+        return nova;
+    }
+
+    private AtomicLong contador(Class<?> tipo) {
+        AtomicLong contador = versoes.get(tipo);
+        if (contador == null) {
+            throw new IllegalArgumentException("Tipo fora do catálogo: " + tipo.getName());
+        }
+        return contador;
+    }
+}
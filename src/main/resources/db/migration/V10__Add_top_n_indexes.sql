@@ -0,0 +1,10 @@
+-- Top-N reads (/pedidos/top, /pedidos/top/itens): the row limit is pushed down to SQL and
+-- these indexes return the first rows already in order, so LIMIT stops the scan after N rows
+-- instead of sorting the whole table. Clients and products by credit limit / price use
+-- idx_cliente_limite_credito and idx_produto_preco (V1); id only breaks ties.
+CREATE INDEX IF NOT EXISTS idx_pedido_aprovado_valor_id
+ON pedido (valor_total DESC, id DESC)
+WHERE status = 'APROVADO';
+
+CREATE INDEX IF NOT EXISTS idx_item_pedido_subtotal_id
+ON item_pedido (subtotal DESC, id DESC);
@@ -0,0 +1,35 @@
+-- =============================================================================
+-- V11__Create_daily_order_rollup.sql
+-- Per-client daily order rollup (count and value by status)
+-- =============================================================================
+
+-- One row per client, day and final status (APROVADO / REJEITADO) with the number
+-- and the sum of the orders of that day. Dashboard counters and totals add a few
+-- rollup rows instead of aggregating the whole order history. PENDENTE orders are
+-- not rolled up: they are counted from pedido through idx_pedido_pendente_cliente_data (V5).
+CREATE TABLE pedido_diario (
+    cliente_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    quantidade BIGINT NOT NULL DEFAULT 0,
+    valor_total DECIMAL(15,2) NOT NULL DEFAULT 0,
+    CONSTRAINT pk_pedido_diario PRIMARY KEY (cliente_id, dia, status),
+    CONSTRAINT fk_pedido_diario_cliente FOREIGN KEY (cliente_id) REFERENCES cliente(id),
+    CONSTRAINT chk_pedido_diario_status CHECK (status IN ('APROVADO', 'REJEITADO')),
+    CONSTRAINT chk_pedido_diario_quantidade CHECK (quantidade >= 0),
+    CONSTRAINT chk_pedido_diario_valor_total CHECK (valor_total >= 0)
+);
+
+-- Global counters by status and the repair job's day ranges
+CREATE INDEX idx_pedido_diario_status_dia ON pedido_diario(status, dia);
+
+-- Backfill the whole history from existing decided orders
+INSERT INTO pedido_diario (cliente_id, dia, status, quantidade, valor_total)
+SELECT cliente_id, CAST(data_pedido AS DATE), status, COUNT(*), SUM(valor_total)
+FROM pedido
+WHERE status <> 'PENDENTE'
+GROUP BY cliente_id, CAST(data_pedido AS DATE), status;
+
+COMMENT ON TABLE pedido_diario IS 'Daily count and value of decided orders per customer and status';
+COMMENT ON COLUMN pedido_diario.quantidade IS 'Number of orders of the customer with that status on that day';
+COMMENT ON COLUMN pedido_diario.valor_total IS 'Sum of the orders of the customer with that status on that day';
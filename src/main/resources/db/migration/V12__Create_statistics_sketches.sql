@@ -0,0 +1,22 @@
+-- =============================================================================
+-- V12__Create_statistics_sketches.sql
+-- Persisted approximate statistics (order value percentiles, distinct buyers)
+-- =============================================================================
+
+-- One serialized sketch per statistic and key (client or product id). The sketches
+-- are kept in memory and updated on each committed order; this table only lets a
+-- restart resume from the last persisted state instead of rescanning the history.
+-- ate_pedido_id is the highest order id folded into the sketch when it was written.
+CREATE TABLE sketch_estatistica (
+    tipo VARCHAR(30) NOT NULL,
+    chave BIGINT NOT NULL,
+    dados BYTEA NOT NULL,
+    ate_pedido_id BIGINT NOT NULL,
+    atualizado_em TIMESTAMP NOT NULL,
+    CONSTRAINT pk_sketch_estatistica PRIMARY KEY (tipo, chave),
+    CONSTRAINT chk_sketch_estatistica_tipo CHECK (tipo IN ('VALOR_PEDIDOS_CLIENTE', 'VALOR_ITENS_PRODUTO', 'COMPRADORES_PRODUTO'))
+);
+
+COMMENT ON TABLE sketch_estatistica IS 'Serialized statistics sketches per client or product, persisted periodically';
+COMMENT ON COLUMN sketch_estatistica.dados IS 'DDSketch buckets (value percentiles) or HyperLogLog registers (distinct buyers)';
+COMMENT ON COLUMN sketch_estatistica.ate_pedido_id IS 'Highest order id included when the sketch was persisted';
@@ -0,0 +1,38 @@
+-- =============================================================================
+-- V13__Consolidate_statistics_by_decision_time.sql
+-- Decision timestamp on orders; statistics sketches consolidated by decision time
+-- =============================================================================
+
+-- When the order got its final status. Order ids do not follow decision order
+-- (concurrent transactions, pooled id blocks per instance, pending orders decided
+-- later), so consolidations read the orders by decision time instead.
+ALTER TABLE pedido ADD COLUMN decidido_em TIMESTAMP;
+
+-- Orders decided before this migration: the order time is the best known value
+UPDATE pedido SET decidido_em = data_pedido WHERE status <> 'PENDENTE';
+
+-- Approved orders decided within a consolidation range
+CREATE INDEX idx_pedido_aprovado_decidido_em ON pedido(decidido_em) WHERE status = 'APROVADO';
+
+-- Sketches no longer carry an order id watermark; the consolidation range is kept
+-- once, in consolidacao_estatistica. Existing sketches are rebuilt from the history
+-- by the first consolidation.
+DELETE FROM sketch_estatistica;
+ALTER TABLE sketch_estatistica DROP COLUMN ate_pedido_id;
+
+-- Single row: the persisted sketches hold exactly the approved orders decided before
+-- consolidado_ate. Instances consolidate under a lock on this row, each range once.
+CREATE TABLE consolidacao_estatistica (
+    id SMALLINT NOT NULL,
+    consolidado_ate TIMESTAMP NOT NULL,
+    atualizado_em TIMESTAMP NOT NULL,
+    CONSTRAINT pk_consolidacao_estatistica PRIMARY KEY (id),
+    CONSTRAINT chk_consolidacao_estatistica_id CHECK (id = 1)
+);
+
+INSERT INTO consolidacao_estatistica (id, consolidado_ate, atualizado_em)
+VALUES (1, TIMESTAMP '1970-01-01 00:00:00', CURRENT_TIMESTAMP);
+
+COMMENT ON COLUMN pedido.decidido_em IS 'When the order was approved or rejected; null while pending';
+COMMENT ON TABLE consolidacao_estatistica IS 'Decision time up to which approved orders are folded into sketch_estatistica';
+COMMENT ON COLUMN consolidacao_estatistica.consolidado_ate IS 'Exclusive upper bound of the decision times already consolidated';
@@ -0,0 +1,30 @@
+-- =============================================================================
+-- V4__Create_credit_exposure_ledger.sql
+-- Per-client daily credit exposure ledger
+-- =============================================================================
+
+-- One row per client per day holding the sum of APPROVED orders of that day.
+-- The credit check reads at most CREDIT_LIMIT_DAYS + 1 rows per client instead
+-- of aggregating the whole order history.
+CREATE TABLE exposicao_credito_diaria (
+    cliente_id BIGINT NOT NULL,
+    dia DATE NOT NULL,
+    valor_total DECIMAL(15,2) NOT NULL DEFAULT 0,
+    CONSTRAINT pk_exposicao_credito_diaria PRIMARY KEY (cliente_id, dia),
+    CONSTRAINT fk_exposicao_credito_cliente FOREIGN KEY (cliente_id) REFERENCES cliente(id),
+    CONSTRAINT chk_exposicao_valor_total CHECK (valor_total >= 0)
+);
+
+-- Index used by the expiration job
+CREATE INDEX idx_exposicao_credito_dia ON exposicao_credito_diaria(dia);
+
+-- Backfill the current window from existing approved orders
+INSERT INTO exposicao_credito_diaria (cliente_id, dia, valor_total)
+SELECT cliente_id, CAST(data_pedido AS DATE), SUM(valor_total)
+FROM pedido
+WHERE status = 'APROVADO'
+  AND data_pedido >= CURRENT_DATE - INTERVAL '30 days'
+GROUP BY cliente_id, CAST(data_pedido AS DATE);
+
+COMMENT ON TABLE exposicao_credito_diaria IS 'Daily buckets of approved order value per customer (credit window)';
+COMMENT ON COLUMN exposicao_credito_diaria.valor_total IS 'Sum of approved orders of the customer on that day';
@@ -0,0 +1,5 @@
+-- Partial index for the asynchronous credit decision worker:
+-- finds the oldest pending orders of each client without scanning decided ones
+CREATE INDEX IF NOT EXISTS idx_pedido_pendente_cliente_data
+ON pedido (cliente_id, data_pedido, id)
+WHERE status = 'PENDENTE';
@@ -0,0 +1,9 @@
+-- Pooled id generation: Hibernate reserves blocks of 50 ids per sequence call
+-- (allocationSize = 50 in the entity mappings) instead of relying on IDENTITY,
+-- which forces one round trip per row and disables JDBC insert batching.
+-- The BIGSERIAL sequences are kept; only their increment changes, so plain SQL
+-- inserts using the column default still get unique ids.
+ALTER SEQUENCE cliente_id_seq INCREMENT BY 50;
+ALTER SEQUENCE produto_id_seq INCREMENT BY 50;
+ALTER SEQUENCE pedido_id_seq INCREMENT BY 50;
+ALTER SEQUENCE item_pedido_id_seq INCREMENT BY 50;
@@ -0,0 +1,24 @@
+-- =============================================================================
+-- V7__Create_idempotency_keys.sql
+-- Idempotency keys for POST /pedidos
+-- =============================================================================
+
+-- One row per Idempotency-Key. The row is inserted in the same transaction that
+-- creates the order, so a concurrent duplicate blocks on the primary key until the
+-- first execution commits and then replays the stored response.
+CREATE TABLE chave_idempotencia (
+    chave VARCHAR(255) NOT NULL,
+    hash_requisicao VARCHAR(64) NOT NULL,
+    status_http INTEGER,
+    pedido_id BIGINT,
+    resposta TEXT,
+    data_criacao TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_chave_idempotencia PRIMARY KEY (chave)
+);
+
+-- Index used by the retention job
+CREATE INDEX idx_chave_idempotencia_data_criacao ON chave_idempotencia(data_criacao);
+
+COMMENT ON TABLE chave_idempotencia IS 'Idempotency keys of order creation requests and their stored responses';
+COMMENT ON COLUMN chave_idempotencia.hash_requisicao IS 'SHA-256 of the request body; a key reused with another body is rejected';
+COMMENT ON COLUMN chave_idempotencia.resposta IS 'JSON of the PedidoDTO returned by the first execution';
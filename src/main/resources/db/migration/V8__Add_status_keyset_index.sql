@@ -0,0 +1,6 @@
+-- Keyset (cursor) pagination of orders by status:
+-- seeks (data_pedido, id) inside one status without sorting the whole status partition.
+-- Listing all orders and orders of a client seek through idx_pedido_data and
+-- idx_pedido_cliente_data (V1); id only breaks ties between equal timestamps.
+CREATE INDEX IF NOT EXISTS idx_pedido_status_data_id
+ON pedido (status, data_pedido, id);
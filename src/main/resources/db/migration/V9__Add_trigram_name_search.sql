@@ -0,0 +1,19 @@
+-- Accent-insensitive substring search on cliente.nome and produto.nome.
+-- LIKE '%termo%' over lower(nome) cannot use the btree indexes (idx_produto_nome,
+-- uk_cliente_nome); a GIN trigram index over the normalized name can, and also
+-- provides the similarity() used to rank the matches.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE (its dictionary could change), so it cannot appear in an
+-- index expression; this wrapper pins the dictionary and is declared IMMUTABLE.
+-- Queries must call the same function for the index to be used.
+CREATE OR REPLACE FUNCTION normalizar_busca(texto TEXT) RETURNS TEXT AS $$
+    SELECT lower(public.unaccent('public.unaccent'::regdictionary, texto))
+$$ LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
+
+CREATE INDEX IF NOT EXISTS idx_cliente_nome_trgm
+ON cliente USING gin (normalizar_busca(nome) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_produto_nome_trgm
+ON produto USING gin (normalizar_busca(nome) gin_trgm_ops);
@@ -0,0 +1,159 @@
+package com.empresa.logistica.controller;
+
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.impl.VersaoCatalogo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration test for the streamed, ETag-tagged /clientes/all and /produtos/all endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogoETagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private VersaoCatalogo versaoCatalogo;
+
+    private Cliente cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente("Cliente Catálogo", new BigDecimal("1000.00")));
+        produto = produtoRepository.save(new Produto("Produto Catálogo", new BigDecimal("10.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void ifNoneMatchReturns304WithoutQueryingDatabase() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/produtos/all"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(resultado))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andExpect(jsonPath("$[0].nome").value("Produto Catálogo"));
+        String etag = resultado.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"), "ETag deve ser forte");
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        mockMvc.perform(get("/produtos/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getSecondLevelCacheHitCount() + estatisticas.getSecondLevelCacheMissCount());
+    }
+
+    @Test
+    void streamsDTOsWithoutLoadingEntities() throws Exception {
+        produtoRepository.save(new Produto("Produto Catálogo 2", new BigDecimal("20.00")));
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        MvcResult resultado = mockMvc.perform(get("/produtos/all")).andReturn();
+        mockMvc.perform(asyncDispatch(resultado))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[1].nome").value("Produto Catálogo 2"))
+            .andExpect(jsonPath("$[1].preco").value("20.00"));
+
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+    }
+
+    @Test
+    void changeBumpsOnlyTheVersionOfItsType() throws Exception {
+        String etagClientes = mockMvc.perform(get("/clientes/all"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String etagProdutos = versaoCatalogo.etag(Produto.class);
+
+        produto.setNome("Produto Renomeado");
+        produtoRepository.save(produto);
+        String etagProdutoAlterado = versaoCatalogo.etag(Produto.class);
+        assertNotEquals(etagProdutos, etagProdutoAlterado);
+
+        // Alteração de produto não invalida a lista de clientes
+        mockMvc.perform(get("/clientes/all").header(HttpHeaders.IF_NONE_MATCH, etagClientes))
+            .andExpect(status().isNotModified());
+
+        clienteRepository.delete(cliente);
+        assertNotEquals(etagClientes, versaoCatalogo.etag(Cliente.class));
+        assertEquals(etagProdutoAlterado, versaoCatalogo.etag(Produto.class));
+    }
+
+    @Test
+    void rolledBackChangeKeepsVersion() {
+        long antes = versaoCatalogo.getVersao(Produto.class);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            produtoRepository.saveAndFlush(new Produto("Produto Descartado", new BigDecimal("5.00")));
+            // Antes do commit a versão não muda
+            assertEquals(antes, versaoCatalogo.getVersao(Produto.class));
+            status.setRollbackOnly();
+        });
+
+        assertEquals(antes, versaoCatalogo.getVersao(Produto.class));
+    }
+
+    @Test
+    void manualInvalidationChangesETag() throws Exception {
+        String etag = versaoCatalogo.etag(Produto.class);
+
+        mockMvc.perform(post("/cache/catalogo/invalidar"))
+            .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/produtos/all").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+    }
+}
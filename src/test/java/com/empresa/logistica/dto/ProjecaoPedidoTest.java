@@ -0,0 +1,77 @@
+package com.empresa.logistica.dto;
+
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.StatusPedido;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para a ProjecaoPedido (fields/expand).
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class ProjecaoPedidoTest {
+
+    @Test
+    void testSemParametrosCarregaTudo() {
+        ProjecaoPedido projecao = ProjecaoPedido.de(null, null);
+
+        assertTrue(projecao.itens());
+        assertTrue(projecao.credito());
+        assertTrue(projecao.isCompleta());
+    }
+
+    @Test
+    void testFieldsSemItensNemCreditoDesligaExpansoes() {
+        ProjecaoPedido projecao = ProjecaoPedido.de("clienteId, status, valorTotal", null);
+
+        assertFalse(projecao.itens());
+        assertFalse(projecao.credito());
+        // O ID é sempre emitido
+        assertEquals(Set.of("id", "clienteId", "status", "valorTotal"), projecao.campos());
+    }
+
+    @Test
+    void testExpandRestringeCargaEOmiteCamposNaoCarregados() {
+        ProjecaoPedido projecao = ProjecaoPedido.de(null, "itens");
+
+        assertTrue(projecao.itens());
+        assertFalse(projecao.credito());
+        assertTrue(projecao.campos().contains("limiteCredito"));
+        assertFalse(projecao.campos().contains("saldoDisponivel"));
+        assertFalse(projecao.isCompleta());
+    }
+
+    @Test
+    void testExpandVazioResumo() {
+        ProjecaoPedido projecao = ProjecaoPedido.de(null, "");
+
+        assertFalse(projecao.itens());
+        assertFalse(projecao.credito());
+        assertFalse(projecao.campos().contains("itens"));
+    }
+
+    @Test
+    void testParametrosDesconhecidosRejeitados() {
+        assertThrows(IllegalArgumentException.class, () -> ProjecaoPedido.de("id,senha", null));
+        assertThrows(IllegalArgumentException.class, () -> ProjecaoPedido.de(null, "cliente"));
+    }
+
+    @Test
+    void testFiltrosEmitemSomenteCamposSelecionados() throws Exception {
+        PedidoDTO pedido = new PedidoDTO(1L, 2L, "Cliente", LocalDateTime.of(2025, 1, 1, 10, 0),
+            StatusPedido.APROVADO, Money.of("10.00"), Money.of("100.00"));
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+        String json = objectMapper.writer(ProjecaoPedido.de("status", "").filtros()).writeValueAsString(pedido);
+
+        assertEquals(Map.of("id", 1, "status", "APROVADO"), objectMapper.readValue(json, Map.class));
+    }
+}
@@ -61,11 +61,11 @@ class ItemPedidoTest {
     void testCalcularSubtotalComValoresNulos() {
         ItemPedido item = new ItemPedido();
         item.calcularSubtotal();
-        assertEquals(BigDecimal.ZERO, item.getSubtotal());
+        assertEquals(new BigDecimal("0.00"), item.getSubtotal());
         
         item.setProduto(produto);
         item.calcularSubtotal();
-        assertEquals(BigDecimal.ZERO, item.getSubtotal()); // quantidade ainda é null
+        assertEquals(new BigDecimal("0.00"), item.getSubtotal()); // quantidade ainda é null
         
         item.setQuantidade(2);
         item.calcularSubtotal();
@@ -0,0 +1,63 @@
+package com.empresa.logistica.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o valor monetário Money.
+ * 
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class MoneyTest {
+
+    @Test
+    void testOfBigDecimalArredondaHalfUp() {
+        assertEquals(1235L, Money.of(new BigDecimal("12.345")).getCentavos());
+        assertEquals(1234L, Money.of(new BigDecimal("12.344")).getCentavos());
+        assertEquals(1200L, Money.of(new BigDecimal("12")).getCentavos());
+        assertNull(Money.of((BigDecimal) null));
+    }
+
+    @Test
+    void testAritmetica() {
+        Money preco = Money.of("10.50");
+
+        assertEquals(Money.of("31.50"), preco.times(3));
+        assertEquals(Money.of("15.75"), preco.plus(Money.of("5.25")));
+        assertEquals(Money.of("-0.50"), preco.minus(Money.of("11.00")));
+        assertSame(Money.ZERO, preco.minus(preco));
+    }
+
+    @Test
+    void testComparacoes() {
+        Money limite = Money.of("1000.00");
+
+        assertTrue(Money.of("1000.00").isLessThanOrEqual(limite));
+        assertFalse(Money.of("1000.01").isLessThanOrEqual(limite));
+        assertTrue(limite.isPositive());
+        assertTrue(Money.of("-0.01").isNegative());
+        assertFalse(Money.ZERO.isPositive());
+        assertTrue(Money.of("1.00").compareTo(Money.of("2.00")) < 0);
+    }
+
+    @Test
+    void testToBigDecimalEToString() {
+        assertEquals(new BigDecimal("1234.50"), Money.of("1234.5").toBigDecimal());
+        assertEquals("1234.50", Money.of("1234.5").toString());
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals("-0.05", Money.ofCentavos(-5).toString());
+        assertEquals("-12.30", Money.ofCentavos(-1230).toString());
+    }
+
+    @Test
+    void testOverflowLancaExcecao() {
+        Money maximo = Money.ofCentavos(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> maximo.plus(Money.ofCentavos(1)));
+        assertThrows(ArithmeticException.class, () -> maximo.times(2));
+    }
+}
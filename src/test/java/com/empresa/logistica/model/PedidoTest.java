@@ -32,7 +32,7 @@ class PedidoTest {
         assertNotNull(pedido);
         assertEquals(cliente, pedido.getCliente());
         assertNotNull(pedido.getDataPedido());
-        assertEquals(BigDecimal.ZERO, pedido.getValorTotal());
+        assertEquals(new BigDecimal("0.00"), pedido.getValorTotal());
         assertEquals(StatusPedido.APROVADO, pedido.getStatus());
         assertNotNull(pedido.getItens());
         assertTrue(pedido.getItens().isEmpty());
@@ -68,7 +68,7 @@ class PedidoTest {
         assertEquals(0, pedido.getItens().size());
         assertFalse(pedido.getItens().contains(item));
         assertNull(item.getPedido());
-        assertEquals(BigDecimal.ZERO, pedido.getValorTotal());
+        assertEquals(new BigDecimal("0.00"), pedido.getValorTotal());
     }
 
     @Test
@@ -14,14 +14,16 @@ class StatusPedidoTest {
 
     @Test
     void testEnumValues() {
-        assertEquals(2, StatusPedido.values().length);
+        assertEquals(3, StatusPedido.values().length);
         
+        assertEquals(StatusPedido.PENDENTE, StatusPedido.valueOf("PENDENTE"));
         assertEquals(StatusPedido.APROVADO, StatusPedido.valueOf("APROVADO"));
         assertEquals(StatusPedido.REJEITADO, StatusPedido.valueOf("REJEITADO"));
     }
 
     @Test
     void testDescricoes() {
+        assertEquals("Pendente", StatusPedido.PENDENTE.getDescricao());
         assertEquals("Aprovado", StatusPedido.APROVADO.getDescricao());
         assertEquals("Rejeitado", StatusPedido.REJEITADO.getDescricao());
     }
@@ -56,10 +58,18 @@ class StatusPedidoTest {
     void testFromStringComValorInvalido() {
         IllegalArgumentException exception = assertThrows(
             IllegalArgumentException.class, 
-            () -> StatusPedido.fromString("PENDENTE")
+            () -> StatusPedido.fromString("CANCELADO")
         );
         
-        assertEquals("Status inválido: PENDENTE", exception.getMessage());
+        assertEquals("Status inválido: CANCELADO", exception.getMessage());
+    }
+
+    @Test
+    void testPendenteNaoEhDecisaoFinal() {
+        assertEquals(StatusPedido.PENDENTE, StatusPedido.fromString("pendente"));
+        assertFalse(StatusPedido.PENDENTE.isDecidido());
+        assertTrue(StatusPedido.APROVADO.isDecidido());
+        assertTrue(StatusPedido.REJEITADO.isDecidido());
     }
 
     @Test
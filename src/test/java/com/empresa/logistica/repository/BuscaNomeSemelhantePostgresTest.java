@@ -0,0 +1,120 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes das consultas de busca por semelhança contra um PostgreSQL real.
+ *
+ * As consultas dependem de pg_trgm, unaccent e da função normalizar_busca (V9), ausentes
+ * no H2. O teste roda apenas com POSTGRES_TEST_URL apontando para um banco de testes
+ * (por exemplo jdbc:postgresql://localhost:5432/logistica_teste); as migrações Flyway são
+ * aplicadas e cada teste é revertido ao final.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({DialetoBanco.class, BuscaNomeSemelhante.class})
+@TestPropertySource(properties = {
+    "spring.datasource.url=${POSTGRES_TEST_URL}",
+    "spring.datasource.username=${POSTGRES_TEST_USERNAME:postgres}",
+    "spring.datasource.password=${POSTGRES_TEST_PASSWORD:postgres}"
+})
+@EnabledIfEnvironmentVariable(named = "POSTGRES_TEST_URL", matches = "jdbc:postgresql:.+")
+class BuscaNomeSemelhantePostgresTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private BuscaNomeSemelhante buscaNomeSemelhante;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(new Produto("Pote de Tremoços", new BigDecimal("12.00")));
+        entityManager.persist(new Produto("Tremoço", new BigDecimal("5.00")));
+        entityManager.persist(new Produto("Tremoço Temperado", new BigDecimal("8.50")));
+        entityManager.persist(new Produto("Azeitona", new BigDecimal("7.00")));
+
+        entityManager.persist(new Cliente("Empório Tremoço Ltda", new BigDecimal("3000.00")));
+        entityManager.persist(new Cliente("Tremoço", new BigDecimal("1000.00")));
+        entityManager.persist(new Cliente("Casa do Tremoço", new BigDecimal("5000.00")));
+        entityManager.flush();
+    }
+
+    @Test
+    void testDisponivelComMigracoes() {
+        assertTrue(buscaNomeSemelhante.isDisponivel());
+    }
+
+    @Test
+    void testSemOrdenacaoMaisSemelhantesPrimeiro() {
+        String termo = BuscaNomeSemelhante.termo("tremoco");
+
+        Page<Produto> produtos = produtoRepository.buscarPorNomeSemelhante(termo, PageRequest.of(0, 10));
+        Slice<Cliente> clientes = clienteRepository.buscarSlicePorNomeSemelhante(termo, PageRequest.of(0, 10));
+
+        // Sem acentos e sem diferença de caixa; o nome idêntico ao termo vem primeiro
+        assertEquals(3, produtos.getTotalElements());
+        assertEquals("Tremoço", produtos.getContent().get(0).getNome());
+        assertEquals(3, clientes.getNumberOfElements());
+        assertEquals("Tremoço", clientes.getContent().get(0).getNome());
+    }
+
+    @Test
+    void testComOrdenacaoSegueOPageable() {
+        String termo = BuscaNomeSemelhante.termo("TREMOCO");
+
+        Page<Produto> produtos = produtoRepository.buscarPorNomeSemelhanteOrdenado(
+            termo, PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "preco")));
+        Slice<Cliente> clientes = clienteRepository.buscarSlicePorNomeSemelhanteOrdenado(
+            termo, PageRequest.of(0, 10, Sort.by("limiteCredito")));
+
+        assertEquals(3, produtos.getTotalElements());
+        assertEquals(List.of("Pote de Tremoços", "Tremoço Temperado"),
+            produtos.getContent().stream().map(Produto::getNome).toList());
+        assertEquals(List.of("Tremoço", "Empório Tremoço Ltda", "Casa do Tremoço"),
+            clientes.getContent().stream().map(Cliente::getNome).toList());
+    }
+
+    @Test
+    void testCuringasDoTermoSaoLiterais() {
+        entityManager.persist(new Produto("Tremoço 50% off", new BigDecimal("4.00")));
+        entityManager.persist(new Produto("Tremoço 500 g", new BigDecimal("9.00")));
+        entityManager.flush();
+        String termo = BuscaNomeSemelhante.termo("50%");
+
+        Page<Produto> porSemelhanca = produtoRepository.buscarPorNomeSemelhante(termo, PageRequest.of(0, 10));
+        Page<Produto> ordenados = produtoRepository.buscarPorNomeSemelhanteOrdenado(
+            termo, PageRequest.of(0, 10, Sort.by("nome")));
+
+        assertEquals(List.of("Tremoço 50% off"), porSemelhanca.getContent().stream().map(Produto::getNome).toList());
+        assertEquals(List.of("Tremoço 50% off"), ordenados.getContent().stream().map(Produto::getNome).toList());
+    }
+}
@@ -0,0 +1,31 @@
+package com.empresa.logistica.repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o BuscaNomeSemelhante.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class BuscaNomeSemelhanteTest {
+
+    @Test
+    void testTermoEscapaCuringasDeLike() {
+        assertEquals("50\\% off", BuscaNomeSemelhante.termo("50% off"));
+        assertEquals("cabo\\_usb", BuscaNomeSemelhante.termo("cabo_usb"));
+        assertEquals("a\\\\b", BuscaNomeSemelhante.termo("a\\b"));
+        assertEquals("João", BuscaNomeSemelhante.termo("João"));
+    }
+
+    @Test
+    void testIndisponivelForaDoPostgres() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:busca_semelhante");
+
+        assertFalse(new BuscaNomeSemelhante(new DialetoBanco(h2), h2).isDisponivel());
+    }
+}
@@ -0,0 +1,146 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.config.CaffeineRegionFactory;
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.service.PedidoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração do cache de segundo nível de Cliente e Produto.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheSegundoNivelTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ExposicaoCreditoDiariaRepository exposicaoRepository;
+
+    @Autowired
+    private PedidoDiarioRepository pedidoDiarioRepository;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    private Statistics estatisticas;
+    private Cliente cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cliente = clienteRepository.save(new Cliente("Cliente Cache", new BigDecimal("10000.00")));
+        produto = produtoRepository.save(new Produto("Produto Cache", new BigDecimal("25.00")));
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        exposicaoRepository.deleteAll();
+        pedidoDiarioRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testBuscaPorIdServidaPeloCache() {
+        produtoRepository.findById(produto.getId()).orElseThrow();
+        long statements = estatisticas.getPrepareStatementCount();
+
+        Produto doCache = produtoRepository.findById(produto.getId()).orElseThrow();
+
+        assertEquals("Produto Cache", doCache.getNome());
+        assertEquals(statements, estatisticas.getPrepareStatementCount());
+        assertTrue(regiao(CaffeineRegionFactory.REGIAO_PRODUTO).getHitCount() > 0);
+    }
+
+    @Test
+    void testAtualizacaoInvalidaEntradaDoCache() {
+        produtoRepository.findById(produto.getId()).orElseThrow();
+
+        Produto alterado = produtoRepository.findById(produto.getId()).orElseThrow();
+        alterado.setPreco(new BigDecimal("30.00"));
+        produtoRepository.save(alterado);
+
+        assertEquals(new BigDecimal("30.00"), produtoRepository.findById(produto.getId()).orElseThrow().getPreco());
+    }
+
+    @Test
+    void testCriacaoDePedidoNaoLeCatalogoDoBanco() {
+        pedidoService.criarPedido(request());
+        CacheRegionStatistics produtos = regiao(CaffeineRegionFactory.REGIAO_PRODUTO);
+        CacheRegionStatistics clientes = regiao(CaffeineRegionFactory.REGIAO_CLIENTE);
+        long falhasProduto = produtos.getMissCount();
+        long falhasCliente = clientes.getMissCount();
+        long acertosProduto = produtos.getHitCount();
+
+        pedidoService.criarPedido(request());
+
+        // O UPDATE nativo do ledger não invalida as regiões do catálogo
+        assertEquals(falhasProduto, produtos.getMissCount());
+        assertEquals(falhasCliente, clientes.getMissCount());
+        assertTrue(produtos.getHitCount() > acertosProduto);
+    }
+
+    @Test
+    void testConsultaFindAllNoCacheDeConsultas() {
+        produtoRepository.findAll();
+        long statements = estatisticas.getPrepareStatementCount();
+
+        List<Produto> produtos = produtoRepository.findAll();
+
+        assertEquals(1, produtos.size());
+        assertEquals(statements, estatisticas.getPrepareStatementCount());
+        assertTrue(estatisticas.getQueryCacheHitCount() > 0);
+
+        // Escrita na tabela invalida o resultado em cache
+        produtoRepository.save(new Produto("Produto Novo", new BigDecimal("5.00")));
+        assertEquals(2, produtoRepository.findAll().size());
+    }
+
+    private CacheRegionStatistics regiao(String nome) {
+        return estatisticas.getDomainDataRegionStatistics(nome);
+    }
+
+    private CriarPedidoRequest request() {
+        return CriarPedidoRequest.builder()
+            .clienteId(cliente.getId())
+            .itens(List.of(ItemPedidoDTO.builder()
+                .produtoId(produto.getId())
+                .quantidade(1)
+                .build()))
+            .build();
+    }
+}
@@ -1,11 +1,13 @@
 package com.empresa.logistica.repository;
 
+import com.empresa.logistica.dto.ClienteDTO;
 import com.empresa.logistica.model.Cliente;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -113,6 +115,16 @@ class ClienteRepositoryTest {
         assertEquals("Maria Santos", clientes.get(2).getNome()); // 3000.00
     }
 
+    @Test
+    void testFindTopClientesPorLimiteCredito() {
+        List<ClienteDTO> clientes = clienteRepository.findTopClientesPorLimiteCredito(Limit.of(2));
+        
+        assertEquals(2, clientes.size());
+        assertEquals("Pedro João", clientes.get(0).getNome()); // 7500.00
+        assertEquals("João Silva", clientes.get(1).getNome()); // 5000.00
+        assertEquals(new BigDecimal("7500.00"), clientes.get(0).getLimiteCredito());
+    }
+
     @Test
     void testSaveCliente() {
         Cliente novoCliente = new Cliente("Ana Costa", new BigDecimal("4500.00"));
@@ -0,0 +1,95 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.ExposicaoCreditoDiaria;
+import com.empresa.logistica.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o ExposicaoCreditoDiariaRepository.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ExposicaoCreditoDiariaRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ExposicaoCreditoDiariaRepository exposicaoRepository;
+
+    private Cliente cliente1;
+    private Cliente cliente2;
+    private LocalDate hoje;
+
+    @BeforeEach
+    void setUp() {
+        cliente1 = new Cliente("João Silva", new BigDecimal("5000.00"));
+        cliente2 = new Cliente("Maria Santos", new BigDecimal("3000.00"));
+
+        entityManager.persistAndFlush(cliente1);
+        entityManager.persistAndFlush(cliente2);
+
+        hoje = LocalDate.now();
+
+        entityManager.persistAndFlush(new ExposicaoCreditoDiaria(cliente1.getId(), hoje, Money.of("1000.00")));
+        entityManager.persistAndFlush(new ExposicaoCreditoDiaria(cliente1.getId(), hoje.minusDays(10), Money.of("2000.00")));
+        entityManager.persistAndFlush(new ExposicaoCreditoDiaria(cliente1.getId(), hoje.minusDays(40), Money.of("800.00")));
+        entityManager.persistAndFlush(new ExposicaoCreditoDiaria(cliente2.getId(), hoje.minusDays(5), Money.of("500.00")));
+    }
+
+    @Test
+    void testTotalExposicaoDesde() {
+        BigDecimal total = exposicaoRepository.totalExposicaoDesde(cliente1.getId(), hoje.minusDays(30));
+
+        // Apenas os buckets dentro da janela (1000 + 2000 = 3000)
+        assertEquals(new BigDecimal("3000.00"), total);
+    }
+
+    @Test
+    void testTotalExposicaoDesdeClienteSemBuckets() {
+        Cliente semPedidos = new Cliente("Cliente Novo", new BigDecimal("1000.00"));
+        entityManager.persistAndFlush(semPedidos);
+
+        BigDecimal total = exposicaoRepository.totalExposicaoDesde(semPedidos.getId(), hoje.minusDays(30));
+
+        assertEquals(0, BigDecimal.ZERO.compareTo(total));
+    }
+
+    @Test
+    void testRemoverAnterioresA() {
+        int removidos = exposicaoRepository.removerAnterioresA(hoje.minusDays(30));
+
+        assertEquals(1, removidos);
+        assertEquals(3, exposicaoRepository.count());
+    }
+
+    @Test
+    void testTotaisExposicaoDesdeAgrupaPorCliente() {
+        List<Object[]> totais = exposicaoRepository.totaisExposicaoDesde(
+            List.of(cliente1.getId(), cliente2.getId()), hoje.minusDays(30));
+
+        Map<Long, BigDecimal> porCliente = totais.stream()
+            .collect(Collectors.toMap(linha -> (Long) linha[0], linha -> (BigDecimal) linha[1]));
+
+        assertEquals(2, porCliente.size());
+        assertEquals(new BigDecimal("3000.00"), porCliente.get(cliente1.getId()));
+        assertEquals(new BigDecimal("500.00"), porCliente.get(cliente2.getId()));
+    }
+}
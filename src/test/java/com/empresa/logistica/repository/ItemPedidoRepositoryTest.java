@@ -1,5 +1,7 @@
 package com.empresa.logistica.repository;
 
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.VendasProdutoDTO;
 import com.empresa.logistica.model.Cliente;
 import com.empresa.logistica.model.ItemPedido;
 import com.empresa.logistica.model.Pedido;
@@ -10,10 +12,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -77,6 +81,53 @@ class ItemPedidoRepositoryTest {
         entityManager.persistAndFlush(item3);
     }
 
+    @Test
+    void testFindProdutosMaisVendidosELucrativos() {
+        List<VendasProdutoDTO> porQuantidade = itemPedidoRepository.findProdutosMaisVendidosPorQuantidade(Limit.of(1));
+        List<VendasProdutoDTO> porValor = itemPedidoRepository.findProdutosMaisLucrativosPorValor(Limit.of(2));
+        
+        assertEquals(1, porQuantidade.size());
+        assertEquals(produto2.getId(), porQuantidade.get(0).getProdutoId());
+        assertEquals(4L, porQuantidade.get(0).getQuantidade());
+        assertEquals(2, porValor.size());
+        assertEquals("Notebook Dell", porValor.get(0).getProdutoNome());
+        assertEquals(0, new BigDecimal("5000.00").compareTo(porValor.get(0).getValor()));
+        assertEquals(0, new BigDecimal("359.60").compareTo(porValor.get(1).getValor()));
+    }
+
+    @Test
+    void testVendasIgnoramPendentesEFiltramPeriodo() {
+        Pedido pendente = new Pedido(cliente);
+        pendente.setValorTotal(new BigDecimal("12500.00"));
+        pendente.setStatus(StatusPedido.PENDENTE);
+        entityManager.persistAndFlush(pendente);
+        entityManager.persistAndFlush(new ItemPedido(pendente, produto1, 5));
+
+        List<VendasProdutoDTO> porQuantidade = itemPedidoRepository.findProdutosMaisVendidosPorQuantidade(Limit.of(1));
+        List<VendasProdutoDTO> hoje = itemPedidoRepository.findProdutosMaisLucrativosPorValorDesde(
+            LocalDate.now().atStartOfDay(), Limit.of(10));
+        List<VendasProdutoDTO> amanha = itemPedidoRepository.findProdutosMaisVendidosPorQuantidadeDesde(
+            LocalDate.now().plusDays(1).atStartOfDay(), Limit.of(10));
+        
+        assertEquals(produto2.getId(), porQuantidade.get(0).getProdutoId());
+        assertEquals(2, hoje.size());
+        assertEquals(0, new BigDecimal("5000.00").compareTo(hoje.get(0).getValor()));
+        assertTrue(amanha.isEmpty());
+        assertEquals(2, itemPedidoRepository.vendasPorProdutoEDiaDesde(LocalDate.now().atStartOfDay()).size());
+        assertTrue(itemPedidoRepository.vendasPorProdutoAntesDe(LocalDate.now().atStartOfDay()).isEmpty());
+    }
+
+    @Test
+    void testFindItensMaiorSubtotal() {
+        List<ItemPedidoDTO> itens = itemPedidoRepository.findItensMaiorSubtotal(Limit.of(2));
+        
+        assertEquals(2, itens.size());
+        assertEquals(item1.getId(), itens.get(0).getId());
+        // Empate de subtotal: ID decrescente
+        assertEquals(item3.getId(), itens.get(1).getId());
+        assertEquals("Mouse Logitech", itens.get(1).getProdutoNome());
+    }
+
     @Test
     void testFindByPedidoId() {
         List<ItemPedido> itens = itemPedidoRepository.findByPedidoId(pedido1.getId());
@@ -0,0 +1,88 @@
+package com.empresa.logistica.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o ModoContagem.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class ModoContagemTest {
+
+    private final Pageable segundaPagina = PageRequest.of(1, 2);
+    private final AtomicInteger contagens = new AtomicInteger();
+
+    @Test
+    void testNenhumaNaoConta() {
+        Slice<String> resultado = ModoContagem.NENHUMA.paginar(segundaPagina,
+            p -> fatia(true), this::paginaExata, () -> OptionalLong.of(100));
+
+        assertFalse(resultado instanceof Page);
+        assertTrue(resultado.hasNext());
+        assertEquals(0, contagens.get());
+    }
+
+    @Test
+    void testExataConta() {
+        Slice<String> resultado = ModoContagem.EXATA.paginar(segundaPagina,
+            p -> fatia(true), this::paginaExata, () -> OptionalLong.of(100));
+
+        assertEquals(10, ((Page<String>) resultado).getTotalElements());
+        assertEquals(1, contagens.get());
+    }
+
+    @Test
+    void testEstimadaUsaEstimativaSemContar() {
+        Slice<String> resultado = ModoContagem.ESTIMADA.paginar(segundaPagina,
+            p -> fatia(true), this::paginaExata, () -> OptionalLong.of(100));
+
+        assertEquals(100, ((Page<String>) resultado).getTotalElements());
+        assertEquals(0, contagens.get());
+    }
+
+    @Test
+    void testEstimadaNuncaFicaAbaixoDoJaLido() {
+        // Estatísticas desatualizadas: a página seguinte existe, então há ao menos 5 registros
+        Slice<String> comProxima = ModoContagem.ESTIMADA.paginar(segundaPagina,
+            p -> fatia(true), this::paginaExata, () -> OptionalLong.of(1));
+        // Última página: o total é exato, independentemente da estimativa
+        Slice<String> ultima = ModoContagem.ESTIMADA.paginar(segundaPagina,
+            p -> fatia(false), this::paginaExata, () -> OptionalLong.of(100));
+
+        assertEquals(5, ((Page<String>) comProxima).getTotalElements());
+        assertTrue(comProxima.hasNext());
+        assertEquals(4, ((Page<String>) ultima).getTotalElements());
+        assertFalse(ultima.hasNext());
+    }
+
+    @Test
+    void testEstimadaSemEstatisticasConta() {
+        Slice<String> resultado = ModoContagem.ESTIMADA.paginar(segundaPagina,
+            p -> fatia(true), this::paginaExata, OptionalLong::empty);
+
+        assertEquals(10, ((Page<String>) resultado).getTotalElements());
+        assertEquals(1, contagens.get());
+    }
+
+    private Slice<String> fatia(boolean temProxima) {
+        return new SliceImpl<>(List.of("c", "d"), segundaPagina, temProxima);
+    }
+
+    private Page<String> paginaExata(Pageable pageable) {
+        contagens.incrementAndGet();
+        return new PageImpl<>(List.of("c", "d"), pageable, 10);
+    }
+}
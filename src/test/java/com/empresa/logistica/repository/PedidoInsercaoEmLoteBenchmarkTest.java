@@ -0,0 +1,111 @@
+package com.empresa.logistica.repository;
+
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.ItemPedido;
+import com.empresa.logistica.model.Pedido;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.model.StatusPedido;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark de statements JDBC por pedido na inserção em lote.
+ *
+ * Com sequências em blocos os IDs são reservados antes do flush e os INSERTs
+ * dos pedidos e itens são agrupados em batches JDBC.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class PedidoInsercaoEmLoteBenchmarkTest {
+
+    private static final int PEDIDOS = 40;
+    private static final int ITENS_POR_PEDIDO = 10;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    private Cliente cliente;
+    private List<Produto> produtos;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente("Cliente Benchmark", new BigDecimal("1000000.00")));
+        produtos = new ArrayList<>();
+        for (int i = 0; i < ITENS_POR_PEDIDO; i++) {
+            produtos.add(new Produto("Produto Benchmark " + i, new BigDecimal("10.00")));
+        }
+        produtos = produtoRepository.saveAll(produtos);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testStatementsPorPedidoComSequenciaEmBlocos() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            List<Pedido> pedidos = new ArrayList<>();
+            for (int i = 0; i < PEDIDOS; i++) {
+                Pedido pedido = new Pedido(cliente);
+                pedido.setStatus(StatusPedido.APROVADO);
+                BigDecimal valorTotal = BigDecimal.ZERO;
+                for (Produto produto : produtos) {
+                    ItemPedido item = new ItemPedido(pedido, produto, 1);
+                    pedido.getItens().add(item);
+                    valorTotal = valorTotal.add(item.getSubtotal());
+                }
+                pedido.setValorTotal(valorTotal);
+                pedidos.add(pedido);
+            }
+            pedidoRepository.saveAll(pedidos);
+            entityManager.flush();
+        });
+
+        double statementsPorPedido = (double) estatisticas.getPrepareStatementCount() / PEDIDOS;
+
+        assertEquals((long) PEDIDOS * (1 + ITENS_POR_PEDIDO), estatisticas.getEntityInsertCount());
+        // Chamadas de sequência + batches de INSERT: menos de um statement por pedido
+        assertTrue(statementsPorPedido < 1.0,
+            "Esperado menos de 1 statement por pedido, obtido " + statementsPorPedido);
+    }
+}
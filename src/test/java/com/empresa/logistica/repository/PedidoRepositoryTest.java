@@ -1,5 +1,6 @@
 package com.empresa.logistica.repository;
 
+import com.empresa.logistica.dto.PedidoDTO;
 import com.empresa.logistica.model.Cliente;
 import com.empresa.logistica.model.Pedido;
 import com.empresa.logistica.model.StatusPedido;
@@ -8,9 +9,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,6 +36,9 @@ class PedidoRepositoryTest {
     @Autowired
     private PedidoRepository pedidoRepository;
 
+    @Autowired
+    private PedidoDiarioRepository pedidoDiarioRepository;
+
     private Cliente cliente1;
     private Cliente cliente2;
     private Pedido pedido1;
@@ -120,6 +127,16 @@ class PedidoRepositoryTest {
         assertEquals(BigDecimal.ZERO, total);
     }
 
+    @Test
+    void testFindMaioresPedidosAprovados() {
+        List<PedidoDTO> pedidos = pedidoRepository.findMaioresPedidosAprovados(Limit.of(2));
+        
+        assertEquals(2, pedidos.size());
+        assertEquals(pedido2.getId(), pedidos.get(0).getId()); // 2000.00
+        assertEquals(pedido1.getId(), pedidos.get(1).getId()); // 1500.00 (rejeitado de 1000.00 fica fora)
+        assertEquals("João Silva", pedidos.get(0).getClienteNome());
+    }
+
     @Test
     void testFindByClienteId() {
         List<Pedido> pedidos = pedidoRepository.findByClienteId(cliente1.getId());
@@ -188,6 +205,57 @@ class PedidoRepositoryTest {
         assertEquals(1, rejeitados);
     }
 
+    @Test
+    void testContagensNoResumoSomamPendentes() {
+        recalcularResumoCliente1();
+        Pedido pendente = new Pedido(cliente1);
+        pendente.setValorTotal(new BigDecimal("100.00"));
+        pendente.setStatus(StatusPedido.PENDENTE);
+        entityManager.persistAndFlush(pendente);
+
+        // Pendentes não entram no resumo diário e são somados às contagens do resumo
+        assertEquals(5, pedidoRepository.contarPedidosPorClienteNoResumo(cliente1.getId()));
+        assertEquals(1, pedidoRepository.contarPedidosPorStatusNoResumo(StatusPedido.PENDENTE));
+        assertEquals(3, pedidoRepository.contarPedidosPorStatusNoResumo(StatusPedido.APROVADO));
+    }
+
+    @Test
+    void testContagensNoResumoSemResumoNaoLeemPedidos() {
+        // Pedidos gravados diretamente só entram no resumo pelo job de reparo
+        assertEquals(0, pedidoRepository.contarPedidosPorClienteNoResumo(cliente1.getId()));
+        assertEquals(3, pedidoRepository.countByStatus(StatusPedido.APROVADO));
+    }
+
+    @Test
+    void testValoresAprovadosNoResumo() {
+        recalcularResumoCliente1();
+
+        // 1500 + 2000 + 800 = 4300.00; (1500 + 2000 + 800) / 3
+        assertEquals(0, new BigDecimal("4300.00").compareTo(pedidoRepository.calcularTotalAprovadosNoResumo()));
+        assertEquals(new BigDecimal("1433.33"), pedidoRepository.calcularValorMedioAprovadosNoResumo());
+    }
+
+    @Test
+    void testTotalAprovadosPorClienteEPeriodoNoResumoComFracoesDeDia() {
+        LocalDate dia = LocalDate.now().minusDays(5);
+        salvarAprovado(cliente2, dia.atTime(10, 0), "100.00");
+        salvarAprovado(cliente2, dia.plusDays(1).atTime(12, 0), "200.00");
+        salvarAprovado(cliente2, dia.plusDays(2).atTime(8, 0), "400.00");
+        salvarAprovado(cliente2, dia.plusDays(2).atTime(20, 0), "800.00");
+        pedidoDiarioRepository.recalcular(cliente2.getId(), dia, dia.plusDays(2));
+
+        // Pontas parciais lidas dos pedidos, dia inteiro do meio lido do resumo
+        assertEquals(0, new BigDecimal("700.00").compareTo(pedidoRepository.totalAprovadosPorClienteEPeriodoNoResumo(
+            cliente2.getId(), dia.atTime(9, 0), dia.plusDays(2).atTime(12, 0))));
+        assertEquals(0, new BigDecimal("1500.00").compareTo(pedidoRepository.totalAprovadosPorClienteEPeriodoNoResumo(
+            cliente2.getId(), dia.atStartOfDay(), dia.plusDays(2).atTime(23, 59, 59))));
+        // Sem dia inteiro no período
+        assertEquals(0, new BigDecimal("100.00").compareTo(pedidoRepository.totalAprovadosPorClienteEPeriodoNoResumo(
+            cliente2.getId(), dia.atTime(9, 0), dia.atTime(23, 0))));
+        assertEquals(0, BigDecimal.ZERO.compareTo(pedidoRepository.totalAprovadosPorClienteEPeriodoNoResumo(
+            cliente2.getId(), dia.plusDays(2).atTime(12, 0), dia.atTime(9, 0))));
+    }
+
     @Test
     void testCalcularTotalPedidosAprovados() {
         BigDecimal total = pedidoRepository.calcularTotalPedidosAprovados();
@@ -229,4 +297,71 @@ class PedidoRepositoryTest {
         assertEquals(new BigDecimal("1200.00"), salvo.getValorTotal());
         assertEquals(StatusPedido.APROVADO, salvo.getStatus());
     }
+
+    @Test
+    void testTotaisAprovadosPorClienteEDia() {
+        LocalDateTime trintaDiasAtras = LocalDateTime.now().minusDays(30);
+        int particaoCliente1 = (int) (cliente1.getId() % 2);
+
+        List<Object[]> buckets = pedidoRepository.totaisAprovadosPorClienteEDia(trintaDiasAtras, 2, particaoCliente1);
+        List<Object[]> outraParticao = pedidoRepository.totaisAprovadosPorClienteEDia(trintaDiasAtras, 2, 1 - particaoCliente1);
+
+        // Um bucket por dia com pedido aprovado do cliente1 (pedido1 e pedido2)
+        assertEquals(2, buckets.size());
+        assertTrue(outraParticao.isEmpty());
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Object[] bucket : buckets) {
+            assertEquals(cliente1.getId(), bucket[0]);
+            assertInstanceOf(LocalDate.class, bucket[1]);
+            total = total.add((BigDecimal) bucket[2]);
+        }
+        assertEquals(new BigDecimal("3500.00"), total);
+    }
+
+    @Test
+    void testTotaisAprovadosPorCliente() {
+        List<Object[]> totais = pedidoRepository.totaisAprovadosPorCliente(LocalDateTime.now().minusDays(30));
+
+        assertEquals(1, totais.size());
+        assertEquals(cliente1.getId(), totais.get(0)[0]);
+        assertEquals(new BigDecimal("3500.00"), totais.get(0)[1]);
+    }
+
+    @Test
+    void testFindClientesComPedidosPendentes() {
+        Pedido pendenteAntigo = new Pedido(cliente2);
+        pendenteAntigo.setDataPedido(LocalDateTime.now().minusHours(2));
+        pendenteAntigo.setValorTotal(new BigDecimal("100.00"));
+        pendenteAntigo.setStatus(StatusPedido.PENDENTE);
+        entityManager.persistAndFlush(pendenteAntigo);
+
+        Pedido pendenteRecente = new Pedido(cliente1);
+        pendenteRecente.setValorTotal(new BigDecimal("200.00"));
+        pendenteRecente.setStatus(StatusPedido.PENDENTE);
+        entityManager.persistAndFlush(pendenteRecente);
+
+        List<Long> clientes = pedidoRepository.findClientesComPedidosPorStatus(
+            StatusPedido.PENDENTE, PageRequest.of(0, 10));
+        List<Pedido> pendentes = pedidoRepository.findByClienteIdAndStatusOrderByDataPedidoAscIdAsc(
+            cliente1.getId(), StatusPedido.PENDENTE, PageRequest.of(0, 10));
+
+        // Cliente que aguarda há mais tempo vem primeiro
+        assertEquals(List.of(cliente2.getId(), cliente1.getId()), clientes);
+        assertEquals(1, pendentes.size());
+        assertEquals(pendenteRecente.getId(), pendentes.get(0).getId());
+    }
+
+    private void recalcularResumoCliente1() {
+        // Pedidos gravados diretamente entram no resumo diário como no job de reparo
+        pedidoDiarioRepository.recalcular(cliente1.getId(), LocalDate.now().minusDays(40), LocalDate.now());
+    }
+
+    private void salvarAprovado(Cliente cliente, LocalDateTime data, String valor) {
+        Pedido pedido = new Pedido(cliente);
+        pedido.setDataPedido(data);
+        pedido.setValorTotal(new BigDecimal(valor));
+        pedido.setStatus(StatusPedido.APROVADO);
+        entityManager.persistAndFlush(pedido);
+    }
 }
@@ -1,11 +1,13 @@
 package com.empresa.logistica.repository;
 
+import com.empresa.logistica.dto.ProdutoDTO;
 import com.empresa.logistica.model.Produto;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
@@ -97,6 +99,18 @@ class ProdutoRepositoryTest {
         assertFalse(produtoRepository.existsByNome("Produto Inexistente"));
     }
 
+    @Test
+    void testFindTopProdutosMaisCarosEMaisBaratos() {
+        List<ProdutoDTO> caros = produtoRepository.findTopProdutosMaisCaros(Limit.of(2));
+        List<ProdutoDTO> baratos = produtoRepository.findTopProdutosMaisBaratos(Limit.of(1));
+        
+        assertEquals(2, caros.size());
+        assertEquals("Notebook Dell", caros.get(0).getNome()); // 2500.00
+        assertEquals("Teclado Dell", caros.get(1).getNome()); // 150.00
+        assertEquals(1, baratos.size());
+        assertEquals("Mouse Logitech", baratos.get(0).getNome()); // 89.90
+    }
+
     @Test
     void testFindAllByOrderByPrecoAsc() {
         List<Produto> produtos = produtoRepository.findAllByOrderByPrecoAsc();
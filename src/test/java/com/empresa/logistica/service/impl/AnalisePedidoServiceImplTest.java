@@ -0,0 +1,140 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.AgrupamentoAnalise;
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.ResultadoAnaliseDTO;
+import com.empresa.logistica.dto.SnapshotAnaliseDTO;
+import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ExposicaoCreditoDiariaRepository;
+import com.empresa.logistica.repository.PedidoDiarioRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.AnalisePedidoService;
+import com.empresa.logistica.service.PedidoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o AnalisePedidoServiceImpl.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AnalisePedidoServiceImplTest {
+
+    @Autowired
+    private AnalisePedidoService analisePedidoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ExposicaoCreditoDiariaRepository exposicaoRepository;
+
+    @Autowired
+    private PedidoDiarioRepository pedidoDiarioRepository;
+
+    private Cliente cliente;
+    private Cliente outroCliente;
+
+    @BeforeEach
+    void setUp() {
+        Produto produto = produtoRepository.save(new Produto("Produto Análise", new BigDecimal("150.25")));
+        cliente = clienteRepository.save(new Cliente("Cliente Análise", new BigDecimal("500.00")));
+        outroCliente = clienteRepository.save(new Cliente("Outro Cliente Análise", new BigDecimal("1000.00")));
+
+        // Cliente: 300.50 aprovado, 450.75 rejeitado; outro cliente: 150.25 aprovado
+        pedidoService.criarPedido(request(cliente, produto, 2));
+        pedidoService.criarPedido(request(cliente, produto, 3));
+        pedidoService.criarPedido(request(outroCliente, produto, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        exposicaoRepository.deleteAll();
+        pedidoDiarioRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testAnalisarSobreSnapshotCarregado() {
+        SnapshotAnaliseDTO snapshot = analisePedidoService.recarregarSnapshot();
+        assertTrue(snapshot.isCarregado());
+        assertEquals(3, snapshot.getPedidos());
+        assertEquals(2, snapshot.getClientes());
+
+        ResultadoAnaliseDTO porStatus = analisePedidoService.analisar(
+            null, null, null, null, AgrupamentoAnalise.STATUS);
+        assertEquals(3, porStatus.getQuantidade());
+        assertEquals(new BigDecimal("901.50"), porStatus.getValorTotal());
+        assertEquals(List.of("APROVADO", "REJEITADO"),
+            porStatus.getGrupos().stream().map(ResultadoAnaliseDTO.Grupo::getChave).toList());
+        assertEquals(new BigDecimal("450.75"), porStatus.getGrupos().get(0).getValorTotal());
+
+        ResultadoAnaliseDTO doCliente = analisePedidoService.analisar(
+            LocalDate.now(), LocalDate.now(), cliente.getId(), null, AgrupamentoAnalise.DIA);
+        assertEquals(1, doCliente.getGrupos().size());
+        assertEquals(LocalDate.now().toString(), doCliente.getGrupos().get(0).getChave());
+        assertEquals(2, doCliente.getGrupos().get(0).getQuantidade());
+        assertEquals(new BigDecimal("751.25"), doCliente.getValorTotal());
+    }
+
+    @Test
+    void testSnapshotNaoVeNovosPedidosAteRecarregar() {
+        analisePedidoService.recarregarSnapshot();
+        pedidoService.criarPedido(request(outroCliente,
+            produtoRepository.save(new Produto("Produto Novo", new BigDecimal("10.00"))), 1));
+
+        ResultadoAnaliseDTO porCliente = analisePedidoService.analisar(
+            null, null, null, StatusPedido.APROVADO, AgrupamentoAnalise.CLIENTE);
+        assertEquals(2, porCliente.getQuantidade());
+        assertEquals(String.valueOf(outroCliente.getId()), porCliente.getGrupos().get(1).getChave());
+
+        analisePedidoService.recarregarSnapshot();
+        assertEquals(3, analisePedidoService.analisar(
+            null, null, null, StatusPedido.APROVADO, AgrupamentoAnalise.NENHUM).getQuantidade());
+    }
+
+    @Test
+    void testAnalisarPeriodoInvalido() {
+        assertThrows(IllegalArgumentException.class, () -> analisePedidoService.analisar(
+            LocalDate.now(), LocalDate.now().minusDays(1), null, null, AgrupamentoAnalise.NENHUM));
+    }
+
+    private static CriarPedidoRequest request(Cliente cliente, Produto produto, int quantidade) {
+        return CriarPedidoRequest.builder()
+            .clienteId(cliente.getId())
+            .itens(List.of(ItemPedidoDTO.builder()
+                .produtoId(produto.getId())
+                .quantidade(quantidade)
+                .build()))
+            .build();
+    }
+}
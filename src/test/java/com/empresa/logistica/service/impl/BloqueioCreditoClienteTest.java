@@ -0,0 +1,46 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.MetricasBloqueioCreditoDTO;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.DialetoBanco;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Testes unitários para o BloqueioCreditoCliente.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class BloqueioCreditoClienteTest {
+
+    @Test
+    void testClientesMonitoradosLimitadosAosMaisDisputados() {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:bloqueio_credito");
+        BloqueioCreditoCliente bloqueio = new BloqueioCreditoCliente(
+            mock(ClienteRepository.class), new DialetoBanco(h2), 5, 2);
+
+        bloqueio.registrarEspera(1L, TimeUnit.MILLISECONDS.toNanos(50));
+        bloqueio.registrarEspera(2L, TimeUnit.MILLISECONDS.toNanos(10));
+        bloqueio.registrarEspera(3L, TimeUnit.MILLISECONDS.toNanos(20));
+        // Abaixo do limiar: não entra no monitoramento
+        bloqueio.registrarEspera(4L, TimeUnit.MILLISECONDS.toNanos(1));
+
+        MetricasBloqueioCreditoDTO metricas = bloqueio.getMetricas(10);
+        List<Long> clientes = metricas.getClientesMaisDisputados().stream()
+            .map(MetricasBloqueioCreditoDTO.ContencaoCliente::getClienteId)
+            .toList();
+
+        // O cliente 2, menos disputado, foi substituído pelo 3
+        assertEquals(List.of(1L, 3L), clientes);
+        assertEquals("row-lock", metricas.getEstrategia());
+        assertEquals(4, metricas.getAquisicoes());
+    }
+}
@@ -0,0 +1,94 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ProdutoDTO;
+import com.empresa.logistica.model.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o CatalogoProdutos.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class CatalogoProdutosTest {
+
+    private CatalogoProdutos catalogo;
+
+    @BeforeEach
+    void setUp() {
+        catalogo = CatalogoProdutos.de(7, List.of(
+            produto(1L, "Café Torrado", "25.90"),
+            produto(2L, "Açúcar Cristal", "4.50"),
+            produto(3L, "cafeteira elétrica", "189.00"),
+            produto(4L, "Arroz 5kg", "25.90"),
+            produto(5L, "Óleo de Soja", "7.99")));
+    }
+
+    @Test
+    void todosOrdenaPorNomeSemAcentosEPorPreco() {
+        assertEquals(List.of(2L, 4L, 1L, 3L, 5L), ids(catalogo.todos(CatalogoProdutos.Ordem.NOME, false)));
+        assertEquals(List.of(5L, 3L, 1L, 4L, 2L), ids(catalogo.todos(CatalogoProdutos.Ordem.NOME, true)));
+        // Empate de preço segue a ordem por nome
+        assertEquals(List.of(2L, 5L, 4L, 1L, 3L), ids(catalogo.todos(CatalogoProdutos.Ordem.PRECO, false)));
+        assertEquals(List.of(3L, 1L, 4L, 5L, 2L), ids(catalogo.todos(CatalogoProdutos.Ordem.PRECO, true)));
+        assertEquals(7, catalogo.getVersao());
+    }
+
+    @Test
+    void porPrecoUsaLimitesInclusivos() {
+        assertEquals(List.of(5L, 4L, 1L),
+            ids(catalogo.porPreco(799, 2590, CatalogoProdutos.Ordem.PRECO, false)));
+        assertEquals(List.of(4L, 1L, 5L),
+            ids(catalogo.porPreco(799, 2590, CatalogoProdutos.Ordem.NOME, false)));
+        assertEquals(List.of(3L),
+            ids(catalogo.porPreco(2591, Long.MAX_VALUE, CatalogoProdutos.Ordem.PRECO, false)));
+        assertEquals(List.of(2L),
+            ids(catalogo.porPreco(Long.MIN_VALUE, 450, CatalogoProdutos.Ordem.NOME, false)));
+        assertEquals(0, catalogo.porPreco(500, 700, CatalogoProdutos.Ordem.PRECO, false).tamanho());
+        assertEquals(0, catalogo.porPreco(3000, 2000, CatalogoProdutos.Ordem.NOME, false).tamanho());
+    }
+
+    @Test
+    void porNomeIgnoraAcentosEMaiusculas() {
+        assertEquals(List.of(1L, 3L), ids(catalogo.porNome("CAFÉ", CatalogoProdutos.Ordem.NOME, false)));
+        assertEquals(List.of(2L), ids(catalogo.porNome("acucar", CatalogoProdutos.Ordem.NOME, false)));
+        assertEquals(List.of(3L, 1L), ids(catalogo.porNome("cafe", CatalogoProdutos.Ordem.PRECO, true)));
+    }
+
+    @Test
+    void porNomeEncontraTrechoNoMeioDaPalavraEComVariasPalavras() {
+        assertEquals(List.of(3L), ids(catalogo.porNome("teira", CatalogoProdutos.Ordem.NOME, false)));
+        assertEquals(List.of(1L), ids(catalogo.porNome("fé torr", CatalogoProdutos.Ordem.NOME, false)));
+        assertEquals(List.of(4L), ids(catalogo.porNome("5kg", CatalogoProdutos.Ordem.NOME, false)));
+        // Ordem das palavras importa, como no LIKE do banco
+        assertEquals(0, catalogo.porNome("torrado cafe", CatalogoProdutos.Ordem.NOME, false).tamanho());
+        assertEquals(List.of(2L, 4L, 1L, 3L, 5L), ids(catalogo.porNome(" ", CatalogoProdutos.Ordem.NOME, false)));
+    }
+
+    @Test
+    void produtoPreservaNomeOriginalEPreco() {
+        ProdutoDTO produto = catalogo.produto(catalogo.porNome("oleo", CatalogoProdutos.Ordem.NOME, false)
+            .indice().applyAsInt(0));
+        assertEquals(5L, produto.getId());
+        assertEquals("Óleo de Soja", produto.getNome());
+        assertEquals(Money.of("7.99").toBigDecimal(), produto.getPreco());
+    }
+
+    private static ProdutoDTO produto(Long id, String nome, String preco) {
+        return new ProdutoDTO(id, nome, Money.of(preco));
+    }
+
+    private List<Long> ids(CatalogoProdutos.Sequencia sequencia) {
+        List<Long> ids = new ArrayList<>();
+        for (int k = 0; k < sequencia.tamanho(); k++) {
+            ids.add(catalogo.produto(sequencia.indice().applyAsInt(k)).getId());
+        }
+        return ids;
+    }
+}
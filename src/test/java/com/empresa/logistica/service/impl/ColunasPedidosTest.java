@@ -0,0 +1,103 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.AgrupamentoAnalise;
+import com.empresa.logistica.model.StatusPedido;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o ColunasPedidos.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class ColunasPedidosTest {
+
+    private static final LocalDate DIA_1 = LocalDate.of(2024, 1, 31);
+    private static final LocalDate DIA_2 = LocalDate.of(2024, 2, 1);
+    private static final LocalDate DIA_3 = LocalDate.of(2024, 2, 15);
+
+    private ColunasPedidos colunas;
+
+    @BeforeEach
+    void setUp() {
+        ColunasPedidos.Construtor construtor = ColunasPedidos.construtor();
+        construtor.adicionar(900L, DIA_1.toEpochDay(), StatusPedido.APROVADO, 10000L);
+        construtor.adicionar(7L, DIA_1.toEpochDay(), StatusPedido.REJEITADO, 50000L);
+        construtor.adicionar(900L, DIA_2.toEpochDay(), StatusPedido.APROVADO, 2550L);
+        construtor.adicionar(7L, DIA_3.toEpochDay(), StatusPedido.PENDENTE, 1000L);
+        colunas = construtor.construir();
+    }
+
+    @Test
+    void testConstruirCodificaClientes() {
+        assertEquals(4, colunas.tamanho());
+        assertEquals(2, colunas.totalClientes());
+    }
+
+    @Test
+    void testAgregarPorAgrupamento() {
+        ColunasPedidos.Filtro todos = new ColunasPedidos.Filtro(null, null, null, null);
+
+        assertEquals(List.of(new ColunasPedidos.Grupo(0L, 4L, 63550L)),
+            colunas.agregar(todos, AgrupamentoAnalise.NENHUM));
+        assertEquals(List.of(
+                new ColunasPedidos.Grupo(DIA_1.toEpochDay(), 2L, 60000L),
+                new ColunasPedidos.Grupo(DIA_2.toEpochDay(), 1L, 2550L),
+                new ColunasPedidos.Grupo(DIA_3.toEpochDay(), 1L, 1000L)),
+            colunas.agregar(todos, AgrupamentoAnalise.DIA));
+        assertEquals(List.of(
+                new ColunasPedidos.Grupo(ColunasPedidos.mes(DIA_1.toEpochDay()), 2L, 60000L),
+                new ColunasPedidos.Grupo(ColunasPedidos.mes(DIA_2.toEpochDay()), 2L, 3550L)),
+            colunas.agregar(todos, AgrupamentoAnalise.MES));
+        assertEquals(List.of(
+                new ColunasPedidos.Grupo(7L, 2L, 51000L),
+                new ColunasPedidos.Grupo(900L, 2L, 12550L)),
+            colunas.agregar(todos, AgrupamentoAnalise.CLIENTE));
+        assertEquals(List.of(
+                new ColunasPedidos.Grupo(StatusPedido.PENDENTE.ordinal(), 1L, 1000L),
+                new ColunasPedidos.Grupo(StatusPedido.APROVADO.ordinal(), 2L, 12550L),
+                new ColunasPedidos.Grupo(StatusPedido.REJEITADO.ordinal(), 1L, 50000L)),
+            colunas.agregar(todos, AgrupamentoAnalise.STATUS));
+    }
+
+    @Test
+    void testAgregarComFiltros() {
+        assertEquals(List.of(new ColunasPedidos.Grupo(900L, 1L, 2550L)), colunas.agregar(
+            new ColunasPedidos.Filtro(DIA_2, DIA_3, null, StatusPedido.APROVADO), AgrupamentoAnalise.CLIENTE));
+        assertEquals(List.of(new ColunasPedidos.Grupo(0L, 1L, 50000L)), colunas.agregar(
+            new ColunasPedidos.Filtro(null, DIA_1, 7L, null), AgrupamentoAnalise.NENHUM));
+        assertTrue(colunas.agregar(
+            new ColunasPedidos.Filtro(null, null, 12345L, null), AgrupamentoAnalise.NENHUM).isEmpty());
+        assertTrue(colunas.agregar(
+            new ColunasPedidos.Filtro(DIA_3.plusDays(1), null, null, null), AgrupamentoAnalise.DIA).isEmpty());
+    }
+
+    @Test
+    void testAgregarEmParalelo() {
+        // Linhas suficientes para dividir a varredura entre os núcleos
+        ColunasPedidos.Construtor construtor = ColunasPedidos.construtor();
+        int linhas = 500_000;
+        for (int i = 0; i < linhas; i++) {
+            construtor.adicionar(i % 1000, DIA_1.toEpochDay() + i % 3, StatusPedido.APROVADO, 100L);
+        }
+        ColunasPedidos grandes = construtor.construir();
+
+        List<ColunasPedidos.Grupo> porCliente = grandes.agregar(
+            new ColunasPedidos.Filtro(null, null, null, null), AgrupamentoAnalise.CLIENTE);
+        List<ColunasPedidos.Grupo> porDia = grandes.agregar(
+            new ColunasPedidos.Filtro(DIA_1.plusDays(1), null, null, null), AgrupamentoAnalise.DIA);
+
+        assertEquals(1000, porCliente.size());
+        assertTrue(porCliente.stream().allMatch(grupo -> grupo.quantidade() == 500L && grupo.centavos() == 50000L));
+        assertEquals(List.of(
+                new ColunasPedidos.Grupo(DIA_1.plusDays(1).toEpochDay(), 166_667L, 16_666_700L),
+                new ColunasPedidos.Grupo(DIA_1.plusDays(2).toEpochDay(), 166_666L, 16_666_600L)),
+            porDia);
+    }
+}
@@ -0,0 +1,190 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.EstadoEstatisticasDTO;
+import com.empresa.logistica.dto.EstatisticasClienteDTO;
+import com.empresa.logistica.dto.EstatisticasProdutoDTO;
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.ItemPedido;
+import com.empresa.logistica.model.Pedido;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.model.SketchEstatistica;
+import com.empresa.logistica.model.SketchEstatisticaId;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.model.TipoSketch;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ConsolidacaoEstatisticaRepository;
+import com.empresa.logistica.repository.ExposicaoCreditoDiariaRepository;
+import com.empresa.logistica.repository.PedidoDiarioRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.repository.SketchEstatisticaRepository;
+import com.empresa.logistica.service.EstatisticaPedidoService;
+import com.empresa.logistica.service.PedidoService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o EstatisticaPedidoServiceImpl.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EstatisticaPedidoServiceImplTest {
+
+    @Autowired
+    private EstatisticaPedidoService estatisticaPedidoService;
+
+    @Autowired
+    private EstatisticasPedidos estatisticasPedidos;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ExposicaoCreditoDiariaRepository exposicaoRepository;
+
+    @Autowired
+    private PedidoDiarioRepository pedidoDiarioRepository;
+
+    @Autowired
+    private SketchEstatisticaRepository sketchRepository;
+
+    @Autowired
+    private ConsolidacaoEstatisticaRepository consolidacaoRepository;
+
+    private Cliente cliente;
+    private Cliente outroCliente;
+    private Produto produto;
+    private Produto outroProduto;
+
+    @BeforeEach
+    void setUp() {
+        produto = produtoRepository.save(new Produto("Produto Estatística", new BigDecimal("100.00")));
+        outroProduto = produtoRepository.save(new Produto("Outro Produto Estatística", new BigDecimal("10.00")));
+        cliente = clienteRepository.save(new Cliente("Cliente Estatística", new BigDecimal("1000.00")));
+        outroCliente = clienteRepository.save(new Cliente("Outro Cliente Estatística", new BigDecimal("150.00")));
+
+        // Cliente: 100.00, 200.00 e 10.00 aprovados; outro cliente: 100.00 aprovado e 200.00 rejeitado
+        pedidoService.criarPedido(request(cliente, produto, 1));
+        pedidoService.criarPedido(request(cliente, produto, 2));
+        pedidoService.criarPedido(request(cliente, outroProduto, 1));
+        pedidoService.criarPedido(request(outroCliente, produto, 1));
+        assertEquals(StatusPedido.REJEITADO, pedidoService.criarPedido(request(outroCliente, produto, 2)).getStatus());
+    }
+
+    @AfterEach
+    void tearDown() {
+        sketchRepository.deleteAll();
+        consolidacaoRepository.deleteAll();
+        pedidoRepository.deleteAll();
+        exposicaoRepository.deleteAll();
+        pedidoDiarioRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testEstatisticasReconstruidasDoHistorico() {
+        EstadoEstatisticasDTO estado = estatisticaPedidoService.reconstruir();
+        assertTrue(estado.isPronto());
+        assertEquals(2, estado.getClientes());
+        assertEquals(2, estado.getProdutos());
+        assertEquals(6, sketchRepository.count());
+
+        EstatisticasClienteDTO doCliente = estatisticaPedidoService.obterEstatisticasCliente(cliente.getId());
+        assertEquals(3, doCliente.getPedidos());
+        assertEquals(100.0, doCliente.getP50().doubleValue(), 1.0);
+
+        EstatisticasProdutoDTO doProduto = estatisticaPedidoService.obterEstatisticasProduto(produto.getId());
+        assertEquals(3, doProduto.getPedidos());
+        assertEquals(2, doProduto.getCompradoresDistintos());
+        assertEquals(100.0, doProduto.getP50().doubleValue(), 1.0);
+    }
+
+    @Test
+    void testPedidoConfirmadoAtualizaEConsolidacaoSobreviveARecarga() {
+        estatisticaPedidoService.reconstruir();
+
+        pedidoService.criarPedido(request(outroCliente, outroProduto, 2));
+        assertEquals(2, estatisticaPedidoService.obterEstatisticasProduto(outroProduto.getId()).getCompradoresDistintos());
+        // Só os sketches alcançados pelo pedido: cliente, e valores e compradores do produto
+        assertEquals(3, estatisticasPedidos.consolidar());
+        assertEquals(0, estatisticasPedidos.consolidar());
+
+        // Pedido ainda não consolidado: lido do histórico na recarga
+        pedidoService.criarPedido(request(cliente, produto, 1));
+        estatisticasPedidos.carregar();
+
+        assertEquals(4, estatisticaPedidoService.obterEstatisticasCliente(cliente.getId()).getPedidos());
+        assertEquals(2, estatisticaPedidoService.obterEstatisticasCliente(outroCliente.getId()).getPedidos());
+        EstatisticasProdutoDTO doProduto = estatisticaPedidoService.obterEstatisticasProduto(produto.getId());
+        assertEquals(4, doProduto.getPedidos());
+        assertEquals(2, doProduto.getCompradoresDistintos());
+    }
+
+    @Test
+    void testPedidoDeOutraInstanciaMescladoSemSobrescrever() {
+        estatisticaPedidoService.reconstruir();
+
+        // Decidido por outra instância: nenhum evento chega a esta
+        Pedido deOutraInstancia = new Pedido(cliente);
+        deOutraInstancia.getItens().add(new ItemPedido(deOutraInstancia, produto, 1));
+        deOutraInstancia.recalcularValorTotal();
+        pedidoRepository.save(deOutraInstancia);
+        assertEquals(3, estatisticaPedidoService.obterEstatisticasCliente(cliente.getId()).getPedidos());
+
+        estatisticasPedidos.consolidar();
+        estatisticasPedidos.carregar();
+
+        assertEquals(4, estatisticaPedidoService.obterEstatisticasCliente(cliente.getId()).getPedidos());
+        SketchEstatistica persistido = sketchRepository.findById(
+            new SketchEstatisticaId(TipoSketch.VALOR_PEDIDOS_CLIENTE, cliente.getId())).orElseThrow();
+        assertEquals(4, SketchQuantis.desserializar(persistido.getDados()).getTotal());
+        assertNotNull(estatisticaPedidoService.obterEstado().getConsolidadoAte());
+    }
+
+    @Test
+    void testClienteSemPedidosEInexistente() {
+        estatisticaPedidoService.reconstruir();
+        Cliente semPedidos = clienteRepository.save(new Cliente("Cliente Sem Pedidos", new BigDecimal("10.00")));
+
+        EstatisticasClienteDTO vazio = estatisticaPedidoService.obterEstatisticasCliente(semPedidos.getId());
+        assertEquals(0, vazio.getPedidos());
+        assertNull(vazio.getP50());
+        assertThrows(EntityNotFoundException.class, () -> estatisticaPedidoService.obterEstatisticasCliente(-1L));
+        assertThrows(EntityNotFoundException.class, () -> estatisticaPedidoService.obterEstatisticasProduto(-1L));
+    }
+
+    private static CriarPedidoRequest request(Cliente cliente, Produto produto, int quantidade) {
+        return CriarPedidoRequest.builder()
+            .clienteId(cliente.getId())
+            .itens(List.of(ItemPedidoDTO.builder()
+                .produtoId(produto.getId())
+                .quantidade(quantidade)
+                .build()))
+            .build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.FormatoExportacao;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.ItemPedido;
+import com.empresa.logistica.model.Pedido;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.ExportacaoPedidoService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração da exportação de pedidos (NDJSON/CSV).
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportacaoPedidoServiceImplTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 3, 10);
+
+    @Autowired
+    private ExportacaoPedidoService exportacaoPedidoService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    private Pedido comItens;
+    private Pedido semItens;
+    private Pedido foraDoPeriodo;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = clienteRepository.save(new Cliente("Silva, João", new BigDecimal("10000.00")));
+        Produto teclado = produtoRepository.save(new Produto("Teclado \"ABNT2\"", new BigDecimal("150.00")));
+        Produto mouse = produtoRepository.save(new Produto("Mouse", new BigDecimal("80.00")));
+
+        comItens = new Pedido(cliente);
+        comItens.setDataPedido(DIA.atTime(9, 30));
+        comItens.adicionarItem(new ItemPedido(comItens, teclado, 2));
+        comItens.adicionarItem(new ItemPedido(comItens, mouse, 1));
+        comItens = pedidoRepository.save(comItens);
+
+        semItens = new Pedido(cliente);
+        semItens.setDataPedido(DIA.atTime(23, 59, 59));
+        semItens.setStatus(StatusPedido.REJEITADO);
+        semItens.setValorTotal(new BigDecimal("50.00"));
+        semItens = pedidoRepository.save(semItens);
+
+        foraDoPeriodo = new Pedido(cliente);
+        foraDoPeriodo.setDataPedido(DIA.plusDays(1).atStartOfDay());
+        foraDoPeriodo.adicionarItem(new ItemPedido(foraDoPeriodo, mouse, 3));
+        foraDoPeriodo = pedidoRepository.save(foraDoPeriodo);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testExportarNdjsonUmPedidoPorLinhaComItensAninhados() throws Exception {
+        String[] linhas = exportar(FormatoExportacao.NDJSON, DIA, DIA).split("\n");
+
+        assertEquals(2, linhas.length);
+        JsonNode primeiro = objectMapper.readTree(linhas[0]);
+        assertEquals(comItens.getId(), primeiro.get("id").asLong());
+        assertEquals("Silva, João", primeiro.get("clienteNome").asText());
+        assertEquals("2024-03-10 09:30:00", primeiro.get("dataPedido").asText());
+        assertEquals("380.00", primeiro.get("valorTotal").asText());
+        assertEquals(2, primeiro.get("itens").size());
+        assertEquals("Teclado \"ABNT2\"", primeiro.get("itens").get(0).get("produtoNome").asText());
+        assertEquals("300.00", primeiro.get("itens").get(0).get("subtotal").asText());
+
+        JsonNode segundo = objectMapper.readTree(linhas[1]);
+        assertEquals(semItens.getId(), segundo.get("id").asLong());
+        assertEquals("REJEITADO", segundo.get("status").asText());
+        assertEquals(0, segundo.get("itens").size());
+    }
+
+    @Test
+    void testExportarCsvUmaLinhaPorItem() throws Exception {
+        String[] linhas = exportar(FormatoExportacao.CSV, null, DIA).split("\r\n");
+
+        assertEquals(4, linhas.length);
+        assertEquals(EscritorExportacao.Csv.CABECALHO.trim(), linhas[0]);
+        assertTrue(linhas[1].startsWith(comItens.getId() + ","));
+        assertTrue(linhas[1].contains(",\"Silva, João\",2024-03-10 09:30:00,APROVADO,380.00,"));
+        assertTrue(linhas[1].endsWith(",\"Teclado \"\"ABNT2\"\"\",2,300.00"));
+        assertTrue(linhas[2].endsWith(",Mouse,1,80.00"));
+        assertTrue(linhas[3].endsWith(",REJEITADO,50.00,,,,,"));
+    }
+
+    @Test
+    void testExportarSemPeriodoIncluiTodos() throws Exception {
+        String[] linhas = exportar(FormatoExportacao.NDJSON, null, null).split("\n");
+
+        assertEquals(3, linhas.length);
+        assertEquals(foraDoPeriodo.getId(), objectMapper.readTree(linhas[2]).get("id").asLong());
+    }
+
+    @Test
+    void testEndpointCompactaComGzip() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/pedidos/export")
+                .param("format", "csv")
+                .param("from", "2024-03-11")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] corpo = mockMvc.perform(asyncDispatch(resultado))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        String csv;
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            csv = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] linhas = csv.split("\r\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[1].startsWith(foraDoPeriodo.getId() + ","));
+    }
+
+    @Test
+    void testEndpointNaoCompactaSemGzipAceito() throws Exception {
+        for (String acceptEncoding : List.of("gzip;q=0", "x-gzip, deflate", "identity, gzip ; q=0.000")) {
+            MvcResult resultado = mockMvc.perform(get("/pedidos/export")
+                    .param("from", "2024-03-11")
+                    .header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        }
+
+        MvcResult comQ = mockMvc.perform(get("/pedidos/export")
+                .param("from", "2024-03-11")
+                .header(HttpHeaders.ACCEPT_ENCODING, "x-gzip, GZIP;q=0.5"))
+            .andReturn();
+        mockMvc.perform(asyncDispatch(comQ))
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void testEndpointRejeitaFormatoEPeriodoInvalidos() throws Exception {
+        mockMvc.perform(get("/pedidos/export").param("format", "xml"))
+            .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/pedidos/export").param("from", "2024-03-11").param("to", "2024-03-10"))
+            .andExpect(status().isBadRequest());
+    }
+
+    private String exportar(FormatoExportacao formato, LocalDate de, LocalDate ate) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        exportacaoPedidoService.exportar(formato, de, ate, saida);
+        return saida.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,162 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ClienteDTO;
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ExposicaoCreditoDiariaRepository;
+import com.empresa.logistica.repository.ModoContagem;
+import com.empresa.logistica.repository.PedidoDiarioRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.ExposicaoCreditoService;
+import com.empresa.logistica.service.PedidoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o relatório de utilização de crédito do ExposicaoCreditoServiceImpl.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ExposicaoCreditoServiceImplTest {
+
+    @Autowired
+    private ExposicaoCreditoService exposicaoCreditoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ExposicaoCreditoDiariaRepository exposicaoRepository;
+
+    @Autowired
+    private PedidoDiarioRepository pedidoDiarioRepository;
+
+    private Cliente metade;
+    private Cliente quase;
+    private Cliente livre;
+
+    @BeforeEach
+    void setUp() {
+        Produto produto = produtoRepository.save(new Produto("Produto Relatório", new BigDecimal("100.00")));
+        metade = clienteRepository.save(new Cliente("Cliente Metade", new BigDecimal("1000.00")));
+        quase = clienteRepository.save(new Cliente("Cliente Quase", new BigDecimal("400.00")));
+        livre = clienteRepository.save(new Cliente("Cliente Livre", new BigDecimal("300.00")));
+
+        // 500 de 1000 (50%), 300 de 400 (75%) mais um pedido rejeitado, 0 de 300 (0%)
+        pedidoService.criarPedido(request(metade, produto, 5));
+        pedidoService.criarPedido(request(quase, produto, 3));
+        pedidoService.criarPedido(request(quase, produto, 2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        exposicaoRepository.deleteAll();
+        pedidoDiarioRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testRelatorioOrdenadoPorPercentualUtilizado() {
+        Slice<ClienteDTO> relatorio = exposicaoCreditoService.listarUtilizacaoCredito(null, null,
+            PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "percentualUtilizado")), ModoContagem.NENHUMA);
+
+        List<ClienteDTO> clientes = relatorio.getContent();
+        assertEquals(List.of(quase.getId(), metade.getId(), livre.getId()),
+            clientes.stream().map(ClienteDTO::getId).toList());
+        assertEquals(0, new BigDecimal("75.00").compareTo(clientes.get(0).getPercentualUtilizado()));
+        assertEquals(0, new BigDecimal("300.00").compareTo(clientes.get(0).getValorUtilizado()));
+        assertEquals(0, new BigDecimal("100.00").compareTo(clientes.get(0).getSaldoDisponivel()));
+        assertEquals(2, clientes.get(0).getTotalPedidos());
+        assertEquals(0, BigDecimal.ZERO.compareTo(clientes.get(2).getValorUtilizado()));
+        assertEquals(0, clientes.get(2).getTotalPedidos());
+    }
+
+    @Test
+    void testRelatorioFiltradoPorFaixaDePercentual() {
+        Slice<ClienteDTO> relatorio = exposicaoCreditoService.listarUtilizacaoCredito(
+            new BigDecimal("50"), new BigDecimal("70"), PageRequest.of(0, 10, Sort.by("nome")), ModoContagem.EXATA);
+
+        assertInstanceOf(Page.class, relatorio);
+        assertEquals(1, ((Page<ClienteDTO>) relatorio).getTotalElements());
+        assertEquals(metade.getId(), relatorio.getContent().get(0).getId());
+    }
+
+    @Test
+    void testRelatorioPaginadoComProximaPagina() {
+        Slice<ClienteDTO> primeira = exposicaoCreditoService.listarUtilizacaoCredito(new BigDecimal("1"), null,
+            PageRequest.of(0, 1, Sort.by(Sort.Direction.ASC, "valorUtilizado")), ModoContagem.NENHUMA);
+        Slice<ClienteDTO> segunda = exposicaoCreditoService.listarUtilizacaoCredito(new BigDecimal("1"), null,
+            PageRequest.of(1, 1, Sort.by(Sort.Direction.ASC, "valorUtilizado")), ModoContagem.NENHUMA);
+
+        assertTrue(primeira.hasNext());
+        assertEquals(quase.getId(), primeira.getContent().get(0).getId());
+        assertFalse(segunda.hasNext());
+        assertEquals(metade.getId(), segunda.getContent().get(0).getId());
+    }
+
+    @Test
+    void testRelatorioRejeitaOrdenacaoEFaixaInvalidas() {
+        assertThrows(IllegalArgumentException.class, () -> exposicaoCreditoService.listarUtilizacaoCredito(
+            null, null, PageRequest.of(0, 10, Sort.by("limite_credito; DROP TABLE cliente")), ModoContagem.NENHUMA));
+        assertThrows(IllegalArgumentException.class, () -> exposicaoCreditoService.listarUtilizacaoCredito(
+            new BigDecimal("80"), new BigDecimal("20"), PageRequest.of(0, 10), ModoContagem.NENHUMA));
+    }
+
+    @Test
+    void testCompletarCreditoDaPaginaDeClientes() {
+        List<ClienteDTO> clientes = List.of(
+            ClienteDTO.builder().id(metade.getId()).nome(metade.getNome()).limiteCredito(metade.getLimiteCredito()).build(),
+            ClienteDTO.builder().id(livre.getId()).nome(livre.getNome()).limiteCredito(livre.getLimiteCredito()).build());
+
+        exposicaoCreditoService.completarCredito(clientes);
+
+        assertEquals(0, new BigDecimal("500.00").compareTo(clientes.get(0).getValorUtilizado()));
+        assertEquals(0, new BigDecimal("500.00").compareTo(clientes.get(0).getSaldoDisponivel()));
+        assertEquals(new BigDecimal("50.00"), clientes.get(0).getPercentualUtilizado());
+        assertEquals(1, clientes.get(0).getTotalPedidos());
+        assertEquals(0, BigDecimal.ZERO.compareTo(clientes.get(1).getValorUtilizado()));
+        assertEquals(new BigDecimal("0.00"), clientes.get(1).getPercentualUtilizado());
+        assertEquals(0, clientes.get(1).getTotalPedidos());
+    }
+
+    private static CriarPedidoRequest request(Cliente cliente, Produto produto, int quantidade) {
+        return CriarPedidoRequest.builder()
+            .clienteId(cliente.getId())
+            .itens(List.of(ItemPedidoDTO.builder()
+                .produtoId(produto.getId())
+                .quantidade(quantidade)
+                .build()))
+            .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.empresa.logistica.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o HyperLogLog.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class HyperLogLogTest {
+
+    @Test
+    void testContagemPequena() {
+        HyperLogLog hll = new HyperLogLog();
+        assertEquals(0, hll.estimar());
+
+        // Repetições não alteram a contagem
+        for (int repeticao = 0; repeticao < 3; repeticao++) {
+            for (long id = 1; id <= 100; id++) {
+                hll.adicionar(id);
+            }
+        }
+        assertEquals(100, hll.estimar(), 5);
+    }
+
+    @Test
+    void testContagemGrandeDentroDoErro() {
+        HyperLogLog hll = new HyperLogLog();
+        for (long id = 1; id <= 200_000; id++) {
+            hll.adicionar(id);
+        }
+        assertEquals(200_000, hll.estimar(), 200_000 * 0.05);
+    }
+
+    @Test
+    void testMesclarEquivaleAContarJunto() {
+        HyperLogLog primeiro = new HyperLogLog();
+        HyperLogLog segundo = new HyperLogLog();
+        HyperLogLog junto = new HyperLogLog();
+        for (long id = 1; id <= 30_000; id++) {
+            primeiro.adicionar(id);
+            junto.adicionar(id);
+        }
+        for (long id = 20_001; id <= 50_000; id++) {
+            segundo.adicionar(id);
+            junto.adicionar(id);
+        }
+
+        primeiro.mesclar(segundo);
+
+        assertEquals(junto.estimar(), primeiro.estimar());
+        assertEquals(50_000, primeiro.estimar(), 50_000 * 0.05);
+    }
+
+    @Test
+    void testSerializacao() {
+        HyperLogLog hll = new HyperLogLog();
+        for (long id = 1; id <= 5_000; id++) {
+            hll.adicionar(id);
+        }
+
+        byte[] dados = hll.serializar();
+
+        assertEquals(HyperLogLog.REGISTRADORES, dados.length);
+        assertEquals(hll.estimar(), HyperLogLog.desserializar(dados).estimar());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.desserializar(new byte[10]));
+    }
+}
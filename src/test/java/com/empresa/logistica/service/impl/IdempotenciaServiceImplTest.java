@@ -0,0 +1,249 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.PedidoDTO;
+import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.model.ChaveIdempotencia;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.repository.ChaveIdempotenciaRepository;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ExposicaoCreditoDiariaRepository;
+import com.empresa.logistica.repository.PedidoDiarioRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.IdempotenciaService;
+import com.empresa.logistica.service.IdempotenciaService.RespostaIdempotente;
+import com.empresa.logistica.service.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o IdempotenciaServiceImpl.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotenciaServiceImplTest {
+
+    @Autowired
+    private IdempotenciaService idempotenciaService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ChaveIdempotenciaRepository chaveRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ExposicaoCreditoDiariaRepository exposicaoRepository;
+
+    @Autowired
+    private PedidoDiarioRepository pedidoDiarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Cliente cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente("Cliente Idempotência", new BigDecimal("1000.00")));
+        produto = produtoRepository.save(new Produto("Produto Idempotência", new BigDecimal("300.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        chaveRepository.deleteAll();
+        pedidoRepository.deleteAll();
+        exposicaoRepository.deleteAll();
+        pedidoDiarioRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testRepeticaoDevolveRespostaOriginalSemNovoPedido() {
+        CriarPedidoRequest request = request(1);
+        AtomicInteger execucoes = new AtomicInteger();
+
+        RespostaIdempotente primeira = idempotenciaService.executar("chave-1", request, 201,
+            () -> { execucoes.incrementAndGet(); return pedidoService.criarPedido(request); });
+        RespostaIdempotente segunda = idempotenciaService.executar("chave-1", request(1), 201,
+            () -> { execucoes.incrementAndGet(); return pedidoService.criarPedido(request); });
+
+        assertFalse(primeira.repetida());
+        assertTrue(segunda.repetida());
+        assertEquals(1, execucoes.get());
+        assertEquals(primeira.pedido().getId(), segunda.pedido().getId());
+        assertEquals(201, segunda.statusHttp());
+        assertEquals(1, pedidoRepository.count());
+    }
+
+    @Test
+    void testChaveGravadaComResposta() {
+        CriarPedidoRequest request = request(2);
+
+        PedidoDTO pedido = idempotenciaService.executar("chave-gravada", request, 201,
+            () -> pedidoService.criarPedido(request)).pedido();
+
+        ChaveIdempotencia salva = chaveRepository.findById("chave-gravada").orElseThrow();
+        assertTrue(salva.isConcluida());
+        assertEquals(pedido.getId(), salva.getPedidoId());
+        assertEquals(201, salva.getStatusHttp());
+        assertEquals(Money.of("600.00"), pedido.getValorTotal());
+    }
+
+    @Test
+    void testChaveReutilizadaComOutraRequisicaoRejeitada() {
+        CriarPedidoRequest request = request(1);
+        idempotenciaService.executar("chave-reuso", request, 201, () -> pedidoService.criarPedido(request));
+
+        CriarPedidoRequest outra = request(2);
+        assertThrows(IllegalArgumentException.class, () ->
+            idempotenciaService.executar("chave-reuso", outra, 201, () -> pedidoService.criarPedido(outra)));
+        assertEquals(1, pedidoRepository.count());
+    }
+
+    @Test
+    void testFalhaNaoGravaChave() {
+        CriarPedidoRequest request = CriarPedidoRequest.builder()
+            .clienteId(999999L)
+            .itens(request(1).getItens())
+            .build();
+
+        assertThrows(EntityNotFoundException.class, () ->
+            idempotenciaService.executar("chave-falha", request, 201, () -> pedidoService.criarPedido(request)));
+        assertFalse(chaveRepository.existsById("chave-falha"));
+    }
+
+    @Test
+    void testViolacaoDoPedidoNaoViraConflitoDeChave() {
+        CriarPedidoRequest request = request(1);
+
+        assertThrows(DataIntegrityViolationException.class, () ->
+            idempotenciaService.executar("chave-violacao", request, 201, () -> {
+                throw new DataIntegrityViolationException("violação na inserção do pedido");
+            }));
+        assertFalse(chaveRepository.existsById("chave-violacao"));
+    }
+
+    @Test
+    void testDuplicatasConcorrentesAguardamPrimeiraExecucao() throws Exception {
+        CriarPedidoRequest request = request(1);
+        AtomicInteger execucoes = new AtomicInteger();
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RespostaIdempotente> primeira = executor.submit(() ->
+                idempotenciaService.executar("chave-concorrente", request, 201, () -> {
+                    execucoes.incrementAndGet();
+                    emExecucao.countDown();
+                    aguardar(liberar);
+                    return pedidoService.criarPedido(request);
+                }));
+            assertTrue(emExecucao.await(5, TimeUnit.SECONDS));
+
+            Callable<RespostaIdempotente> duplicata = () ->
+                idempotenciaService.executar("chave-concorrente", request, 201, () -> {
+                    execucoes.incrementAndGet();
+                    return pedidoService.criarPedido(request);
+                });
+            Future<RespostaIdempotente> segunda = executor.submit(duplicata);
+            liberar.countDown();
+
+            assertEquals(primeira.get().pedido().getId(), segunda.get().pedido().getId());
+            assertTrue(segunda.get().repetida());
+            assertEquals(1, execucoes.get());
+            assertEquals(1, pedidoRepository.count());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testChaveInvalidaRejeitada() {
+        CriarPedidoRequest request = request(1);
+
+        assertThrows(IllegalArgumentException.class, () ->
+            idempotenciaService.executar(" ", request, 201, () -> pedidoService.criarPedido(request)));
+        assertThrows(IllegalArgumentException.class, () ->
+            idempotenciaService.executar("x".repeat(256), request, 201, () -> pedidoService.criarPedido(request)));
+    }
+
+    @Test
+    void testChaveExpiradaNaoERepetidaDaMemoria() {
+        // Retenção zero: toda chave concluída já está fora da retenção
+        IdempotenciaService semRetencao = new IdempotenciaServiceImpl(
+            chaveRepository, objectMapper, transactionManager, 100, 1000, 0);
+        CriarPedidoRequest request = request(1);
+        AtomicInteger execucoes = new AtomicInteger();
+
+        RespostaIdempotente primeira = semRetencao.executar("chave-expirada", request, 201,
+            () -> { execucoes.incrementAndGet(); return pedidoService.criarPedido(request); });
+        // A expiração de outra instância removeu a chave da tabela
+        chaveRepository.deleteAll();
+        RespostaIdempotente segunda = semRetencao.executar("chave-expirada", request, 201,
+            () -> { execucoes.incrementAndGet(); return pedidoService.criarPedido(request); });
+
+        assertFalse(segunda.repetida());
+        assertEquals(2, execucoes.get());
+        assertNotEquals(primeira.pedido().getId(), segunda.pedido().getId());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private CriarPedidoRequest request(int quantidade) {
+        return CriarPedidoRequest.builder()
+            .clienteId(cliente.getId())
+            .itens(List.of(ItemPedidoDTO.builder()
+                .produtoId(produto.getId())
+                .quantidade(quantidade)
+                .build()))
+            .build();
+    }
+}
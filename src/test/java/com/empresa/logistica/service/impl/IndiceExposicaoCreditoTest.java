@@ -0,0 +1,112 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.event.PedidoCriadoEvent;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.PedidoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o IndiceExposicaoCredito.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class IndiceExposicaoCreditoTest {
+
+    private PedidoRepository pedidoRepository;
+    private IndiceExposicaoCredito indice;
+
+    @BeforeEach
+    void setUp() {
+        pedidoRepository = mock(PedidoRepository.class);
+        indice = new IndiceExposicaoCredito(pedidoRepository, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(indice, "particoes", 2);
+
+        LocalDate hoje = LocalDate.now();
+        when(pedidoRepository.totaisAprovadosPorClienteEDia(any(), eq(2), anyInt())).thenReturn(List.of());
+        when(pedidoRepository.totaisAprovadosPorClienteEDia(any(), eq(2), eq(0))).thenReturn(List.<Object[]>of(
+            new Object[]{2L, hoje, new BigDecimal("1000.00")},
+            new Object[]{2L, hoje.minusDays(10), new BigDecimal("250.50")}
+        ));
+    }
+
+    @Test
+    void testIndiceNaoCarregadoRetornaVazio() {
+        assertFalse(indice.isPronto());
+        assertTrue(indice.valorUtilizadoCentavos(2L).isEmpty());
+    }
+
+    @Test
+    void testReconstruirCarregaTodasAsParticoes() {
+        int clientes = indice.reconstruir();
+
+        assertEquals(1, clientes);
+        assertTrue(indice.isPronto());
+        assertEquals(125050L, indice.valorUtilizadoCentavos(2L).getAsLong());
+        assertEquals(0L, indice.valorUtilizadoCentavos(99L).getAsLong());
+    }
+
+    @Test
+    void testPedidoAprovadoSomaAposCommit() {
+        indice.reconstruir();
+
+        indice.onPedidoCriado(new PedidoCriadoEvent(11L, 2L, LocalDateTime.now(), StatusPedido.APROVADO, Money.of("99.99"), List.of()));
+        indice.onPedidoCriado(new PedidoCriadoEvent(12L, 2L, LocalDateTime.now(), StatusPedido.REJEITADO, Money.of("5000.00"), List.of()));
+
+        assertEquals(135049L, indice.valorUtilizadoCentavos(2L).getAsLong());
+    }
+
+    @Test
+    void testPedidoConfirmadoDuranteReconstrucaoNaoSePerde() {
+        indice.reconstruir();
+        LocalDate hoje = LocalDate.now();
+        // Durante a leitura da partição: pedido 9 já visível (incluído nas linhas) e pedido 5,
+        // de ID menor que os lidos, confirmado depois do snapshot da carga
+        when(pedidoRepository.totaisAprovadosPorClienteEDia(any(), eq(2), eq(0))).thenAnswer(invocacao -> {
+            indice.onPedidoCriado(new PedidoCriadoEvent(9L, 2L, LocalDateTime.now(), StatusPedido.APROVADO, Money.of("10.00"), List.of()));
+            indice.onPedidoCriado(new PedidoCriadoEvent(5L, 2L, LocalDateTime.now(), StatusPedido.APROVADO, Money.of("40.00"), List.of()));
+            return List.<Object[]>of(
+                new Object[]{2L, hoje, new BigDecimal("1010.00")},
+                new Object[]{2L, hoje.minusDays(10), new BigDecimal("250.50")});
+        });
+        when(pedidoRepository.findIdsDecididosByIdIn(any())).thenReturn(List.of(9L));
+
+        indice.reconstruir();
+
+        assertEquals(130050L, indice.valorUtilizadoCentavos(2L).getAsLong());
+    }
+
+    @Test
+    void testBucketForaDaJanelaNaoEhSomado() {
+        indice.reconstruir();
+
+        LocalDateTime foraDaJanela = LocalDateTime.now().minusDays(IndiceExposicaoCredito.DIAS_JANELA + 5L);
+        indice.onPedidoCriado(new PedidoCriadoEvent(13L, 3L, foraDaJanela, StatusPedido.APROVADO, Money.of("700.00"), List.of()));
+
+        assertEquals(0L, indice.valorUtilizadoCentavos(3L).getAsLong());
+    }
+
+    @Test
+    void testValoresUtilizadosCentavos() {
+        indice.reconstruir();
+
+        assertEquals(1, indice.valoresUtilizadosCentavos().size());
+        assertEquals(125050L, indice.valoresUtilizadosCentavos().get(2L));
+    }
+}
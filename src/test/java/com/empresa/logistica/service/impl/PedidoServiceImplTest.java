@@ -0,0 +1,376 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.PaginaCursorDTO;
+import com.empresa.logistica.dto.PedidoDTO;
+import com.empresa.logistica.dto.ProjecaoPedido;
+import com.empresa.logistica.dto.ResultadoLotePedidosDTO;
+import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ExposicaoCreditoDiariaRepository;
+import com.empresa.logistica.repository.ModoContagem;
+import com.empresa.logistica.repository.PedidoDiarioRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.PedidoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o PedidoServiceImpl (validação de crédito).
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PedidoServiceImplTest {
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ExposicaoCreditoDiariaRepository exposicaoRepository;
+
+    @Autowired
+    private PedidoDiarioRepository pedidoDiarioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cliente cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente("Cliente Crédito", new BigDecimal("1000.00")));
+        produto = produtoRepository.save(new Produto("Produto Crédito", new BigDecimal("600.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        exposicaoRepository.deleteAll();
+        pedidoDiarioRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testCriarPedidoAprovadoAtualizaExposicao() {
+        PedidoDTO pedido = pedidoService.criarPedido(request(1));
+
+        assertEquals(StatusPedido.APROVADO, pedido.getStatus());
+        assertEquals(Money.of("600.00"), pedido.getValorTotal());
+        assertEquals(Money.of("600.00"), pedido.getValorJaUtilizado());
+        assertEquals(Money.of("400.00"), pedido.getSaldoDisponivel());
+        assertEquals(0, new BigDecimal("600.00").compareTo(
+            exposicaoRepository.totalExposicaoDesde(cliente.getId(), LocalDate.now())));
+    }
+
+    @Test
+    void testCriarPedidoAcimaDoSaldoRejeitado() {
+        pedidoService.criarPedido(request(1));
+
+        PedidoDTO segundo = pedidoService.criarPedido(request(1));
+
+        assertEquals(StatusPedido.REJEITADO, segundo.getStatus());
+        assertEquals(0, new BigDecimal("600.00").compareTo(
+            exposicaoRepository.totalExposicaoDesde(cliente.getId(), LocalDate.now())));
+    }
+
+    @Test
+    void testDecisaoUsaLimiteAtualENaoOCopiadoNoCache() {
+        clienteRepository.findById(cliente.getId()).orElseThrow();
+        // Limite reduzido por outra instância: o cache desta instância não é invalidado
+        jdbcTemplate.update("UPDATE cliente SET limite_credito = 100.00 WHERE id = ?", cliente.getId());
+
+        PedidoDTO pedido = pedidoService.criarPedido(request(1));
+
+        assertEquals(StatusPedido.REJEITADO, pedido.getStatus());
+        assertEquals(0, exposicaoRepository.count());
+        // A resposta mostra o mesmo limite usado na decisão
+        assertEquals(Money.of("100.00"), pedido.getLimiteCredito());
+        assertEquals(Money.of("100.00"), pedido.getSaldoDisponivel());
+    }
+
+    @Test
+    void testPedidosConcorrentesDoMesmoClienteNaoExcedemLimite() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Callable<PedidoDTO> criar = () -> pedidoService.criarPedido(request(1));
+            List<Future<PedidoDTO>> resultados = executor.invokeAll(List.of(criar, criar));
+
+            long aprovados = 0;
+            for (Future<PedidoDTO> resultado : resultados) {
+                if (resultado.get().getStatus() == StatusPedido.APROVADO) {
+                    aprovados++;
+                }
+            }
+
+            // Cada pedido cabe no limite sozinho, mas os dois juntos não
+            assertEquals(1, aprovados);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testReceberPedidoFicaPendenteSemExposicao() {
+        PedidoDTO pedido = pedidoService.receberPedido(request(1));
+
+        assertEquals(StatusPedido.PENDENTE, pedido.getStatus());
+        assertEquals(Money.of("600.00"), pedido.getValorTotal());
+        assertEquals(0, BigDecimal.ZERO.compareTo(
+            exposicaoRepository.totalExposicaoDesde(cliente.getId(), LocalDate.now())));
+    }
+
+    @Test
+    void testDecidirPedidosPendentesEmOrdemDeChegada() {
+        Long primeiro = pedidoService.receberPedido(request(1)).getId();
+        Long segundo = pedidoService.receberPedido(request(1)).getId();
+
+        int decididos = pedidoService.decidirPedidosPendentes(cliente.getId(), 10);
+
+        // O lote acumula a exposição: só o primeiro cabe no limite
+        assertEquals(2, decididos);
+        assertEquals(StatusPedido.APROVADO, pedidoService.buscarPorId(primeiro).getStatus());
+        assertEquals(StatusPedido.REJEITADO, pedidoService.buscarPorId(segundo).getStatus());
+        assertEquals(0, new BigDecimal("600.00").compareTo(
+            exposicaoRepository.totalExposicaoDesde(cliente.getId(), LocalDate.now())));
+    }
+
+    @Test
+    void testDecidirPedidosPendentesRespeitaLimiteDoLote() {
+        pedidoService.receberPedido(request(1));
+        pedidoService.receberPedido(request(1));
+
+        assertEquals(1, pedidoService.decidirPedidosPendentes(cliente.getId(), 1));
+        assertEquals(1, pedidoRepository.countByStatus(StatusPedido.PENDENTE));
+        assertEquals(1, pedidoService.decidirPedidosPendentes(cliente.getId(), 1));
+        assertEquals(0, pedidoService.decidirPedidosPendentes(cliente.getId(), 1));
+    }
+
+    @Test
+    void testCriarPedidosEmLoteAcumulaExposicaoDoLote() {
+        Cliente outro = clienteRepository.save(new Cliente("Cliente Lote", new BigDecimal("5000.00")));
+        CriarPedidoRequest pedidoOutro = CriarPedidoRequest.builder()
+            .clienteId(outro.getId())
+            .itens(List.of(ItemPedidoDTO.builder().produtoId(produto.getId()).quantidade(2).build()))
+            .build();
+
+        ResultadoLotePedidosDTO resultado = pedidoService.criarPedidosEmLote(
+            List.of(request(1), pedidoOutro, request(1)));
+
+        assertEquals(3, resultado.getTotal());
+        assertEquals(2, resultado.getAprovados());
+        assertEquals(1, resultado.getRejeitados());
+        assertEquals(0, resultado.getFalhas());
+
+        // Resultados na ordem do envio; o segundo pedido do cliente já enxerga o primeiro
+        List<ResultadoLotePedidosDTO.ResultadoPedido> resultados = resultado.getResultados();
+        assertEquals(StatusPedido.APROVADO, resultados.get(0).getStatus());
+        assertEquals(outro.getId(), resultados.get(1).getClienteId());
+        assertEquals(StatusPedido.APROVADO, resultados.get(1).getStatus());
+        assertEquals(StatusPedido.REJEITADO, resultados.get(2).getStatus());
+        assertNotNull(resultados.get(2).getPedidoId());
+        assertEquals(3, pedidoRepository.count());
+        assertEquals(0, new BigDecimal("600.00").compareTo(
+            exposicaoRepository.totalExposicaoDesde(cliente.getId(), LocalDate.now())));
+        assertEquals(0, new BigDecimal("1200.00").compareTo(
+            exposicaoRepository.totalExposicaoDesde(outro.getId(), LocalDate.now())));
+    }
+
+    @Test
+    void testCriarPedidosEmLoteReferenciaInvalidaFalhaIndividualmente() {
+        CriarPedidoRequest clienteInexistente = CriarPedidoRequest.builder()
+            .clienteId(999999L)
+            .itens(request(1).getItens())
+            .build();
+        CriarPedidoRequest produtoInexistente = CriarPedidoRequest.builder()
+            .clienteId(cliente.getId())
+            .itens(List.of(ItemPedidoDTO.builder().produtoId(999999L).quantidade(1).build()))
+            .build();
+
+        ResultadoLotePedidosDTO resultado = pedidoService.criarPedidosEmLote(
+            List.of(clienteInexistente, request(1), produtoInexistente));
+
+        assertEquals(1, resultado.getAprovados());
+        assertEquals(2, resultado.getFalhas());
+        assertNotNull(resultado.getResultados().get(0).getErro());
+        assertNull(resultado.getResultados().get(0).getPedidoId());
+        assertEquals(StatusPedido.APROVADO, resultado.getResultados().get(1).getStatus());
+        assertNotNull(resultado.getResultados().get(2).getErro());
+        assertEquals(1, pedidoRepository.count());
+    }
+
+    @Test
+    void testListarPorClientePorCursorPercorreTodasAsPaginas() {
+        List<Long> criados = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            criados.add(pedidoService.receberPedido(request(1)).getId());
+        }
+
+        List<Long> lidos = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            PaginaCursorDTO<PedidoDTO> pagina = pedidoService.listarPorCliente(
+                cliente.getId(), cursor, 2, ProjecaoPedido.COMPLETA);
+            pagina.getConteudo().forEach(pedido -> lidos.add(pedido.getId()));
+            assertEquals(pagina.isTemProximo(), pagina.getProximoCursor() != null);
+            cursor = pagina.getProximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        // Mais recentes primeiro, sem repetições nem lacunas entre as páginas
+        Collections.reverse(criados);
+        assertEquals(3, paginas);
+        assertEquals(criados, lidos);
+    }
+
+    @Test
+    void testListarPorStatusPorCursorFiltraStatus() {
+        pedidoService.criarPedido(request(1));
+        Long pendente = pedidoService.receberPedido(request(1)).getId();
+
+        PaginaCursorDTO<PedidoDTO> pagina = pedidoService.listarPorStatus(
+            StatusPedido.PENDENTE, null, 10, ProjecaoPedido.COMPLETA);
+
+        assertEquals(List.of(pendente), pagina.getConteudo().stream().map(PedidoDTO::getId).toList());
+        assertFalse(pagina.isTemProximo());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    void testListarPedidosCursorInvalidoRejeitado() {
+        assertThrows(IllegalArgumentException.class,
+            () -> pedidoService.listarPedidos("nao-e-um-cursor", 10, ProjecaoPedido.COMPLETA));
+        assertThrows(IllegalArgumentException.class,
+            () -> pedidoService.listarPedidos(null, 0, ProjecaoPedido.COMPLETA));
+    }
+
+    @Test
+    void testListarPorClienteModosDeContagem() {
+        for (int i = 0; i < 3; i++) {
+            pedidoService.receberPedido(request(1));
+        }
+        PageRequest primeiraPagina = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "dataPedido"));
+
+        Slice<PedidoDTO> semContagem = pedidoService.listarPorCliente(
+            cliente.getId(), primeiraPagina, ModoContagem.NENHUMA, ProjecaoPedido.COMPLETA);
+        Slice<PedidoDTO> exata = pedidoService.listarPorCliente(
+            cliente.getId(), primeiraPagina, ModoContagem.EXATA, ProjecaoPedido.COMPLETA);
+        // Sem estatísticas do planejador (H2) a estimativa recorre à contagem exata
+        Slice<PedidoDTO> estimada = pedidoService.listarPorCliente(
+            cliente.getId(), primeiraPagina, ModoContagem.ESTIMADA, ProjecaoPedido.COMPLETA);
+
+        assertFalse(semContagem instanceof Page);
+        assertEquals(2, semContagem.getNumberOfElements());
+        assertTrue(semContagem.hasNext());
+        assertEquals(3, ((Page<PedidoDTO>) exata).getTotalElements());
+        assertEquals(3, ((Page<PedidoDTO>) estimada).getTotalElements());
+    }
+
+    @Test
+    void testListarPedidosProjetaSemEntidadesGerenciadas() {
+        Produto outroProduto = produtoRepository.save(new Produto("Produto Projeção", new BigDecimal("10.00")));
+        for (int i = 0; i < 5; i++) {
+            pedidoService.receberPedido(CriarPedidoRequest.builder()
+                .clienteId(cliente.getId())
+                .itens(List.of(
+                    ItemPedidoDTO.builder().produtoId(produto.getId()).quantidade(1).build(),
+                    ItemPedidoDTO.builder().produtoId(outroProduto.getId()).quantidade(2).build()))
+                .build());
+        }
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        Slice<PedidoDTO> pagina = pedidoService.listarPorCliente(
+            cliente.getId(), PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "dataPedido")),
+            ModoContagem.NENHUMA, ProjecaoPedido.COMPLETA);
+
+        // Pedidos e itens em duas consultas (mais, no máximo, uma para o crédito), sem carregar entidades
+        assertTrue(estatisticas.getPrepareStatementCount() <= 3,
+            "Statements executados: " + estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertEquals(5, pagina.getNumberOfElements());
+        for (PedidoDTO pedido : pagina) {
+            assertEquals(2, pedido.getItens().size());
+            assertEquals("Produto Crédito", pedido.getItens().get(0).getProdutoNome());
+            assertEquals(Money.of("20.00"), pedido.getItens().get(1).getSubtotal());
+            assertEquals(Money.of("1000.00"), pedido.getLimiteCredito());
+            assertNotNull(pedido.getSaldoDisponivel());
+        }
+    }
+
+    @Test
+    void testListarPedidosResumidoNaoConsultaItensNemCredito() {
+        for (int i = 0; i < 3; i++) {
+            pedidoService.receberPedido(request(1));
+        }
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        Slice<PedidoDTO> pagina = pedidoService.listarPorCliente(cliente.getId(), PageRequest.of(0, 10),
+            ModoContagem.NENHUMA, ProjecaoPedido.de("id,clienteNome,dataPedido,status,valorTotal", null));
+
+        // Apenas a consulta dos pedidos: item_pedido e o agregado de crédito não são tocados
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(3, pagina.getNumberOfElements());
+        PedidoDTO pedido = pagina.getContent().get(0);
+        assertEquals("Cliente Crédito", pedido.getClienteNome());
+        assertNull(pedido.getItens());
+        assertNull(pedido.getValorJaUtilizado());
+    }
+
+    private CriarPedidoRequest request(int quantidade) {
+        return CriarPedidoRequest.builder()
+            .clienteId(cliente.getId())
+            .itens(List.of(ItemPedidoDTO.builder()
+                .produtoId(produto.getId())
+                .quantidade(quantidade)
+                .build()))
+            .build();
+    }
+}
@@ -0,0 +1,160 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.CriterioVendas;
+import com.empresa.logistica.dto.JanelaVendas;
+import com.empresa.logistica.event.PedidoCriadoEvent;
+import com.empresa.logistica.model.Money;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.ItemPedidoRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o RankingVendasProdutos.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class RankingVendasProdutosTest {
+
+    private ItemPedidoRepository itemPedidoRepository;
+    private PedidoRepository pedidoRepository;
+    private RankingVendasProdutos ranking;
+
+    @BeforeEach
+    void setUp() {
+        itemPedidoRepository = mock(ItemPedidoRepository.class);
+        pedidoRepository = mock(PedidoRepository.class);
+        ranking = new RankingVendasProdutos(itemPedidoRepository, pedidoRepository,
+            mock(PlatformTransactionManager.class), false);
+
+        LocalDate hoje = LocalDate.now();
+        // Produto 1: muitas unidades antigas; produto 2: poucas unidades caras e recentes; produto 3: só na semana
+        when(itemPedidoRepository.vendasPorProdutoAntesDe(any())).thenReturn(List.<Object[]>of(
+            new Object[]{1L, 100L, new BigDecimal("1000.00")}
+        ));
+        when(itemPedidoRepository.vendasPorProdutoEDiaDesde(any())).thenReturn(List.<Object[]>of(
+            new Object[]{1L, hoje.minusDays(20), 5L, new BigDecimal("50.00")},
+            new Object[]{2L, hoje, 3L, new BigDecimal("3000.00")},
+            new Object[]{3L, hoje.minusDays(3), 4L, new BigDecimal("40.00")}
+        ));
+    }
+
+    @Test
+    void testRankingNaoCarregado() {
+        assertFalse(ranking.isPronto());
+        assertTrue(ranking.top(10, CriterioVendas.QUANTIDADE, JanelaVendas.TOTAL).isEmpty());
+    }
+
+    @Test
+    void testRankingPorCriterioEJanela() {
+        assertEquals(3, ranking.recarregar());
+        assertTrue(ranking.isPronto());
+
+        assertEquals(List.of(1L, 3L, 2L), ids(ranking.top(10, CriterioVendas.QUANTIDADE, JanelaVendas.TOTAL)));
+        assertEquals(List.of(2L, 1L), ids(ranking.top(2, CriterioVendas.VALOR, JanelaVendas.TOTAL)));
+        assertEquals(List.of(1L, 3L, 2L), ids(ranking.top(10, CriterioVendas.QUANTIDADE, JanelaVendas.ULTIMOS_30_DIAS)));
+        assertEquals(List.of(3L, 2L), ids(ranking.top(10, CriterioVendas.QUANTIDADE, JanelaVendas.ULTIMOS_7_DIAS)));
+        assertEquals(List.of(2L), ids(ranking.top(10, CriterioVendas.QUANTIDADE, JanelaVendas.ULTIMO_DIA)));
+
+        RankingVendasProdutos.Posicao primeiro = ranking.top(1, CriterioVendas.QUANTIDADE, JanelaVendas.TOTAL).get(0);
+        assertEquals(105L, primeiro.quantidade());
+        assertEquals(105000L, primeiro.centavos());
+    }
+
+    @Test
+    void testPedidoDecididoSomaAposCommit() {
+        ranking.recarregar();
+
+        ranking.onPedidoCriado(evento(11L, LocalDateTime.now(), new PedidoCriadoEvent.Item(3L, 2, Money.of("20.00"))));
+
+        // Empate em quantidade (6 unidades) na semana: ID crescente como desempate
+        ranking.onPedidoCriado(evento(12L, LocalDateTime.now(), new PedidoCriadoEvent.Item(2L, 3, Money.of("3000.00"))));
+        List<RankingVendasProdutos.Posicao> semana = ranking.top(10, CriterioVendas.QUANTIDADE, JanelaVendas.ULTIMOS_7_DIAS);
+        assertEquals(List.of(2L, 3L), ids(semana));
+        assertEquals(6L, semana.get(1).quantidade());
+        assertEquals(6000L, semana.get(1).centavos());
+    }
+
+    @Test
+    void testPedidoForaDaJanelaContaSoNoTotal() {
+        ranking.recarregar();
+
+        LocalDateTime foraDaJanela = LocalDateTime.now().minusDays(RankingVendasProdutos.DIAS_JANELA + 5L);
+        ranking.onPedidoCriado(evento(13L, foraDaJanela, new PedidoCriadoEvent.Item(4L, 500, Money.of("5.00"))));
+
+        assertEquals(4L, ranking.top(1, CriterioVendas.QUANTIDADE, JanelaVendas.TOTAL).get(0).produtoId());
+        assertFalse(ids(ranking.top(10, CriterioVendas.QUANTIDADE, JanelaVendas.ULTIMOS_30_DIAS)).contains(4L));
+    }
+
+    @Test
+    void testPedidoConfirmadoDuranteRecargaNaoSePerde() {
+        LocalDate hoje = LocalDate.now();
+        when(itemPedidoRepository.vendasPorProdutoEDiaDesde(any())).thenAnswer(invocation -> {
+            // Durante a carga: o pedido 20 entrou no snapshot; o 7, de ID menor, foi decidido depois dele
+            ranking.onPedidoCriado(evento(20L, LocalDateTime.now(), new PedidoCriadoEvent.Item(5L, 2, Money.of("10.00"))));
+            ranking.onPedidoCriado(evento(7L, LocalDateTime.now(), new PedidoCriadoEvent.Item(5L, 1, Money.of("5.00"))));
+            return List.<Object[]>of(new Object[]{5L, hoje, 2L, new BigDecimal("10.00")});
+        });
+        when(pedidoRepository.findIdsDecididosByIdIn(List.of(20L, 7L))).thenReturn(List.of(20L));
+
+        ranking.recarregar();
+
+        RankingVendasProdutos.Posicao produto = ranking.top(1, CriterioVendas.QUANTIDADE, JanelaVendas.ULTIMO_DIA).get(0);
+        assertEquals(5L, produto.produtoId());
+        assertEquals(3L, produto.quantidade());
+        assertEquals(1500L, produto.centavos());
+    }
+
+    @Test
+    void testPedidoLidoPelaCargaComEventoAtrasadoNaoContaDuasVezes() {
+        LocalDate hoje = LocalDate.now();
+        PedidoCriadoEvent atrasado = evento(30L, LocalDateTime.now(), new PedidoCriadoEvent.Item(6L, 4, Money.of("40.00")));
+        PedidoCriadoEvent posterior = evento(31L, LocalDateTime.now(), new PedidoCriadoEvent.Item(6L, 1, Money.of("10.00")));
+        List<TransactionSynchronization> sincronizacoes = new ArrayList<>();
+        // O pedido 30 é publicado e confirmado antes do snapshot, mas o evento só chega depois da carga
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ranking.onPedidoPublicado(atrasado);
+            sincronizacoes.addAll(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(itemPedidoRepository.vendasPorProdutoEDiaDesde(any())).thenReturn(List.<Object[]>of(
+            new Object[]{6L, hoje, 4L, new BigDecimal("40.00")}));
+        when(pedidoRepository.findIdsDecididosByIdIn(List.of(30L))).thenReturn(List.of(30L));
+
+        ranking.recarregar();
+        sincronizacoes.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        ranking.onPedidoCriado(atrasado);
+        ranking.onPedidoCriado(posterior);
+
+        RankingVendasProdutos.Posicao produto = ranking.top(1, CriterioVendas.QUANTIDADE, JanelaVendas.ULTIMO_DIA).get(0);
+        assertEquals(6L, produto.produtoId());
+        assertEquals(5L, produto.quantidade());
+        assertEquals(5000L, produto.centavos());
+    }
+
+    private static PedidoCriadoEvent evento(Long pedidoId, LocalDateTime dataPedido, PedidoCriadoEvent.Item item) {
+        return new PedidoCriadoEvent(pedidoId, 1L, dataPedido, StatusPedido.APROVADO, item.subtotal(), List.of(item));
+    }
+
+    private static List<Long> ids(List<RankingVendasProdutos.Posicao> posicoes) {
+        return posicoes.stream().map(RankingVendasProdutos.Posicao::produtoId).toList();
+    }
+}
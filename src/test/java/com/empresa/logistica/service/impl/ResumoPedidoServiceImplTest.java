@@ -0,0 +1,140 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ItemPedidoDTO;
+import com.empresa.logistica.dto.ResumoPedidosDTO;
+import com.empresa.logistica.dto.request.CriarPedidoRequest;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Pedido;
+import com.empresa.logistica.model.PedidoDiario;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.model.StatusPedido;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ExposicaoCreditoDiariaRepository;
+import com.empresa.logistica.repository.PedidoDiarioRepository;
+import com.empresa.logistica.repository.PedidoRepository;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.PedidoService;
+import com.empresa.logistica.service.ResumoPedidoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes de integração para o ResumoPedidoServiceImpl (resumo diário de pedidos).
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ResumoPedidoServiceImplTest {
+
+    @Autowired
+    private ResumoPedidoService resumoPedidoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ExposicaoCreditoDiariaRepository exposicaoRepository;
+
+    @Autowired
+    private PedidoDiarioRepository pedidoDiarioRepository;
+
+    private Cliente cliente;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        cliente = clienteRepository.save(new Cliente("Cliente Resumo", new BigDecimal("1000.00")));
+        produto = produtoRepository.save(new Produto("Produto Resumo", new BigDecimal("400.00")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        exposicaoRepository.deleteAll();
+        pedidoDiarioRepository.deleteAll();
+        clienteRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void testPedidosDecididosAtualizamResumo() {
+        pedidoService.criarPedido(request(1));
+        pedidoService.criarPedido(request(2));
+        pedidoService.receberPedido(request(1));
+        pedidoService.receberPedido(request(1));
+        pedidoService.decidirPedidosPendentes(cliente.getId(), 1);
+        pedidoService.criarPedidosEmLote(List.of(request(1), request(1)));
+
+        // 400 aprovado, 800 rejeitado, pendente decidido: 400 aprovado, lote: 2 x 400 rejeitados
+        ResumoPedidosDTO resumo = resumoPedidoService.obterResumo();
+        assertEquals(1, resumo.getPedidosPendentes());
+        assertEquals(2, resumo.getPedidosAprovados());
+        assertEquals(3, resumo.getPedidosRejeitados());
+        assertEquals(0, new BigDecimal("800.00").compareTo(resumo.getValorTotalAprovado()));
+        assertEquals(0, new BigDecimal("400.00").compareTo(resumo.getValorMedioAprovado()));
+        assertEquals(6, pedidoRepository.contarPedidosPorClienteNoResumo(cliente.getId()));
+
+        List<PedidoDiario> linhas = pedidoDiarioRepository.findByDiaBetween(LocalDate.now(), LocalDate.now());
+        assertEquals(2, linhas.size());
+        assertEquals(0, resumoPedidoService.reparar(LocalDate.now().minusDays(1), LocalDate.now()));
+    }
+
+    @Test
+    void testRepararRecalculaClientesDivergentes() {
+        pedidoService.criarPedido(request(1));
+
+        // Pedido gravado fora do serviço de pedidos e linha do resumo adulterada
+        Pedido importado = new Pedido(cliente);
+        importado.setValorTotal(new BigDecimal("250.00"));
+        importado.setStatus(StatusPedido.REJEITADO);
+        pedidoRepository.save(importado);
+        PedidoDiario aprovados = pedidoDiarioRepository.findByDiaBetween(LocalDate.now(), LocalDate.now()).get(0);
+        aprovados.setQuantidade(7);
+        pedidoDiarioRepository.save(aprovados);
+        assertEquals(7, pedidoRepository.contarPedidosPorClienteNoResumo(cliente.getId()));
+
+        assertEquals(1, resumoPedidoService.reparar(LocalDate.now(), LocalDate.now()));
+
+        assertEquals(2, pedidoRepository.contarPedidosPorClienteNoResumo(cliente.getId()));
+        assertEquals(1, pedidoRepository.contarPedidosPorStatusNoResumo(StatusPedido.APROVADO));
+        assertEquals(1, pedidoRepository.contarPedidosPorStatusNoResumo(StatusPedido.REJEITADO));
+        assertEquals(0, resumoPedidoService.reparar(LocalDate.now(), LocalDate.now()));
+    }
+
+    @Test
+    void testRepararPeriodoInvalido() {
+        assertThrows(IllegalArgumentException.class,
+            () -> resumoPedidoService.reparar(LocalDate.now(), LocalDate.now().minusDays(1)));
+    }
+
+    private CriarPedidoRequest request(int quantidade) {
+        return CriarPedidoRequest.builder()
+            .clienteId(cliente.getId())
+            .itens(List.of(ItemPedidoDTO.builder()
+                .produtoId(produto.getId())
+                .quantidade(quantidade)
+                .build()))
+            .build();
+    }
+}
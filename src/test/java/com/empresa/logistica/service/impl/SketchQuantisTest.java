@@ -0,0 +1,84 @@
+package com.empresa.logistica.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para o SketchQuantis.
+ *
+ * @author Gabriel Mendonca
+ * @version 1.0
+ */
+class SketchQuantisTest {
+
+    @Test
+    void testQuantisDentroDaPrecisaoRelativa() {
+        SketchQuantis sketch = new SketchQuantis();
+        Random random = new Random(42);
+        // Valores de pedido com cauda longa: de 1,00 a alguns milhares
+        long[] valores = new long[50_000];
+        for (int i = 0; i < valores.length; i++) {
+            valores[i] = 100L + (long) (Math.exp(random.nextGaussian() * 1.5 + 9));
+            sketch.adicionar(valores[i]);
+        }
+        Arrays.sort(valores);
+
+        assertEquals(valores.length, sketch.getTotal());
+        for (double q : new double[]{0.0, 0.5, 0.95, 0.99, 1.0}) {
+            long exato = valores[(int) Math.floor(q * (valores.length - 1))];
+            assertEquals(exato, sketch.quantil(q), exato * SketchQuantis.PRECISAO_RELATIVA + 1, "quantil " + q);
+        }
+    }
+
+    @Test
+    void testSketchVazioEValoresZero() {
+        SketchQuantis sketch = new SketchQuantis();
+        assertEquals(0, sketch.quantil(0.5));
+
+        sketch.adicionar(0);
+        sketch.adicionar(0);
+        sketch.adicionar(10_000);
+
+        assertEquals(0, sketch.quantil(0.5));
+        assertEquals(10_000, sketch.quantil(1.0), 100);
+        assertThrows(IllegalArgumentException.class, () -> sketch.quantil(1.5));
+    }
+
+    @Test
+    void testMesclarESerializar() {
+        SketchQuantis primeiro = new SketchQuantis();
+        SketchQuantis segundo = new SketchQuantis();
+        for (long centavos = 1; centavos <= 1_000; centavos++) {
+            primeiro.adicionar(centavos * 100);
+            segundo.adicionar(centavos * 10_000);
+        }
+
+        primeiro.mesclar(segundo);
+        SketchQuantis copia = SketchQuantis.desserializar(primeiro.serializar());
+
+        assertEquals(2_000, copia.getTotal());
+        assertEquals(primeiro.quantil(0.5), copia.quantil(0.5));
+        assertEquals(100_000, copia.quantil(0.5), 1_000);
+        assertEquals(10_000_000, copia.quantil(1.0), 100_000);
+    }
+
+    @Test
+    void testFaixaLimitadaColapsaMenoresValores() {
+        SketchQuantis sketch = new SketchQuantis();
+        // De 1 centavo a 10^12 centavos: mais buckets do que o limite
+        for (long centavos = 1; centavos <= 1_000_000_000_000L; centavos *= 10) {
+            sketch.adicionar(centavos);
+        }
+
+        int bytesMaximos = 2 * Long.BYTES + 2 * Integer.BYTES + SketchQuantis.MAX_BUCKETS * Long.BYTES;
+        assertTrue(sketch.serializar().length <= bytesMaximos);
+        assertEquals(13, sketch.getTotal());
+        // Maiores valores preservam a precisão; os menores são absorvidos pelo primeiro bucket mantido
+        assertEquals(1_000_000_000_000L, sketch.quantil(1.0), 1_000_000_000_000L * SketchQuantis.PRECISAO_RELATIVA);
+        assertTrue(sketch.quantil(0.0) > 1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.empresa.logistica.service.impl;
+
+import com.empresa.logistica.dto.ProdutoDTO;
+import com.empresa.logistica.model.Cliente;
+import com.empresa.logistica.model.Produto;
+import com.empresa.logistica.repository.ClienteRepository;
+import com.empresa.logistica.repository.ModoContagem;
+import com.empresa.logistica.repository.ProdutoRepository;
+import com.empresa.logistica.service.CatalogoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for product reads served from the in-memory catalog snapshot.
+ *
+ * The test profile keeps the snapshot disabled, so it is only rebuilt when a test calls
+ * {@link SnapshotCatalogo#reconstruir()} and stays stale after any change.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SnapshotCatalogoTest {
+
+    @Autowired
+    private SnapshotCatalogo snapshotCatalogo;
+
+    @Autowired
+    private CatalogoService catalogoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setUp() {
+        produtoRepository.save(new Produto("Café Torrado", new BigDecimal("25.90")));
+        produtoRepository.save(new Produto("Cafeteira", new BigDecimal("189.00")));
+        produtoRepository.save(new Produto("Arroz", new BigDecimal("22.00")));
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAll();
+        clienteRepository.deleteAll();
+    }
+
+    @Test
+    void currentSnapshotAnswersWithoutQueryingDatabase() {
+        assertEquals(3, snapshotCatalogo.reconstruir());
+        estatisticas.clear();
+
+        Slice<ProdutoDTO> lista = catalogoService.listarProdutos(
+            PageRequest.of(0, 2, Sort.by("nome")), ModoContagem.EXATA);
+        Slice<ProdutoDTO> busca = catalogoService.buscarProdutosPorNome(
+            "cafe", PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "preco")), ModoContagem.NENHUMA);
+        Slice<ProdutoDTO> faixa = catalogoService.buscarProdutosPorPreco(
+            new BigDecimal("22.00"), new BigDecimal("25.90"), PageRequest.of(0, 20, Sort.by("preco")),
+            ModoContagem.ESTIMADA);
+
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(3, ((Page<ProdutoDTO>) lista).getTotalElements());
+        assertEquals("Arroz", lista.getContent().get(0).getNome());
+        assertTrue(lista.hasNext());
+        assertEquals("Cafeteira", busca.getContent().get(0).getNome());
+        assertEquals(2, busca.getNumberOfElements());
+        assertFalse(busca.hasNext());
+        assertEquals(2, ((Page<ProdutoDTO>) faixa).getTotalElements());
+        assertEquals(new BigDecimal("22.00"), faixa.getContent().get(0).getPreco());
+    }
+
+    @Test
+    void staleSnapshotFallsBackToDatabase() {
+        snapshotCatalogo.reconstruir();
+        produtoRepository.save(new Produto("Café Especial", new BigDecimal("40.00")));
+        estatisticas.clear();
+
+        Slice<ProdutoDTO> busca = catalogoService.buscarProdutosPorNome(
+            "Café", PageRequest.of(0, 20, Sort.by("nome")), ModoContagem.NENHUMA);
+
+        assertTrue(estatisticas.getPrepareStatementCount() > 0);
+        assertEquals(2, busca.getNumberOfElements());
+    }
+
+    @Test
+    void clientChangeKeepsSnapshotCurrent() {
+        snapshotCatalogo.reconstruir();
+        clienteRepository.save(new Cliente("Cliente Snapshot", new BigDecimal("1000.00")));
+        estatisticas.clear();
+
+        catalogoService.listarProdutos(PageRequest.of(0, 20, Sort.by("nome")), ModoContagem.NENHUMA);
+
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void unsupportedSortFallsBackToDatabase() {
+        snapshotCatalogo.reconstruir();
+        estatisticas.clear();
+
+        catalogoService.listarProdutos(PageRequest.of(0, 20, Sort.by("id")), ModoContagem.NENHUMA);
+
+        assertTrue(estatisticas.getPrepareStatementCount() > 0);
+    }
+}